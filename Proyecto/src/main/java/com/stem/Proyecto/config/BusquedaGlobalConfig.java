@@ -0,0 +1,65 @@
+package com.stem.Proyecto.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la búsqueda global (equipos, jugadores, logros y partidos a la vez).
+ * Los valores se pueden cambiar en application.properties con el prefijo "nba.busqueda-global".
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nba.busqueda-global")
+public class BusquedaGlobalConfig {
+
+    // Lo que se espera a cada fuente antes de responder sin sus resultados
+    private long milisegundosPorFuente = 300;
+    private int hilos = 8;
+    private int limitePorDefecto = 20;
+    private int limiteMaximo = 50;
+
+    /**
+     * Ajusta el número de resultados pedido por el cliente a los límites configurados.
+     *
+     * @param solicitado El número pedido, o null si no se indicó.
+     * @return Un número entre 1 y {@code limiteMaximo}.
+     */
+    public int limitar(Integer solicitado) {
+        if (solicitado == null || solicitado <= 0) {
+            return Math.min(limitePorDefecto, limiteMaximo);
+        }
+        return Math.min(solicitado, limiteMaximo);
+    }
+
+    public long getMilisegundosPorFuente() {
+        return milisegundosPorFuente;
+    }
+
+    public void setMilisegundosPorFuente(long milisegundosPorFuente) {
+        this.milisegundosPorFuente = milisegundosPorFuente;
+    }
+
+    public int getHilos() {
+        return hilos;
+    }
+
+    public void setHilos(int hilos) {
+        this.hilos = hilos;
+    }
+
+    public int getLimitePorDefecto() {
+        return limitePorDefecto;
+    }
+
+    public void setLimitePorDefecto(int limitePorDefecto) {
+        this.limitePorDefecto = limitePorDefecto;
+    }
+
+    public int getLimiteMaximo() {
+        return limiteMaximo;
+    }
+
+    public void setLimiteMaximo(int limiteMaximo) {
+        this.limiteMaximo = limiteMaximo;
+    }
+}
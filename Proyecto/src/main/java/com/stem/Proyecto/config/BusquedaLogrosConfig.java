@@ -0,0 +1,43 @@
+package com.stem.Proyecto.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la búsqueda de texto completo en los logros.
+ * Los valores se pueden cambiar en application.properties con el prefijo "nba.busqueda-logros".
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nba.busqueda-logros")
+public class BusquedaLogrosConfig {
+
+    // Directorio del índice en disco; vacío para tenerlo solo en memoria
+    private String directorio = "";
+    private double pesoNombre = 2.0;
+    private double pesoDescripcion = 1.0;
+
+    public String getDirectorio() {
+        return directorio;
+    }
+
+    public void setDirectorio(String directorio) {
+        this.directorio = directorio;
+    }
+
+    public double getPesoNombre() {
+        return pesoNombre;
+    }
+
+    public void setPesoNombre(double pesoNombre) {
+        this.pesoNombre = pesoNombre;
+    }
+
+    public double getPesoDescripcion() {
+        return pesoDescripcion;
+    }
+
+    public void setPesoDescripcion(double pesoDescripcion) {
+        this.pesoDescripcion = pesoDescripcion;
+    }
+}
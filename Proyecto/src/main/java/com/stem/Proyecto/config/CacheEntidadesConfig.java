@@ -0,0 +1,34 @@
+package com.stem.Proyecto.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la caché en memoria de equipos y logros.
+ * Los valores se pueden cambiar en application.properties con el prefijo "nba.cache-entidades".
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nba.cache-entidades")
+public class CacheEntidadesConfig {
+
+    // Entradas como máximo en cada caché por ID; 0 la desactiva
+    private int tamanioMaximo = 10_000;
+    private int segundosVida = 300;
+
+    public int getTamanioMaximo() {
+        return tamanioMaximo;
+    }
+
+    public void setTamanioMaximo(int tamanioMaximo) {
+        this.tamanioMaximo = tamanioMaximo;
+    }
+
+    public int getSegundosVida() {
+        return segundosVida;
+    }
+
+    public void setSegundosVida(int segundosVida) {
+        this.segundosVida = segundosVida;
+    }
+}
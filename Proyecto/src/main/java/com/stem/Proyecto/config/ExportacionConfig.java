@@ -0,0 +1,56 @@
+package com.stem.Proyecto.config;
+
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.stem.Proyecto.controller.Exportacion;
+
+/**
+ * Configuración de las exportaciones que se escriben en otro hilo (NDJSON y CSV).
+ * Los valores se pueden cambiar en application.properties con el prefijo "nba.exportacion".
+ *
+ * Solo los endpoints marcados con {@link Exportacion} reciben este plazo: justo antes de empezar
+ * la respuesta asíncrona se cambia el de esa petición, y las demás conservan el de Tomcat.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nba.exportacion")
+public class ExportacionConfig implements WebMvcConfigurer {
+
+    // Minutos que puede tardar en escribirse una exportación antes de que se corte la respuesta
+    private long minutosLimite = 30;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                        RequestAttributes.SCOPE_REQUEST);
+                if (handler instanceof HandlerMethod metodo && metodo.hasMethodAnnotation(Exportacion.class)
+                        && request instanceof AsyncWebRequest asincrona) {
+                    asincrona.setTimeout(TimeUnit.MINUTES.toMillis(minutosLimite));
+                }
+            }
+        });
+    }
+
+    public long getMinutosLimite() {
+        return minutosLimite;
+    }
+
+    public void setMinutosLimite(long minutosLimite) {
+        this.minutosLimite = minutosLimite;
+    }
+}
@@ -0,0 +1,25 @@
+package com.stem.Proyecto.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de las importaciones masivas.
+ * Los valores se pueden cambiar en application.properties con el prefijo "nba.importacion".
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nba.importacion")
+public class ImportacionConfig {
+
+    // Filas que se validan y se escriben de cada vez: también es el tamaño de los lotes JDBC de la importación
+    private int tamanioLote = 1_000;
+
+    public int getTamanioLote() {
+        return tamanioLote;
+    }
+
+    public void setTamanioLote(int tamanioLote) {
+        this.tamanioLote = tamanioLote;
+    }
+}
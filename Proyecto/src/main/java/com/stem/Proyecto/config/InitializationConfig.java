@@ -27,6 +27,12 @@ public class InitializationConfig {
     private int diasAntesFechaActualPartido = 30; 
     private int diasDespuesFechaActualPartido = 30; 
 
+    // Generación de ligas grandes (ver GeneradorDatosEscalados). Con factor 0 se usan los valores de arriba.
+    private double factorEscala = 0;
+    private long semilla = 42;
+    private int hilosGeneracion = 0; // 0 = todos los procesadores disponibles
+    private int tamanioBloqueGeneracion = 5_000;
+
     public int getNumeroDeEquipos() {
         return numeroDeEquipos;
     }
@@ -170,4 +176,36 @@ public class InitializationConfig {
     public void setDiasDespuesFechaActualPartido(int diasDespuesFechaActualPartido) {
         this.diasDespuesFechaActualPartido = diasDespuesFechaActualPartido;
     }
+
+    public double getFactorEscala() {
+        return factorEscala;
+    }
+
+    public void setFactorEscala(double factorEscala) {
+        this.factorEscala = factorEscala;
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
+    }
+
+    public int getHilosGeneracion() {
+        return hilosGeneracion;
+    }
+
+    public void setHilosGeneracion(int hilosGeneracion) {
+        this.hilosGeneracion = hilosGeneracion;
+    }
+
+    public int getTamanioBloqueGeneracion() {
+        return tamanioBloqueGeneracion;
+    }
+
+    public void setTamanioBloqueGeneracion(int tamanioBloqueGeneracion) {
+        this.tamanioBloqueGeneracion = tamanioBloqueGeneracion;
+    }
 }
\ No newline at end of file
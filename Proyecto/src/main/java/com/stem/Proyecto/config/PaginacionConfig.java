@@ -0,0 +1,55 @@
+package com.stem.Proyecto.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la paginación por cursor de los listados.
+ * Los valores se pueden cambiar en application.properties con el prefijo "nba.paginacion".
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nba.paginacion")
+public class PaginacionConfig {
+
+    private int tamanioPorDefecto = 50;
+    private int tamanioMaximo = 500;
+    private int segundosCacheTotal = 30;
+
+    /**
+     * Ajusta el tamaño de página pedido por el cliente a los límites configurados.
+     *
+     * @param solicitado El tamaño pedido, o null si no se indicó.
+     * @return Un tamaño entre 1 y {@code tamanioMaximo}.
+     */
+    public int limitarTamanio(Integer solicitado) {
+        if (solicitado == null || solicitado <= 0) {
+            return Math.min(tamanioPorDefecto, tamanioMaximo);
+        }
+        return Math.min(solicitado, tamanioMaximo);
+    }
+
+    public int getTamanioPorDefecto() {
+        return tamanioPorDefecto;
+    }
+
+    public void setTamanioPorDefecto(int tamanioPorDefecto) {
+        this.tamanioPorDefecto = tamanioPorDefecto;
+    }
+
+    public int getTamanioMaximo() {
+        return tamanioMaximo;
+    }
+
+    public void setTamanioMaximo(int tamanioMaximo) {
+        this.tamanioMaximo = tamanioMaximo;
+    }
+
+    public int getSegundosCacheTotal() {
+        return segundosCacheTotal;
+    }
+
+    public void setSegundosCacheTotal(int segundosCacheTotal) {
+        this.segundosCacheTotal = segundosCacheTotal;
+    }
+}
@@ -0,0 +1,66 @@
+package com.stem.Proyecto.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la importación y exportación de partidos en CSV.
+ * Los valores se pueden cambiar en application.properties con el prefijo "nba.csv",
+ * o al arrancar: {@code java -jar proyecto.jar --nba.csv.importar=partidos.csv --nba.csv.salir=true}
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nba.csv")
+public class TransferenciaCsvConfig {
+
+    // Archivo del que importar los partidos al arrancar, tras los datos iniciales (vacío = no se importa)
+    private String importar = "";
+    // Archivo en el que exportar los partidos al arrancar, después de la importación (vacío = no se exporta)
+    private String exportar = "";
+    // Temporada que se exporta (vacío = todas)
+    private String temporada = "";
+    // Si la aplicación se cierra al terminar, en lugar de quedarse atendiendo peticiones
+    private boolean salir = false;
+    // Megabytes del archivo proyectados en memoria de cada vez al importar; ninguna fila puede ocupar más
+    private int megabytesVentana = 64;
+
+    public String getImportar() {
+        return importar;
+    }
+
+    public void setImportar(String importar) {
+        this.importar = importar;
+    }
+
+    public String getExportar() {
+        return exportar;
+    }
+
+    public void setExportar(String exportar) {
+        this.exportar = exportar;
+    }
+
+    public String getTemporada() {
+        return temporada;
+    }
+
+    public void setTemporada(String temporada) {
+        this.temporada = temporada;
+    }
+
+    public boolean isSalir() {
+        return salir;
+    }
+
+    public void setSalir(boolean salir) {
+        this.salir = salir;
+    }
+
+    public int getMegabytesVentana() {
+        return megabytesVentana;
+    }
+
+    public void setMegabytesVentana(int megabytesVentana) {
+        this.megabytesVentana = megabytesVentana;
+    }
+}
@@ -0,0 +1,58 @@
+package com.stem.Proyecto.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.stem.Proyecto.dto.Sugerencia;
+import com.stem.Proyecto.service.AutocompletadoService;
+
+/**
+ * Este controlador REST devuelve sugerencias mientras se escribe en una caja de búsqueda.
+ * Se llama en cada pulsación, así que solo responde con el tipo, el ID y la etiqueta de cada sugerencia,
+ * sacados de índices en memoria, sin cargar entidades.
+ * Todas las rutas de esta API comienzan con "/api/v1/autocomplete".
+ */
+@RestController
+@RequestMapping("/api/v1/autocomplete")
+public class AutocompletadoController {
+
+    private final AutocompletadoService autocompletadoService;
+
+    /**
+     * Constructor que Spring usa para inyectar el servicio de autocompletado.
+     *
+     * @param autocompletadoService El objeto que mantiene los índices de sugerencias.
+     */
+    @Autowired
+    public AutocompletadoController(AutocompletadoService autocompletadoService) {
+        this.autocompletadoService = autocompletadoService;
+    }
+
+    /**
+     * Sugiere jugadores, equipos y logros cuyo nombre (o apellido, abreviatura o ciudad) tenga
+     * una palabra que empiece por el texto, sin distinguir mayúsculas ni tildes.
+     *
+     * @param q El texto tecleado hasta ahora.
+     * @param tipo "jugador", "equipo" o "logro" para limitar las sugerencias a un tipo (opcional).
+     * @param limite El número máximo de sugerencias (opcional; 10 por defecto y 50 como máximo).
+     * @return La lista de {@link Sugerencia} (vacía si no hay ninguna), o 400 Bad Request si el tipo no es válido.
+     * Ejemplo de uso: GET /api/v1/autocomplete?q=lebron%20ja&limite=5
+     */
+    @GetMapping
+    public ResponseEntity<List<Sugerencia>> autocompletar(
+            @RequestParam String q,
+            @RequestParam(required = false) String tipo,
+            @RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(autocompletadoService.sugerir(q, tipo, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
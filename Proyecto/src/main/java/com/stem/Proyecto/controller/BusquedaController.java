@@ -0,0 +1,51 @@
+package com.stem.Proyecto.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.stem.Proyecto.dto.RespuestaBusqueda;
+import com.stem.Proyecto.service.BusquedaGlobalService;
+
+/**
+ * Este controlador REST atiende el buscador de la barra de navegación, que busca a la vez
+ * en equipos, jugadores, logros y partidos.
+ * Todas las rutas de esta API comienzan con "/api/v1/search".
+ */
+@RestController
+@RequestMapping("/api/v1/search")
+public class BusquedaController {
+
+    private final BusquedaGlobalService busquedaGlobalService;
+
+    /**
+     * Constructor que Spring usa para inyectar el servicio de búsqueda global.
+     *
+     * @param busquedaGlobalService El objeto que reparte la búsqueda entre las fuentes.
+     */
+    @Autowired
+    public BusquedaController(BusquedaGlobalService busquedaGlobalService) {
+        this.busquedaGlobalService = busquedaGlobalService;
+    }
+
+    /**
+     * Busca el texto en equipos (nombre, abreviatura o ciudad), jugadores (nombre o apellido),
+     * logros (nombre o descripción) y partidos (lugar o temporada), y mezcla los resultados por puntuación.
+     * Si alguna fuente no responde a tiempo, la respuesta llega igualmente sin sus resultados,
+     * con "completa" a false y la fuente en "fuentesSinRespuesta".
+     *
+     * @param q El texto buscado.
+     * @param limite El número máximo de resultados (opcional; 20 por defecto y 50 como máximo).
+     * @return Los resultados con su tipo, ID, etiqueta, detalle y puntuación (de 0 a 1), con estado 200 OK.
+     * Ejemplo de uso: GET /api/v1/search?q=lakers&limite=10
+     */
+    @GetMapping
+    public ResponseEntity<RespuestaBusqueda> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(busquedaGlobalService.buscar(q, limite));
+    }
+}
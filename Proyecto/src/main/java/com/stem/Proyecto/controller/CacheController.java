@@ -0,0 +1,69 @@
+package com.stem.Proyecto.controller;
+
+import java.util.List;
+
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.stem.Proyecto.dto.EstadisticasCache;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.RegionesCacheHibernate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Este controlador REST muestra cómo están funcionando las cachés en memoria de equipos y logros
+ * y las regiones de la caché de segundo nivel de Hibernate.
+ * Todas las rutas de esta API comienzan con "/api/v1/cache".
+ */
+@RestController
+@RequestMapping("/api/v1/cache")
+public class CacheController {
+
+    private final CacheEntidades cacheEntidades;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructor que Spring usa para inyectar las cachés.
+     *
+     * @param cacheEntidades Las cachés de equipos y logros.
+     * @param entityManagerFactory La factoría de JPA, de la que se obtiene la caché de segundo nivel.
+     */
+    @Autowired
+    public CacheController(CacheEntidades cacheEntidades, EntityManagerFactory entityManagerFactory) {
+        this.cacheEntidades = cacheEntidades;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Obtiene los contadores de cada caché: tamaño, aciertos, fallos, expulsiones por falta de sitio,
+     * entradas caducadas, invalidaciones por cambios y tasa de aciertos.
+     *
+     * @return Las estadísticas de cada caché.
+     * Ejemplo de uso: GET /api/v1/cache
+     */
+    @GetMapping
+    public List<EstadisticasCache> getEstadisticas() {
+        return cacheEntidades.getEstadisticas();
+    }
+
+    /**
+     * Obtiene los mismos contadores para cada región de la caché de segundo nivel de Hibernate:
+     * una por entidad o colección cacheada y otra para los resultados de las consultas.
+     *
+     * @return Las estadísticas de cada región, o una lista vacía si la caché de segundo nivel está desactivada.
+     * Ejemplo de uso: GET /api/v1/cache/regiones
+     */
+    @GetMapping("/regiones")
+    public List<EstadisticasCache> getEstadisticasRegiones() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+        if (regionFactory instanceof RegionesCacheHibernate regiones) {
+            return regiones.getEstadisticas();
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,80 @@
+package com.stem.Proyecto.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.stem.Proyecto.dto.FilaClasificacion;
+import com.stem.Proyecto.dto.PosicionEnFecha;
+import com.stem.Proyecto.service.ClasificacionService;
+
+/**
+ * Este controlador REST devuelve la clasificación de una temporada.
+ * La clasificación (también la de cualquier fecha pasada) se mantiene en memoria,
+ * así que consultarla no recorre los partidos.
+ * Todas las rutas de esta API comienzan con "/api/v1/clasificacion".
+ */
+@RestController
+@RequestMapping("/api/v1/clasificacion")
+public class ClasificacionController {
+
+    private final ClasificacionService clasificacionService;
+
+    /**
+     * Constructor que Spring usa para inyectar el servicio de clasificación.
+     *
+     * @param clasificacionService El objeto que mantiene la clasificación de cada temporada.
+     */
+    @Autowired
+    public ClasificacionController(ClasificacionService clasificacionService) {
+        this.clasificacionService = clasificacionService;
+    }
+
+    /**
+     * Obtiene la clasificación de una temporada: victorias, derrotas, puntos a favor y en contra,
+     * diferencia, y el balance en casa y fuera de cada equipo.
+     * Si se indica una fecha, devuelve la clasificación tal como estaba al terminar ese día.
+     *
+     * @param temporada La temporada que se quiere consultar.
+     * @param fecha El día de la clasificación, en formato AAAA-MM-DD (opcional; por defecto, la actual).
+     * @return La lista de {@link FilaClasificacion} de primero a último, o 400 Bad Request si la temporada está vacía.
+     * Ejemplo de uso: GET /api/v1/clasificacion?temporada=2024-2025&fecha=2024-12-25
+     */
+    @GetMapping
+    public ResponseEntity<List<FilaClasificacion>> getClasificacion(
+            @RequestParam String temporada,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        if (temporada.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (fecha != null) {
+            return ResponseEntity.ok(clasificacionService.getClasificacionEnFecha(temporada, fecha));
+        }
+        return ResponseEntity.ok(clasificacionService.getClasificacion(temporada));
+    }
+
+    /**
+     * Obtiene la posición de un equipo en la clasificación en cada fecha con partidos de la temporada,
+     * para dibujar su evolución.
+     *
+     * @param temporada La temporada que se quiere consultar.
+     * @param equipoId El ID del equipo.
+     * @return La lista de {@link PosicionEnFecha} en orden de fecha (vacía si el equipo no ha jugado),
+     * o 400 Bad Request si la temporada está vacía.
+     * Ejemplo de uso: GET /api/v1/clasificacion/evolucion?temporada=2024-2025&equipoId=1
+     */
+    @GetMapping("/evolucion")
+    public ResponseEntity<List<PosicionEnFecha>> getEvolucionEquipo(@RequestParam String temporada, @RequestParam Long equipoId) {
+        if (temporada.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(clasificacionService.getEvolucionEquipo(temporada, equipoId));
+    }
+}
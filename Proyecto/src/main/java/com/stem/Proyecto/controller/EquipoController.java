@@ -1,7 +1,6 @@
 package com.stem.Proyecto.controller;
 
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -15,12 +14,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus; 
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.stem.Proyecto.dto.JugadorResumen;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.ResultadoBorrado;
 import com.stem.Proyecto.entity.Equipo;
-import com.stem.Proyecto.entity.Jugador;
 import com.stem.Proyecto.service.EquipoService;
+import com.stem.Proyecto.service.JugadorService;
+import com.stem.Proyecto.util.VersionesTablas;
 
 /**
  * Este controlador REST maneja las peticiones relacionadas con los equipos.
@@ -35,27 +40,78 @@ public class EquipoController {
     @Autowired
     private EquipoService equipoService;
 
+    @Autowired
+    private JugadorService jugadorService;
+
+    @Autowired
+    private VersionesTablas versionesTablas;
+
     /**
      * Obtiene una lista de todos los equipos.
      *
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
      * @return Una lista de todos los objetos {@link Equipo} en la base de datos.
      * Ejemplo de uso: GET /api/v1/equipos
+     * Se mantiene la lista completa por compatibilidad con los clientes existentes;
+     * para recorrer la tabla por páginas se usa GET /api/v1/equipos/pagina.
      */
     @GetMapping
-    public List<Equipo> getAllEquipos() {
+    public List<Equipo> getAllEquipos(WebRequest request) {
+        if (versionesTablas.sinCambios(request, VersionesTablas.EQUIPOS)) {
+            return null;
+        }
         return equipoService.findAll();
     }
 
+    /**
+     * Obtiene una página de equipos usando paginación por cursor.
+     * Para pedir la siguiente página se envía el "siguienteCursor" de la respuesta anterior.
+     *
+     * @param cursor El cursor de la página anterior (opcional).
+     * @param limite El número de equipos por página (opcional, con un máximo configurable).
+     * @param orden El campo por el que ordenar, con "-" delante para orden descendente (opcional).
+     * @param total Si es true, incluye el número aproximado de equipos.
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
+     * @return La página de equipos, o 400 Bad Request si el cursor o el orden no son válidos.
+     * Ejemplo de uso: GET /api/v1/equipos/pagina?limite=20&orden=-nombre
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaCursor<Equipo>> getPaginaEquipos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String orden,
+            @RequestParam(defaultValue = "false") boolean total,
+            WebRequest request) {
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(VersionesTablas.EQUIPOS);
+        PaginaCursor<Equipo> pagina;
+        try {
+            pagina = equipoService.findPagina(cursor, limite, orden, total);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (versionesTablas.sinCambios(request, version)) {
+            return null;
+        }
+        return ResponseEntity.ok(pagina);
+    }
+
     /**
      * Obtiene un equipo específico por su ID.
      *
      * @param id El ID del equipo a buscar.
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
      * @return El objeto {@link Equipo} si se encuentra, o 'null' si no existe.
      * Ejemplo de uso: GET /api/v1/equipos/1
      */
     @GetMapping("/{id}")
-    public Equipo getEquipoById(@PathVariable Long id) {
-        return equipoService.findById(id).orElse(null);
+    public Equipo getEquipoById(@PathVariable Long id, WebRequest request) {
+        // La versión se lee antes que el equipo, pero el ETag solo se pone si el equipo existe
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(VersionesTablas.EQUIPOS);
+        Equipo equipo = equipoService.findById(id).orElse(null);
+        if (equipo == null || versionesTablas.sinCambios(request, version)) {
+            return null;
+        }
+        return equipo;
     }
 
     /**
@@ -73,20 +129,19 @@ public class EquipoController {
 
     /**
      * Actualiza la información de un equipo existente (método PUT).
+     * Se hace con una sola sentencia UPDATE: si no cambia ninguna fila, el equipo no existe.
      * @param id El ID del equipo a actualizar.
      * @param equipo El objeto {@link Equipo} con la información actualizada (enviado en el cuerpo de la petición).
-     * @return El equipo actualizado, o 'null' si el equipo con el ID proporcionado no existe.
+     * @return El equipo actualizado, o un estado 404 Not Found si el equipo no existe.
      * Ejemplo de uso: PUT /api/v1/equipos/1
      */
     @PutMapping("/{id}")
-    public Equipo updateEquipo(@PathVariable Long id, @RequestBody Equipo equipo) {
-        Equipo result = null;
-        // Solo actualiza si el equipo existe
-        if (equipoService.findById(id).isPresent()) {
-            equipo.setId(id); // Asegura que el ID del objeto coincida con el ID de la ruta
-            result = equipoService.save(equipo); // save() actúa como update si el ID ya existe
+    public ResponseEntity<Equipo> updateEquipo(@PathVariable Long id, @RequestBody Equipo equipo) {
+        Equipo result = equipoService.reemplazar(id, equipo);
+        if (result == null) {
+            return ResponseEntity.notFound().build();
         }
-        return result;
+        return ResponseEntity.ok(result);
     }
 
     /**
@@ -106,31 +161,55 @@ public class EquipoController {
         }
 
     /**
-     * Elimina un equipo de la base de datos por su ID.
+     * Elimina un equipo de la base de datos por su ID, junto con sus jugadores y sus partidos.
      *
      * @param id El ID del equipo a eliminar.
+     * @return Las filas borradas de cada tabla (200 OK), o 404 Not Found si el equipo no existe.
      * Ejemplo de uso: DELETE /api/v1/equipos/1
      */
     @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT) // Indica que se devolverá un estado HTTP 204 (No Content)
-    public void deleteEquipo(@PathVariable Long id) {
-        // Solo intenta eliminar si el equipo existe
-        if (equipoService.findById(id).isPresent()) {
-            equipoService.deleteById(id);
+    public ResponseEntity<ResultadoBorrado> deleteEquipo(@PathVariable Long id) {
+        ResultadoBorrado resultado = equipoService.deleteById(id);
+        if (!resultado.isEncontrado()) {
+            return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.ok(resultado);
     }
 
     /**
-     * Obtiene la lista de jugadores que pertenecen a un equipo específico.
+     * Obtiene una página de los jugadores que pertenecen a un equipo específico.
+     * Devuelve solo los datos básicos de cada jugador ({@link JugadorResumen}), ordenados por ID.
+     * Para pedir la siguiente página se envía el "siguienteCursor" de la respuesta anterior.
      *
      * @param id El ID del equipo del que se quieren obtener los jugadores.
-     * @return Una lista de objetos {@link Jugador} asociados al equipo, o 'null' si el equipo no se encuentra.
-     * Ejemplo de uso: GET /api/v1/equipos/1/jugadores
+     * @param activo Si se indica, filtra los jugadores por su estado (opcional).
+     * @param posicion Si se indica, filtra los jugadores por su posición (opcional).
+     * @param cursor El cursor de la página anterior (opcional).
+     * @param limite El número de jugadores por página (opcional, con un máximo configurable).
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
+     * @return La página de jugadores, 404 Not Found si el equipo no existe o 400 Bad Request si el cursor no es válido.
+     * Ejemplo de uso: GET /api/v1/equipos/1/jugadores?activo=true&posicion=Base&limite=20
      */
     @GetMapping("/{id}/jugadores")
-    public List<Jugador> getJugadoresByEquipoId(@PathVariable Long id) {
-        Optional<Equipo> equipoOpt = equipoService.findById(id);
-        // Si el equipo existe, devuelve su lista de jugadores; de lo contrario, devuelve null.
-        return equipoOpt.map(Equipo::getJugadores).orElse(null);
+    public ResponseEntity<PaginaCursor<JugadorResumen>> getJugadoresByEquipoId(
+            @PathVariable Long id,
+            @RequestParam(required = false) Boolean activo,
+            @RequestParam(required = false) String posicion,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            WebRequest request) {
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(VersionesTablas.EQUIPOS, VersionesTablas.JUGADORES);
+        try {
+            PaginaCursor<JugadorResumen> pagina = jugadorService.findPlantilla(id, activo, posicion, cursor, limite);
+            if (pagina == null) {
+                return ResponseEntity.notFound().build();
+            }
+            if (versionesTablas.sinCambios(request, version)) {
+                return null;
+            }
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
-}
\ No newline at end of file
+}
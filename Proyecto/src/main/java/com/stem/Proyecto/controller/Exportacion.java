@@ -0,0 +1,18 @@
+package com.stem.Proyecto.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca los endpoints que escriben una exportación completa en otro hilo (con un {@code StreamingResponseBody}).
+ * Su respuesta asíncrona tiene el plazo de {@code nba.exportacion.minutos-limite}
+ * en lugar del de Tomcat (30 segundos), que sigue valiendo para el resto de peticiones.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Exportacion {
+}
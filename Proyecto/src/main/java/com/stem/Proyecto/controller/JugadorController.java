@@ -1,11 +1,14 @@
 package com.stem.Proyecto.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set; 
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,11 +19,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.stem.Proyecto.dto.JugadorExportado;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.ResultadoImportacion;
 import com.stem.Proyecto.entity.Jugador;
 import com.stem.Proyecto.entity.Logro;
 import com.stem.Proyecto.service.EquipoService;
+import com.stem.Proyecto.service.ExportacionService;
+import com.stem.Proyecto.service.ImportacionService;
 import com.stem.Proyecto.service.JugadorService;
+import com.stem.Proyecto.util.VersionesTablas;
 
 /**
  * Este controlador REST maneja las peticiones relacionadas con los jugadores.
@@ -32,43 +43,116 @@ import com.stem.Proyecto.service.JugadorService;
 @RequestMapping("/api/v1/jugadores")
 public class JugadorController {
 
+    // Cada jugador se devuelve con su equipo y sus logros
+    private static final String[] TABLAS = {VersionesTablas.JUGADORES, VersionesTablas.EQUIPOS, VersionesTablas.LOGROS};
+
     private final JugadorService jugadorService;
     private final EquipoService equipoService;
+    private final ExportacionService exportacionService;
+    private final ImportacionService importacionService;
+    private final VersionesTablas versionesTablas;
     // Si no vas a usar logroService directamente en el controlador (solo a través de jugadorService), puedes eliminarlo.
     // private final LogroService logroService;
 
     // Usar inyección por constructor es preferible a @Autowired en los campos
     @Autowired
-    public JugadorController(JugadorService jugadorService, EquipoService equipoService /*, LogroService logroService*/) {
+    public JugadorController(JugadorService jugadorService, EquipoService equipoService,
+                             ExportacionService exportacionService, ImportacionService importacionService,
+                             VersionesTablas versionesTablas /*, LogroService logroService*/) {
         this.jugadorService = jugadorService;
         this.equipoService = equipoService;
+        this.exportacionService = exportacionService;
+        this.importacionService = importacionService;
+        this.versionesTablas = versionesTablas;
         // this.logroService = logroService;
     }
 
     /**
      * Obtiene una lista de todos los jugadores.
      *
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
      * @return Una lista de todos los objetos {@link Jugador} en la base de datos.
      * Ejemplo de uso: GET /api/v1/jugadores
+     * Se mantiene la lista completa por compatibilidad con los clientes existentes;
+     * para recorrer la tabla por páginas se usa GET /api/v1/jugadores/pagina.
      */
     @GetMapping
-    public ResponseEntity<List<Jugador>> getAllJugadores() {
+    public ResponseEntity<List<Jugador>> getAllJugadores(WebRequest request) {
+        if (versionesTablas.sinCambios(request, TABLAS)) {
+            return null;
+        }
         List<Jugador> jugadores = jugadorService.findAll();
         return ResponseEntity.ok(jugadores);
     }
 
+    /**
+     * Obtiene una página de jugadores usando paginación por cursor.
+     * Para pedir la siguiente página se envía el "siguienteCursor" de la respuesta anterior.
+     *
+     * @param cursor El cursor de la página anterior (opcional).
+     * @param limite El número de jugadores por página (opcional, con un máximo configurable).
+     * @param orden El campo por el que ordenar, con "-" delante para orden descendente (opcional).
+     * @param total Si es true, incluye el número aproximado de jugadores.
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
+     * @return La página de jugadores, o 400 Bad Request si el cursor o el orden no son válidos.
+     * Ejemplo de uso: GET /api/v1/jugadores/pagina?limite=20&orden=-apellido
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaCursor<Jugador>> getPaginaJugadores(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String orden,
+            @RequestParam(defaultValue = "false") boolean total,
+            WebRequest request) {
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(TABLAS);
+        PaginaCursor<Jugador> pagina;
+        try {
+            pagina = jugadorService.findPagina(cursor, limite, orden, total);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (versionesTablas.sinCambios(request, version)) {
+            return null;
+        }
+        return ResponseEntity.ok(pagina);
+    }
+
+    /**
+     * Exporta todos los jugadores en JSON delimitado por saltos de línea: un {@link JugadorExportado} por línea,
+     * en orden de ID, con su equipo y los IDs de sus logros. Las filas se escriben según se leen de la base de datos,
+     * así que la memoria usada no depende del número de jugadores. Si el cliente acepta gzip, la respuesta va comprimida.
+     * Sin ETag: Tomcat no comprime las respuestas con un ETag fuerte.
+     *
+     * @return El cuerpo que escribe los jugadores en la respuesta, en otro hilo.
+     * Ejemplo de uso: GET /api/v1/jugadores/export
+     */
+    @GetMapping("/export")
+    @Exportacion
+    public ResponseEntity<StreamingResponseBody> exportJugadores() {
+        StreamingResponseBody cuerpo = exportacionService::exportarJugadores;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
+    }
+
     /**
      * Obtiene un jugador específico por su ID.
      *
      * @param id El ID del jugador a buscar.
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
      * @return El objeto {@link Jugador} si se encuentra, o 'null' si no existe.
      * Ejemplo de uso: GET /api/v1/jugadores/1
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Jugador> getJugadorById(@PathVariable Long id) {
-        return jugadorService.findById(id)
-                .map(ResponseEntity::ok) 
-                .orElse(ResponseEntity.notFound().build()); 
+    public ResponseEntity<Jugador> getJugadorById(@PathVariable Long id, WebRequest request) {
+        // La versión se lee antes que el jugador, pero el ETag solo se pone si el jugador existe
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(TABLAS);
+        Optional<Jugador> jugador = jugadorService.findById(id);
+        if (jugador.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (versionesTablas.sinCambios(request, version)) {
+            return null;
+        }
+        return ResponseEntity.ok(jugador.get());
     }
 
     /**
@@ -86,6 +170,27 @@ public class JugadorController {
         return new ResponseEntity<>(createdJugador, HttpStatus.CREATED); 
     }
 
+    /**
+     * Crea muchos jugadores en una sola petición: un array JSON o JSON delimitado por saltos de línea
+     * (application/x-ndjson), con un jugador en el mismo formato que {@link #createJugador}.
+     * Las filas no válidas (datos que faltan, o un equipo o un logro que no existe) se rechazan
+     * y las demás se guardan igualmente.
+     *
+     * @param cuerpo El cuerpo de la petición, que se lee según llega.
+     * @return El ID de cada fila guardada o el motivo de su rechazo, en el orden de la entrada,
+     * o 400 Bad Request si el cuerpo no es JSON válido (en ese caso no se guarda ninguna fila).
+     * @throws IOException Si falla la lectura del cuerpo.
+     * Ejemplo de uso: POST /api/v1/jugadores/bulk (con body: [{"nombre": "Ana", "apellido": "Pérez", "equipo": {"id": 1}}, ...])
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ResultadoImportacion> createJugadores(InputStream cuerpo) throws IOException {
+        try {
+            return ResponseEntity.ok(importacionService.importarJugadores(cuerpo));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Actualiza la información de un jugador existente.
      * También permite actualizar el equipo asociado al jugador.
@@ -110,46 +215,71 @@ public class JugadorController {
      * Elimina un jugador de la base de datos por su ID.
      *
      * @param id El ID del jugador a eliminar.
+     * @return Un estado 204 No Content si se eliminó, o 404 Not Found si el jugador no existe.
      * Ejemplo de uso: DELETE /api/v1/jugadores/1
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteJugador(@PathVariable Long id) {
-        // Comprobar si existe antes de eliminar es una buena práctica para devolver 404
-        if (jugadorService.findById(id).isPresent()) {
-            jugadorService.deleteById(id);
-            return ResponseEntity.noContent().build(); 
-        } else {
-            return ResponseEntity.notFound().build(); 
+        // Sin comprobar antes si existe: las filas borradas ya lo dicen
+        if (!jugadorService.deleteById(id).isEncontrado()) {
+            return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.noContent().build();
     }
 
     /**
-     * Busca jugadores por nombre (parcial o completo).
+     * Busca jugadores por nombre o apellido (parcial o completo), sin distinguir mayúsculas ni tildes.
+     * Los resultados se ordenan de mejor a peor coincidencia y se paginan por cursor.
+     * Con "aproximada=true" también se encuentran las palabras mal escritas ("gonzales" encuentra a "González").
      *
-     * @param nombre El nombre o parte del nombre a buscar.
-     * @return Una lista de jugadores que coinciden con el criterio de búsqueda.
-     * Ejemplo de uso: GET /api/v1/jugadores/search?nombre=juan
+     * @param nombre Las palabras a buscar en el nombre o el apellido.
+     * @param aproximada Si se admiten errores de escritura (opcional, por defecto false).
+     * @param cursor El cursor de la página anterior (opcional).
+     * @param limite El número de jugadores por página (opcional, con un máximo configurable).
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
+     * @return La página de jugadores encontrados, 204 No Content si no hay ninguno,
+     * o 400 Bad Request si el cursor no es válido.
+     * Ejemplo de uso: GET /api/v1/jugadores/search?nombre=gonzales&aproximada=true&limite=20
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Jugador>> searchJugadores(@RequestParam String nombre) {
-        List<Jugador> jugadores = jugadorService.findByNombreContainingIgnoreCase(nombre);
-        if (jugadores.isEmpty()) {
+    public ResponseEntity<PaginaCursor<Jugador>> searchJugadores(
+            @RequestParam String nombre,
+            @RequestParam(defaultValue = "false") boolean aproximada,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            WebRequest request) {
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(TABLAS);
+        PaginaCursor<Jugador> pagina;
+        try {
+            pagina = jugadorService.buscar(nombre, aproximada, cursor, limite);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (versionesTablas.sinCambios(request, version)) {
+            return null;
+        }
+        if (pagina.getContenido().isEmpty()) {
             return ResponseEntity.noContent().build(); 
         }
-        return ResponseEntity.ok(jugadores); 
+        return ResponseEntity.ok(pagina); 
     }
 
     /**
      * Obtiene la lista de logros asociados a un jugador específico.
      *
      * @param jugadorId El ID del jugador del que se quieren obtener los logros.
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
      * @return Un Set de objetos {@link Logro} asociados al jugador.
      * Ejemplo de uso: GET /api/v1/jugadores/1/logros
      */
     @GetMapping("/{jugadorId}/logros")
-    public ResponseEntity<Set<Logro>> getJugadorLogros(@PathVariable Long jugadorId) { 
+    public ResponseEntity<Set<Logro>> getJugadorLogros(@PathVariable Long jugadorId, WebRequest request) {
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(VersionesTablas.JUGADORES, VersionesTablas.LOGROS);
         Optional<Jugador> jugadorOpt = jugadorService.findById(jugadorId);
         if (jugadorOpt.isPresent()) {
+            if (versionesTablas.sinCambios(request, version)) {
+                return null;
+            }
             // Devuelve el Set de logros del jugador.
             // Spring Boot (Jackson) lo serializará como un array JSON.
             return ResponseEntity.ok(jugadorOpt.get().getLogros());
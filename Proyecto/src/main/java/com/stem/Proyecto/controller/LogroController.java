@@ -13,10 +13,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.ResultadoBorrado;
 import com.stem.Proyecto.entity.Logro;
 import com.stem.Proyecto.service.LogroService;
+import com.stem.Proyecto.util.VersionesTablas;
 
 /**
  * Este controlador REST maneja las peticiones relacionadas con los logros.
@@ -27,16 +32,22 @@ import com.stem.Proyecto.service.LogroService;
 @RequestMapping("/api/v1/logros")
 public class LogroController {
 
+    // Cada logro se devuelve con el nombre de los jugadores que lo tienen
+    private static final String[] TABLAS = {VersionesTablas.LOGROS, VersionesTablas.JUGADORES};
+
     private final LogroService logroService;
+    private final VersionesTablas versionesTablas;
 
     /**
      * Constructor que Spring usa para inyectar el servicio de logros.
      *
      * @param logroService El objeto que contiene la lógica de negocio para los logros.
+     * @param versionesTablas Las versiones de las tablas, para responder 304 si los datos no han cambiado.
      */
     @Autowired // La inyección por constructor es la forma recomendada y asegura que el servicio esté disponible
-    public LogroController(LogroService logroService) {
+    public LogroController(LogroService logroService, VersionesTablas versionesTablas) {
         this.logroService = logroService;
+        this.versionesTablas = versionesTablas;
     }
 
     /**
@@ -46,30 +57,110 @@ public class LogroController {
      * configuración en la entidad Logro (el método getJugadoresJson() con @JsonProperty),
      * serán serializados a JSON incluyendo una lista de los jugadores asociados.
      *
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
      * @return Un {@link ResponseEntity} que contiene una lista de todos los objetos {@link Logro}
      * en la base de datos con un estado HTTP 200 OK.
      * Ejemplo de uso: GET /api/v1/logros
+     * Se mantiene la lista completa por compatibilidad con los clientes existentes;
+     * para recorrer la tabla por páginas se usa GET /api/v1/logros/pagina.
      */
     @GetMapping // Mapea las peticiones GET a la ruta base "/api/v1/logros"
-    public ResponseEntity<List<Logro>> findAll() { // Nombre de método claro para la operación de listar todos
+    public ResponseEntity<List<Logro>> findAll(WebRequest request) { // Nombre de método claro para la operación de listar todos
+        if (versionesTablas.sinCambios(request, TABLAS)) {
+            return null;
+        }
         List<Logro> logros = logroService.findAll();
         return ResponseEntity.ok(logros); // Devuelve las entidades Logro directamente para que Jackson las serialice
     }
 
+    /**
+     * Obtiene una página de logros usando paginación por cursor.
+     * Para pedir la siguiente página se envía el "siguienteCursor" de la respuesta anterior.
+     *
+     * @param cursor El cursor de la página anterior (opcional).
+     * @param limite El número de logros por página (opcional, con un máximo configurable).
+     * @param orden El campo por el que ordenar, con "-" delante para orden descendente (opcional).
+     * @param total Si es true, incluye el número aproximado de logros.
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
+     * @return La página de logros, o 400 Bad Request si el cursor o el orden no son válidos.
+     * Ejemplo de uso: GET /api/v1/logros/pagina?limite=20&orden=-nombre
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaCursor<Logro>> getPaginaLogros(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String orden,
+            @RequestParam(defaultValue = "false") boolean total,
+            WebRequest request) {
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(TABLAS);
+        PaginaCursor<Logro> pagina;
+        try {
+            pagina = logroService.findPagina(cursor, limite, orden, total);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (versionesTablas.sinCambios(request, version)) {
+            return null;
+        }
+        return ResponseEntity.ok(pagina);
+    }
+
+    /**
+     * Busca logros por las palabras de su nombre o su descripción, sin distinguir mayúsculas, tildes,
+     * género ni número. Los resultados se ordenan de más a menos relevante (BM25) y se paginan por cursor.
+     *
+     * @param texto Las palabras a buscar.
+     * @param cursor El cursor de la página anterior (opcional).
+     * @param limite El número de logros por página (opcional, con un máximo configurable).
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
+     * @return La página de logros encontrados, 204 No Content si no hay ninguno,
+     * o 400 Bad Request si el cursor no es válido.
+     * Ejemplo de uso: GET /api/v1/logros/search?texto=mejor%20defensor&limite=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PaginaCursor<Logro>> searchLogros(
+            @RequestParam String texto,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            WebRequest request) {
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(TABLAS);
+        PaginaCursor<Logro> pagina;
+        try {
+            pagina = logroService.buscar(texto, cursor, limite);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (versionesTablas.sinCambios(request, version)) {
+            return null;
+        }
+        if (pagina.getContenido().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(pagina);
+    }
+
     /**
      * Busca un logro específico por su ID.
      *
      * @param id El ID del logro a buscar.
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
      * @return Un {@link ResponseEntity} que contiene el {@link Logro} si se encuentra (código 200 OK),
      * o un estado 404 Not Found si no existe.
      * Ejemplo de uso: GET /api/v1/logros/1
      */
     @GetMapping("/{id}") // Mapea las peticiones GET a rutas como "/api/v1/logros/1"
-    public ResponseEntity<Logro> findById(@PathVariable Long id) {
+    public ResponseEntity<Logro> findById(@PathVariable Long id, WebRequest request) {
+        // La versión se lee antes que el logro, pero el ETag solo se pone si el logro existe
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(TABLAS);
         Optional<Logro> logroOpt = logroService.findById(id);
         // Si el logro existe, devuelve 200 OK con el logro; si no, devuelve 404 Not Found.
-        return logroOpt.map(ResponseEntity::ok)
-                       .orElseGet(() -> ResponseEntity.notFound().build());
+        if (logroOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (versionesTablas.sinCambios(request, version)) {
+            return null;
+        }
+        return ResponseEntity.ok(logroOpt.get());
     }
 
     /**
@@ -104,15 +195,19 @@ public class LogroController {
     }
 
     /**
-     * Elimina un logro de la base de datos por su ID.
+     * Elimina un logro de la base de datos por su ID, junto con sus asociaciones con jugadores.
      *
      * @param id El ID del logro a eliminar.
-     * @return Un {@link ResponseEntity} sin contenido y un estado 204 No Content para indicar que la operación fue exitosa.
+     * @return Un {@link ResponseEntity} con las filas borradas de cada tabla y estado 200 OK,
+     * o un estado 404 Not Found si el logro no existe.
      * Ejemplo de uso: DELETE /api/v1/logros/1
      */
     @DeleteMapping("/{id}") 
-    public ResponseEntity<Void> deleteById(@PathVariable Long id) {
-        logroService.deleteById(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<ResultadoBorrado> deleteById(@PathVariable Long id) {
+        ResultadoBorrado resultado = logroService.deleteById(id);
+        if (!resultado.isEncontrado()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(resultado);
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,15 @@
 package com.stem.Proyecto.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,13 +17,22 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.stem.Proyecto.dto.Marcador;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.PartidoResumen;
+import com.stem.Proyecto.dto.ResultadoImportacion;
 import com.stem.Proyecto.entity.Equipo;
 import com.stem.Proyecto.entity.Partido;
-import com.stem.Proyecto.service.EquipoService;
+import com.stem.Proyecto.service.ExportacionService;
+import com.stem.Proyecto.service.ImportacionService;
 import com.stem.Proyecto.service.PartidoService;
+import com.stem.Proyecto.util.VersionesTablas;
 
 /**
  * Este controlador REST maneja las peticiones relacionadas con los partidos.
@@ -30,75 +44,213 @@ import com.stem.Proyecto.service.PartidoService;
 @RequestMapping("/api/v1/partidos")
 public class PartidoController {
 
+    // Cada partido se devuelve con el nombre de sus equipos
+    private static final String[] TABLAS = {VersionesTablas.PARTIDOS, VersionesTablas.EQUIPOS};
+
     private final PartidoService partidoService;
-    private final EquipoService equipoService;
+    private final ExportacionService exportacionService;
+    private final ImportacionService importacionService;
+    private final VersionesTablas versionesTablas;
 
     /**
      * Constructor que Spring usa para inyectar los servicios necesarios.
      *
      * @param partidoService El objeto que contiene la lógica de negocio para los partidos.
-     * @param equipoService El objeto que contiene la lógica de negocio para los equipos.
+     * @param exportacionService El servicio que exporta los partidos en NDJSON y en CSV.
+     * @param importacionService El servicio que importa los partidos en CSV.
+     * @param versionesTablas Las versiones de las tablas, para responder 304 si los datos no han cambiado.
      */
     @Autowired
-    public PartidoController(PartidoService partidoService, EquipoService equipoService) {
+    public PartidoController(PartidoService partidoService, ExportacionService exportacionService,
+                             ImportacionService importacionService, VersionesTablas versionesTablas) {
         this.partidoService = partidoService;
-        this.equipoService = equipoService;
+        this.exportacionService = exportacionService;
+        this.importacionService = importacionService;
+        this.versionesTablas = versionesTablas;
     }
 
     /**
      * Obtiene una lista de todos los partidos.
      *
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
      * @return Una lista de todos los objetos {@link Partido} en la base de datos.
      * Ejemplo de uso: GET /api/v1/partidos
+     * Se mantiene la lista completa por compatibilidad con los clientes existentes;
+     * para recorrer la tabla por páginas se usa GET /api/v1/partidos/pagina.
      */
     @GetMapping
-    public List<Partido> getAllPartidos() {
+    public List<Partido> getAllPartidos(WebRequest request) {
+        if (versionesTablas.sinCambios(request, TABLAS)) {
+            return null;
+        }
         return partidoService.findAll();
     }
 
+    /**
+     * Obtiene una página de partidos usando paginación por cursor.
+     * Para pedir la siguiente página se envía el "siguienteCursor" de la respuesta anterior.
+     *
+     * @param cursor El cursor de la página anterior (opcional).
+     * @param limite El número de partidos por página (opcional, con un máximo configurable).
+     * @param orden El campo por el que ordenar, con "-" delante para orden descendente (opcional).
+     * @param total Si es true, incluye el número aproximado de partidos.
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
+     * @return La página de partidos, o 400 Bad Request si el cursor o el orden no son válidos.
+     * Ejemplo de uso: GET /api/v1/partidos/pagina?limite=20&orden=-fecha
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaCursor<Partido>> getPaginaPartidos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String orden,
+            @RequestParam(defaultValue = "false") boolean total,
+            WebRequest request) {
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(TABLAS);
+        PaginaCursor<Partido> pagina;
+        try {
+            pagina = partidoService.findPagina(cursor, limite, orden, total);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (versionesTablas.sinCambios(request, version)) {
+            return null;
+        }
+        return ResponseEntity.ok(pagina);
+    }
+
+    /**
+     * Obtiene un resumen de los partidos con el ID y el nombre de cada equipo,
+     * sin cargar las entidades de los equipos. Es lo que usa la página de listado.
+     *
+     * @param temporada La temporada por la que filtrar (opcional).
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
+     * @return Una lista de {@link PartidoResumen} ordenada por fecha.
+     * Ejemplo de uso: GET /api/v1/partidos/resumen?temporada=2024-2025
+     */
+    @GetMapping("/resumen")
+    public List<PartidoResumen> getResumenPartidos(@RequestParam(required = false) String temporada, WebRequest request) {
+        if (versionesTablas.sinCambios(request, TABLAS)) {
+            return null;
+        }
+        return partidoService.findResumen(temporada);
+    }
+
+    /**
+     * Exporta todos los partidos (o los de una temporada) en JSON delimitado por saltos de línea:
+     * un {@link PartidoResumen} por línea, en orden de ID. Las filas se escriben según se leen de la base de datos,
+     * así que la memoria usada no depende del número de partidos. Si el cliente acepta gzip, la respuesta va comprimida.
+     *
+     * Sin ETag: Tomcat no comprime las respuestas con un ETag fuerte.
+     *
+     * @param temporada La temporada por la que filtrar (opcional).
+     * @return El cuerpo que escribe los partidos en la respuesta, en otro hilo.
+     * Ejemplo de uso: GET /api/v1/partidos/export?temporada=2024-2025
+     */
+    @GetMapping("/export")
+    @Exportacion
+    public ResponseEntity<StreamingResponseBody> exportPartidos(@RequestParam(required = false) String temporada) {
+        StreamingResponseBody cuerpo = salida -> exportacionService.exportarPartidos(temporada, salida);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
+    }
+
+    /**
+     * Exporta todos los partidos (o los de una temporada) en CSV, con una fila de cabecera y los equipos
+     * por su abreviatura. Como la exportación en NDJSON, se escribe según se lee y se comprime si el cliente acepta gzip.
+     *
+     * @param temporada La temporada por la que filtrar (opcional).
+     * @return El cuerpo que escribe el CSV en la respuesta, en otro hilo.
+     * Ejemplo de uso: GET /api/v1/partidos/csv?temporada=2024-2025
+     */
+    @GetMapping("/csv")
+    @Exportacion
+    public ResponseEntity<StreamingResponseBody> exportPartidosCsv(@RequestParam(required = false) String temporada) {
+        StreamingResponseBody cuerpo = salida -> exportacionService.exportarPartidosCsv(temporada, Channels.newChannel(salida));
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"partidos.csv\"")
+                .body(cuerpo);
+    }
+
+    /**
+     * Crea partidos a partir de un CSV con el formato de la exportación (la columna id se ignora).
+     * Las filas no válidas se rechazan sin impedir que se guarden las demás.
+     *
+     * @param cuerpo El CSV, en UTF-8.
+     * @return El número de filas aceptadas y rechazadas, el motivo de cada rechazo y el ritmo de la importación,
+     * o 400 Bad Request si falta la cabecera o alguna columna obligatoria, o el CSV está mal formado.
+     * Ejemplo de uso: POST /api/v1/partidos/csv (con body: fecha,hora,local,visitante,temporada\n2024-11-05,20:00,LAL,BOS,2024-2025)
+     */
+    @PostMapping("/csv")
+    public ResponseEntity<ResultadoImportacion> importPartidosCsv(InputStream cuerpo) throws IOException {
+        try {
+            return ResponseEntity.ok(importacionService.importarPartidosCsv(cuerpo));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Obtiene un partido específico por su ID.
      *
      * @param id El ID del partido a buscar.
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
      * @return El objeto {@link Partido} si se encuentra, o 'null' si no existe.
      * Ejemplo de uso: GET /api/v1/partidos/1
      */
     @GetMapping("/{id}")
-    public Partido getPartidoById(@PathVariable Long id) {
-        return partidoService.findById(id).orElse(null);
+    public Partido getPartidoById(@PathVariable Long id, WebRequest request) {
+        // La versión se lee antes que el partido, pero el ETag solo se pone si el partido existe
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(TABLAS);
+        Partido partido = partidoService.findById(id).orElse(null);
+        if (partido == null || versionesTablas.sinCambios(request, version)) {
+            return null;
+        }
+        return partido;
     }
 
     /**
      * Obtiene el equipo local de un partido específico.
      *
      * @param id El ID del partido del que se quiere obtener el equipo local.
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
      * @return El objeto {@link Equipo} del equipo local, o 'null' si el partido no se encuentra o no tiene equipo local.
      * Ejemplo de uso: GET /api/v1/partidos/1/equipoLocal
      */
     @GetMapping("/{id}/equipoLocal")
-    public Equipo getEquipoLocalByPartidoId(@PathVariable Long id) {
-        return partidoService.findById(id)
+    public Equipo getEquipoLocalByPartidoId(@PathVariable Long id, WebRequest request) {
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(TABLAS);
+        Equipo equipo = partidoService.findById(id)
                              .map(Partido::getEquipoLocal) // Si encuentra el partido, obtiene su equipo local
                              .orElse(null); // Si no encuentra el partido, devuelve null
+        if (equipo == null || versionesTablas.sinCambios(request, version)) {
+            return null;
+        }
+        return equipo;
     }
 
     /**
      * Obtiene el equipo visitante de un partido específico.
      *
      * @param id El ID del partido del que se quiere obtener el equipo visitante.
+     * @param request La petición; si trae el ETag de la versión actual, se responde 304 Not Modified.
      * @return El objeto {@link Equipo} del equipo visitante, o 'null' si el partido no se encuentra o no tiene equipo visitante.
      * Ejemplo de uso: GET /api/v1/partidos/1/equipoVisitante
      */
     @GetMapping("/{id}/equipoVisitante")
-    public Equipo getEquipoVisitanteByPartidoId(@PathVariable Long id) {
-        return partidoService.findById(id)
+    public Equipo getEquipoVisitanteByPartidoId(@PathVariable Long id, WebRequest request) {
+        VersionesTablas.Instantanea version = versionesTablas.instantanea(TABLAS);
+        Equipo equipo = partidoService.findById(id)
                              .map(Partido::getEquipoVisitante) // Si encuentra el partido, obtiene su equipo visitante
                              .orElse(null); // Si no encuentra el partido, devuelve null
+        if (equipo == null || versionesTablas.sinCambios(request, version)) {
+            return null;
+        }
+        return equipo;
     }
 
     /**
      * Crea un nuevo partido en la base de datos.
-     * Antes de guardar, intenta vincular los equipos local y visitante existentes por sus IDs.
+     * El servicio vincula los equipos local y visitante existentes por sus IDs.
      *
      * @param partido El objeto {@link Partido} a crear (enviado en el cuerpo de la petición).
      * @return El partido recién creado.
@@ -107,16 +259,6 @@ public class PartidoController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED) // Indica que se devolverá un estado HTTP 201 (Created)
     public Partido createPartido(@RequestBody Partido partido) {
-        // Intenta asignar el equipo local si se proporciona un ID válido
-        if (partido.getEquipoLocal() != null && partido.getEquipoLocal().getId() != null) {
-            equipoService.findById(partido.getEquipoLocal().getId())
-                         .ifPresent(partido::setEquipoLocal);
-        }
-        // Intenta asignar el equipo visitante si se proporciona un ID válido
-        if (partido.getEquipoVisitante() != null && partido.getEquipoVisitante().getId() != null) {
-            equipoService.findById(partido.getEquipoVisitante().getId())
-                         .ifPresent(partido::setEquipoVisitante);
-        }
         return partidoService.save(partido);
     }
 
@@ -126,48 +268,45 @@ public class PartidoController {
      *
      * @param id El ID del partido a actualizar.
      * @param partido El objeto {@link Partido} con la información actualizada (enviado en el cuerpo de la petición).
-     * @return El partido actualizado, o 'null' si el partido con el ID proporcionado no existe.
+     * @return El partido actualizado, o un estado 404 Not Found si el partido no existe.
      * Ejemplo de uso: PUT /api/v1/partidos/1
      */
     @PutMapping("/{id}")
-    public Partido updatePartido(@PathVariable Long id, @RequestBody Partido partido) {
-        Optional<Partido> existingPartido = partidoService.findById(id);
-        if (existingPartido.isPresent()) {
-            partido.setId(id); // Asegura que el ID del objeto coincida con el ID de la ruta
-
-            // Actualiza el equipo local, buscando el equipo real si se proporciona un ID, o desasociándolo si es nulo
-            if (partido.getEquipoLocal() != null && partido.getEquipoLocal().getId() != null) {
-                equipoService.findById(partido.getEquipoLocal().getId())
-                             .ifPresent(partido::setEquipoLocal);
-            } else if (partido.getEquipoLocal() == null) {
-                partido.setEquipoLocal(null);
-            }
-
-            // Actualiza el equipo visitante, buscando el equipo real si se proporciona un ID, o desasociándolo si es nulo
-            if (partido.getEquipoVisitante() != null && partido.getEquipoVisitante().getId() != null) {
-                equipoService.findById(partido.getEquipoVisitante().getId())
-                             .ifPresent(partido::setEquipoVisitante);
-            } else if (partido.getEquipoVisitante() == null) {
-                partido.setEquipoVisitante(null);
-            }
-
-            return partidoService.save(partido); // save() actúa como update si el ID ya existe
+    public ResponseEntity<Partido> updatePartido(@PathVariable Long id, @RequestBody Partido partido) {
+        // Un solo UPDATE, que vincula los equipos reales por sus IDs; si no cambia ninguna fila, el partido no existe
+        Partido result = partidoService.reemplazar(id, partido);
+        if (result == null) {
+            return ResponseEntity.notFound().build();
         }
-        return null; // Si el partido no existe, devuelve null
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Actualiza los marcadores finales de muchos partidos de una vez, en una sola transacción:
+     * solo cambian las puntuaciones. Los marcadores no válidos o de partidos que no existen se rechazan
+     * sin impedir que se guarden los demás.
+     *
+     * @param marcadores Los marcadores, cada uno con el ID de su partido y las dos puntuaciones.
+     * @return El resultado de cada marcador, en el mismo orden.
+     * Ejemplo de uso: PUT /api/v1/partidos/marcadores (con body: [{"partidoId": 1, "puntuacionLocal": 101, "puntuacionVisitante": 99}, ...])
+     */
+    @PutMapping("/marcadores")
+    public ResultadoImportacion updateMarcadores(@RequestBody List<Marcador> marcadores) {
+        return partidoService.actualizarMarcadores(marcadores);
     }
 
     /**
      * Elimina un partido de la base de datos por su ID.
      *
      * @param id El ID del partido a eliminar.
+     * @return Un estado 204 No Content si se eliminó, o 404 Not Found si el partido no existe.
      * Ejemplo de uso: DELETE /api/v1/partidos/1
      */
     @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT) // Indica que se devolverá un estado HTTP 204 (No Content)
-    public void deletePartido(@PathVariable Long id) {
-        // Solo intenta eliminar si el partido existe
-        if (partidoService.findById(id).isPresent()) {
-            partidoService.deleteById(id);
+    public ResponseEntity<Void> deletePartido(@PathVariable Long id) {
+        if (!partidoService.deleteById(id)) {
+            return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.stem.Proyecto.dto;
+
+/**
+ * Los contadores de una caché en memoria desde que arrancó la aplicación.
+ */
+public class EstadisticasCache {
+
+    private final String nombre;
+    private final int tamanio;
+    private final int tamanioMaximo;
+    private final long aciertos;
+    private final long fallos;
+    private final long expulsiones;
+    private final long caducadas;
+    private final long invalidaciones;
+
+    public EstadisticasCache(String nombre, int tamanio, int tamanioMaximo, long aciertos, long fallos,
+                             long expulsiones, long caducadas, long invalidaciones) {
+        this.nombre = nombre;
+        this.tamanio = tamanio;
+        this.tamanioMaximo = tamanioMaximo;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.expulsiones = expulsiones;
+        this.caducadas = caducadas;
+        this.invalidaciones = invalidaciones;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    public int getTamanioMaximo() {
+        return tamanioMaximo;
+    }
+
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    /**
+     * @return Las entradas que salieron por falta de sitio (o que no llegaron a entrar).
+     */
+    public long getExpulsiones() {
+        return expulsiones;
+    }
+
+    public long getCaducadas() {
+        return caducadas;
+    }
+
+    public long getInvalidaciones() {
+        return invalidaciones;
+    }
+
+    /**
+     * @return La proporción de peticiones servidas desde la caché (de 0 a 1; 0 si aún no hay ninguna).
+     */
+    public double getTasaAciertos() {
+        long peticiones = aciertos + fallos;
+        return peticiones == 0 ? 0 : (double) aciertos / peticiones;
+    }
+}
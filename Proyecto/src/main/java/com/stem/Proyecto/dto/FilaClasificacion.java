@@ -0,0 +1,110 @@
+package com.stem.Proyecto.dto;
+
+/**
+ * Una fila de la clasificación de una temporada: el balance de un equipo
+ * en los partidos ya disputados, en total y separado en casa y fuera.
+ */
+public class FilaClasificacion {
+
+    private final int posicion;
+    private final Long equipoId;
+    private final String nombreEquipo;
+    private final int victorias;
+    private final int derrotas;
+    private final int empates;
+    private final int puntosAFavor;
+    private final int puntosEnContra;
+    private final int victoriasLocal;
+    private final int derrotasLocal;
+    private final int victoriasVisitante;
+    private final int derrotasVisitante;
+
+    public FilaClasificacion(int posicion, Long equipoId, String nombreEquipo, int victorias, int derrotas, int empates,
+                             int puntosAFavor, int puntosEnContra, int victoriasLocal, int derrotasLocal,
+                             int victoriasVisitante, int derrotasVisitante) {
+        this.posicion = posicion;
+        this.equipoId = equipoId;
+        this.nombreEquipo = nombreEquipo;
+        this.victorias = victorias;
+        this.derrotas = derrotas;
+        this.empates = empates;
+        this.puntosAFavor = puntosAFavor;
+        this.puntosEnContra = puntosEnContra;
+        this.victoriasLocal = victoriasLocal;
+        this.derrotasLocal = derrotasLocal;
+        this.victoriasVisitante = victoriasVisitante;
+        this.derrotasVisitante = derrotasVisitante;
+    }
+
+    /**
+     * @param nuevaPosicion La posición que ocupa la fila una vez ordenada la clasificación.
+     * @return Una copia de esta fila con esa posición.
+     */
+    public FilaClasificacion conPosicion(int nuevaPosicion) {
+        return new FilaClasificacion(nuevaPosicion, equipoId, nombreEquipo, victorias, derrotas, empates, puntosAFavor,
+                puntosEnContra, victoriasLocal, derrotasLocal, victoriasVisitante, derrotasVisitante);
+    }
+
+    /** @return La posición en la clasificación, empezando en 1. */
+    public int getPosicion() {
+        return posicion;
+    }
+
+    public Long getEquipoId() {
+        return equipoId;
+    }
+
+    public String getNombreEquipo() {
+        return nombreEquipo;
+    }
+
+    public int getPartidosJugados() {
+        return victorias + derrotas + empates;
+    }
+
+    public int getVictorias() {
+        return victorias;
+    }
+
+    public int getDerrotas() {
+        return derrotas;
+    }
+
+    public int getEmpates() {
+        return empates;
+    }
+
+    /** @return Porcentaje de victorias entre 0 y 1 (un empate cuenta como media victoria). */
+    public double getPorcentajeVictorias() {
+        int jugados = getPartidosJugados();
+        return jugados == 0 ? 0 : (victorias + empates / 2.0) / jugados;
+    }
+
+    public int getPuntosAFavor() {
+        return puntosAFavor;
+    }
+
+    public int getPuntosEnContra() {
+        return puntosEnContra;
+    }
+
+    public int getDiferencia() {
+        return puntosAFavor - puntosEnContra;
+    }
+
+    public int getVictoriasLocal() {
+        return victoriasLocal;
+    }
+
+    public int getDerrotasLocal() {
+        return derrotasLocal;
+    }
+
+    public int getVictoriasVisitante() {
+        return victoriasVisitante;
+    }
+
+    public int getDerrotasVisitante() {
+        return derrotasVisitante;
+    }
+}
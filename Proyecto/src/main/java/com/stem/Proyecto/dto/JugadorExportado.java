@@ -0,0 +1,90 @@
+package com.stem.Proyecto.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Un jugador completo tal como se exporta: sus datos, el ID y el nombre de su equipo, y los IDs de sus logros.
+ * Se construye directamente en la consulta JPQL, sin cargar entidades; los logros se añaden después,
+ * a medida que se recorren las filas de la tabla intermedia.
+ */
+public class JugadorExportado {
+
+    private final Long id;
+    private final String nombre;
+    private final String apellido;
+    private final LocalDate fechaNacimiento;
+    private final Integer alturaCm;
+    private final Integer pesoKg;
+    private final String posicion;
+    private final Integer numeroCamiseta;
+    private final Boolean activo;
+    private final Long idEquipo;
+    private final String nombreEquipo;
+    private final List<Long> logroIds = new ArrayList<>();
+
+    public JugadorExportado(Long id, String nombre, String apellido, LocalDate fechaNacimiento, Integer alturaCm,
+                            Integer pesoKg, String posicion, Integer numeroCamiseta, Boolean activo,
+                            Long idEquipo, String nombreEquipo) {
+        this.id = id;
+        this.nombre = nombre;
+        this.apellido = apellido;
+        this.fechaNacimiento = fechaNacimiento;
+        this.alturaCm = alturaCm;
+        this.pesoKg = pesoKg;
+        this.posicion = posicion;
+        this.numeroCamiseta = numeroCamiseta;
+        this.activo = activo;
+        this.idEquipo = idEquipo;
+        this.nombreEquipo = nombreEquipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getApellido() {
+        return apellido;
+    }
+
+    public LocalDate getFechaNacimiento() {
+        return fechaNacimiento;
+    }
+
+    public Integer getAlturaCm() {
+        return alturaCm;
+    }
+
+    public Integer getPesoKg() {
+        return pesoKg;
+    }
+
+    public String getPosicion() {
+        return posicion;
+    }
+
+    public Integer getNumeroCamiseta() {
+        return numeroCamiseta;
+    }
+
+    public Boolean getActivo() {
+        return activo;
+    }
+
+    public Long getIdEquipo() {
+        return idEquipo;
+    }
+
+    public String getNombreEquipo() {
+        return nombreEquipo;
+    }
+
+    public List<Long> getLogroIds() {
+        return logroIds;
+    }
+}
@@ -0,0 +1,49 @@
+package com.stem.Proyecto.dto;
+
+/**
+ * Vista reducida de un jugador para la plantilla de un equipo.
+ * Se construye directamente en la consulta JPQL, sin cargar la entidad
+ * {@code Jugador} ni sus relaciones (equipo y logros).
+ */
+public class JugadorResumen {
+
+    private final Long id;
+    private final String nombre;
+    private final String apellido;
+    private final String posicion;
+    private final Integer numeroCamiseta;
+    private final Boolean activo;
+
+    public JugadorResumen(Long id, String nombre, String apellido, String posicion, Integer numeroCamiseta, Boolean activo) {
+        this.id = id;
+        this.nombre = nombre;
+        this.apellido = apellido;
+        this.posicion = posicion;
+        this.numeroCamiseta = numeroCamiseta;
+        this.activo = activo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getApellido() {
+        return apellido;
+    }
+
+    public String getPosicion() {
+        return posicion;
+    }
+
+    public Integer getNumeroCamiseta() {
+        return numeroCamiseta;
+    }
+
+    public Boolean getActivo() {
+        return activo;
+    }
+}
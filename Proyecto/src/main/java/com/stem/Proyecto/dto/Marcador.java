@@ -0,0 +1,23 @@
+package com.stem.Proyecto.dto;
+
+/**
+ * Marcador final de un partido, para actualizar muchos de una vez (ver {@code PUT /api/v1/partidos/marcadores}).
+ */
+public class Marcador {
+
+    private final Long partidoId;
+    private final Integer puntuacionLocal;
+    private final Integer puntuacionVisitante;
+
+    public Marcador(Long partidoId, Integer puntuacionLocal, Integer puntuacionVisitante) {
+        this.partidoId = partidoId;
+        this.puntuacionLocal = puntuacionLocal;
+        this.puntuacionVisitante = puntuacionVisitante;
+    }
+
+    public Long getPartidoId() { return partidoId; }
+
+    public Integer getPuntuacionLocal() { return puntuacionLocal; }
+
+    public Integer getPuntuacionVisitante() { return puntuacionVisitante; }
+}
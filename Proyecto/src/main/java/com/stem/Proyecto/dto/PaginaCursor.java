@@ -0,0 +1,53 @@
+package com.stem.Proyecto.dto;
+
+import java.util.List;
+
+/**
+ * Representa una página de resultados obtenida con paginación por cursor (keyset).
+ * En lugar de un número de página, el cliente recibe un cursor opaco que apunta
+ * al último elemento devuelto y lo envía en la siguiente petición.
+ *
+ * @param <T> El tipo de los elementos de la página.
+ */
+public class PaginaCursor<T> {
+
+    private final List<T> contenido;
+    private final String siguienteCursor;
+    private final boolean hayMas;
+    private final Long totalAproximado;
+
+    /**
+     * Crea una página de resultados.
+     *
+     * @param contenido Los elementos de esta página.
+     * @param siguienteCursor El cursor para pedir la siguiente página, o null si es la última.
+     * @param hayMas Indica si existen más elementos después de esta página.
+     * @param totalAproximado El número aproximado de elementos, o null si no se pidió.
+     */
+    public PaginaCursor(List<T> contenido, String siguienteCursor, boolean hayMas, Long totalAproximado) {
+        this.contenido = contenido;
+        this.siguienteCursor = siguienteCursor;
+        this.hayMas = hayMas;
+        this.totalAproximado = totalAproximado;
+    }
+
+    public List<T> getContenido() {
+        return contenido;
+    }
+
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public boolean isHayMas() {
+        return hayMas;
+    }
+
+    public int getTamanio() {
+        return contenido.size();
+    }
+
+    public Long getTotalAproximado() {
+        return totalAproximado;
+    }
+}
@@ -0,0 +1,62 @@
+package com.stem.Proyecto.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Vista reducida de un partido para los listados.
+ * Se construye directamente en la consulta JPQL (con un JOIN a los dos equipos),
+ * así que no se cargan entidades {@code Equipo} completas: solo su ID y su nombre.
+ */
+public class PartidoResumen {
+
+    private final Long id;
+    private final LocalDate fecha;
+    private final LocalTime hora;
+    private final Integer puntuacionLocal;
+    private final Integer puntuacionVisitante;
+    private final String temporada;
+    private final String lugar;
+    private final Long idEquipoLocal;
+    private final String nombreEquipoLocal;
+    private final Long idEquipoVisitante;
+    private final String nombreEquipoVisitante;
+
+    public PartidoResumen(Long id, LocalDate fecha, LocalTime hora, Integer puntuacionLocal, Integer puntuacionVisitante,
+                          String temporada, String lugar, Long idEquipoLocal, String nombreEquipoLocal,
+                          Long idEquipoVisitante, String nombreEquipoVisitante) {
+        this.id = id;
+        this.fecha = fecha;
+        this.hora = hora;
+        this.puntuacionLocal = puntuacionLocal;
+        this.puntuacionVisitante = puntuacionVisitante;
+        this.temporada = temporada;
+        this.lugar = lugar;
+        this.idEquipoLocal = idEquipoLocal;
+        this.nombreEquipoLocal = nombreEquipoLocal;
+        this.idEquipoVisitante = idEquipoVisitante;
+        this.nombreEquipoVisitante = nombreEquipoVisitante;
+    }
+
+    public Long getId() { return id; }
+
+    public LocalDate getFecha() { return fecha; }
+
+    public LocalTime getHora() { return hora; }
+
+    public Integer getPuntuacionLocal() { return puntuacionLocal; }
+
+    public Integer getPuntuacionVisitante() { return puntuacionVisitante; }
+
+    public String getTemporada() { return temporada; }
+
+    public String getLugar() { return lugar; }
+
+    public Long getIdEquipoLocal() { return idEquipoLocal; }
+
+    public String getNombreEquipoLocal() { return nombreEquipoLocal; }
+
+    public Long getIdEquipoVisitante() { return idEquipoVisitante; }
+
+    public String getNombreEquipoVisitante() { return nombreEquipoVisitante; }
+}
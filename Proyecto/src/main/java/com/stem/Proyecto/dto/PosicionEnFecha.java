@@ -0,0 +1,44 @@
+package com.stem.Proyecto.dto;
+
+import java.time.LocalDate;
+
+/**
+ * La posición de un equipo en la clasificación al terminar un día,
+ * con su balance hasta ese día. Es un punto de la gráfica de evolución del equipo.
+ */
+public class PosicionEnFecha {
+
+    private final LocalDate fecha;
+    private final int posicion;
+    private final int victorias;
+    private final int derrotas;
+    private final int empates;
+
+    public PosicionEnFecha(LocalDate fecha, int posicion, int victorias, int derrotas, int empates) {
+        this.fecha = fecha;
+        this.posicion = posicion;
+        this.victorias = victorias;
+        this.derrotas = derrotas;
+        this.empates = empates;
+    }
+
+    public LocalDate getFecha() {
+        return fecha;
+    }
+
+    public int getPosicion() {
+        return posicion;
+    }
+
+    public int getVictorias() {
+        return victorias;
+    }
+
+    public int getDerrotas() {
+        return derrotas;
+    }
+
+    public int getEmpates() {
+        return empates;
+    }
+}
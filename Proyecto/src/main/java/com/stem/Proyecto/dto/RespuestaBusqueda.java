@@ -0,0 +1,33 @@
+package com.stem.Proyecto.dto;
+
+import java.util.List;
+
+/**
+ * La respuesta de la búsqueda global: los resultados de todos los tipos mezclados por puntuación
+ * y los tipos que no respondieron a tiempo (o fallaron), cuyos resultados faltan.
+ */
+public class RespuestaBusqueda {
+
+    private final List<ResultadoBusqueda> resultados;
+    private final List<String> fuentesSinRespuesta;
+
+    public RespuestaBusqueda(List<ResultadoBusqueda> resultados, List<String> fuentesSinRespuesta) {
+        this.resultados = resultados;
+        this.fuentesSinRespuesta = fuentesSinRespuesta;
+    }
+
+    public List<ResultadoBusqueda> getResultados() {
+        return resultados;
+    }
+
+    public List<String> getFuentesSinRespuesta() {
+        return fuentesSinRespuesta;
+    }
+
+    /**
+     * @return true si respondieron todas las fuentes.
+     */
+    public boolean isCompleta() {
+        return fuentesSinRespuesta.isEmpty();
+    }
+}
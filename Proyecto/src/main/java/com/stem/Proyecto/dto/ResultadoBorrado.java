@@ -0,0 +1,52 @@
+package com.stem.Proyecto.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resultado de un borrado en bloque: cuántas filas se han borrado de cada tabla.
+ * Las tablas aparecen en el orden en que se borraron (primero las dependientes).
+ */
+public class ResultadoBorrado {
+
+    private final Map<String, Integer> filasPorTabla = new LinkedHashMap<>();
+    private boolean encontrado;
+
+    /**
+     * Anota las filas borradas de una tabla.
+     *
+     * @param tabla El nombre de la tabla.
+     * @param filas El número de filas borradas.
+     * @return Este mismo objeto, para encadenar llamadas.
+     */
+    public ResultadoBorrado registrar(String tabla, int filas) {
+        filasPorTabla.merge(tabla, filas, Integer::sum);
+        return this;
+    }
+
+    /**
+     * Anota las filas borradas de la tabla principal; si es al menos una, el elemento existía.
+     *
+     * @param tabla El nombre de la tabla principal.
+     * @param filas El número de filas borradas.
+     * @return Este mismo objeto, para encadenar llamadas.
+     */
+    public ResultadoBorrado registrarPrincipal(String tabla, int filas) {
+        encontrado = filas > 0;
+        return registrar(tabla, filas);
+    }
+
+    /** @return Si existía el elemento que se pidió borrar. */
+    public boolean isEncontrado() {
+        return encontrado;
+    }
+
+    public Map<String, Integer> getFilasPorTabla() {
+        return filasPorTabla;
+    }
+
+    /** @return El total de filas borradas entre todas las tablas. */
+    public int getTotal() {
+        return filasPorTabla.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
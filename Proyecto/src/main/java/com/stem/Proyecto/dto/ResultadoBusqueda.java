@@ -0,0 +1,48 @@
+package com.stem.Proyecto.dto;
+
+/**
+ * Un resultado de la búsqueda global: lo necesario para mostrarlo en la lista del buscador
+ * y para abrir después el detalle del elemento. La puntuación va de 0 a 1 y es comparable
+ * entre tipos (ver {@link com.stem.Proyecto.util.PuntuacionTexto}).
+ */
+public class ResultadoBusqueda {
+
+    public static final String EQUIPO = "equipo";
+    public static final String JUGADOR = "jugador";
+    public static final String LOGRO = "logro";
+    public static final String PARTIDO = "partido";
+
+    private final String tipo;
+    private final Long id;
+    private final String etiqueta;
+    private final String detalle;
+    private final double puntuacion;
+
+    public ResultadoBusqueda(String tipo, Long id, String etiqueta, String detalle, double puntuacion) {
+        this.tipo = tipo;
+        this.id = id;
+        this.etiqueta = etiqueta;
+        this.detalle = detalle;
+        this.puntuacion = puntuacion;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEtiqueta() {
+        return etiqueta;
+    }
+
+    public String getDetalle() {
+        return detalle;
+    }
+
+    public double getPuntuacion() {
+        return puntuacion;
+    }
+}
@@ -0,0 +1,40 @@
+package com.stem.Proyecto.dto;
+
+/**
+ * Resultado de una exportación: las filas y los bytes escritos, el tiempo que ha tardado y el ritmo conseguido.
+ */
+public class ResultadoExportacion {
+
+    private final long filas;
+    private final long bytes;
+    private final long milisegundos;
+
+    public ResultadoExportacion(long filas, long bytes, long milisegundos) {
+        this.filas = filas;
+        this.bytes = bytes;
+        this.milisegundos = milisegundos;
+    }
+
+    public long getFilas() {
+        return filas;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getMilisegundos() {
+        return milisegundos;
+    }
+
+    /** @return Las filas escritas por segundo. */
+    public double getFilasPorSegundo() {
+        return filas * 1000.0 / Math.max(1, milisegundos);
+    }
+
+    /** @return Los megabytes escritos por segundo. */
+    public double getMegabytesPorSegundo() {
+        return bytes * 1000.0 / (1024 * 1024) / Math.max(1, milisegundos);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.stem.Proyecto.dto;
+
+/**
+ * Resultado de una fila de una operación masiva: el ID de la fila guardada o el motivo por el que se rechazó.
+ */
+public class ResultadoFila {
+
+    private final int fila;
+    private final Long id;
+    private final String error;
+
+    public ResultadoFila(int fila, Long id, String error) {
+        this.fila = fila;
+        this.id = id;
+        this.error = error;
+    }
+
+    /** @return La posición de la fila en la entrada, empezando por 1. */
+    public int getFila() {
+        return fila;
+    }
+
+    /** @return El ID de la fila guardada, o null si se rechazó. */
+    public Long getId() {
+        return id;
+    }
+
+    /** @return El motivo del rechazo, o null si se guardó. */
+    public String getError() {
+        return error;
+    }
+}
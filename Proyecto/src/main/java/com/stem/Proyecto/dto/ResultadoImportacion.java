@@ -0,0 +1,97 @@
+package com.stem.Proyecto.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una operación masiva: cuántas filas se han aceptado y rechazado, y el resultado de cada una
+ * en el orden de la entrada. Las filas rechazadas no impiden guardar las demás.
+ * Las importaciones muy grandes pueden anotar solo el recuento de algunas filas (ver {@link #sumar}).
+ */
+public class ResultadoImportacion {
+
+    private final List<ResultadoFila> filas = new ArrayList<>();
+    private int aceptadas;
+    private int rechazadas;
+    private long milisegundos;
+    private long bytes;
+
+    /**
+     * Anota una fila guardada.
+     *
+     * @param fila La posición de la fila en la entrada, empezando por 1.
+     * @param id El ID con el que se ha guardado.
+     * @return Este mismo objeto, para encadenar llamadas.
+     */
+    public ResultadoImportacion aceptar(int fila, Long id) {
+        filas.add(new ResultadoFila(fila, id, null));
+        aceptadas++;
+        return this;
+    }
+
+    /**
+     * Anota una fila rechazada.
+     *
+     * @param fila La posición de la fila en la entrada, empezando por 1.
+     * @param error El motivo del rechazo.
+     * @return Este mismo objeto, para encadenar llamadas.
+     */
+    public ResultadoImportacion rechazar(int fila, String error) {
+        filas.add(new ResultadoFila(fila, null, error));
+        rechazadas++;
+        return this;
+    }
+
+    /**
+     * Anota filas en el recuento sin el detalle de cada una.
+     *
+     * @param aceptadas Las filas guardadas que se suman.
+     * @param rechazadas Las filas rechazadas que se suman.
+     * @return Este mismo objeto, para encadenar llamadas.
+     */
+    public ResultadoImportacion sumar(int aceptadas, int rechazadas) {
+        this.aceptadas += aceptadas;
+        this.rechazadas += rechazadas;
+        return this;
+    }
+
+    public List<ResultadoFila> getFilas() {
+        return filas;
+    }
+
+    public int getAceptadas() {
+        return aceptadas;
+    }
+
+    public int getRechazadas() {
+        return rechazadas;
+    }
+
+    /** @return El tiempo que ha tardado la operación completa. */
+    public long getMilisegundos() {
+        return milisegundos;
+    }
+
+    public void setMilisegundos(long milisegundos) {
+        this.milisegundos = milisegundos;
+    }
+
+    /** @return Los bytes de la entrada leídos, o 0 si no se han contado. */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    /** @return Las filas leídas (aceptadas y rechazadas) por segundo. */
+    public double getFilasPorSegundo() {
+        return (aceptadas + rechazadas) * 1000.0 / Math.max(1, milisegundos);
+    }
+
+    /** @return Los megabytes leídos por segundo, o 0 si no se han contado los bytes. */
+    public double getMegabytesPorSegundo() {
+        return bytes * 1000.0 / (1024 * 1024) / Math.max(1, milisegundos);
+    }
+}
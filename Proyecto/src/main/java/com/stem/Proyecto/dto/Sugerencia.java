@@ -0,0 +1,34 @@
+package com.stem.Proyecto.dto;
+
+/**
+ * Una sugerencia de autocompletado: solo lo necesario para mostrarla en la lista
+ * y para abrir después el detalle del jugador, equipo o logro.
+ */
+public class Sugerencia {
+
+    public static final String JUGADOR = "jugador";
+    public static final String EQUIPO = "equipo";
+    public static final String LOGRO = "logro";
+
+    private final String tipo;
+    private final Long id;
+    private final String etiqueta;
+
+    public Sugerencia(String tipo, Long id, String etiqueta) {
+        this.tipo = tipo;
+        this.id = id;
+        this.etiqueta = etiqueta;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEtiqueta() {
+        return etiqueta;
+    }
+}
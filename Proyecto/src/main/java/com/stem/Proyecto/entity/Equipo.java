@@ -3,15 +3,23 @@ package com.stem.Proyecto.entity;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 /**
@@ -19,17 +27,30 @@ import jakarta.persistence.Table;
  * Esta clase guarda la información de cada equipo deportivo,
  * incluyendo sus jugadores y los partidos en los que ha participado
  * como local o visitante.
+ * Los partidos referencian al equipo de forma perezosa, así que Jackson puede recibir
+ * un proxy de Hibernate: se ignoran sus propiedades internas al convertir a JSON.
+ * Los equipos casi no cambian, así que se guardan en la caché de segundo nivel; sus colecciones no,
+ * porque sus elementos (jugadores y partidos) no están en la caché y habría que leerlos uno a uno.
  */
 @Entity
-@Table(name = "equipos") // La tabla en la base de datos se llamará "equipos"
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "equipos")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "equipos", indexes = { // La tabla en la base de datos se llamará "equipos"
+    @Index(name = "idx_equipos_nombre", columnList = "nombre"),
+    @Index(name = "idx_equipos_ciudad", columnList = "ciudad")
+})
 public class Equipo {
 
     /**
      * El identificador único del equipo.
-     * Es la clave principal de la tabla y se genera automáticamente.
+     * Es la clave principal de la tabla y se genera automáticamente con una secuencia que
+     * reserva 50 IDs de cada vez, para que Hibernate pueda agrupar los INSERT en lotes
+     * (con IDENTITY tendría que hacer un INSERT por fila para conocer el ID).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "equipos_seq")
+    @SequenceGenerator(name = "equipos_seq", sequenceName = "equipos_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -199,11 +220,15 @@ public class Equipo {
     /**
      * Añade un jugador a la lista de jugadores de este equipo.
      * También establece el equipo en el objeto del jugador para mantener la relación.
+     * La lista solo se actualiza si ya está cargada: lo que se guarda es el equipo del jugador,
+     * y no hace falta leer la plantilla entera para añadir a alguien.
      *
      * @param jugador El jugador a añadir.
      */
     public void addJugador(Jugador jugador) {
-        this.jugadores.add(jugador);
+        if (Hibernate.isInitialized(this.jugadores)) {
+            this.jugadores.add(jugador);
+        }
         jugador.setEquipo(this); // Establece la relación inversa
     }
 
@@ -214,7 +239,9 @@ public class Equipo {
      * @param jugador El jugador a eliminar.
      */
     public void removeJugador(Jugador jugador) {
-        this.jugadores.remove(jugador);
+        if (Hibernate.isInitialized(this.jugadores)) {
+            this.jugadores.remove(jugador);
+        }
         jugador.setEquipo(null); // Rompe la relación inversa
     }
 }
\ No newline at end of file
@@ -6,6 +6,11 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;       
 
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.Column;
@@ -14,24 +19,55 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 /**
  * Representa un jugador dentro del sistema deportivo.
  * Esta entidad se mapea a la tabla "jugadores" en la base de datos.
  * Contiene información personal, física, y de relación con equipos y logros.
+ * <p>
+ * Los grafos de entidad con nombre definen qué relaciones se cargan en la misma consulta
+ * según el uso: los listados completos traen equipo y logros de una vez, y las páginas
+ * por cursor solo el equipo (los logros se cargan después en una única consulta).
  */
 @Entity
-@Table(name = "jugadores")
+@Table(name = "jugadores", indexes = {
+    // Plantilla de un equipo recorrida en orden de ID (ver JugadorRepository.findByEquipoId)
+    @Index(name = "idx_jugadores_equipo_id", columnList = "equipo_id, id"),
+    // Dorsal dentro de un equipo (findByNumeroCamisetaAndEquipo)
+    @Index(name = "idx_jugadores_equipo_camiseta", columnList = "equipo_id, numero_camiseta"),
+    // Búsquedas exactas por apellido y por nombre
+    @Index(name = "idx_jugadores_apellido", columnList = "apellido, nombre"),
+    @Index(name = "idx_jugadores_nombre", columnList = "nombre")
+})
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = Jugador.GRAFO_CON_EQUIPO, attributeNodes = @NamedAttributeNode("equipo")),
+    @NamedEntityGraph(name = Jugador.GRAFO_CON_EQUIPO_Y_LOGROS, attributeNodes = {
+            @NamedAttributeNode("equipo"),
+            @NamedAttributeNode("logros")
+    })
+})
 public class Jugador {
 
+    /** Grafo que carga el jugador junto con su equipo. */
+    public static final String GRAFO_CON_EQUIPO = "Jugador.conEquipo";
+
+    /** Grafo que carga el jugador junto con su equipo y sus logros. */
+    public static final String GRAFO_CON_EQUIPO_Y_LOGROS = "Jugador.conEquipoYLogros";
+
     /** Identificador único del jugador. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jugadores_seq")
+    @SequenceGenerator(name = "jugadores_seq", sequenceName = "jugadores_seq", allocationSize = 50)
     private Long id;
 
     /** Nombre del jugador. */
@@ -70,12 +106,23 @@ public class Jugador {
     @JoinColumn(name = "equipo_id")
     private Equipo equipo;
 
-    /** Lista de logros obtenidos por el jugador. */
+    /**
+     * Lista de logros obtenidos por el jugador.
+     * Dentro de un jugador no se serializa la lista de jugadores de cada logro:
+     * recorrerla haría una consulta extra por logro al convertir a JSON.
+     * La colección (los IDs de los logros) está en la caché de segundo nivel, igual que los logros,
+     * así que cargarla no consulta la base de datos si ya se leyó antes.
+     */
+    @JsonIgnoreProperties("jugadores")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "jugadores.logros")
     @ManyToMany(fetch = FetchType.LAZY) 
     @JoinTable(
             name = "jugadores_logros",
             joinColumns = @JoinColumn(name = "jugador_id"),
-            inverseJoinColumns = @JoinColumn(name = "logro_id")
+            inverseJoinColumns = @JoinColumn(name = "logro_id"),
+            // La clave primaria (jugador_id, logro_id) sirve para los logros de un jugador;
+            // este índice sirve para la búsqueda inversa, los jugadores que tienen un logro
+            indexes = @Index(name = "idx_jugadores_logros_logro", columnList = "logro_id, jugador_id")
     )
     private Set<Logro> logros = new HashSet<>(); 
 
@@ -232,6 +279,9 @@ public class Jugador {
 
     /**
      * Añade un logro a la colección de logros del jugador y actualiza la relación inversa.
+     * La lista de jugadores del logro solo se actualiza si ya está cargada en memoria:
+     * así añadir un logro no obliga a leer a todos los jugadores que lo tienen
+     * (la tabla jugadores_logros solo depende de este lado de la relación).
      *
      * @param logro Logro a añadir.
      */
@@ -239,27 +289,25 @@ public class Jugador {
         if (this.logros == null) {
             this.logros = new HashSet<>(); // Asegura inicialización si fuera null
         }
-        if (!this.logros.contains(logro)) { // Evita añadir si ya existe (Set lo gestiona, pero es buena práctica explícita)
-            this.logros.add(logro);
-            // Asegura que el lado del logro también tenga este jugador
-            if (logro.getJugadoresConEsteLogro() != null && !logro.getJugadoresConEsteLogro().contains(this)) {
-                logro.getJugadoresConEsteLogro().add(this);
+        if (this.logros.add(logro)) {
+            Set<Jugador> jugadoresDelLogro = logro.getJugadoresConEsteLogro();
+            if (jugadoresDelLogro != null && Hibernate.isInitialized(jugadoresDelLogro)) {
+                jugadoresDelLogro.add(this);
             }
         }
     }
 
     /**
-     * Elimina un logro de la colección de logros del jugador y actualiza la relación inversa.
+     * Elimina un logro de la colección de logros del jugador y actualiza la relación inversa
+     * (solo si la lista de jugadores del logro ya está cargada, igual que en {@link #addLogro}).
      *
      * @param logro Logro a eliminar.
      */
     public void removeLogro(Logro logro) {
-        if (this.logros != null) {
-            if (this.logros.remove(logro)) { // Remueve el logro del jugador
-                // Si el logro fue removido, actualiza el lado del logro
-                if (logro.getJugadoresConEsteLogro() != null) {
-                    logro.getJugadoresConEsteLogro().remove(this);
-                }
+        if (this.logros != null && this.logros.remove(logro)) {
+            Set<Jugador> jugadoresDelLogro = logro.getJugadoresConEsteLogro();
+            if (jugadoresDelLogro != null && Hibernate.isInitialized(jugadoresDelLogro)) {
+                jugadoresDelLogro.remove(this);
             }
         }
     }
@@ -7,23 +7,37 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;    
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 /**
  * Representa la entidad "Logro" en la base de datos.
  * Esta clase guarda la información de cada logro que los jugadores pueden conseguir.
+ * Los logros cambian muy pocas veces por temporada: se guardan en la caché de segundo nivel sin bloquearlos
+ * al modificarlos (se descartan de la caché al confirmar el cambio).
  */
 @Entity
-@Table(name = "logros") // La tabla en la base de datos se llamará "logros"
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "logros")
+@Table(name = "logros", indexes = { // La tabla en la base de datos se llamará "logros"
+    @Index(name = "idx_logros_anio", columnList = "anio"),
+    @Index(name = "idx_logros_nombre", columnList = "nombre")
+})
 public class Logro {
 
     /**
@@ -31,7 +45,8 @@ public class Logro {
      * Es la clave principal de la tabla y se genera automáticamente.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "logros_seq")
+    @SequenceGenerator(name = "logros_seq", sequenceName = "logros_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -151,6 +166,8 @@ public class Logro {
     /**
      * Añade un jugador a la lista de jugadores que tienen este logro.
      * Este método es vital para mantener la bidireccionalidad de la relación.
+     * El cambio que se guarda en la base de datos es el del lado del jugador; la lista
+     * de este logro solo se toca si ya está cargada, para no leer a todos sus poseedores.
      *
      * @param jugador El jugador a añadir.
      */
@@ -158,9 +175,11 @@ public class Logro {
         if (this.jugadoresConEsteLogro == null) {
             this.jugadoresConEsteLogro = new HashSet<>();
         }
-        this.jugadoresConEsteLogro.add(jugador);
+        if (Hibernate.isInitialized(this.jugadoresConEsteLogro)) {
+            this.jugadoresConEsteLogro.add(jugador);
+        }
         // Asegúrate de que el lado del jugador también tenga este logro
-        if (jugador.getLogros() != null && !jugador.getLogros().contains(this)) {
+        if (jugador.getLogros() != null) {
             jugador.getLogros().add(this);
         }
     }
@@ -168,11 +187,12 @@ public class Logro {
     /**
      * Quita un jugador de la lista de jugadores que tienen este logro.
      * Este método es vital para mantener la bidireccionalidad de la relación.
+     * Igual que en {@link #addJugador}, la lista de este logro solo se toca si ya está cargada.
      *
      * @param jugador El jugador a quitar.
      */
     public void removeJugador(Jugador jugador) {
-        if (this.jugadoresConEsteLogro != null) {
+        if (this.jugadoresConEsteLogro != null && Hibernate.isInitialized(this.jugadoresConEsteLogro)) {
             this.jugadoresConEsteLogro.remove(jugador);
         }
         // Asegúrate de que el lado del jugador también elimine este logro
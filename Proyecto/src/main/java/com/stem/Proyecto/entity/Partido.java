@@ -11,8 +11,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 /**
@@ -20,12 +22,21 @@ import jakarta.persistence.Table;
  * Guarda información como la fecha, hora, lugar, puntuaciones y los equipos que jugaron.
  */
 @Entity
-@Table(name = "partidos")
+@Table(name = "partidos", indexes = {
+    // Partidos de una temporada en orden cronológico (findByTemporada y findResumenByTemporada)
+    @Index(name = "idx_partidos_temporada_fecha", columnList = "temporada, fecha, hora, id"),
+    // Enfrentamientos entre dos equipos; la primera columna sirve también para findByEquipoLocal
+    @Index(name = "idx_partidos_local_visitante", columnList = "equipo_local_id, equipo_visitante_id"),
+    @Index(name = "idx_partidos_visitante", columnList = "equipo_visitante_id"),
+    // Listados paginados ordenados por fecha
+    @Index(name = "idx_partidos_fecha", columnList = "fecha, id")
+})
 public class Partido {
 
     /** ID único del partido (clave primaria en la base de datos). */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "partidos_seq")
+    @SequenceGenerator(name = "partidos_seq", sequenceName = "partidos_seq", allocationSize = 50)
     private Long id;
 
     /** Fecha en la que se jugó el partido. */
@@ -51,13 +62,18 @@ public class Partido {
     /** Lugar donde se jugó el partido. */
     private String lugar;
 
-    /** Equipo que jugó como local. */
-    @ManyToOne(fetch = FetchType.EAGER)
+    /**
+     * Equipo que jugó como local.
+     * Se carga de forma perezosa: las consultas que necesitan el equipo lo traen
+     * con un JOIN FETCH (ver {@code PartidoRepository}), y las que solo necesitan
+     * el nombre usan la proyección {@code PartidoResumen}.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "equipo_local_id", nullable = false)
     private Equipo equipoLocal;
 
-    /** Equipo que jugó como visitante. */
-    @ManyToOne(fetch = FetchType.EAGER)
+    /** Equipo que jugó como visitante (carga perezosa, igual que el local). */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "equipo_visitante_id", nullable = false)
     private Equipo equipoVisitante;
 
@@ -155,6 +171,7 @@ public class Partido {
 
     /**
      * Devuelve el ID del equipo local.
+     * Leer el ID de un equipo sin cargar no lanza ninguna consulta.
      * @return ID del equipo local o null si no existe.
      */
     @JsonProperty("idEquipoLocal")
@@ -1,12 +1,46 @@
 package com.stem.Proyecto.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.stem.Proyecto.entity.Equipo;
 
+import jakarta.persistence.QueryHint;
+
 public interface EquipoRepository extends JpaRepository<Equipo, Long> {
+    // Resultados en la caché de consultas; Hibernate los descarta cuando cambia la tabla de equipos
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Equipo> findByNombre(String nombre);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Equipo> findByCiudad(String ciudad);
+
+    Window<Equipo> findBy(ScrollPosition posicion, Sort orden, Limit limite);
+
+    // Solo los IDs, para comprobar qué equipos existen sin cargarlos
+    @Query("SELECT e.id FROM Equipo e WHERE e.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // Reemplaza todos los datos del equipo con un solo UPDATE, sin cargarlo antes (lo que haría merge);
+    // devuelve las filas cambiadas: 0 si el equipo no existe
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Equipo e SET e.nombre = :#{#equipo.nombre}, e.ciudad = :#{#equipo.ciudad}, "
+            + "e.abreviatura = :#{#equipo.abreviatura}, e.anioFundacion = :#{#equipo.anioFundacion}, "
+            + "e.pabellon = :#{#equipo.pabellon}, e.entrenador = :#{#equipo.entrenador} WHERE e.id = :id")
+    int reemplazar(@Param("id") Long id, @Param("equipo") Equipo equipo);
+
+    // Borra solo la fila del equipo; los jugadores y partidos se borran antes con sus propios DELETE
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Equipo e WHERE e.id = :id")
+    int borrarPorId(@Param("id") Long id);
 }
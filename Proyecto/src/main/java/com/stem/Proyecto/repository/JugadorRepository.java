@@ -1,21 +1,132 @@
 package com.stem.Proyecto.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.stem.Proyecto.dto.JugadorExportado;
+import com.stem.Proyecto.dto.JugadorResumen;
 import com.stem.Proyecto.entity.Equipo;
 import com.stem.Proyecto.entity.Jugador;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface JugadorRepository extends JpaRepository<Jugador, Long> {
 
     List<Jugador> findByApellido(String apellido);
     List<Jugador> findByNombre(String nombre);
-    List<Jugador> findByEquipoId(Long equipoId);
+    // Filtra por la clave foránea: el método derivado hacía LEFT JOIN con equipos y filtraba por equipos.id,
+    // lo que impedía usar idx_jugadores_equipo_id y obligaba a recorrer todos los jugadores
+    @Query("SELECT j FROM Jugador j WHERE j.equipo.id = :equipoId")
+    List<Jugador> findByEquipoId(@Param("equipoId") Long equipoId);
+
+    // Plantilla paginada de un equipo: recorre el índice (equipo_id, id) a partir del último ID visto
+    @Query("SELECT new com.stem.Proyecto.dto.JugadorResumen(j.id, j.nombre, j.apellido, j.posicion, j.numeroCamiseta, j.activo) "
+            + "FROM Jugador j WHERE j.equipo.id = :equipoId AND j.id > :despuesDeId "
+            + "AND (:activo IS NULL OR j.activo = :activo) AND (:posicion IS NULL OR j.posicion = :posicion) "
+            + "ORDER BY j.id")
+    List<JugadorResumen> findByEquipoId(@Param("equipoId") Long equipoId, @Param("despuesDeId") Long despuesDeId,
+                                        @Param("activo") Boolean activo, @Param("posicion") String posicion, Limit limite);
     List<Jugador> findByNumeroCamisetaAndEquipo(Integer numeroCamiseta, Equipo equipo);
 
+    // Los listados que se devuelven enteros traen equipo y logros en la misma consulta
+    @Override
+    @EntityGraph(Jugador.GRAFO_CON_EQUIPO_Y_LOGROS)
+    List<Jugador> findAll();
+
+    @EntityGraph(Jugador.GRAFO_CON_EQUIPO_Y_LOGROS)
     List<Jugador> findByNombreContainingIgnoreCase(String nombre);
 
-}
\ No newline at end of file
+    // Resultados de la búsqueda por nombre o apellido: los IDs salen del índice en memoria y se cargan en una consulta
+    @EntityGraph(Jugador.GRAFO_CON_EQUIPO_Y_LOGROS)
+    List<Jugador> findByIdIn(Collection<Long> ids);
+
+    // Lo mínimo para construir el índice de búsqueda, sin cargar entidades y en orden de ID (el del índice)
+    @Query("SELECT new com.stem.Proyecto.dto.JugadorResumen(j.id, j.nombre, j.apellido, j.posicion, j.numeroCamiseta, j.activo) "
+            + "FROM Jugador j ORDER BY j.id")
+    List<JugadorResumen> findAllResumen();
+
+    // Exportación: los jugadores con su equipo y las filas de jugadores_logros, las dos en orden de jugador,
+    // para juntarlas recorriendo ambos cursores a la vez (de solo avance, de mil en mil filas y sin entidades)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.stem.Proyecto.dto.JugadorExportado(j.id, j.nombre, j.apellido, j.fechaNacimiento, j.alturaCm, "
+            + "j.pesoKg, j.posicion, j.numeroCamiseta, j.activo, e.id, e.nombre) "
+            + "FROM Jugador j LEFT JOIN j.equipo e ORDER BY j.id")
+    Stream<JugadorExportado> streamExportacion();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT jugador_id, logro_id FROM jugadores_logros ORDER BY jugador_id, logro_id", nativeQuery = true)
+    Stream<Object[]> streamLogrosPorJugador();
+
+    // En las páginas no se puede hacer fetch de una colección (Hibernate paginaría en memoria),
+    // así que solo se trae el equipo y los logros se cargan después con cargarLogros()
+    @EntityGraph(Jugador.GRAFO_CON_EQUIPO)
+    Window<Jugador> findBy(ScrollPosition posicion, Sort orden, Limit limite);
+
+    @Query("SELECT DISTINCT j FROM Jugador j LEFT JOIN FETCH j.logros WHERE j.id IN :ids")
+    List<Jugador> cargarLogros(@Param("ids") Collection<Long> ids);
+
+    // Escrituras masivas en la tabla intermedia jugadores_logros, sin cargar jugadores ni logros.
+    // La diferencia de conjuntos se calcula en la base de datos: solo se insertan los pares que faltan
+    // (y que corresponden a jugadores y logros existentes) y solo se borran los que sobran.
+    // Se indica a Hibernate qué tablas cambian para que solo descarte de la caché de segundo nivel los logros
+    // y las colecciones de logros, en lugar de vaciarla entera como hace con cualquier SQL nativo. Hace falta
+    // nombrar también logros: Hibernate encuentra las colecciones a descartar a través de sus elementos.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO jugadores_logros (jugador_id, logro_id) "
+            + "SELECT j.id, l.id FROM jugadores j CROSS JOIN logros l "
+            + "WHERE j.id IN (:jugadorIds) AND l.id IN (:logroIds) "
+            + "AND NOT EXISTS (SELECT 1 FROM jugadores_logros jl WHERE jl.jugador_id = j.id AND jl.logro_id = l.id)",
+            nativeQuery = true)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jugadores_logros"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "logros")})
+    int insertarLogros(@Param("jugadorIds") Collection<Long> jugadorIds, @Param("logroIds") Collection<Long> logroIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM jugadores_logros WHERE jugador_id IN (:jugadorIds) AND logro_id IN (:logroIds)", nativeQuery = true)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jugadores_logros"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "logros")})
+    int borrarLogros(@Param("jugadorIds") Collection<Long> jugadorIds, @Param("logroIds") Collection<Long> logroIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM jugadores_logros WHERE jugador_id IN (:jugadorIds) AND logro_id NOT IN (:logroIds)", nativeQuery = true)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jugadores_logros"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "logros")})
+    int borrarLogrosExcepto(@Param("jugadorIds") Collection<Long> jugadorIds, @Param("logroIds") Collection<Long> logroIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM jugadores_logros WHERE jugador_id IN (:jugadorIds)", nativeQuery = true)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jugadores_logros"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "logros")})
+    int borrarTodosLosLogros(@Param("jugadorIds") Collection<Long> jugadorIds);
+
+    // Borrado de un jugador sin cargarlo: primero sus filas en jugadores_logros (borrarTodosLosLogros) y luego el jugador
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Jugador j WHERE j.id = :id")
+    int borrarPorId(@Param("id") Long id);
+
+    // Borrado en bloque de la plantilla de un equipo: primero sus filas en jugadores_logros y luego los jugadores
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM jugadores_logros WHERE jugador_id IN (SELECT id FROM jugadores WHERE equipo_id = :equipoId)", nativeQuery = true)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jugadores_logros"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "logros")})
+    int borrarLogrosDeEquipo(@Param("equipoId") Long equipoId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Jugador j WHERE j.equipo.id = :equipoId")
+    int borrarPorEquipo(@Param("equipoId") Long equipoId);
+}
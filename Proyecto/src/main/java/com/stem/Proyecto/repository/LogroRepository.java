@@ -1,19 +1,60 @@
 package com.stem.Proyecto.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.stem.Proyecto.entity.Logro;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface LogroRepository extends JpaRepository<Logro, Long> {
 
     List<Logro> findByNombre(String nombre);
+    // Resultados en la caché de consultas; Hibernate los descarta cuando cambia alguna de sus tablas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Logro> findByAnio(Integer anio);
     List<Logro> findByDescripcionContainingIgnoreCase(String palabra);
     @Query("SELECT l FROM Logro l LEFT JOIN FETCH l.jugadoresConEsteLogro")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Logro> findAllWithJugadores();
-}
\ No newline at end of file
+
+    // Resultados de la búsqueda de texto completo: los IDs salen del índice y se cargan con sus jugadores en una consulta
+    @EntityGraph(attributePaths = "jugadoresConEsteLogro")
+    List<Logro> findByIdIn(Collection<Long> ids);
+
+    // Solo los IDs, para comprobar qué logros existen sin cargarlos
+    @Query("SELECT l.id FROM Logro l WHERE l.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // Borrado en bloque: primero las filas de jugadores_logros y luego el logro, sin cargar a sus poseedores
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM jugadores_logros WHERE logro_id = :logroId", nativeQuery = true)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jugadores_logros"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "logros")})
+    int borrarAsociaciones(@Param("logroId") Long logroId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Logro l WHERE l.id = :id")
+    int borrarPorId(@Param("id") Long id);
+
+    // En las páginas no se puede hacer fetch de una colección (Hibernate paginaría en memoria),
+    // así que los jugadores de cada logro se cargan después con cargarJugadores()
+    Window<Logro> findBy(ScrollPosition posicion, Sort orden, Limit limite);
+
+    @Query("SELECT DISTINCT l FROM Logro l LEFT JOIN FETCH l.jugadoresConEsteLogro WHERE l.id IN :ids")
+    List<Logro> cargarJugadores(@Param("ids") Collection<Long> ids);
+}
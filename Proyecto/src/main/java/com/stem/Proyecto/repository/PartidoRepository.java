@@ -1,18 +1,111 @@
 package com.stem.Proyecto.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.stem.Proyecto.dto.PartidoResumen;
 import com.stem.Proyecto.entity.Equipo;
 import com.stem.Proyecto.entity.Partido;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface PartidoRepository extends JpaRepository<Partido, Long> {
 
+    // Los equipos son LAZY: las consultas que devuelven partidos completos los traen con un JOIN FETCH
+    @Override
+    @EntityGraph(attributePaths = {"equipoLocal", "equipoVisitante"})
+    List<Partido> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"equipoLocal", "equipoVisitante"})
+    Optional<Partido> findById(Long id);
+
+    @EntityGraph(attributePaths = {"equipoLocal", "equipoVisitante"})
     List<Partido> findByEquipoLocal(Equipo equipoLocal);
+
+    @EntityGraph(attributePaths = {"equipoLocal", "equipoVisitante"})
     List<Partido> findByEquipoVisitante(Equipo equipoVisitante);
+
+    @EntityGraph(attributePaths = {"equipoLocal", "equipoVisitante"})
     List<Partido> findByTemporada(String temporada);
-    List<Partido> findByEquipoLocalIdAndEquipoVisitanteId(Long equipoLocalId, Long equipoVisitanteId);
-}
\ No newline at end of file
+
+    // Igual que en JugadorRepository.findByEquipoId: se filtra por las claves foráneas para usar idx_partidos_local_visitante
+    @EntityGraph(attributePaths = {"equipoLocal", "equipoVisitante"})
+    @Query("SELECT p FROM Partido p WHERE p.equipoLocal.id = :equipoLocalId AND p.equipoVisitante.id = :equipoVisitanteId")
+    List<Partido> findByEquipoLocalIdAndEquipoVisitanteId(@Param("equipoLocalId") Long equipoLocalId,
+                                                          @Param("equipoVisitanteId") Long equipoVisitanteId);
+
+    @EntityGraph(attributePaths = {"equipoLocal", "equipoVisitante"})
+    List<Partido> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"equipoLocal", "equipoVisitante"})
+    Window<Partido> findBy(ScrollPosition posicion, Sort orden, Limit limite);
+
+    // Proyecciones para los listados: solo el ID y el nombre de cada equipo, sin hidratar entidades
+    @Query("SELECT new com.stem.Proyecto.dto.PartidoResumen(p.id, p.fecha, p.hora, p.puntuacionLocal, p.puntuacionVisitante, "
+            + "p.temporada, p.lugar, el.id, el.nombre, ev.id, ev.nombre) "
+            + "FROM Partido p JOIN p.equipoLocal el JOIN p.equipoVisitante ev ORDER BY p.fecha, p.hora, p.id")
+    List<PartidoResumen> findAllResumen();
+
+    @Query("SELECT new com.stem.Proyecto.dto.PartidoResumen(p.id, p.fecha, p.hora, p.puntuacionLocal, p.puntuacionVisitante, "
+            + "p.temporada, p.lugar, el.id, el.nombre, ev.id, ev.nombre) "
+            + "FROM Partido p JOIN p.equipoLocal el JOIN p.equipoVisitante ev "
+            + "WHERE p.temporada = :temporada ORDER BY p.fecha, p.hora, p.id")
+    List<PartidoResumen> findResumenByTemporada(@Param("temporada") String temporada);
+
+    // Exportación: un cursor de solo avance que trae las filas de mil en mil. Son proyecciones, así que
+    // el contexto de persistencia no crece; se ordena por la clave primaria para no ordenar toda la tabla.
+    // Hay que recorrerlos dentro de una transacción y cerrarlos al terminar.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.stem.Proyecto.dto.PartidoResumen(p.id, p.fecha, p.hora, p.puntuacionLocal, p.puntuacionVisitante, "
+            + "p.temporada, p.lugar, el.id, el.nombre, ev.id, ev.nombre) "
+            + "FROM Partido p JOIN p.equipoLocal el JOIN p.equipoVisitante ev ORDER BY p.id")
+    Stream<PartidoResumen> streamResumen();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.stem.Proyecto.dto.PartidoResumen(p.id, p.fecha, p.hora, p.puntuacionLocal, p.puntuacionVisitante, "
+            + "p.temporada, p.lugar, el.id, el.nombre, ev.id, ev.nombre) "
+            + "FROM Partido p JOIN p.equipoLocal el JOIN p.equipoVisitante ev WHERE p.temporada = :temporada ORDER BY p.id")
+    Stream<PartidoResumen> streamResumenByTemporada(@Param("temporada") String temporada);
+
+    // Búsqueda global: el lugar contiene el texto o la temporada empieza por él; los más recientes primero
+    @Query("SELECT new com.stem.Proyecto.dto.PartidoResumen(p.id, p.fecha, p.hora, p.puntuacionLocal, p.puntuacionVisitante, "
+            + "p.temporada, p.lugar, el.id, el.nombre, ev.id, ev.nombre) "
+            + "FROM Partido p JOIN p.equipoLocal el JOIN p.equipoVisitante ev "
+            + "WHERE LOWER(p.lugar) LIKE LOWER(CONCAT('%', :texto, '%')) OR p.temporada LIKE CONCAT(:texto, '%') "
+            + "ORDER BY p.fecha DESC, p.id DESC")
+    List<PartidoResumen> buscarPorLugarOTemporada(@Param("texto") String texto, Limit limite);
+
+    // Escrituras de un solo partido con una sentencia, sin cargarlo antes; devuelven las filas afectadas (0 si no existe)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Partido p SET p.fecha = :#{#partido.fecha}, p.hora = :#{#partido.hora}, "
+            + "p.puntuacionLocal = :#{#partido.puntuacionLocal}, p.puntuacionVisitante = :#{#partido.puntuacionVisitante}, "
+            + "p.temporada = :#{#partido.temporada}, p.lugar = :#{#partido.lugar}, "
+            + "p.equipoLocal = :#{#partido.equipoLocal}, p.equipoVisitante = :#{#partido.equipoVisitante} WHERE p.id = :id")
+    int reemplazar(@Param("id") Long id, @Param("partido") Partido partido);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Partido p WHERE p.id = :id")
+    int borrarPorId(@Param("id") Long id);
+
+    // Borrado en bloque de todos los partidos de un equipo, como local o como visitante
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Partido p WHERE p.equipoLocal.id = :equipoId OR p.equipoVisitante.id = :equipoId")
+    int borrarPorEquipo(@Param("equipoId") Long equipoId);
+}
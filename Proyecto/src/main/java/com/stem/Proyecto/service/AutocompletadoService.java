@@ -0,0 +1,69 @@
+package com.stem.Proyecto.service;
+
+import java.util.List;
+
+import com.stem.Proyecto.dto.Sugerencia;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.entity.Logro;
+
+/**
+ * Esta interfaz define el autocompletado de la caja de búsqueda: jugadores (por nombre y apellido),
+ * equipos (por nombre, abreviatura y ciudad) y logros (por nombre).
+ * Los índices se construyen una vez desde la base de datos y se mantienen en memoria:
+ * los servicios de jugadores, equipos y logros avisan de cada cambio.
+ */
+public interface AutocompletadoService {
+
+    /**
+     * Devuelve las sugerencias para el texto tecleado hasta ahora: primero las que lo tienen al principio
+     * de un campo y después las que lo tienen al principio de otra palabra, en orden alfabético.
+     *
+     * @param texto El texto tecleado; la última palabra puede estar a medias.
+     * @param tipo "jugador", "equipo" o "logro" para sugerir solo de ese tipo, o null para todos.
+     * @param limite El número máximo de sugerencias (opcional, con un máximo).
+     * @return Las sugerencias, con el tipo, el ID y la etiqueta de cada una.
+     * @throws IllegalArgumentException si el tipo no es válido.
+     */
+    List<Sugerencia> sugerir(String texto, String tipo, Integer limite);
+
+    /**
+     * Avisa de que un jugador se ha creado o modificado.
+     * Como el resto de avisos, si hay una transacción en curso se aplica cuando se confirma.
+     *
+     * @param jugador El jugador guardado, con su ID.
+     */
+    void jugadorGuardado(Jugador jugador);
+
+    void jugadorEliminado(Long jugadorId);
+
+    /**
+     * Avisa de que un equipo se ha creado o modificado.
+     *
+     * @param equipo El equipo guardado, con su ID.
+     */
+    void equipoGuardado(Equipo equipo);
+
+    void equipoEliminado(Long equipoId);
+
+    /**
+     * Avisa de que un logro se ha creado o modificado.
+     *
+     * @param logro El logro guardado, con su ID.
+     */
+    void logroGuardado(Logro logro);
+
+    void logroEliminado(Long logroId);
+
+    /**
+     * Descarta el índice de jugadores; se volverá a construir en la siguiente consulta.
+     * Se usa tras los borrados en bloque, que no pasan jugador a jugador.
+     */
+    void invalidarJugadores();
+
+    /**
+     * Descarta los índices de jugadores, equipos y logros; se volverán a construir en la siguiente consulta.
+     * Se usa cuando los datos se escriben sin pasar por los servicios, como en la carga inicial.
+     */
+    void invalidarTodo();
+}
@@ -0,0 +1,21 @@
+package com.stem.Proyecto.service;
+
+import com.stem.Proyecto.dto.RespuestaBusqueda;
+
+/**
+ * Esta interfaz define la búsqueda global del buscador de la barra de navegación:
+ * equipos, jugadores, logros y partidos a la vez, mezclados por puntuación.
+ */
+public interface BusquedaGlobalService {
+
+    /**
+     * Busca el texto en todas las fuentes en paralelo. Cada fuente tiene un plazo; si no responde
+     * a tiempo (o falla), la respuesta sale sin sus resultados y la fuente aparece en
+     * {@link RespuestaBusqueda#getFuentesSinRespuesta()}.
+     *
+     * @param texto El texto buscado.
+     * @param limite El número máximo de resultados (opcional, con un máximo configurable).
+     * @return Los mejores resultados de todas las fuentes que respondieron, de mayor a menor puntuación.
+     */
+    RespuestaBusqueda buscar(String texto, Integer limite);
+}
@@ -0,0 +1,47 @@
+package com.stem.Proyecto.service;
+
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.entity.Jugador;
+
+/**
+ * Esta interfaz define la búsqueda de jugadores por nombre o apellido.
+ * El índice de búsqueda se construye una vez desde la base de datos y después se mantiene en memoria:
+ * el servicio de jugadores avisa de cada cambio para actualizarlo.
+ */
+public interface BusquedaJugadoresService {
+
+    /**
+     * Busca jugadores cuyo nombre o apellido contengan todas las palabras del texto,
+     * sin distinguir mayúsculas ni tildes, ordenados de mejor a peor coincidencia.
+     * En modo aproximado, cada palabra puede estar mal escrita ("Gonzales" encuentra a "González").
+     *
+     * @param texto El texto buscado.
+     * @param aproximada Si se admiten palabras con alguna letra de más, de menos o cambiada.
+     * @param cursor El cursor de la página anterior, o null para empezar.
+     * @param tamanio El número de resultados de la página.
+     * @return Los IDs de los jugadores encontrados, en orden, con el cursor de la siguiente página.
+     * @throws IllegalArgumentException si el cursor no es válido.
+     */
+    PaginaCursor<Long> buscar(String texto, boolean aproximada, String cursor, int tamanio);
+
+    /**
+     * Avisa de que un jugador se ha creado o modificado.
+     * Si hay una transacción en curso, el cambio se aplica cuando se confirma.
+     *
+     * @param jugador El jugador guardado, con su ID.
+     */
+    void jugadorGuardado(Jugador jugador);
+
+    /**
+     * Avisa de que un jugador se ha borrado.
+     *
+     * @param jugadorId El ID del jugador borrado.
+     */
+    void jugadorEliminado(Long jugadorId);
+
+    /**
+     * Descarta el índice; se volverá a construir en la siguiente búsqueda.
+     * Se usa tras los borrados en bloque, que no pasan jugador a jugador.
+     */
+    void invalidar();
+}
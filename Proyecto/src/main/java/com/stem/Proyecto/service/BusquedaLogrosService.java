@@ -0,0 +1,46 @@
+package com.stem.Proyecto.service;
+
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.entity.Logro;
+
+/**
+ * Esta interfaz define la búsqueda de texto completo en el nombre y la descripción de los logros.
+ * El índice se guarda en disco y se pone al día con la base de datos al construirse;
+ * después, el servicio de logros avisa de cada cambio para actualizarlo.
+ */
+public interface BusquedaLogrosService {
+
+    /**
+     * Busca logros cuyo nombre o descripción contengan alguna de las palabras del texto,
+     * sin distinguir mayúsculas ni tildes y sin tener en cuenta el género ni el número
+     * ("campeones" encuentra "campeón"), ordenados de más a menos relevante.
+     *
+     * @param texto El texto buscado.
+     * @param cursor El cursor de la página anterior, o null para empezar.
+     * @param tamanio El número de resultados de la página.
+     * @return Los IDs de los logros encontrados, en orden, con el cursor de la siguiente página.
+     * @throws IllegalArgumentException si el cursor no es válido.
+     */
+    PaginaCursor<Long> buscar(String texto, String cursor, int tamanio);
+
+    /**
+     * Avisa de que un logro se ha creado o modificado.
+     * Si hay una transacción en curso, el cambio se aplica cuando se confirma.
+     *
+     * @param logro El logro guardado, con su ID.
+     */
+    void logroGuardado(Logro logro);
+
+    /**
+     * Avisa de que un logro se ha borrado.
+     *
+     * @param logroId El ID del logro borrado.
+     */
+    void logroEliminado(Long logroId);
+
+    /**
+     * Descarta el índice en memoria; en la siguiente búsqueda se vuelve a abrir y a poner al día
+     * con la base de datos. Se usa cuando los logros se escriben sin pasar por el servicio, como en la carga inicial.
+     */
+    void invalidar();
+}
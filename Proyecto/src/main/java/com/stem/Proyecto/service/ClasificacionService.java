@@ -0,0 +1,71 @@
+package com.stem.Proyecto.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.stem.Proyecto.dto.FilaClasificacion;
+import com.stem.Proyecto.dto.PosicionEnFecha;
+import com.stem.Proyecto.entity.Partido;
+
+/**
+ * Esta interfaz define las operaciones de la clasificación de cada temporada.
+ * La clasificación se calcula una vez desde la base de datos y después se mantiene en memoria:
+ * los servicios que escriben partidos avisan de cada cambio para actualizarla.
+ */
+public interface ClasificacionService {
+
+    /**
+     * Devuelve la clasificación de una temporada, ordenada de primero a último.
+     *
+     * @param temporada La temporada (por ejemplo, "2024-2025").
+     * @return Una fila por equipo con algún partido disputado. Puede estar vacía.
+     */
+    List<FilaClasificacion> getClasificacion(String temporada);
+
+    /**
+     * Devuelve la clasificación de una temporada tal como estaba al terminar un día.
+     *
+     * @param temporada La temporada.
+     * @param fecha El día, incluidos sus partidos.
+     * @return Las filas de primero a último. Vacía si hasta ese día no se había jugado nada.
+     */
+    List<FilaClasificacion> getClasificacionEnFecha(String temporada, LocalDate fecha);
+
+    /**
+     * Devuelve la posición de un equipo en cada fecha con partidos de la temporada.
+     *
+     * @param temporada La temporada.
+     * @param equipoId El ID del equipo.
+     * @return Un punto por fecha, en orden. Vacía si el equipo no ha jugado en la temporada.
+     */
+    List<PosicionEnFecha> getEvolucionEquipo(String temporada, Long equipoId);
+
+    /**
+     * Avisa de que un partido se ha creado o modificado.
+     * Si hay una transacción en curso, el cambio se aplica cuando se confirma.
+     *
+     * @param partido El partido guardado, con su ID y sus equipos.
+     */
+    void partidoGuardado(Partido partido);
+
+    /**
+     * Avisa de que un partido se ha borrado.
+     *
+     * @param partidoId El ID del partido borrado.
+     */
+    void partidoEliminado(Long partidoId);
+
+    /**
+     * Avisa de que un equipo ha cambiado de nombre.
+     *
+     * @param equipoId El ID del equipo.
+     * @param nombre El nombre nuevo.
+     */
+    void equipoRenombrado(Long equipoId, String nombre);
+
+    /**
+     * Descarta todas las clasificaciones calculadas; se volverán a construir en la siguiente consulta.
+     * Se usa tras los borrados en bloque, que no pasan partido a partido.
+     */
+    void invalidar();
+}
@@ -3,6 +3,8 @@ package com.stem.Proyecto.service;
 import java.util.List;
 import java.util.Optional;
 
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.ResultadoBorrado;
 import com.stem.Proyecto.entity.Equipo;
 
 /**
@@ -26,6 +28,19 @@ public interface EquipoService {
      */
     Optional<Equipo> findById(Long id);
 
+    /**
+     * Devuelve una página de equipos usando paginación por cursor (keyset).
+     * Se puede ordenar por "id", "nombre" y "ciudad"; un "-" delante indica orden descendente.
+     *
+     * @param cursor El cursor devuelto por la página anterior, o null para la primera página.
+     * @param limite El número de elementos pedido; se ajusta al máximo configurado.
+     * @param orden El campo por el que ordenar, o null para ordenar por ID.
+     * @param incluirTotal Si es true, la página incluye el número aproximado de equipos.
+     * @return Una {@link PaginaCursor} con los equipos y el cursor de la siguiente página.
+     * @throws IllegalArgumentException si el cursor o el orden no son válidos.
+     */
+    PaginaCursor<Equipo> findPagina(String cursor, Integer limite, String orden, boolean incluirTotal);
+
     /**
      * Guarda un equipo nuevo o actualiza uno existente en la base de datos.
      *
@@ -44,9 +59,20 @@ public interface EquipoService {
     Equipo update(Long id, Equipo equipoActualizado);
 
     /**
-     * Elimina un equipo de la base de datos usando su ID.
+     * Reemplaza todos los datos de un equipo existente con una sola sentencia, sin leerlo antes.
+     *
+     * @param id El ID del equipo a reemplazar.
+     * @param equipo El objeto {@link Equipo} con todos los datos nuevos.
+     * @return El equipo con los datos nuevos y su ID, o 'null' si el equipo no existe.
+     */
+    Equipo reemplazar(Long id, Equipo equipo);
+
+    /**
+     * Elimina un equipo de la base de datos usando su ID, junto con sus jugadores y sus partidos.
+     * Cada tabla se limpia con una sola sentencia dentro de la misma transacción.
      *
      * @param id El ID del equipo a eliminar.
+     * @return Las filas borradas de cada tabla; {@code isEncontrado()} es false si el equipo no existía.
      */
-    void deleteById(Long id);
+    ResultadoBorrado deleteById(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.stem.Proyecto.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+
+import com.stem.Proyecto.dto.ResultadoExportacion;
+
+/**
+ * Esta interfaz define la exportación completa de partidos y jugadores en JSON delimitado por saltos de línea
+ * (NDJSON: un objeto JSON por línea), y la de partidos en CSV. Las filas se leen con un cursor y se escriben
+ * según llegan, así que la memoria usada no depende del número de filas.
+ */
+public interface ExportacionService {
+
+    /**
+     * Escribe los partidos, uno por línea, en orden de ID.
+     *
+     * @param temporada La temporada por la que filtrar (opcional: null exporta todas).
+     * @param salida Donde se escriben las líneas. No se cierra.
+     * @return El número de partidos escritos.
+     * @throws IOException Si falla la escritura (por ejemplo, porque el cliente ha cerrado la conexión).
+     */
+    long exportarPartidos(String temporada, OutputStream salida) throws IOException;
+
+    /**
+     * Escribe los jugadores, uno por línea y en orden de ID, con su equipo y los IDs de sus logros.
+     *
+     * @param salida Donde se escriben las líneas. No se cierra.
+     * @return El número de jugadores escritos.
+     * @throws IOException Si falla la escritura.
+     */
+    long exportarJugadores(OutputStream salida) throws IOException;
+
+    /**
+     * Escribe los partidos en CSV, en orden de ID y con una fila de cabecera:
+     * id, fecha, hora, local, visitante, puntuacionLocal, puntuacionVisitante, temporada y lugar,
+     * con los equipos por su abreviatura. Es el formato que lee {@link ImportacionService#importarPartidosCsv(java.nio.file.Path)}
+     * (que ignora la columna id).
+     *
+     * @param temporada La temporada por la que filtrar (opcional: null exporta todas).
+     * @param salida Donde se escriben las filas, por ejemplo un {@link java.nio.channels.FileChannel}. No se cierra.
+     * @return Las filas y los bytes escritos, y el ritmo conseguido.
+     * @throws IOException Si falla la escritura.
+     */
+    ResultadoExportacion exportarPartidosCsv(String temporada, WritableByteChannel salida) throws IOException;
+}
@@ -0,0 +1,52 @@
+package com.stem.Proyecto.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import com.stem.Proyecto.dto.ResultadoImportacion;
+
+/**
+ * Esta interfaz define las importaciones masivas. Las filas se leen, se validan y se guardan por lotes,
+ * y el resultado indica, fila a fila, el ID asignado o el motivo del rechazo.
+ */
+public interface ImportacionService {
+
+    /**
+     * Crea jugadores a partir de un array JSON o de JSON delimitado por saltos de línea (un jugador por línea),
+     * con el mismo formato que la creación de un jugador: el equipo y los logros se indican por su ID.
+     * Las filas no válidas se rechazan sin impedir que se guarden las demás.
+     *
+     * @param entrada El cuerpo con los jugadores. No se cierra.
+     * @return El resultado de cada fila, en el orden de la entrada.
+     * @throws IllegalArgumentException si la entrada no es JSON válido; en ese caso no se guarda nada.
+     * @throws IOException Si falla la lectura.
+     */
+    ResultadoImportacion importarJugadores(InputStream entrada) throws IOException;
+
+    /**
+     * Crea partidos a partir de un CSV con una fila de cabecera. Las columnas se identifican por su nombre,
+     * en cualquier orden, y las que no se reconocen se ignoran:
+     * fecha (aaaa-mm-dd), hora (hh:mm), local y visitante (las abreviaturas de los equipos) y temporada son obligatorias;
+     * puntuacionLocal, puntuacionVisitante y lugar son opcionales. Es el mismo formato que escribe la exportación.
+     * <p>
+     * El archivo se lee proyectado en memoria y los partidos se guardan por lotes, cada uno en su propia transacción:
+     * si la importación se interrumpe, los lotes anteriores ya están guardados. Solo se detallan las filas rechazadas
+     * (la fila es la línea del archivo, contando la cabecera); las aceptadas solo se cuentan.
+     *
+     * @param archivo El archivo CSV, en UTF-8.
+     * @return El recuento de filas, las rechazadas con su motivo, y los bytes leídos y el ritmo conseguido.
+     * @throws IllegalArgumentException si falta la cabecera o alguna columna obligatoria, o el CSV está mal formado
+     * (por ejemplo, unas comillas sin cerrar); en ese caso se conservan los lotes ya guardados.
+     * @throws IOException Si no se puede leer el archivo.
+     */
+    ResultadoImportacion importarPartidosCsv(Path archivo) throws IOException;
+
+    /**
+     * Igual que {@link #importarPartidosCsv(Path)}, para un CSV que llega en una petición:
+     * se copia antes a un archivo temporal, que se borra al terminar.
+     *
+     * @param entrada El CSV. No se cierra.
+     */
+    ResultadoImportacion importarPartidosCsv(InputStream entrada) throws IOException;
+}
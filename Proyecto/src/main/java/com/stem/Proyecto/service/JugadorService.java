@@ -1,8 +1,12 @@
 package com.stem.Proyecto.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import com.stem.Proyecto.dto.JugadorResumen;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.ResultadoBorrado;
 import com.stem.Proyecto.entity.Jugador;
 
 /**
@@ -26,6 +30,33 @@ public interface JugadorService {
      */
     Optional<Jugador> findById(Long id);
 
+    /**
+     * Devuelve una página de jugadores usando paginación por cursor (keyset).
+     * Se puede ordenar por "id", "nombre" y "apellido"; un "-" delante indica orden descendente.
+     *
+     * @param cursor El cursor devuelto por la página anterior, o null para la primera página.
+     * @param limite El número de elementos pedido; se ajusta al máximo configurado.
+     * @param orden El campo por el que ordenar, o null para ordenar por ID.
+     * @param incluirTotal Si es true, la página incluye el número aproximado de jugadores.
+     * @return Una {@link PaginaCursor} con los jugadores y el cursor de la siguiente página.
+     * @throws IllegalArgumentException si el cursor o el orden no son válidos.
+     */
+    PaginaCursor<Jugador> findPagina(String cursor, Integer limite, String orden, boolean incluirTotal);
+
+    /**
+     * Devuelve una página de la plantilla de un equipo, ordenada por ID de jugador.
+     * Solo se leen los campos de {@link JugadorResumen}, sin cargar el equipo ni los logros.
+     *
+     * @param equipoId El ID del equipo.
+     * @param activo Si no es null, solo se devuelven los jugadores con ese estado.
+     * @param posicion Si no es null, solo se devuelven los jugadores de esa posición.
+     * @param cursor El cursor devuelto por la página anterior, o null para la primera página.
+     * @param limite El número de elementos pedido; se ajusta al máximo configurado.
+     * @return La página de jugadores, o 'null' si el equipo no existe.
+     * @throws IllegalArgumentException si el cursor no es válido.
+     */
+    PaginaCursor<JugadorResumen> findPlantilla(Long equipoId, Boolean activo, String posicion, String cursor, Integer limite);
+
     /**
      * Guarda un jugador nuevo o actualiza uno existente en la base de datos.
      *
@@ -44,14 +75,29 @@ public interface JugadorService {
     Jugador update(Long id, Jugador jugadorActualizado);
 
     /**
-     * Elimina un jugador de la base de datos usando su ID.
+     * Elimina un jugador de la base de datos usando su ID, junto con sus logros asignados.
      *
      * @param id El ID del jugador a eliminar.
+     * @return Las filas borradas de cada tabla; {@code isEncontrado()} es false si el jugador no existía.
      */
-    void deleteById(Long id);
+    ResultadoBorrado deleteById(Long id);
 
     List<Jugador> findByNombreContainingIgnoreCase(String nombre);
 
+    /**
+     * Busca jugadores por nombre o apellido, sin distinguir mayúsculas ni tildes.
+     * Los resultados se ordenan de mejor a peor coincidencia (palabra completa, principio de palabra
+     * y, por último, parte de una palabra) y se paginan por cursor.
+     *
+     * @param texto Las palabras buscadas; todas deben aparecer en el nombre o el apellido.
+     * @param aproximada Si es true, cada palabra encuentra también las parecidas (con una o dos letras distintas).
+     * @param cursor El cursor devuelto por la página anterior, o null para la primera página.
+     * @param limite El número de elementos pedido; se ajusta al máximo configurado.
+     * @return La página de jugadores encontrados, con su equipo y sus logros.
+     * @throws IllegalArgumentException si el cursor no es válido.
+     */
+    PaginaCursor<Jugador> buscar(String texto, boolean aproximada, String cursor, Integer limite);
+
     /**
      * Añade un logro específico a un jugador.
      *
@@ -78,6 +124,37 @@ public interface JugadorService {
      */
     Jugador updateJugadorLogros(Long jugadorId, List<Long> logroIds); // <-- ¡AÑADIR ESTE MÉTODO!
 
+    /**
+     * Otorga un logro a muchos jugadores a la vez, escribiendo directamente en la tabla jugadores_logros.
+     * Los jugadores que ya tenían el logro o que no existen se ignoran.
+     *
+     * @param logroId El ID del logro a otorgar.
+     * @param jugadorIds Los IDs de los jugadores que lo reciben.
+     * @return El número de asociaciones nuevas creadas.
+     * @throws RuntimeException si el logro no existe.
+     */
+    int addLogroToJugadores(Long logroId, Collection<Long> jugadorIds);
+
+    /**
+     * Quita un logro a muchos jugadores a la vez.
+     *
+     * @param logroId El ID del logro a quitar.
+     * @param jugadorIds Los IDs de los jugadores que lo pierden.
+     * @return El número de asociaciones borradas.
+     */
+    int removeLogroFromJugadores(Long logroId, Collection<Long> jugadorIds);
+
+    /**
+     * Reemplaza los logros de muchos jugadores por el mismo conjunto de logros.
+     * Solo se borran las asociaciones que sobran y solo se insertan las que faltan.
+     *
+     * @param jugadorIds Los IDs de los jugadores a actualizar.
+     * @param logroIds Los IDs de los logros que tendrá cada jugador (vacío para quitarlos todos).
+     * @return El número de asociaciones borradas más las creadas.
+     * @throws RuntimeException si alguno de los logros no existe.
+     */
+    int updateJugadoresLogros(Collection<Long> jugadorIds, Collection<Long> logroIds);
+
     // Opcional: Si quieres un método para obtener los logros de un jugador directamente desde el servicio
     // public Set<Logro> getLogrosByJugadorId(Long jugadorId);
 }
\ No newline at end of file
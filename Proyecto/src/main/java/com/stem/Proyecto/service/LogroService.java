@@ -3,6 +3,8 @@ package com.stem.Proyecto.service;
 import java.util.List;
 import java.util.Optional;
 
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.ResultadoBorrado;
 import com.stem.Proyecto.entity.Logro;
 
 /**
@@ -28,6 +30,31 @@ public interface LogroService {
      */
     Optional<Logro> findById(Long id);
 
+    /**
+     * Devuelve una página de logros usando paginación por cursor (keyset).
+     * Se puede ordenar por "id" y "nombre"; un "-" delante indica orden descendente.
+     *
+     * @param cursor El cursor devuelto por la página anterior, o null para la primera página.
+     * @param limite El número de elementos pedido; se ajusta al máximo configurado.
+     * @param orden El campo por el que ordenar, o null para ordenar por ID.
+     * @param incluirTotal Si es true, la página incluye el número aproximado de logros.
+     * @return Una {@link PaginaCursor} con los logros y el cursor de la siguiente página.
+     * @throws IllegalArgumentException si el cursor o el orden no son válidos.
+     */
+    PaginaCursor<Logro> findPagina(String cursor, Integer limite, String orden, boolean incluirTotal);
+
+    /**
+     * Busca logros por las palabras de su nombre o su descripción, de más a menos relevante.
+     * Un logro aparece si contiene alguna de las palabras; las del nombre cuentan más.
+     *
+     * @param texto El texto buscado.
+     * @param cursor El cursor devuelto por la página anterior, o null para la primera página.
+     * @param limite El número de elementos pedido; se ajusta al máximo configurado.
+     * @return Una {@link PaginaCursor} con los logros encontrados y el cursor de la siguiente página.
+     * @throws IllegalArgumentException si el cursor no es válido.
+     */
+    PaginaCursor<Logro> buscar(String texto, String cursor, Integer limite);
+
     /**
      * Guarda un logro nuevo o actualiza uno existente en la base de datos.
      *
@@ -47,8 +74,10 @@ public interface LogroService {
 
     /**
      * Elimina un logro de la base de datos usando su ID.
+     * Sus asociaciones con jugadores se borran con una sola sentencia, sin cargar a los jugadores.
      *
      * @param id El ID del logro a eliminar.
+     * @return Las filas borradas de cada tabla; {@code isEncontrado()} es false si el logro no existía.
      */
-    void deleteById(Long id);
+    ResultadoBorrado deleteById(Long id);
 }
\ No newline at end of file
@@ -3,6 +3,10 @@ package com.stem.Proyecto.service;
 import java.util.List;
 import java.util.Optional;
 
+import com.stem.Proyecto.dto.Marcador;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.PartidoResumen;
+import com.stem.Proyecto.dto.ResultadoImportacion;
 import com.stem.Proyecto.entity.Partido;
 
 /**
@@ -26,6 +30,28 @@ public interface PartidoService {
      */
     Optional<Partido> findById(Long id);
 
+    /**
+     * Devuelve una página de partidos usando paginación por cursor (keyset).
+     * Se puede ordenar por "id", "fecha" y "temporada"; un "-" delante indica orden descendente.
+     *
+     * @param cursor El cursor devuelto por la página anterior, o null para la primera página.
+     * @param limite El número de elementos pedido; se ajusta al máximo configurado.
+     * @param orden El campo por el que ordenar, o null para ordenar por ID.
+     * @param incluirTotal Si es true, la página incluye el número aproximado de partidos.
+     * @return Una {@link PaginaCursor} con los partidos y el cursor de la siguiente página.
+     * @throws IllegalArgumentException si el cursor o el orden no son válidos.
+     */
+    PaginaCursor<Partido> findPagina(String cursor, Integer limite, String orden, boolean incluirTotal);
+
+    /**
+     * Devuelve un resumen de los partidos (datos del partido más ID y nombre de cada equipo),
+     * pensado para los listados que no necesitan los equipos completos.
+     *
+     * @param temporada La temporada por la que filtrar, o null para todas.
+     * @return Una lista de {@link PartidoResumen} ordenada por fecha y hora.
+     */
+    List<PartidoResumen> findResumen(String temporada);
+
     /**
      * Guarda un partido nuevo o actualiza uno existente en la base de datos.
      *
@@ -43,10 +69,29 @@ public interface PartidoService {
      */
     Partido update(Long id, Partido partidoActualizado);
 
+    /**
+     * Reemplaza todos los datos de un partido existente con una sola sentencia, sin leerlo antes.
+     *
+     * @param id El ID del partido a reemplazar.
+     * @param partido El objeto {@link Partido} con todos los datos nuevos; los equipos se indican por su ID.
+     * @return El partido con los datos nuevos y su ID, o 'null' si el partido no existe.
+     */
+    Partido reemplazar(Long id, Partido partido);
+
     /**
      * Elimina un partido de la base de datos usando su ID.
      *
      * @param id El ID del partido a eliminar.
+     * @return true si el partido existía y se ha borrado.
+     */
+    boolean deleteById(Long id);
+
+    /**
+     * Actualiza los marcadores de muchos partidos en una sola transacción, cambiando solo sus puntuaciones.
+     * Los marcadores no válidos o de partidos que no existen se rechazan sin impedir que se guarden los demás.
+     *
+     * @param marcadores Los marcadores finales, cada uno con el ID de su partido.
+     * @return El resultado de cada marcador, en el mismo orden: el ID del partido o el motivo del rechazo.
      */
-    void deleteById(Long id);
-}
\ No newline at end of file
+    ResultadoImportacion actualizarMarcadores(List<Marcador> marcadores);
+}
@@ -0,0 +1,221 @@
+package com.stem.Proyecto.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.stem.Proyecto.dto.JugadorResumen;
+import com.stem.Proyecto.dto.Sugerencia;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.entity.Logro;
+import com.stem.Proyecto.repository.EquipoRepository;
+import com.stem.Proyecto.repository.JugadorRepository;
+import com.stem.Proyecto.repository.LogroRepository;
+import com.stem.Proyecto.service.AutocompletadoService;
+import com.stem.Proyecto.util.IndicePrefijos;
+import com.stem.Proyecto.util.Transacciones;
+
+/**
+ * Mantiene en memoria un {@link IndicePrefijos} por tipo (jugadores, equipos y logros).
+ * Cada índice se construye en la primera consulta que lo necesita con una sola lectura de su tabla;
+ * a partir de ahí las sugerencias no acceden a la base de datos y cada escritura solo actualiza su elemento.
+ * Cada índice devuelve ya sus mejores sugerencias en orden, así que basta con mezclar las tres listas.
+ */
+@Service
+public class AutocompletadoServiceImpl implements AutocompletadoService {
+
+    private static final int TAMANIO_POR_DEFECTO = 10;
+    private static final int TAMANIO_MAXIMO = 50;
+    // Cuando dos sugerencias de tipos distintos tienen el mismo texto, va primero la de este orden
+    private static final List<String> TIPOS = List.of(Sugerencia.EQUIPO, Sugerencia.JUGADOR, Sugerencia.LOGRO);
+
+    private final Map<String, IndicePerezoso> indices;
+
+    /**
+     * Constructor que Spring usa para inyectar los repositorios.
+     *
+     * @param jugadorRepository El repositorio del que se leen los jugadores al construir su índice.
+     * @param equipoRepository El repositorio del que se leen los equipos.
+     * @param logroRepository El repositorio del que se leen los logros.
+     */
+    @Autowired
+    public AutocompletadoServiceImpl(JugadorRepository jugadorRepository, EquipoRepository equipoRepository,
+                                     LogroRepository logroRepository) {
+        this.indices = Map.of(
+                Sugerencia.JUGADOR, new IndicePerezoso(() -> {
+                    IndicePrefijos indice = new IndicePrefijos();
+                    for (JugadorResumen jugador : jugadorRepository.findAllResumen()) {
+                        guardarJugador(indice, jugador.getId(), jugador.getNombre(), jugador.getApellido());
+                    }
+                    return indice;
+                }),
+                Sugerencia.EQUIPO, new IndicePerezoso(() -> {
+                    IndicePrefijos indice = new IndicePrefijos();
+                    for (Equipo equipo : equipoRepository.findAll(Sort.by("id"))) {
+                        guardarEquipo(indice, equipo.getId(), equipo.getNombre(), equipo.getAbreviatura(), equipo.getCiudad());
+                    }
+                    return indice;
+                }),
+                Sugerencia.LOGRO, new IndicePerezoso(() -> {
+                    IndicePrefijos indice = new IndicePrefijos();
+                    for (Logro logro : logroRepository.findAll(Sort.by("id"))) {
+                        indice.guardar(logro.getId(), logro.getNombre(), logro.getNombre());
+                    }
+                    return indice;
+                }));
+    }
+
+    @Override
+    public List<Sugerencia> sugerir(String texto, String tipo, Integer limite) {
+        int tamanio = limite == null || limite <= 0 ? TAMANIO_POR_DEFECTO : Math.min(limite, TAMANIO_MAXIMO);
+        List<String> tipos = tipo == null ? TIPOS : List.of(tipo);
+        List<Candidata> candidatas = new ArrayList<>();
+        for (String t : tipos) {
+            IndicePerezoso indice = indices.get(t);
+            if (indice == null) {
+                throw new IllegalArgumentException("Tipo de sugerencia no válido: " + t);
+            }
+            for (IndicePrefijos.Coincidencia coincidencia : indice.obtener().buscar(texto, tamanio)) {
+                candidatas.add(new Candidata(t, coincidencia));
+            }
+        }
+        // El orden es estable: con el mismo texto, se respeta el orden de TIPOS
+        candidatas.sort(Comparator.comparing(Candidata::getCoincidencia, IndicePrefijos.ORDEN));
+        return candidatas.stream()
+                .limit(tamanio)
+                .map(c -> new Sugerencia(c.getTipo(), c.getCoincidencia().getId(), c.getCoincidencia().getEtiqueta()))
+                .toList();
+    }
+
+    @Override
+    public void jugadorGuardado(Jugador jugador) {
+        // Se copia ahora: la entidad puede seguir cambiando antes de que se confirme la transacción
+        long id = jugador.getId();
+        String nombre = jugador.getNombre();
+        String apellido = jugador.getApellido();
+        indices.get(Sugerencia.JUGADOR).trasConfirmar(indice -> guardarJugador(indice, id, nombre, apellido));
+    }
+
+    @Override
+    public void jugadorEliminado(Long jugadorId) {
+        indices.get(Sugerencia.JUGADOR).trasConfirmar(indice -> indice.eliminar(jugadorId));
+    }
+
+    @Override
+    public void equipoGuardado(Equipo equipo) {
+        long id = equipo.getId();
+        String nombre = equipo.getNombre();
+        String abreviatura = equipo.getAbreviatura();
+        String ciudad = equipo.getCiudad();
+        indices.get(Sugerencia.EQUIPO).trasConfirmar(indice -> guardarEquipo(indice, id, nombre, abreviatura, ciudad));
+    }
+
+    @Override
+    public void equipoEliminado(Long equipoId) {
+        indices.get(Sugerencia.EQUIPO).trasConfirmar(indice -> indice.eliminar(equipoId));
+    }
+
+    @Override
+    public void logroGuardado(Logro logro) {
+        long id = logro.getId();
+        String nombre = logro.getNombre();
+        indices.get(Sugerencia.LOGRO).trasConfirmar(indice -> indice.guardar(id, nombre, nombre));
+    }
+
+    @Override
+    public void logroEliminado(Long logroId) {
+        indices.get(Sugerencia.LOGRO).trasConfirmar(indice -> indice.eliminar(logroId));
+    }
+
+    @Override
+    public void invalidarJugadores() {
+        indices.get(Sugerencia.JUGADOR).invalidar();
+    }
+
+    @Override
+    public void invalidarTodo() {
+        indices.values().forEach(IndicePerezoso::invalidar);
+    }
+
+    // "Nombre Apellido" para que se pueda teclear el nombre completo, y el apellido solo como principio de campo
+    private static void guardarJugador(IndicePrefijos indice, long id, String nombre, String apellido) {
+        String completo = nombre + " " + apellido;
+        indice.guardar(id, completo, completo, apellido);
+    }
+
+    private static void guardarEquipo(IndicePrefijos indice, long id, String nombre, String abreviatura, String ciudad) {
+        indice.guardar(id, nombre, nombre, abreviatura, ciudad);
+    }
+
+    private static final class Candidata {
+
+        private final String tipo;
+        private final IndicePrefijos.Coincidencia coincidencia;
+
+        Candidata(String tipo, IndicePrefijos.Coincidencia coincidencia) {
+            this.tipo = tipo;
+            this.coincidencia = coincidencia;
+        }
+
+        String getTipo() {
+            return tipo;
+        }
+
+        IndicePrefijos.Coincidencia getCoincidencia() {
+            return coincidencia;
+        }
+    }
+
+    /**
+     * Un índice que se construye en la primera consulta. Igual que en la búsqueda de jugadores,
+     * los cambios se aplican al confirmarse la transacción y solo si el índice ya existe:
+     * si no, lo incluirá al construirse.
+     */
+    private static final class IndicePerezoso {
+
+        private final Supplier<IndicePrefijos> construccion;
+        private volatile IndicePrefijos indice;
+
+        IndicePerezoso(Supplier<IndicePrefijos> construccion) {
+            this.construccion = construccion;
+        }
+
+        IndicePrefijos obtener() {
+            IndicePrefijos actual = indice;
+            return actual != null ? actual : construir();
+        }
+
+        private synchronized IndicePrefijos construir() {
+            if (indice == null) {
+                indice = construccion.get();
+            }
+            return indice;
+        }
+
+        void trasConfirmar(Consumer<IndicePrefijos> cambio) {
+            Transacciones.trasConfirmar(() -> {
+                synchronized (this) {
+                    if (indice != null) {
+                        cambio.accept(indice);
+                    }
+                }
+            });
+        }
+
+        void invalidar() {
+            Transacciones.trasConfirmar(() -> {
+                synchronized (this) {
+                    indice = null;
+                }
+            });
+        }
+    }
+}
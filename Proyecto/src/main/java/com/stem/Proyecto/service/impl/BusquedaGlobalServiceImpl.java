@@ -0,0 +1,218 @@
+package com.stem.Proyecto.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.stem.Proyecto.config.BusquedaGlobalConfig;
+import com.stem.Proyecto.dto.PartidoResumen;
+import com.stem.Proyecto.dto.RespuestaBusqueda;
+import com.stem.Proyecto.dto.ResultadoBusqueda;
+import com.stem.Proyecto.dto.Sugerencia;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.entity.Logro;
+import com.stem.Proyecto.repository.EquipoRepository;
+import com.stem.Proyecto.repository.JugadorRepository;
+import com.stem.Proyecto.repository.LogroRepository;
+import com.stem.Proyecto.repository.PartidoRepository;
+import com.stem.Proyecto.service.AutocompletadoService;
+import com.stem.Proyecto.service.BusquedaGlobalService;
+import com.stem.Proyecto.service.BusquedaJugadoresService;
+import com.stem.Proyecto.service.BusquedaLogrosService;
+import com.stem.Proyecto.util.NormalizadorTexto;
+import com.stem.Proyecto.util.PuntuacionTexto;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Reparte cada búsqueda entre cuatro fuentes que se consultan en paralelo:
+ * <ul>
+ *   <li>equipos: el índice de autocompletado (nombre, abreviatura o ciudad),</li>
+ *   <li>jugadores: el índice de trigramas de {@link BusquedaJugadoresService},</li>
+ *   <li>logros: el índice de texto completo de {@link BusquedaLogrosService},</li>
+ *   <li>partidos: una consulta por lugar o temporada, la única que recorre una tabla.</li>
+ * </ul>
+ * Todas empiezan a la vez y comparten el mismo plazo; la respuesta no espera a la que no termina a tiempo,
+ * de forma que una tabla lenta (por ejemplo, con mucha carga de escritura) no retrasa el buscador.
+ * La fuente atrasada no se interrumpe: así un índice que se está construyendo por primera vez termina
+ * y está listo para la siguiente búsqueda. Los hilos y la cola están acotados; si están llenos,
+ * la fuente que no cabe tampoco espera: se da por no respondida.
+ * Cada resultado se puntúa con {@link PuntuacionTexto} para poder mezclar los de fuentes distintas.
+ */
+@Service
+public class BusquedaGlobalServiceImpl implements BusquedaGlobalService {
+
+    private static final List<String> TIPOS = List.of(ResultadoBusqueda.EQUIPO, ResultadoBusqueda.JUGADOR,
+            ResultadoBusqueda.LOGRO, ResultadoBusqueda.PARTIDO);
+    // Mayor puntuación primero; a igualdad, por tipo (la ordenación es estable y respeta el orden de cada fuente)
+    private static final Comparator<ResultadoBusqueda> ORDEN = Comparator.comparingDouble(ResultadoBusqueda::getPuntuacion)
+            .reversed().thenComparingInt(resultado -> TIPOS.indexOf(resultado.getTipo()));
+    // Una coincidencia solo en la descripción de un logro cuenta la mitad que en su nombre
+    private static final double PESO_DESCRIPCION = 0.5;
+
+    private final EquipoRepository equipoRepository;
+    private final JugadorRepository jugadorRepository;
+    private final LogroRepository logroRepository;
+    private final PartidoRepository partidoRepository;
+    private final AutocompletadoService autocompletado;
+    private final BusquedaJugadoresService busquedaJugadores;
+    private final BusquedaLogrosService busquedaLogros;
+    private final BusquedaGlobalConfig config;
+    private final ThreadPoolExecutor ejecutor;
+
+    /**
+     * Constructor que Spring usa para inyectar las fuentes de la búsqueda.
+     *
+     * @param equipoRepository Para cargar los equipos encontrados.
+     * @param jugadorRepository Para cargar los jugadores encontrados.
+     * @param logroRepository Para cargar los logros encontrados.
+     * @param partidoRepository Para buscar partidos por lugar o temporada.
+     * @param autocompletado El índice con el que se encuentran los equipos.
+     * @param busquedaJugadores El índice con el que se encuentran los jugadores.
+     * @param busquedaLogros El índice con el que se encuentran los logros.
+     * @param config El plazo de cada fuente, el número de hilos y los límites de resultados.
+     */
+    @Autowired
+    public BusquedaGlobalServiceImpl(EquipoRepository equipoRepository, JugadorRepository jugadorRepository,
+                                     LogroRepository logroRepository, PartidoRepository partidoRepository,
+                                     AutocompletadoService autocompletado, BusquedaJugadoresService busquedaJugadores,
+                                     BusquedaLogrosService busquedaLogros, BusquedaGlobalConfig config) {
+        this.equipoRepository = equipoRepository;
+        this.jugadorRepository = jugadorRepository;
+        this.logroRepository = logroRepository;
+        this.partidoRepository = partidoRepository;
+        this.autocompletado = autocompletado;
+        this.busquedaJugadores = busquedaJugadores;
+        this.busquedaLogros = busquedaLogros;
+        this.config = config;
+        AtomicInteger numero = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(config.getHilos(), config.getHilos(), 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getHilos() * TIPOS.size()), tarea -> {
+                    Thread hilo = new Thread(tarea, "busqueda-global-" + numero.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+        this.ejecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public RespuestaBusqueda buscar(String texto, Integer limite) {
+        if (NormalizadorTexto.normalizar(texto).isEmpty()) {
+            return new RespuestaBusqueda(List.of(), List.of());
+        }
+        int maximo = config.limitar(limite);
+        Map<String, Callable<List<ResultadoBusqueda>>> fuentes = new LinkedHashMap<>();
+        fuentes.put(ResultadoBusqueda.EQUIPO, () -> buscarEquipos(texto, maximo));
+        fuentes.put(ResultadoBusqueda.JUGADOR, () -> buscarJugadores(texto, maximo));
+        fuentes.put(ResultadoBusqueda.LOGRO, () -> buscarLogros(texto, maximo));
+        fuentes.put(ResultadoBusqueda.PARTIDO, () -> buscarPartidos(texto, maximo));
+
+        long plazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getMilisegundosPorFuente());
+        List<String> sinRespuesta = new ArrayList<>();
+        Map<String, Future<List<ResultadoBusqueda>>> enCurso = new LinkedHashMap<>();
+        fuentes.forEach((tipo, fuente) -> {
+            try {
+                enCurso.put(tipo, ejecutor.submit(fuente));
+            } catch (RejectedExecutionException e) {
+                sinRespuesta.add(tipo);
+            }
+        });
+
+        List<ResultadoBusqueda> resultados = new ArrayList<>();
+        for (Map.Entry<String, Future<List<ResultadoBusqueda>>> fuente : enCurso.entrySet()) {
+            Future<List<ResultadoBusqueda>> futuro = fuente.getValue();
+            try {
+                resultados.addAll(futuro.get(Math.max(0, plazo - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                // Si aún no había empezado, ya no empieza; si está en marcha, termina sin que nadie la espere
+                futuro.cancel(false);
+                sinRespuesta.add(fuente.getKey());
+            } catch (ExecutionException e) {
+                System.out.println("La búsqueda de " + fuente.getKey() + " ha fallado: " + e.getCause());
+                sinRespuesta.add(fuente.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futuro.cancel(false);
+                sinRespuesta.add(fuente.getKey());
+            }
+        }
+        resultados.sort(ORDEN);
+        return new RespuestaBusqueda(resultados.size() > maximo ? resultados.subList(0, maximo) : resultados, sinRespuesta);
+    }
+
+    private List<ResultadoBusqueda> buscarEquipos(String texto, int maximo) {
+        List<Long> ids = autocompletado.sugerir(texto, Sugerencia.EQUIPO, maximo).stream().map(Sugerencia::getId).toList();
+        return enOrden(ids, equipoRepository.findAllById(ids), Equipo::getId).stream()
+                .map(equipo -> new ResultadoBusqueda(ResultadoBusqueda.EQUIPO, equipo.getId(), equipo.getNombre(), equipo.getCiudad(),
+                        PuntuacionTexto.puntuar(texto, equipo.getNombre() + " " + equipo.getCiudad() + " " + equipo.getAbreviatura())))
+                .toList();
+    }
+
+    private List<ResultadoBusqueda> buscarJugadores(String texto, int maximo) {
+        List<Long> ids = busquedaJugadores.buscar(texto, false, null, maximo).getContenido();
+        return enOrden(ids, jugadorRepository.findAllById(ids), Jugador::getId).stream()
+                .map(jugador -> {
+                    String nombre = jugador.getNombre() + " " + jugador.getApellido();
+                    return new ResultadoBusqueda(ResultadoBusqueda.JUGADOR, jugador.getId(), nombre, jugador.getPosicion(),
+                            PuntuacionTexto.puntuar(texto, nombre));
+                })
+                .toList();
+    }
+
+    private List<ResultadoBusqueda> buscarLogros(String texto, int maximo) {
+        List<Long> ids = busquedaLogros.buscar(texto, null, maximo).getContenido();
+        return enOrden(ids, logroRepository.findAllById(ids), Logro::getId).stream()
+                .map(logro -> new ResultadoBusqueda(ResultadoBusqueda.LOGRO, logro.getId(), logro.getNombre(), logro.getDescripcion(),
+                        Math.max(PuntuacionTexto.puntuar(texto, logro.getNombre()),
+                                PESO_DESCRIPCION * PuntuacionTexto.puntuar(texto, logro.getDescripcion()))))
+                .toList();
+    }
+
+    private List<ResultadoBusqueda> buscarPartidos(String texto, int maximo) {
+        return partidoRepository.buscarPorLugarOTemporada(texto.trim(), Limit.of(maximo)).stream()
+                .map(partido -> new ResultadoBusqueda(ResultadoBusqueda.PARTIDO, partido.getId(), etiqueta(partido),
+                        partido.getLugar() + ", " + partido.getTemporada() + ", " + partido.getFecha(),
+                        PuntuacionTexto.puntuar(texto, partido.getLugar() + " " + partido.getTemporada())))
+                .toList();
+    }
+
+    private static String etiqueta(PartidoResumen partido) {
+        return partido.getNombreEquipoLocal() + " - " + partido.getNombreEquipoVisitante();
+    }
+
+    /**
+     * Devuelve las entidades en el orden de los IDs del índice, sin las que ya no existen
+     * (un borrado cuyo aviso aún no ha llegado al índice).
+     */
+    private static <T> List<T> enOrden(List<Long> ids, List<T> entidades, Function<T, Long> id) {
+        Map<Long, T> porId = entidades.stream().collect(Collectors.toMap(id, Function.identity()));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Para los hilos de la búsqueda al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void cerrar() {
+        ejecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,126 @@
+package com.stem.Proyecto.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.stem.Proyecto.dto.JugadorResumen;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.repository.JugadorRepository;
+import com.stem.Proyecto.service.BusquedaJugadoresService;
+import com.stem.Proyecto.util.CursorPaginacion;
+import com.stem.Proyecto.util.IndiceTrigramas;
+import com.stem.Proyecto.util.Transacciones;
+
+/**
+ * Mantiene en memoria un {@link IndiceTrigramas} con el nombre y el apellido de todos los jugadores.
+ * El índice se construye en la primera búsqueda con una sola consulta ({@link JugadorRepository#findAllResumen});
+ * a partir de ahí las búsquedas no acceden a la base de datos y cada escritura solo actualiza a su jugador.
+ * Las páginas se piden por cursor, con la puntuación y el ID del último resultado como clave,
+ * tanto en la búsqueda exacta como en la aproximada.
+ */
+@Service
+public class BusquedaJugadoresServiceImpl implements BusquedaJugadoresService {
+
+    private static final Sort ORDEN = Sort.by(Sort.Direction.DESC, "puntuacion").and(Sort.by("id"));
+    private static final Map<String, Class<?>> TIPOS_ORDEN = Map.of("puntuacion", Integer.class, "id", Long.class);
+
+    private final JugadorRepository jugadorRepository;
+    private volatile IndiceTrigramas indice;
+
+    /**
+     * Constructor que Spring usa para inyectar el repositorio de jugadores.
+     *
+     * @param jugadorRepository El repositorio del que se leen los jugadores al construir el índice.
+     */
+    @Autowired
+    public BusquedaJugadoresServiceImpl(JugadorRepository jugadorRepository) {
+        this.jugadorRepository = jugadorRepository;
+    }
+
+    @Override
+    public PaginaCursor<Long> buscar(String texto, boolean aproximada, String cursor, int tamanio) {
+        ScrollPosition posicion = CursorPaginacion.decodificar(cursor, ORDEN, TIPOS_ORDEN);
+        Integer despuesDePuntuacion = CursorPaginacion.clave(posicion, "puntuacion", Integer.class);
+        Long despuesDeId = CursorPaginacion.clave(posicion, "id", Long.class);
+        // Se pide un resultado de más para saber si hay otra página
+        IndiceTrigramas indice = indice();
+        List<IndiceTrigramas.Coincidencia> encontrados = aproximada
+                ? indice.buscarAproximado(texto, despuesDePuntuacion, despuesDeId, tamanio + 1)
+                : indice.buscar(texto, despuesDePuntuacion, despuesDeId, tamanio + 1);
+        boolean hayMas = encontrados.size() > tamanio;
+        List<IndiceTrigramas.Coincidencia> contenido = hayMas ? encontrados.subList(0, tamanio) : encontrados;
+        String siguiente = null;
+        if (hayMas) {
+            IndiceTrigramas.Coincidencia ultima = contenido.get(tamanio - 1);
+            Map<String, Object> claves = new LinkedHashMap<>();
+            claves.put("puntuacion", ultima.getPuntuacion());
+            claves.put("id", ultima.getId());
+            siguiente = CursorPaginacion.codificar(ScrollPosition.forward(claves));
+        }
+        return new PaginaCursor<>(contenido.stream().map(IndiceTrigramas.Coincidencia::getId).toList(), siguiente, hayMas, null);
+    }
+
+    private IndiceTrigramas indice() {
+        IndiceTrigramas actual = indice;
+        return actual != null ? actual : construir();
+    }
+
+    /**
+     * Construye el índice. Se sincroniza con las escrituras: un cambio confirmado mientras se leen
+     * los jugadores se aplica después sobre el índice ya construido, y como guardar un jugador que
+     * ya está sustituye su texto, no queda repetido.
+     */
+    private synchronized IndiceTrigramas construir() {
+        if (indice == null) {
+            IndiceTrigramas nuevo = new IndiceTrigramas();
+            for (JugadorResumen jugador : jugadorRepository.findAllResumen()) {
+                nuevo.guardar(jugador.getId(), jugador.getNombre(), jugador.getApellido());
+            }
+            indice = nuevo;
+        }
+        return indice;
+    }
+
+    @Override
+    public void jugadorGuardado(Jugador jugador) {
+        // Se copia ahora: la entidad puede seguir cambiando antes de que se confirme la transacción
+        long id = jugador.getId();
+        String nombre = jugador.getNombre();
+        String apellido = jugador.getApellido();
+        Transacciones.trasConfirmar(() -> {
+            synchronized (this) {
+                // Si el índice aún no existe, lo incluirá al construirse
+                if (indice != null) {
+                    indice.guardar(id, nombre, apellido);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void jugadorEliminado(Long jugadorId) {
+        Transacciones.trasConfirmar(() -> {
+            synchronized (this) {
+                if (indice != null) {
+                    indice.eliminar(jugadorId);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void invalidar() {
+        Transacciones.trasConfirmar(() -> {
+            synchronized (this) {
+                indice = null;
+            }
+        });
+    }
+}
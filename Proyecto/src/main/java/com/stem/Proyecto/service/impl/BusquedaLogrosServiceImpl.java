@@ -0,0 +1,161 @@
+package com.stem.Proyecto.service.impl;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.stem.Proyecto.config.BusquedaLogrosConfig;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.entity.Logro;
+import com.stem.Proyecto.repository.LogroRepository;
+import com.stem.Proyecto.service.BusquedaLogrosService;
+import com.stem.Proyecto.util.CursorPaginacion;
+import com.stem.Proyecto.util.IndiceInvertido;
+import com.stem.Proyecto.util.Transacciones;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Mantiene un {@link IndiceInvertido} con el nombre y la descripción de todos los logros,
+ * guardado en el directorio configurado en {@link BusquedaLogrosConfig}.
+ * El índice se abre en la primera búsqueda y se pone al día con la base de datos, que es la referencia:
+ * se vuelven a analizar solo los logros cuyo texto ha cambiado desde que se guardó y se quitan los que ya no existen.
+ * A partir de ahí las búsquedas no acceden a la base de datos y cada escritura solo actualiza a su logro.
+ * Si el directorio no se puede usar (por ejemplo, porque otra instancia lo tiene abierto), el índice vive solo en memoria.
+ */
+@Service
+public class BusquedaLogrosServiceImpl implements BusquedaLogrosService {
+
+    private static final Sort ORDEN = Sort.by(Sort.Direction.DESC, "puntuacion").and(Sort.by("id"));
+    private static final Map<String, Class<?>> TIPOS_ORDEN = Map.of("puntuacion", Double.class, "id", Long.class);
+
+    private final LogroRepository logroRepository;
+    private final BusquedaLogrosConfig config;
+    private volatile IndiceInvertido indice;
+
+    /**
+     * Constructor que Spring usa para inyectar el repositorio y la configuración.
+     *
+     * @param logroRepository El repositorio del que se leen los logros al poner el índice al día.
+     * @param config El directorio del índice y el peso de cada campo.
+     */
+    @Autowired
+    public BusquedaLogrosServiceImpl(LogroRepository logroRepository, BusquedaLogrosConfig config) {
+        this.logroRepository = logroRepository;
+        this.config = config;
+    }
+
+    @Override
+    public PaginaCursor<Long> buscar(String texto, String cursor, int tamanio) {
+        ScrollPosition posicion = CursorPaginacion.decodificar(cursor, ORDEN, TIPOS_ORDEN);
+        Double despuesDePuntuacion = CursorPaginacion.clave(posicion, "puntuacion", Double.class);
+        Long despuesDeId = CursorPaginacion.clave(posicion, "id", Long.class);
+        // Se pide un resultado de más para saber si hay otra página
+        List<IndiceInvertido.Coincidencia> encontrados = indice().buscar(texto, despuesDePuntuacion, despuesDeId, tamanio + 1);
+        boolean hayMas = encontrados.size() > tamanio;
+        List<IndiceInvertido.Coincidencia> contenido = hayMas ? encontrados.subList(0, tamanio) : encontrados;
+        String siguiente = null;
+        if (hayMas) {
+            IndiceInvertido.Coincidencia ultima = contenido.get(tamanio - 1);
+            Map<String, Object> claves = new LinkedHashMap<>();
+            claves.put("puntuacion", ultima.getPuntuacion());
+            claves.put("id", ultima.getId());
+            siguiente = CursorPaginacion.codificar(ScrollPosition.forward(claves));
+        }
+        return new PaginaCursor<>(contenido.stream().map(IndiceInvertido.Coincidencia::getId).toList(), siguiente, hayMas, null);
+    }
+
+    private IndiceInvertido indice() {
+        IndiceInvertido actual = indice;
+        return actual != null ? actual : construir();
+    }
+
+    /**
+     * Abre el índice y lo pone al día con la base de datos. Se sincroniza con las escrituras:
+     * un cambio confirmado mientras se leen los logros se aplica después sobre el índice ya construido.
+     */
+    private synchronized IndiceInvertido construir() {
+        if (indice == null) {
+            IndiceInvertido nuevo = abrir();
+            Set<Long> sobrantes = nuevo.getIds();
+            for (Logro logro : logroRepository.findAll()) {
+                // Si el texto no ha cambiado desde que se guardó en disco, no se vuelve a analizar
+                nuevo.guardar(logro.getId(), logro.getNombre(), logro.getDescripcion());
+                sobrantes.remove(logro.getId());
+            }
+            sobrantes.forEach(nuevo::eliminar);
+            indice = nuevo;
+        }
+        return indice;
+    }
+
+    private IndiceInvertido abrir() {
+        String directorio = config.getDirectorio();
+        if (directorio != null && !directorio.isBlank()) {
+            try {
+                return IndiceInvertido.abrir(Path.of(directorio), config.getPesoNombre(), config.getPesoDescripcion());
+            } catch (IllegalStateException | UncheckedIOException e) {
+                System.out.println("Índice de logros solo en memoria: " + e.getMessage());
+            }
+        }
+        return new IndiceInvertido(config.getPesoNombre(), config.getPesoDescripcion());
+    }
+
+    @Override
+    public void logroGuardado(Logro logro) {
+        // Se copia ahora: la entidad puede seguir cambiando antes de que se confirme la transacción
+        long id = logro.getId();
+        String nombre = logro.getNombre();
+        String descripcion = logro.getDescripcion();
+        Transacciones.trasConfirmar(() -> {
+            synchronized (this) {
+                // Si el índice aún no existe, lo incluirá al construirse
+                if (indice != null) {
+                    indice.guardar(id, nombre, descripcion);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void logroEliminado(Long logroId) {
+        Transacciones.trasConfirmar(() -> {
+            synchronized (this) {
+                if (indice != null) {
+                    indice.eliminar(logroId);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void invalidar() {
+        Transacciones.trasConfirmar(() -> {
+            synchronized (this) {
+                // Se cierra para liberar su directorio, que se vuelve a abrir al construirlo de nuevo
+                if (indice != null) {
+                    indice.close();
+                    indice = null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Cierra el índice al parar la aplicación para liberar su directorio.
+     */
+    @PreDestroy
+    public synchronized void cerrar() {
+        if (indice != null) {
+            indice.close();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.stem.Proyecto.service.impl;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.stem.Proyecto.dto.FilaClasificacion;
+import com.stem.Proyecto.dto.PosicionEnFecha;
+import com.stem.Proyecto.entity.Partido;
+import com.stem.Proyecto.repository.PartidoRepository;
+import com.stem.Proyecto.service.ClasificacionService;
+import com.stem.Proyecto.util.TablaClasificacion;
+import com.stem.Proyecto.util.Transacciones;
+
+/**
+ * Mantiene en memoria una {@link TablaClasificacion} por temporada.
+ * Cada tabla se construye la primera vez que se consulta su temporada, con una sola
+ * consulta a {@link PartidoRepository#findByTemporada}; a partir de ahí las lecturas
+ * no acceden a la base de datos y cada escritura de un partido solo actualiza a sus dos equipos.
+ * El historial por fechas de cada tabla se recalcula en memoria la primera vez que se consulta tras un cambio.
+ */
+@Service
+public class ClasificacionServiceImpl implements ClasificacionService {
+
+    private final PartidoRepository partidoRepository;
+    private final Map<String, TablaClasificacion> tablas = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor que Spring usa para inyectar el repositorio de partidos.
+     *
+     * @param partidoRepository El repositorio del que se leen los partidos al construir cada tabla.
+     */
+    @Autowired
+    public ClasificacionServiceImpl(PartidoRepository partidoRepository) {
+        this.partidoRepository = partidoRepository;
+    }
+
+    @Override
+    public List<FilaClasificacion> getClasificacion(String temporada) {
+        return tabla(temporada).filas();
+    }
+
+    @Override
+    public List<FilaClasificacion> getClasificacionEnFecha(String temporada, LocalDate fecha) {
+        return tabla(temporada).historial().alDia(fecha);
+    }
+
+    @Override
+    public List<PosicionEnFecha> getEvolucionEquipo(String temporada, Long equipoId) {
+        return tabla(temporada).historial().evolucion(equipoId);
+    }
+
+    private TablaClasificacion tabla(String temporada) {
+        TablaClasificacion tabla = tablas.get(temporada);
+        return tabla != null ? tabla : construir(temporada);
+    }
+
+    /**
+     * Construye la tabla de una temporada. Se sincroniza con las escrituras: un cambio confirmado
+     * mientras se lee la temporada se aplica después sobre la tabla ya construida, y como registrar
+     * un partido ya contado sustituye su resultado, no se cuenta dos veces.
+     */
+    private synchronized TablaClasificacion construir(String temporada) {
+        return tablas.computeIfAbsent(temporada, t -> TablaClasificacion.desde(partidoRepository.findByTemporada(t)));
+    }
+
+    @Override
+    public void partidoGuardado(Partido partido) {
+        // Se copia ahora: la entidad puede seguir cambiando antes de que se confirme la transacción
+        TablaClasificacion.Resultado resultado = TablaClasificacion.Resultado.de(partido);
+        String temporada = partido.getTemporada();
+        Transacciones.trasConfirmar(() -> {
+            synchronized (this) {
+                // Si el partido ha cambiado de temporada, deja de contar en la anterior
+                tablas.forEach((t, tabla) -> {
+                    if (t.equals(temporada)) {
+                        tabla.registrar(resultado);
+                    } else {
+                        tabla.retirar(resultado.getPartidoId());
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public void partidoEliminado(Long partidoId) {
+        Transacciones.trasConfirmar(() -> {
+            synchronized (this) {
+                tablas.values().forEach(tabla -> tabla.retirar(partidoId));
+            }
+        });
+    }
+
+    @Override
+    public void equipoRenombrado(Long equipoId, String nombre) {
+        Transacciones.trasConfirmar(() -> tablas.values().forEach(tabla -> tabla.renombrarEquipo(equipoId, nombre)));
+    }
+
+    @Override
+    public void invalidar() {
+        Transacciones.trasConfirmar(() -> {
+            synchronized (this) {
+                tablas.clear();
+            }
+        });
+    }
+}
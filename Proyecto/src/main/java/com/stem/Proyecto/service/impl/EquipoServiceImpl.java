@@ -1,15 +1,32 @@
 package com.stem.Proyecto.service.impl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.ResultadoBorrado;
 import com.stem.Proyecto.entity.Equipo;
 import com.stem.Proyecto.repository.EquipoRepository;
+import com.stem.Proyecto.repository.JugadorRepository;
+import com.stem.Proyecto.repository.PartidoRepository;
+import com.stem.Proyecto.service.AutocompletadoService;
+import com.stem.Proyecto.service.BusquedaJugadoresService;
+import com.stem.Proyecto.service.ClasificacionService;
 import com.stem.Proyecto.service.EquipoService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.ContadorAproximado;
+import com.stem.Proyecto.util.CursorPaginacion;
+import com.stem.Proyecto.util.VersionesTablas;
 
 /**
  * Esta clase maneja las operaciones de negocio para los Equipos.
@@ -18,39 +35,88 @@ import com.stem.Proyecto.service.EquipoService;
 @Service
 public class EquipoServiceImpl implements EquipoService {
 
+    private static final Map<String, Class<?>> CAMPOS_ORDENABLES = Map.of("id", Long.class, "nombre", String.class, "ciudad", String.class);
+
     private final EquipoRepository equipoRepository;
+    private final JugadorRepository jugadorRepository;
+    private final PartidoRepository partidoRepository;
+    private final ClasificacionService clasificacionService;
+    private final BusquedaJugadoresService busquedaJugadores;
+    private final AutocompletadoService autocompletado;
+    private final CacheEntidades cacheEntidades;
+    private final VersionesTablas versionesTablas;
+    private final PaginacionConfig paginacionConfig;
+    private final ContadorAproximado totalEquipos;
 
     /**
      * Constructor que Spring usa para inyectar el repositorio de equipos.
      *
      * @param equipoRepository El objeto que permite guardar y buscar equipos en la base de datos.
+     * @param jugadorRepository Los jugadores, que se borran en bloque junto con su equipo.
+     * @param partidoRepository Los partidos, que se borran en bloque junto con sus equipos.
+     * @param clasificacionService La clasificación en memoria, que muestra el nombre de cada equipo.
+     * @param busquedaJugadores El índice de búsqueda de jugadores, que se descarta al borrar una plantilla.
+     * @param autocompletado Las sugerencias de la caja de búsqueda, a las que se avisa de cada cambio.
+     * @param cacheEntidades La caché de equipos (y de logros, que muestran a los jugadores que se borran con el equipo).
+     * @param versionesTablas Las versiones de las tablas, de las que salen los ETags de las respuestas.
+     * @param paginacionConfig Los límites de tamaño de página de los listados.
      */
     @Autowired
-    public EquipoServiceImpl(EquipoRepository equipoRepository) {
+    public EquipoServiceImpl(EquipoRepository equipoRepository, JugadorRepository jugadorRepository, PartidoRepository partidoRepository,
+                             ClasificacionService clasificacionService, BusquedaJugadoresService busquedaJugadores,
+                             AutocompletadoService autocompletado, CacheEntidades cacheEntidades,
+                             VersionesTablas versionesTablas, PaginacionConfig paginacionConfig) {
         this.equipoRepository = equipoRepository;
+        this.jugadorRepository = jugadorRepository;
+        this.partidoRepository = partidoRepository;
+        this.clasificacionService = clasificacionService;
+        this.busquedaJugadores = busquedaJugadores;
+        this.autocompletado = autocompletado;
+        this.cacheEntidades = cacheEntidades;
+        this.versionesTablas = versionesTablas;
+        this.paginacionConfig = paginacionConfig;
+        this.totalEquipos = new ContadorAproximado(equipoRepository::count, paginacionConfig.getSegundosCacheTotal());
     }
 
     /**
      * Encuentra y devuelve todos los equipos que existen en la base de datos.
+     * La lista se guarda en la caché hasta que cambia algún equipo; como no hace falta cargar
+     * ninguna relación, no se abre una transacción si ya está guardada.
      *
-     * @return Una lista de todos los equipos. Si no hay ninguno, la lista estará vacía.
+     * @return Una lista (que no se puede modificar) de todos los equipos. Si no hay ninguno, la lista estará vacía.
      */
     @Override
-    @Transactional(readOnly = true)
     public List<Equipo> findAll() {
-        return equipoRepository.findAll();
+        return cacheEntidades.equipos(equipoRepository::findAll);
     }
 
     /**
-     * Busca un equipo específico usando su ID.
+     * Busca un equipo específico usando su ID, primero en la caché.
      *
      * @param id El número de identificación del equipo que se quiere buscar.
      * @return Un 'Optional' que contendrá el equipo si lo encuentra, o estará vacío si no existe.
      */
     @Override
-    @Transactional(readOnly = true)
     public Optional<Equipo> findById(Long id) {
-        return equipoRepository.findById(id);
+        return cacheEntidades.equipo(id, equipoRepository::findById);
+    }
+
+    /**
+     * Devuelve una página de equipos a partir del cursor de la página anterior.
+     *
+     * @param cursor El cursor de la página anterior, o null para empezar.
+     * @param limite El tamaño de página pedido.
+     * @param orden El campo de ordenación ("id", "nombre" o "ciudad", con "-" para descendente).
+     * @param incluirTotal Si se debe calcular el total aproximado de equipos.
+     * @return La página de equipos con el cursor de la siguiente.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<Equipo> findPagina(String cursor, Integer limite, String orden, boolean incluirTotal) {
+        Sort sort = CursorPaginacion.resolverOrden(orden, CAMPOS_ORDENABLES);
+        ScrollPosition posicion = CursorPaginacion.decodificar(cursor, sort, CAMPOS_ORDENABLES);
+        Window<Equipo> ventana = equipoRepository.findBy(posicion, sort, Limit.of(paginacionConfig.limitarTamanio(limite)));
+        return CursorPaginacion.aPagina(ventana, incluirTotal ? totalEquipos.obtener() : null);
     }
 
     /**
@@ -62,7 +128,13 @@ public class EquipoServiceImpl implements EquipoService {
     @Override
     @Transactional
     public Equipo save(Equipo equipo) {
-        return equipoRepository.save(equipo);
+        Equipo guardado = equipoRepository.save(equipo);
+        // Si era una actualización, la clasificación pasa a mostrar el nombre nuevo
+        clasificacionService.equipoRenombrado(guardado.getId(), guardado.getNombre());
+        autocompletado.equipoGuardado(guardado);
+        cacheEntidades.equipoCambiado(guardado.getId());
+        versionesTablas.cambiado(VersionesTablas.EQUIPOS);
+        return guardado;
     }
 
     /**
@@ -83,19 +155,66 @@ public class EquipoServiceImpl implements EquipoService {
                     equipoExistente.setAnioFundacion(equipoActualizado.getAnioFundacion());
                     equipoExistente.setPabellon(equipoActualizado.getPabellon());
                     equipoExistente.setEntrenador(equipoActualizado.getEntrenador());
-                    return equipoRepository.save(equipoExistente);
+                    clasificacionService.equipoRenombrado(id, equipoExistente.getNombre());
+                    Equipo guardado = equipoRepository.save(equipoExistente);
+                    autocompletado.equipoGuardado(guardado);
+                    cacheEntidades.equipoCambiado(id);
+                    versionesTablas.cambiado(VersionesTablas.EQUIPOS);
+                    return guardado;
                 })
                 .orElse(null);
     }
 
+    /**
+     * Reemplaza los datos de un equipo con un único UPDATE: si no cambia ninguna fila, el equipo no existe.
+     * El equipo recibido ya tiene todos los datos nuevos, así que es lo que se devuelve, sin volver a leerlo.
+     *
+     * @param id El ID del equipo que se va a reemplazar.
+     * @param equipo El equipo con los datos nuevos.
+     * @return El mismo equipo con su ID, o 'null' si no se encontró un equipo con ese ID.
+     */
+    @Override
+    @Transactional
+    public Equipo reemplazar(Long id, Equipo equipo) {
+        if (equipoRepository.reemplazar(id, equipo) == 0) {
+            return null;
+        }
+        equipo.setId(id);
+        clasificacionService.equipoRenombrado(id, equipo.getNombre());
+        autocompletado.equipoGuardado(equipo);
+        cacheEntidades.equipoCambiado(id);
+        versionesTablas.cambiado(VersionesTablas.EQUIPOS);
+        return equipo;
+    }
+
     /**
      * Elimina un equipo de la base de datos usando su ID.
+     * En lugar de cargar el equipo y dejar que la cascada borre jugador a jugador y partido a partido,
+     * cada tabla dependiente se limpia con una sola sentencia y al final se borra el equipo.
      *
      * @param id El ID del equipo que se quiere borrar.
+     * @return Las filas borradas de cada tabla; {@code isEncontrado()} es false si el equipo no existía.
      */
     @Override
     @Transactional
-    public void deleteById(Long id) {
-        equipoRepository.deleteById(id);
+    public ResultadoBorrado deleteById(Long id) {
+        ResultadoBorrado resultado = new ResultadoBorrado()
+                .registrar("jugadores_logros", jugadorRepository.borrarLogrosDeEquipo(id))
+                .registrar("jugadores", jugadorRepository.borrarPorEquipo(id))
+                .registrar("partidos", partidoRepository.borrarPorEquipo(id))
+                .registrarPrincipal("equipos", equipoRepository.borrarPorId(id));
+        // Un equipo que no existe no tiene jugadores ni partidos: no ha cambiado nada (ni índices ni cachés ni ETags)
+        if (resultado.isEncontrado()) {
+            // Los partidos se borran sin pasar por PartidoService: la clasificación se reconstruirá en la siguiente consulta
+            clasificacionService.invalidar();
+            // Lo mismo con los jugadores: sus índices de búsqueda y de autocompletado se reconstruirán en la siguiente consulta
+            busquedaJugadores.invalidar();
+            autocompletado.invalidarJugadores();
+            autocompletado.equipoEliminado(id);
+            cacheEntidades.equipoCambiado(id);
+            cacheEntidades.jugadoresDeLogrosCambiados();
+            versionesTablas.cambiado(VersionesTablas.EQUIPOS, VersionesTablas.JUGADORES, VersionesTablas.PARTIDOS);
+        }
+        return resultado;
     }
 }
\ No newline at end of file
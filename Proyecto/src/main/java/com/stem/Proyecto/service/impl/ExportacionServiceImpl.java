@@ -0,0 +1,186 @@
+package com.stem.Proyecto.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stem.Proyecto.dto.JugadorExportado;
+import com.stem.Proyecto.dto.PartidoResumen;
+import com.stem.Proyecto.dto.ResultadoExportacion;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.repository.EquipoRepository;
+import com.stem.Proyecto.repository.JugadorRepository;
+import com.stem.Proyecto.repository.PartidoRepository;
+import com.stem.Proyecto.service.ExportacionService;
+import com.stem.Proyecto.util.EscritorCsv;
+
+/**
+ * Exporta recorriendo los cursores de solo avance de los repositorios ({@code Stream} sobre un ScrollableResults
+ * de Hibernate). Las filas son proyecciones, no entidades, así que el contexto de persistencia no crece,
+ * y cada línea se escribe en cuanto se lee: en memoria solo está la fila actual y el bloque de filas
+ * que el driver trae de cada vez.
+ */
+@Service
+public class ExportacionServiceImpl implements ExportacionService {
+
+    // Bytes del CSV que se acumulan antes de escribirlos en la salida
+    private static final int TAMANIO_BUFER_CSV = 1 << 20;
+    private static final String[] COLUMNAS_CSV = {"id", "fecha", "hora", "local", "visitante",
+        "puntuacionLocal", "puntuacionVisitante", "temporada", "lugar"};
+
+    private final PartidoRepository partidoRepository;
+    private final JugadorRepository jugadorRepository;
+    private final EquipoRepository equipoRepository;
+    private final ObjectMapper objectMapper;
+    // Sin vaciar la salida tras cada fila: se envía cuando se llena el búfer de la respuesta
+    private final ObjectWriter escritorPartidos;
+    private final ObjectWriter escritorJugadores;
+
+    /**
+     * Constructor que Spring usa para inyectar los repositorios y el ObjectMapper de la aplicación
+     * (el mismo que serializa el resto de respuestas, con sus formatos de fechas).
+     *
+     * @param partidoRepository El repositorio de partidos.
+     * @param jugadorRepository El repositorio de jugadores.
+     * @param equipoRepository El repositorio de equipos, para escribir sus abreviaturas en el CSV.
+     * @param objectMapper El ObjectMapper configurado por Spring Boot.
+     */
+    @Autowired
+    public ExportacionServiceImpl(PartidoRepository partidoRepository, JugadorRepository jugadorRepository,
+                                  EquipoRepository equipoRepository, ObjectMapper objectMapper) {
+        this.partidoRepository = partidoRepository;
+        this.jugadorRepository = jugadorRepository;
+        this.equipoRepository = equipoRepository;
+        this.objectMapper = objectMapper;
+        this.escritorPartidos = objectMapper.writerFor(PartidoResumen.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.escritorJugadores = objectMapper.writerFor(JugadorExportado.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarPartidos(String temporada, OutputStream salida) throws IOException {
+        long escritos = 0;
+        try (Stream<PartidoResumen> partidos = temporada == null || temporada.isBlank()
+                    ? partidoRepository.streamResumen()
+                    : partidoRepository.streamResumenByTemporada(temporada);
+             JsonGenerator generador = generador(salida)) {
+            Iterator<PartidoResumen> it = partidos.iterator();
+            while (it.hasNext()) {
+                escribirLinea(generador, escritorPartidos, it.next());
+                escritos++;
+            }
+        }
+        return escritos;
+    }
+
+    /**
+     * Recorre a la vez los jugadores y las filas de jugadores_logros, los dos en orden de jugador,
+     * como en un merge join: cada jugador se completa con sus logros y se escribe antes de leer el siguiente.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarJugadores(OutputStream salida) throws IOException {
+        long escritos = 0;
+        try (Stream<JugadorExportado> jugadores = jugadorRepository.streamExportacion();
+             Stream<Object[]> logros = jugadorRepository.streamLogrosPorJugador();
+             JsonGenerator generador = generador(salida)) {
+            Iterator<JugadorExportado> itJugadores = jugadores.iterator();
+            Iterator<Object[]> itLogros = logros.iterator();
+            Object[] logro = itLogros.hasNext() ? itLogros.next() : null;
+            while (itJugadores.hasNext()) {
+                JugadorExportado jugador = itJugadores.next();
+                long id = jugador.getId();
+                // Se saltan las filas de jugadores que ya no existen (no debería haberlas, por la clave foránea)
+                while (logro != null && ((Number) logro[0]).longValue() < id) {
+                    logro = itLogros.hasNext() ? itLogros.next() : null;
+                }
+                while (logro != null && ((Number) logro[0]).longValue() == id) {
+                    jugador.getLogroIds().add(((Number) logro[1]).longValue());
+                    logro = itLogros.hasNext() ? itLogros.next() : null;
+                }
+                escribirLinea(generador, escritorJugadores, jugador);
+                escritos++;
+            }
+        }
+        return escritos;
+    }
+
+    /**
+     * Las abreviaturas de los equipos se leen una vez, ya convertidas a bytes, y cada fila se compone
+     * en el búfer del {@link EscritorCsv} sin crear Strings.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResultadoExportacion exportarPartidosCsv(String temporada, WritableByteChannel salida) throws IOException {
+        long inicio = System.nanoTime();
+        Map<Long, byte[]> abreviaturas = new HashMap<>();
+        for (Equipo equipo : equipoRepository.findAll()) {
+            abreviaturas.put(equipo.getId(), EscritorCsv.codificar(equipo.getAbreviatura()));
+        }
+        long escritos = 0;
+        try (Stream<PartidoResumen> partidos = temporada == null || temporada.isBlank()
+                    ? partidoRepository.streamResumen()
+                    : partidoRepository.streamResumenByTemporada(temporada);
+             EscritorCsv csv = new EscritorCsv(salida, TAMANIO_BUFER_CSV)) {
+            for (String columna : COLUMNAS_CSV) {
+                csv.texto(columna);
+            }
+            csv.finFila();
+            Iterator<PartidoResumen> it = partidos.iterator();
+            while (it.hasNext()) {
+                PartidoResumen partido = it.next();
+                csv.entero(partido.getId())
+                   .fecha(partido.getFecha())
+                   .hora(partido.getHora())
+                   .codificado(abreviatura(abreviaturas, partido.getIdEquipoLocal()))
+                   .codificado(abreviatura(abreviaturas, partido.getIdEquipoVisitante()))
+                   .entero(partido.getPuntuacionLocal())
+                   .entero(partido.getPuntuacionVisitante())
+                   .texto(partido.getTemporada())
+                   .texto(partido.getLugar())
+                   .finFila();
+                escritos++;
+            }
+            csv.vaciar();
+            return new ResultadoExportacion(escritos, csv.getBytesEscritos(), (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+
+    // Un equipo creado durante la exportación no está en el mapa: se lee al encontrarlo
+    private byte[] abreviatura(Map<Long, byte[]> abreviaturas, Long equipoId) {
+        byte[] abreviatura = abreviaturas.get(equipoId);
+        if (abreviatura == null) {
+            abreviatura = EscritorCsv.codificar(equipoRepository.findById(equipoId).map(Equipo::getAbreviatura).orElse(null));
+            abreviaturas.put(equipoId, abreviatura);
+        }
+        return abreviatura;
+    }
+
+    /**
+     * @return Un generador JSON sobre la salida que no la cierra al cerrarse (solo la vacía)
+     * y que no separa los objetos con espacios: el salto de línea se escribe en {@link #escribirLinea}.
+     */
+    private JsonGenerator generador(OutputStream salida) throws IOException {
+        JsonGenerator generador = objectMapper.getFactory().createGenerator(salida);
+        generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generador.setRootValueSeparator(null);
+        return generador;
+    }
+
+    private static void escribirLinea(JsonGenerator generador, ObjectWriter escritor, Object fila) throws IOException {
+        escritor.writeValue(generador, fila);
+        generador.writeRaw('\n');
+    }
+}
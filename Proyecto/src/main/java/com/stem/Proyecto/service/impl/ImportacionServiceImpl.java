@@ -0,0 +1,443 @@
+package com.stem.Proyecto.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.stem.Proyecto.config.ImportacionConfig;
+import com.stem.Proyecto.config.TransferenciaCsvConfig;
+import com.stem.Proyecto.dto.ResultadoImportacion;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.entity.Logro;
+import com.stem.Proyecto.entity.Partido;
+import com.stem.Proyecto.repository.EquipoRepository;
+import com.stem.Proyecto.repository.JugadorRepository;
+import com.stem.Proyecto.repository.LogroRepository;
+import com.stem.Proyecto.repository.PartidoRepository;
+import com.stem.Proyecto.service.AutocompletadoService;
+import com.stem.Proyecto.service.BusquedaJugadoresService;
+import com.stem.Proyecto.service.ClasificacionService;
+import com.stem.Proyecto.service.ImportacionService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.LectorCsv;
+import com.stem.Proyecto.util.MapaAbreviaturas;
+import com.stem.Proyecto.util.VersionesTablas;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Importa por lotes de {@code nba.importacion.tamanio-lote} filas, todo en una transacción:
+ * <ol>
+ *   <li>se leen las filas del lote (el JSON se recorre sin cargarlo entero),</li>
+ *   <li>se convierten y validan en paralelo, porque no dependen de la base de datos,</li>
+ *   <li>se comprueba con una consulta qué equipos y logros nuevos existen; cada ID se consulta
+ *       una sola vez en toda la importación,</li>
+ *   <li>se insertan las filas válidas en lotes JDBC del mismo tamaño y se vacía el contexto de persistencia.</li>
+ * </ol>
+ * Los índices de búsqueda se descartan al final, como tras los borrados en bloque, en lugar de avisarles fila a fila.
+ * <p>
+ * Los partidos en CSV se importan de otra forma, pensada para archivos de millones de filas: el archivo se proyecta
+ * en memoria y se lee con un {@link LectorCsv}, los equipos se buscan por abreviatura en un {@link MapaAbreviaturas}
+ * cargado al empezar, y cada lote se guarda en su propia transacción, como en la generación
+ * de datos escalados.
+ */
+@Service
+public class ImportacionServiceImpl implements ImportacionService {
+
+    // Máximo de IDs en la lista IN de cada comprobación de existencia
+    private static final int IDS_POR_CONSULTA = 1_000;
+    // Filas rechazadas del CSV que se detallan en el resultado; las demás solo se cuentan
+    private static final int RECHAZOS_DETALLADOS = 1_000;
+    private static final String[] COLUMNAS_OBLIGATORIAS_CSV = {"fecha", "hora", "local", "visitante", "temporada"};
+
+    private final JugadorRepository jugadorRepository;
+    private final EquipoRepository equipoRepository;
+    private final LogroRepository logroRepository;
+    private final PartidoRepository partidoRepository;
+    private final BusquedaJugadoresService busquedaJugadores;
+    private final AutocompletadoService autocompletado;
+    private final CacheEntidades cacheEntidades;
+    private final ClasificacionService clasificacionService;
+    private final VersionesTablas versionesTablas;
+    private final ImportacionConfig config;
+    private final TransferenciaCsvConfig csvConfig;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    // Lee tanto un array JSON (que recorre elemento a elemento) como una secuencia de objetos sueltos (NDJSON)
+    private final ObjectReader lectorFilas;
+
+    /**
+     * Constructor que Spring usa para inyectar los repositorios y servicios necesarios.
+     *
+     * @param jugadorRepository El repositorio en el que se guardan los jugadores.
+     * @param equipoRepository El repositorio con el que se comprueba que existen los equipos.
+     * @param logroRepository El repositorio con el que se comprueba que existen los logros.
+     * @param partidoRepository El repositorio en el que se guardan los partidos.
+     * @param busquedaJugadores El índice de búsqueda de jugadores, que se descarta tras importar.
+     * @param autocompletado Las sugerencias de la caja de búsqueda, cuyos jugadores también se descartan.
+     * @param cacheEntidades La caché de logros, que muestran a sus jugadores.
+     * @param clasificacionService Las clasificaciones, que se descartan tras importar partidos.
+     * @param versionesTablas Las versiones de las tablas, de las que salen los ETags de las respuestas.
+     * @param config El tamaño de los lotes.
+     * @param csvConfig El tamaño de las ventanas del archivo proyectadas en memoria.
+     * @param entityManager El contexto de persistencia, que se vacía tras cada lote.
+     * @param objectMapper El ObjectMapper de la aplicación, para leer las filas igual que el resto de peticiones.
+     */
+    @Autowired
+    public ImportacionServiceImpl(JugadorRepository jugadorRepository, EquipoRepository equipoRepository,
+                                  LogroRepository logroRepository, PartidoRepository partidoRepository,
+                                  BusquedaJugadoresService busquedaJugadores, AutocompletadoService autocompletado,
+                                  CacheEntidades cacheEntidades, ClasificacionService clasificacionService,
+                                  VersionesTablas versionesTablas, ImportacionConfig config, TransferenciaCsvConfig csvConfig,
+                                  EntityManager entityManager, ObjectMapper objectMapper) {
+        this.jugadorRepository = jugadorRepository;
+        this.equipoRepository = equipoRepository;
+        this.logroRepository = logroRepository;
+        this.partidoRepository = partidoRepository;
+        this.busquedaJugadores = busquedaJugadores;
+        this.autocompletado = autocompletado;
+        this.cacheEntidades = cacheEntidades;
+        this.clasificacionService = clasificacionService;
+        this.versionesTablas = versionesTablas;
+        this.config = config;
+        this.csvConfig = csvConfig;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.lectorFilas = objectMapper.readerFor(JsonNode.class);
+    }
+
+    @Override
+    @Transactional
+    public ResultadoImportacion importarJugadores(InputStream entrada) throws IOException {
+        long inicio = System.nanoTime();
+        int tamanioLote = Math.max(1, config.getTamanioLote());
+        entityManager.unwrap(Session.class).setJdbcBatchSize(tamanioLote);
+
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        Map<Long, Boolean> equipos = new HashMap<>();
+        Map<Long, Boolean> logros = new HashMap<>();
+        Set<Long> logrosAsignados = new HashSet<>();
+        List<JsonNode> lote = new ArrayList<>(tamanioLote);
+        int leidas = 0;
+        try (MappingIterator<JsonNode> filas = lectorFilas.readValues(entrada)) {
+            while (filas.hasNextValue()) {
+                lote.add(filas.nextValue());
+                if (lote.size() == tamanioLote) {
+                    guardarLote(lote, leidas, resultado, equipos, logros, logrosAsignados);
+                    leidas += lote.size();
+                    lote.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON no válido tras la fila " + (leidas + lote.size())
+                    + ": " + e.getOriginalMessage(), e);
+        }
+        guardarLote(lote, leidas, resultado, equipos, logros, logrosAsignados);
+
+        if (resultado.getAceptadas() > 0) {
+            busquedaJugadores.invalidar();
+            autocompletado.invalidarJugadores();
+            if (logrosAsignados.isEmpty()) {
+                versionesTablas.cambiado(VersionesTablas.JUGADORES);
+            } else {
+                logrosAsignados.forEach(cacheEntidades::logroCambiado);
+                versionesTablas.cambiado(VersionesTablas.JUGADORES, VersionesTablas.LOGROS);
+            }
+        }
+        resultado.setMilisegundos((System.nanoTime() - inicio) / 1_000_000);
+        return resultado;
+    }
+
+    /**
+     * Valida y guarda un lote, y anota el resultado de cada fila en orden.
+     *
+     * @param primeraFila Las filas leídas antes de este lote.
+     * @param equipos Los equipos ya comprobados en lotes anteriores: ID y si existe.
+     * @param logros Lo mismo para los logros.
+     * @param logrosAsignados Se añaden los logros asignados a algún jugador guardado.
+     */
+    private void guardarLote(List<JsonNode> lote, int primeraFila, ResultadoImportacion resultado,
+                             Map<Long, Boolean> equipos, Map<Long, Boolean> logros, Set<Long> logrosAsignados) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        int n = lote.size();
+        Jugador[] jugadores = new Jugador[n];
+        String[] errores = new String[n];
+        // Cada fila escribe solo su posición de los arrays; forEach espera a que terminen todas
+        IntStream.range(0, n).parallel().forEach(i -> {
+            try {
+                Jugador jugador = objectMapper.treeToValue(lote.get(i), Jugador.class);
+                if (jugador != null && jugador.getLogros() == null) {
+                    jugador.setLogros(new HashSet<>());
+                }
+                errores[i] = validar(jugador);
+                jugadores[i] = jugador;
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                errores[i] = "Formato no válido: " + (e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage());
+            }
+        });
+
+        Set<Long> equiposNuevos = new HashSet<>();
+        Set<Long> logrosNuevos = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            if (errores[i] == null) {
+                if (jugadores[i].getEquipo() != null && !equipos.containsKey(jugadores[i].getEquipo().getId())) {
+                    equiposNuevos.add(jugadores[i].getEquipo().getId());
+                }
+                for (Logro logro : jugadores[i].getLogros()) {
+                    if (!logros.containsKey(logro.getId())) {
+                        logrosNuevos.add(logro.getId());
+                    }
+                }
+            }
+        }
+        comprobarExistencia(equiposNuevos, equipos, equipoRepository::findIdsExistentes);
+        comprobarExistencia(logrosNuevos, logros, logroRepository::findIdsExistentes);
+
+        List<Jugador> validos = new ArrayList<>(n);
+        // Una referencia sin cargar por equipo y lote (el contexto se vacía tras cada lote): solo hace falta su ID
+        Map<Long, Equipo> referencias = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (errores[i] != null) {
+                continue;
+            }
+            Jugador jugador = jugadores[i];
+            if (jugador.getEquipo() != null) {
+                Long equipoId = jugador.getEquipo().getId();
+                if (!equipos.get(equipoId)) {
+                    errores[i] = "Equipo no encontrado con ID: " + equipoId;
+                    continue;
+                }
+                jugador.setEquipo(referencias.computeIfAbsent(equipoId, equipoRepository::getReferenceById));
+            }
+            for (Logro logro : jugador.getLogros()) {
+                if (!logros.get(logro.getId())) {
+                    errores[i] = "Logro no encontrado con ID: " + logro.getId();
+                    break;
+                }
+            }
+            if (errores[i] == null) {
+                // Los logros se quedan como vienen (solo con su ID): basta para las filas de jugadores_logros
+                jugador.getLogros().forEach(logro -> logrosAsignados.add(logro.getId()));
+                validos.add(jugador);
+            }
+        }
+
+        jugadorRepository.saveAll(validos);
+        entityManager.flush();
+        entityManager.clear();
+        for (int i = 0; i < n; i++) {
+            if (errores[i] == null) {
+                resultado.aceptar(primeraFila + i + 1, jugadores[i].getId());
+            } else {
+                resultado.rechazar(primeraFila + i + 1, errores[i]);
+            }
+        }
+    }
+
+    /**
+     * Comprueba qué IDs existen, con una consulta por cada {@code IDS_POR_CONSULTA}, y los anota en {@code conocidos}.
+     */
+    private static void comprobarExistencia(Set<Long> ids, Map<Long, Boolean> conocidos,
+                                            Function<Collection<Long>, List<Long>> existentes) {
+        List<Long> pendientes = new ArrayList<>(ids);
+        for (int desde = 0; desde < pendientes.size(); desde += IDS_POR_CONSULTA) {
+            List<Long> bloque = pendientes.subList(desde, Math.min(desde + IDS_POR_CONSULTA, pendientes.size()));
+            bloque.forEach(id -> conocidos.put(id, false));
+            existentes.apply(bloque).forEach(id -> conocidos.put(id, true));
+        }
+    }
+
+    @Override
+    public ResultadoImportacion importarPartidosCsv(InputStream entrada) throws IOException {
+        Path temporal = Files.createTempFile("partidos", ".csv");
+        try {
+            Files.copy(entrada, temporal, StandardCopyOption.REPLACE_EXISTING);
+            return importarPartidosCsv(temporal);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Sin transacción propia: cada {@code saveAllAndFlush} confirma su lote, así que en memoria solo está el lote actual.
+     */
+    @Override
+    public ResultadoImportacion importarPartidosCsv(Path archivo) throws IOException {
+        long inicio = System.nanoTime();
+        int tamanioLote = Math.max(1, config.getTamanioLote());
+        int tamanioVentana = (int) Math.min(Integer.MAX_VALUE, Math.max(1, csvConfig.getMegabytesVentana()) * 1024L * 1024);
+
+        // Cada abreviatura apunta a la posición de su equipo en la lista; las que no caben en un long van aparte
+        List<Equipo> equipos = equipoRepository.findAll();
+        MapaAbreviaturas posiciones = new MapaAbreviaturas();
+        Map<String, Integer> abreviaturasLargas = new HashMap<>();
+        for (int i = 0; i < equipos.size(); i++) {
+            String abreviatura = equipos.get(i).getAbreviatura();
+            if (MapaAbreviaturas.clave(abreviatura) == MapaAbreviaturas.SIN_CLAVE) {
+                abreviaturasLargas.put(abreviatura, i);
+            } else {
+                posiciones.put(abreviatura, i);
+            }
+        }
+
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            LectorCsv csv = new LectorCsv(canal, tamanioVentana);
+            if (!csv.siguienteFila()) {
+                throw new IllegalArgumentException("El CSV está vacío: falta la fila de cabecera");
+            }
+            Map<String, Integer> columnas = new HashMap<>();
+            for (int i = 0; i < csv.numeroCampos(); i++) {
+                columnas.putIfAbsent(csv.texto(i).strip(), i);
+            }
+            for (String columna : COLUMNAS_OBLIGATORIAS_CSV) {
+                if (!columnas.containsKey(columna)) {
+                    throw new IllegalArgumentException("Falta la columna \"" + columna + "\" en la cabecera");
+                }
+            }
+            int fecha = columnas.get("fecha");
+            int hora = columnas.get("hora");
+            int local = columnas.get("local");
+            int visitante = columnas.get("visitante");
+            int temporada = columnas.get("temporada");
+            int puntuacionLocal = columnas.getOrDefault("puntuacionLocal", -1);
+            int puntuacionVisitante = columnas.getOrDefault("puntuacionVisitante", -1);
+            int lugar = columnas.getOrDefault("lugar", -1);
+
+            List<Partido> lote = new ArrayList<>(tamanioLote);
+            while (csv.siguienteFila()) {
+                try {
+                    Partido partido = new Partido(
+                            csv.fecha(obligatorio(csv, fecha, "la fecha")),
+                            csv.hora(obligatorio(csv, hora, "la hora")),
+                            csv.vacio(puntuacionLocal) ? null : csv.entero(puntuacionLocal),
+                            csv.vacio(puntuacionVisitante) ? null : csv.entero(puntuacionVisitante),
+                            csv.texto(obligatorio(csv, temporada, "la temporada")),
+                            csv.vacio(lugar) ? null : csv.texto(lugar),
+                            equipo(csv, obligatorio(csv, local, "el equipo local"), equipos, posiciones, abreviaturasLargas),
+                            equipo(csv, obligatorio(csv, visitante, "el equipo visitante"), equipos, posiciones, abreviaturasLargas));
+                    lote.add(partido);
+                    if (lote.size() == tamanioLote) {
+                        guardarPartidos(lote, resultado);
+                    }
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    if (resultado.getRechazadas() < RECHAZOS_DETALLADOS) {
+                        resultado.rechazar((int) csv.getFilas(), e.getMessage());
+                    } else {
+                        resultado.sumar(0, 1);
+                    }
+                }
+            }
+            guardarPartidos(lote, resultado);
+            resultado.setBytes(csv.getBytesLeidos());
+        } finally {
+            if (resultado.getAceptadas() > 0) {
+                clasificacionService.invalidar();
+                versionesTablas.cambiado(VersionesTablas.PARTIDOS);
+            }
+        }
+        resultado.setMilisegundos((System.nanoTime() - inicio) / 1_000_000);
+        return resultado;
+    }
+
+    private void guardarPartidos(List<Partido> lote, ResultadoImportacion resultado) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        partidoRepository.saveAllAndFlush(lote);
+        // Con la sesión abierta durante la petición, los partidos guardados seguirían en el contexto de persistencia
+        entityManager.clear();
+        resultado.sumar(lote.size(), 0);
+        lote.clear();
+    }
+
+    private static int obligatorio(LectorCsv csv, int campo, String nombre) {
+        if (csv.vacio(campo)) {
+            throw new IllegalArgumentException("Falta " + nombre);
+        }
+        return campo;
+    }
+
+    private static Equipo equipo(LectorCsv csv, int campo, List<Equipo> equipos,
+                                 MapaAbreviaturas posiciones, Map<String, Integer> abreviaturasLargas) {
+        long clave = csv.clave(campo);
+        long posicion = posiciones.get(clave);
+        if (posicion != MapaAbreviaturas.NO_ENCONTRADO) {
+            return equipos.get((int) posicion);
+        }
+        Integer larga = clave == MapaAbreviaturas.SIN_CLAVE ? abreviaturasLargas.get(csv.texto(campo)) : null;
+        if (larga == null) {
+            throw new IllegalArgumentException("Equipo no encontrado con abreviatura: " + csv.texto(campo));
+        }
+        return equipos.get(larga);
+    }
+
+    /**
+     * Comprobaciones de una fila que no necesitan la base de datos.
+     *
+     * @return El motivo del rechazo, o null si la fila es válida.
+     */
+    private static String validar(Jugador jugador) {
+        if (jugador == null) {
+            return "Fila vacía";
+        }
+        if (jugador.getId() != null) {
+            return "El ID lo asigna la base de datos";
+        }
+        if (jugador.getNombre() == null || jugador.getNombre().isBlank()) {
+            return "Falta el nombre";
+        }
+        if (jugador.getApellido() == null || jugador.getApellido().isBlank()) {
+            return "Falta el apellido";
+        }
+        if (jugador.getFechaNacimiento() != null && jugador.getFechaNacimiento().isAfter(LocalDate.now())) {
+            return "La fecha de nacimiento es posterior a hoy";
+        }
+        if (jugador.getAlturaCm() != null && jugador.getAlturaCm() <= 0) {
+            return "La altura debe ser positiva";
+        }
+        if (jugador.getPesoKg() != null && jugador.getPesoKg() <= 0) {
+            return "El peso debe ser positivo";
+        }
+        if (jugador.getNumeroCamiseta() != null && jugador.getNumeroCamiseta() < 0) {
+            return "El número de camiseta no puede ser negativo";
+        }
+        if (jugador.getEquipo() != null && jugador.getEquipo().getId() == null) {
+            return "El equipo se indica por su ID";
+        }
+        for (Logro logro : jugador.getLogros()) {
+            if (logro == null || logro.getId() == null) {
+                return "Los logros se indican por su ID";
+            }
+        }
+        return null;
+    }
+}
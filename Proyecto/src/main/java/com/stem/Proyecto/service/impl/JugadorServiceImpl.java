@@ -1,20 +1,42 @@
 package com.stem.Proyecto.service.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;   
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;     
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired; 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.JugadorResumen;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.ResultadoBorrado;
 import com.stem.Proyecto.entity.Jugador;
 import com.stem.Proyecto.entity.Logro;
 import com.stem.Proyecto.repository.EquipoRepository;
 import com.stem.Proyecto.repository.JugadorRepository;
 import com.stem.Proyecto.repository.LogroRepository;
+import com.stem.Proyecto.service.AutocompletadoService;
+import com.stem.Proyecto.service.BusquedaJugadoresService;
 import com.stem.Proyecto.service.JugadorService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.ContadorAproximado;
+import com.stem.Proyecto.util.CursorPaginacion;
+import com.stem.Proyecto.util.VersionesTablas;
 
 /**
  * Esta clase maneja las operaciones de negocio para los Jugadores.
@@ -23,9 +45,22 @@ import com.stem.Proyecto.service.JugadorService;
 @Service
 public class JugadorServiceImpl implements JugadorService {
 
+    private static final Map<String, Class<?>> CAMPOS_ORDENABLES = Map.of("id", Long.class, "nombre", String.class, "apellido", String.class);
+    // La plantilla de un equipo siempre se recorre por ID, que es la segunda columna de su índice
+    private static final Sort ORDEN_PLANTILLA = Sort.by("id");
+    private static final Map<String, Class<?>> TIPOS_PLANTILLA = Map.of("id", Long.class);
+    // Máximo de IDs en la lista IN de cada sentencia masiva sobre jugadores_logros
+    private static final int IDS_POR_SENTENCIA = 1_000;
+
     private final JugadorRepository jugadorRepository;
     private final EquipoRepository equipoRepository;
     private final LogroRepository logroRepository;
+    private final BusquedaJugadoresService busquedaJugadores;
+    private final AutocompletadoService autocompletado;
+    private final CacheEntidades cacheEntidades;
+    private final VersionesTablas versionesTablas;
+    private final PaginacionConfig paginacionConfig;
+    private final ContadorAproximado totalJugadores;
 
     /**
      * Constructor que Spring usa para inyectar los repositorios necesarios.
@@ -33,16 +68,32 @@ public class JugadorServiceImpl implements JugadorService {
      * @param jugadorRepository Objeto para guardar y buscar jugadores.
      * @param equipoRepository Objeto para buscar equipos y asignarlos a jugadores.
      * @param logroRepository Objeto para buscar logros y asignarlos a jugadores.
+     * @param busquedaJugadores El índice de búsqueda por nombre y apellido, al que se avisa de cada cambio.
+     * @param autocompletado Las sugerencias de la caja de búsqueda, a las que también se avisa.
+     * @param cacheEntidades La caché de equipos (para asignarlos) y de logros (que muestran a sus jugadores).
+     * @param versionesTablas Las versiones de las tablas, de las que salen los ETags de las respuestas.
+     * @param paginacionConfig Los límites de tamaño de página de los listados.
      */
     @Autowired
-    public JugadorServiceImpl(JugadorRepository jugadorRepository, EquipoRepository equipoRepository, LogroRepository logroRepository) {
+    public JugadorServiceImpl(JugadorRepository jugadorRepository, EquipoRepository equipoRepository, LogroRepository logroRepository,
+                              BusquedaJugadoresService busquedaJugadores, AutocompletadoService autocompletado,
+                              CacheEntidades cacheEntidades, VersionesTablas versionesTablas,
+                              PaginacionConfig paginacionConfig) {
         this.jugadorRepository = jugadorRepository;
         this.equipoRepository = equipoRepository;
         this.logroRepository = logroRepository;
+        this.busquedaJugadores = busquedaJugadores;
+        this.autocompletado = autocompletado;
+        this.cacheEntidades = cacheEntidades;
+        this.versionesTablas = versionesTablas;
+        this.paginacionConfig = paginacionConfig;
+        this.totalJugadores = new ContadorAproximado(jugadorRepository::count, paginacionConfig.getSegundosCacheTotal());
     }
 
     /**
      * Encuentra y devuelve todos los jugadores que existen en la base de datos.
+     * El repositorio carga el equipo y los logros en la misma consulta, así que
+     * convertir la lista a JSON no lanza una consulta adicional por jugador.
      *
      * @return Una lista de todos los jugadores. Si no hay ninguno, la lista estará vacía.
      */
@@ -64,9 +115,64 @@ public class JugadorServiceImpl implements JugadorService {
         return jugadorRepository.findById(id);
     }
 
+    /**
+     * Devuelve una página de jugadores a partir del cursor de la página anterior.
+     * La página se resuelve con dos consultas fijas: una para los jugadores (con su equipo)
+     * y otra para los logros de todos ellos.
+     *
+     * @param cursor El cursor de la página anterior, o null para empezar.
+     * @param limite El tamaño de página pedido.
+     * @param orden El campo de ordenación ("id", "nombre" o "apellido", con "-" para descendente).
+     * @param incluirTotal Si se debe calcular el total aproximado de jugadores.
+     * @return La página de jugadores con el cursor de la siguiente.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<Jugador> findPagina(String cursor, Integer limite, String orden, boolean incluirTotal) {
+        Sort sort = CursorPaginacion.resolverOrden(orden, CAMPOS_ORDENABLES);
+        ScrollPosition posicion = CursorPaginacion.decodificar(cursor, sort, CAMPOS_ORDENABLES);
+        Window<Jugador> ventana = jugadorRepository.findBy(posicion, sort, Limit.of(paginacionConfig.limitarTamanio(limite)));
+        if (!ventana.isEmpty()) {
+            // Una sola consulta inicializa los logros de toda la página (evita una consulta por jugador)
+            jugadorRepository.cargarLogros(ventana.map(Jugador::getId).toList());
+        }
+        return CursorPaginacion.aPagina(ventana, incluirTotal ? totalJugadores.obtener() : null);
+    }
+
+    /**
+     * @param equipoId El ID del equipo.
+     * @param activo El estado por el que filtrar, o null para no filtrar.
+     * @param posicion La posición por la que filtrar, o null para no filtrar.
+     * @param cursor El cursor de la página anterior, o null para empezar.
+     * @param limite El tamaño de página pedido.
+     * @return La página de la plantilla, o 'null' si el equipo no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<JugadorResumen> findPlantilla(Long equipoId, Boolean activo, String posicion, String cursor, Integer limite) {
+        ScrollPosition posicionCursor = CursorPaginacion.decodificar(cursor, ORDEN_PLANTILLA, TIPOS_PLANTILLA);
+        Long despuesDeId = CursorPaginacion.clave(posicionCursor, "id", Long.class);
+        if (despuesDeId == null) {
+            despuesDeId = 0L;
+        }
+        int tamanio = paginacionConfig.limitarTamanio(limite);
+        // Se pide un elemento de más para saber si hay otra página sin hacer un COUNT
+        List<JugadorResumen> resultado = jugadorRepository.findByEquipoId(equipoId, despuesDeId, activo, posicion, Limit.of(tamanio + 1));
+        if (resultado.isEmpty() && cursor == null && !equipoRepository.existsById(equipoId)) {
+            return null;
+        }
+        boolean hayMas = resultado.size() > tamanio;
+        List<JugadorResumen> contenido = hayMas ? resultado.subList(0, tamanio) : resultado;
+        String siguiente = hayMas
+                ? CursorPaginacion.codificar(ScrollPosition.forward(Map.of("id", contenido.get(tamanio - 1).getId())))
+                : null;
+        return new PaginaCursor<>(contenido, siguiente, hayMas, null);
+    }
+
     /**
      * Guarda un jugador nuevo en la base de datos o actualiza uno que ya existe.
      * Si el jugador tiene un equipo asignado, se asegura de que el equipo exista y lo vincula.
+     * El equipo se busca primero en la caché: solo hace falta para enlazarlo, no se modifica.
      *
      * @param jugador El jugador que se quiere guardar o actualizar.
      * @return El jugador que ha sido guardado, con su ID (si es nuevo) o con sus datos actualizados.
@@ -76,13 +182,17 @@ public class JugadorServiceImpl implements JugadorService {
     public Jugador save(Jugador jugador) {
         if (jugador.getEquipo() != null && jugador.getEquipo().getId() != null) {
             // Si el jugador tiene un ID de equipo, busca el equipo y lo asigna
-            equipoRepository.findById(jugador.getEquipo().getId())
+            cacheEntidades.equipo(jugador.getEquipo().getId(), equipoRepository::findById)
                     .ifPresent(jugador::setEquipo);
         } else if (jugador.getEquipo() == null) {
             // Si no se proporciona un equipo, asegura que el campo de equipo sea nulo
             jugador.setEquipo(null);
         }
-        return jugadorRepository.save(jugador);
+        Jugador guardado = jugadorRepository.save(jugador);
+        busquedaJugadores.jugadorGuardado(guardado);
+        autocompletado.jugadorGuardado(guardado);
+        versionesTablas.cambiado(VersionesTablas.JUGADORES);
+        return guardado;
     }
 
     /**
@@ -98,6 +208,11 @@ public class JugadorServiceImpl implements JugadorService {
     public Jugador update(Long id, Jugador jugadorActualizado) {
         return jugadorRepository.findById(id)
                 .map(jugadorExistente -> {
+                    // Los logros muestran el nombre de sus jugadores
+                    if (!Objects.equals(jugadorExistente.getNombre(), jugadorActualizado.getNombre())
+                            || !Objects.equals(jugadorExistente.getApellido(), jugadorActualizado.getApellido())) {
+                        cacheEntidades.jugadoresDeLogrosCambiados();
+                    }
                     // Actualiza los datos básicos del jugador
                     jugadorExistente.setNombre(jugadorActualizado.getNombre());
                     jugadorExistente.setApellido(jugadorActualizado.getApellido());
@@ -110,25 +225,40 @@ public class JugadorServiceImpl implements JugadorService {
 
                     // Actualiza el equipo del jugador, si se proporciona
                     if (jugadorActualizado.getEquipo() != null && jugadorActualizado.getEquipo().getId() != null) {
-                        equipoRepository.findById(jugadorActualizado.getEquipo().getId())
+                        cacheEntidades.equipo(jugadorActualizado.getEquipo().getId(), equipoRepository::findById)
                                 .ifPresent(jugadorExistente::setEquipo);
                     } else if (jugadorActualizado.getEquipo() == null) {
                         jugadorExistente.setEquipo(null); // Desasocia el equipo si se envía nulo
                     }
-                    return jugadorRepository.save(jugadorExistente);
+                    Jugador guardado = jugadorRepository.save(jugadorExistente);
+                    busquedaJugadores.jugadorGuardado(guardado);
+                    autocompletado.jugadorGuardado(guardado);
+                    versionesTablas.cambiado(VersionesTablas.JUGADORES);
+                    return guardado;
                 })
                 .orElse(null); // Retorna null si el jugador no se encuentra
     }
 
     /**
-     * Elimina un jugador de la base de datos usando su ID.
+     * Elimina un jugador de la base de datos usando su ID, sin cargarlo antes: un DELETE para sus filas
+     * en jugadores_logros y otro para el jugador. Las filas borradas del segundo dicen si el jugador existía.
      *
      * @param id El ID del jugador que se quiere borrar.
+     * @return Las filas borradas de cada tabla.
      */
     @Override
     @Transactional
-    public void deleteById(Long id) {
-        jugadorRepository.deleteById(id);
+    public ResultadoBorrado deleteById(Long id) {
+        ResultadoBorrado resultado = new ResultadoBorrado()
+                .registrar("jugadores_logros", jugadorRepository.borrarTodosLosLogros(List.of(id)))
+                .registrarPrincipal("jugadores", jugadorRepository.borrarPorId(id));
+        if (resultado.isEncontrado()) {
+            busquedaJugadores.jugadorEliminado(id);
+            autocompletado.jugadorEliminado(id);
+            cacheEntidades.jugadoresDeLogrosCambiados();
+            versionesTablas.cambiado(VersionesTablas.JUGADORES, VersionesTablas.LOGROS);
+        }
+        return resultado;
     }
 
     /**
@@ -143,6 +273,30 @@ public class JugadorServiceImpl implements JugadorService {
         return jugadorRepository.findByNombreContainingIgnoreCase(nombre);
     }
 
+    /**
+     * Busca jugadores por nombre o apellido con el índice en memoria, que devuelve los IDs
+     * de la página ya ordenados; después se cargan esos jugadores en una sola consulta.
+     *
+     * @param texto Las palabras buscadas.
+     * @param aproximada Si se buscan también palabras parecidas.
+     * @param cursor El cursor de la página anterior, o null para empezar.
+     * @param limite El tamaño de página pedido.
+     * @return La página de jugadores encontrados, en orden de coincidencia.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<Jugador> buscar(String texto, boolean aproximada, String cursor, Integer limite) {
+        PaginaCursor<Long> ids = busquedaJugadores.buscar(texto, aproximada, cursor, paginacionConfig.limitarTamanio(limite));
+        if (ids.getContenido().isEmpty()) {
+            return new PaginaCursor<>(List.of(), null, false, null);
+        }
+        Map<Long, Jugador> porId = jugadorRepository.findByIdIn(ids.getContenido()).stream()
+                .collect(Collectors.toMap(Jugador::getId, Function.identity()));
+        // Se respeta el orden del índice; se descarta un jugador recién borrado cuyo aviso aún no se ha aplicado
+        List<Jugador> contenido = ids.getContenido().stream().map(porId::get).filter(Objects::nonNull).toList();
+        return new PaginaCursor<>(contenido, ids.getSiguienteCursor(), ids.isHayMas(), null);
+    }
+
 
     /**
      * Asigna un logro a un jugador específico.
@@ -163,6 +317,8 @@ public class JugadorServiceImpl implements JugadorService {
 
         // Usa el método helper addLogro() definido en la entidad Jugador
         jugador.addLogro(logro);
+        cacheEntidades.logroCambiado(logroId);
+        versionesTablas.cambiado(VersionesTablas.JUGADORES, VersionesTablas.LOGROS);
         return jugadorRepository.save(jugador);
     }
 
@@ -184,11 +340,14 @@ public class JugadorServiceImpl implements JugadorService {
 
         // Usa el método helper removeLogro() definido en la entidad Jugador
         jugador.removeLogro(logro);
+        cacheEntidades.logroCambiado(logroId);
+        versionesTablas.cambiado(VersionesTablas.JUGADORES, VersionesTablas.LOGROS);
         jugadorRepository.save(jugador);
     }
 
     /**
      * Actualiza (reemplaza) la lista completa de logros de un jugador con una nueva lista de IDs de logros.
+     * Los cambios se escriben directamente en la tabla jugadores_logros (ver {@link #updateJugadoresLogros}).
      *
      * @param jugadorId El ID del jugador cuyos logros se actualizarán.
      * @param logroIds Una lista de IDs de logros que se asignarán al jugador.
@@ -198,37 +357,99 @@ public class JugadorServiceImpl implements JugadorService {
     @Override 
     @Transactional
     public Jugador updateJugadorLogros(Long jugadorId, List<Long> logroIds) {
-        Jugador jugador = jugadorRepository.findById(jugadorId)
+        if (!jugadorRepository.existsById(jugadorId)) {
+            throw new RuntimeException("Jugador no encontrado con ID: " + jugadorId);
+        }
+        updateJugadoresLogros(List.of(jugadorId), logroIds);
+        // Las sentencias masivas vacían el contexto de persistencia, así que el jugador se lee de nuevo
+        return jugadorRepository.findById(jugadorId)
                 .orElseThrow(() -> new RuntimeException("Jugador no encontrado con ID: " + jugadorId));
+    }
 
-        // Crear un Set de los nuevos logros a partir de sus IDs
-        Set<Logro> nuevosLogros = new HashSet<>();
-        if (logroIds != null) {
-            for (Long id : logroIds) {
-                Logro logro = logroRepository.findById(id)
-                        .orElseThrow(() -> new RuntimeException("Logro no encontrado con ID: " + id));
-                nuevosLogros.add(logro);
-            }
+    /**
+     * @param logroId El ID del logro a otorgar.
+     * @param jugadorIds Los IDs de los jugadores que lo reciben.
+     * @return El número de asociaciones nuevas creadas.
+     */
+    @Override
+    @Transactional
+    public int addLogroToJugadores(Long logroId, Collection<Long> jugadorIds) {
+        if (!logroRepository.existsById(logroId)) {
+            throw new RuntimeException("Logro no encontrado con ID: " + logroId);
         }
+        List<Long> logro = List.of(logroId);
+        cacheEntidades.logroCambiado(logroId);
+        versionesTablas.cambiado(VersionesTablas.JUGADORES, VersionesTablas.LOGROS);
+        return porBloques(jugadorIds, bloque -> jugadorRepository.insertarLogros(bloque, logro));
+    }
 
-        // 1. Desvincular logros antiguos que ya no están en la nueva lista
-        // (Iterar sobre una copia para evitar ConcurrentModificationException)
-        Set<Logro> logrosActuales = new HashSet<>(jugador.getLogros()); // Copia del set actual
-        for (Logro logroExistente : logrosActuales) {
-            if (!nuevosLogros.contains(logroExistente)) {
-                // Si el logro existente no está en la nueva lista, elimínalo
-                jugador.removeLogro(logroExistente); // Usa el método helper
-            }
+    /**
+     * @param logroId El ID del logro a quitar.
+     * @param jugadorIds Los IDs de los jugadores que lo pierden.
+     * @return El número de asociaciones borradas.
+     */
+    @Override
+    @Transactional
+    public int removeLogroFromJugadores(Long logroId, Collection<Long> jugadorIds) {
+        List<Long> logro = List.of(logroId);
+        cacheEntidades.logroCambiado(logroId);
+        versionesTablas.cambiado(VersionesTablas.JUGADORES, VersionesTablas.LOGROS);
+        return porBloques(jugadorIds, bloque -> jugadorRepository.borrarLogros(bloque, logro));
+    }
+
+    /**
+     * @param jugadorIds Los IDs de los jugadores a actualizar.
+     * @param logroIds Los IDs de los logros que tendrá cada jugador.
+     * @return El número de asociaciones borradas más las creadas.
+     */
+    @Override
+    @Transactional
+    public int updateJugadoresLogros(Collection<Long> jugadorIds, Collection<Long> logroIds) {
+        Set<Long> logros = comprobarLogros(logroIds);
+        // Cambian tanto los logros que se asignan como los que se quitan, que no se conocen sin consultarlos
+        cacheEntidades.jugadoresDeLogrosCambiados();
+        versionesTablas.cambiado(VersionesTablas.JUGADORES, VersionesTablas.LOGROS);
+        if (logros.isEmpty()) {
+            return porBloques(jugadorIds, jugadorRepository::borrarTodosLosLogros);
         }
+        return porBloques(jugadorIds, bloque ->
+                jugadorRepository.borrarLogrosExcepto(bloque, logros) + jugadorRepository.insertarLogros(bloque, logros));
+    }
 
-        // 2. Vincular nuevos logros que no estaban antes
-        for (Logro nuevoLogro : nuevosLogros) {
-            if (!jugador.getLogros().contains(nuevoLogro)) {
-                // Si el nuevo logro no está en la lista actual del jugador, añádelo
-                jugador.addLogro(nuevoLogro); // Usa el método helper
+    /**
+     * Comprueba con una sola consulta que todos los logros existen.
+     *
+     * @return Los IDs sin repetir.
+     * @throws RuntimeException con el primer ID que no existe.
+     */
+    private Set<Long> comprobarLogros(Collection<Long> logroIds) {
+        Set<Long> ids = logroIds == null ? new HashSet<>() : new LinkedHashSet<>(logroIds);
+        if (!ids.isEmpty()) {
+            Set<Long> existentes = new HashSet<>(logroRepository.findIdsExistentes(ids));
+            for (Long id : ids) {
+                if (!existentes.contains(id)) {
+                    throw new RuntimeException("Logro no encontrado con ID: " + id);
+                }
             }
         }
+        return ids;
+    }
 
-        return jugadorRepository.save(jugador);
+    /**
+     * Aplica una sentencia masiva a los IDs en bloques de {@code IDS_POR_SENTENCIA},
+     * porque algunas bases de datos limitan el número de valores de un IN.
+     *
+     * @return La suma de filas afectadas.
+     */
+    private static int porBloques(Collection<Long> ids, ToIntFunction<List<Long>> sentencia) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> sinRepetir = new ArrayList<>(new LinkedHashSet<>(ids));
+        int filas = 0;
+        for (int desde = 0; desde < sinRepetir.size(); desde += IDS_POR_SENTENCIA) {
+            filas += sentencia.applyAsInt(sinRepetir.subList(desde, Math.min(desde + IDS_POR_SENTENCIA, sinRepetir.size())));
+        }
+        return filas;
     }
-}
\ No newline at end of file
+}
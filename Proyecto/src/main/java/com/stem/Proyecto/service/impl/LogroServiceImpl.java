@@ -1,17 +1,32 @@
 package com.stem.Proyecto.service.impl;
 
-import java.util.ArrayList; 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.ResultadoBorrado;
 import com.stem.Proyecto.entity.Logro; 
 import com.stem.Proyecto.repository.LogroRepository;
+import com.stem.Proyecto.service.AutocompletadoService;
+import com.stem.Proyecto.service.BusquedaLogrosService;
 import com.stem.Proyecto.service.LogroService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.ContadorAproximado;
+import com.stem.Proyecto.util.CursorPaginacion;
+import com.stem.Proyecto.util.VersionesTablas;
 
 /**
  * Esta clase maneja las operaciones de negocio para los Logros.
@@ -20,11 +35,27 @@ import com.stem.Proyecto.service.LogroService;
 @Service
 public class LogroServiceImpl implements LogroService {
 
+    private static final Map<String, Class<?>> CAMPOS_ORDENABLES = Map.of("id", Long.class, "nombre", String.class);
+
     private final LogroRepository logroRepository;
+    private final AutocompletadoService autocompletado;
+    private final BusquedaLogrosService busquedaLogros;
+    private final CacheEntidades cacheEntidades;
+    private final VersionesTablas versionesTablas;
+    private final PaginacionConfig paginacionConfig;
+    private final ContadorAproximado totalLogros;
 
     @Autowired
-    public LogroServiceImpl(LogroRepository logroRepository) {
+    public LogroServiceImpl(LogroRepository logroRepository, AutocompletadoService autocompletado,
+                            BusquedaLogrosService busquedaLogros, CacheEntidades cacheEntidades,
+                            VersionesTablas versionesTablas, PaginacionConfig paginacionConfig) {
         this.logroRepository = logroRepository;
+        this.autocompletado = autocompletado;
+        this.busquedaLogros = busquedaLogros;
+        this.cacheEntidades = cacheEntidades;
+        this.versionesTablas = versionesTablas;
+        this.paginacionConfig = paginacionConfig;
+        this.totalLogros = new ContadorAproximado(logroRepository::count, paginacionConfig.getSegundosCacheTotal());
     }
 
     /**
@@ -33,15 +64,16 @@ public class LogroServiceImpl implements LogroService {
      * con los jugadores ({@code jugadoresConEsteLogro}) sea cargada de forma
      * 'eagerly' (ansiosa) para evitar problemas de N+1 o LazyInitializationException
      * al serializar los datos para el frontend.
+     * La lista se guarda en la caché hasta que cambia algún logro o sus jugadores.
      *
-     * @return Una lista de todos los logros. Si no hay ninguno, la lista estará vacía.
+     * @return Una lista (que no se puede modificar) de todos los logros. Si no hay ninguno, la lista estará vacía.
      */
     @Override
     @Transactional(readOnly = true)
     public List<Logro> findAll() {
         // Este método debe llamar a la consulta del repositorio que carga los jugadores
         // (es decir, el método que usa LEFT JOIN FETCH)
-        return logroRepository.findAllWithJugadores(); 
+        return cacheEntidades.logros(logroRepository::findAllWithJugadores);
     }
 
     /**
@@ -50,6 +82,7 @@ public class LogroServiceImpl implements LogroService {
      * este método asegura que la colección de jugadores sea inicializada
      * dentro de la transacción antes de que la entidad sea devuelta,
      * permitiendo su correcta serialización en el controlador.
+     * El logro, ya con sus jugadores, se guarda en la caché.
      *
      * @param id El número de identificación del logro que se quiere buscar.
      * @return Un 'Optional' que contendrá el logro si lo encuentra, o estará vacío si no existe.
@@ -57,17 +90,68 @@ public class LogroServiceImpl implements LogroService {
     @Override
     @Transactional(readOnly = true)
     public Optional<Logro> findById(Long id) {
-        Optional<Logro> logroOptional = logroRepository.findById(id);
-        
-        // Si el logro está presente y la relación 'jugadoresConEsteLogro' es LAZY,
-        // esta línea fuerza la carga de la colección desde la base de datos.
-        // Es necesaria para que el método getJugadoresJson() de la entidad Logro
-        // pueda acceder a los datos reales de los jugadores fuera de esta transacción.
-        logroOptional.ifPresent(logro -> {
-            logro.getJugadoresConEsteLogro().size(); // Accede a la colección para inicializarla
+        return cacheEntidades.logro(id, clave -> {
+            Optional<Logro> logroOptional = logroRepository.findById(clave);
+
+            // Si el logro está presente y la relación 'jugadoresConEsteLogro' es LAZY,
+            // esta línea fuerza la carga de la colección desde la base de datos.
+            // Es necesaria para que el método getJugadoresJson() de la entidad Logro
+            // pueda acceder a los datos reales de los jugadores fuera de esta transacción.
+            logroOptional.ifPresent(logro -> {
+                logro.getJugadoresConEsteLogro().size(); // Accede a la colección para inicializarla
+            });
+
+            return logroOptional;
         });
-        
-        return logroOptional;
+    }
+
+    /**
+     * Devuelve una página de logros a partir del cursor de la página anterior.
+     * Igual que en {@link #findById(Long)}, se inicializa la colección de jugadores
+     * de cada logro dentro de la transacción para poder serializarla después,
+     * con una sola consulta para toda la página.
+     *
+     * @param cursor El cursor de la página anterior, o null para empezar.
+     * @param limite El tamaño de página pedido.
+     * @param orden El campo de ordenación ("id" o "nombre", con "-" para descendente).
+     * @param incluirTotal Si se debe calcular el total aproximado de logros.
+     * @return La página de logros con el cursor de la siguiente.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<Logro> findPagina(String cursor, Integer limite, String orden, boolean incluirTotal) {
+        Sort sort = CursorPaginacion.resolverOrden(orden, CAMPOS_ORDENABLES);
+        ScrollPosition posicion = CursorPaginacion.decodificar(cursor, sort, CAMPOS_ORDENABLES);
+        Window<Logro> ventana = logroRepository.findBy(posicion, sort, Limit.of(paginacionConfig.limitarTamanio(limite)));
+        if (!ventana.isEmpty()) {
+            // Una sola consulta inicializa los jugadores de toda la página (evita una consulta por logro)
+            logroRepository.cargarJugadores(ventana.map(Logro::getId).toList());
+        }
+        return CursorPaginacion.aPagina(ventana, incluirTotal ? totalLogros.obtener() : null);
+    }
+
+    /**
+     * Busca logros por su nombre y su descripción con el índice de texto completo.
+     * El índice da los IDs de la página en orden de relevancia, y los logros (con sus jugadores)
+     * se cargan en una sola consulta.
+     *
+     * @param texto El texto buscado.
+     * @param cursor El cursor de la página anterior, o null para empezar.
+     * @param limite El tamaño de página pedido.
+     * @return La página de logros encontrados con el cursor de la siguiente.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<Logro> buscar(String texto, String cursor, Integer limite) {
+        PaginaCursor<Long> ids = busquedaLogros.buscar(texto, cursor, paginacionConfig.limitarTamanio(limite));
+        if (ids.getContenido().isEmpty()) {
+            return new PaginaCursor<>(List.of(), null, false, null);
+        }
+        Map<Long, Logro> porId = logroRepository.findByIdIn(ids.getContenido()).stream()
+                .collect(Collectors.toMap(Logro::getId, Function.identity()));
+        // Se respeta el orden del índice; se descarta un logro recién borrado cuyo aviso aún no se ha aplicado
+        List<Logro> contenido = ids.getContenido().stream().map(porId::get).filter(Objects::nonNull).toList();
+        return new PaginaCursor<>(contenido, ids.getSiguienteCursor(), ids.isHayMas(), null);
     }
 
     /**
@@ -79,7 +163,12 @@ public class LogroServiceImpl implements LogroService {
     @Override
     @Transactional
     public Logro save(Logro logro) {
-        return logroRepository.save(logro);
+        Logro guardado = logroRepository.save(logro);
+        autocompletado.logroGuardado(guardado);
+        busquedaLogros.logroGuardado(guardado);
+        cacheEntidades.logroCambiado(guardado.getId());
+        versionesTablas.cambiado(VersionesTablas.LOGROS);
+        return guardado;
     }
 
     /**
@@ -101,46 +190,37 @@ public class LogroServiceImpl implements LogroService {
                     // y quieres actualizar las asociaciones aquí, necesitarías una lógica
                     // más compleja para añadir/eliminar jugadores de la relación.
                     // Por simplicidad, este update solo maneja los campos básicos del logro.
-                    return logroRepository.save(logroExistente);
+                    Logro guardado = logroRepository.save(logroExistente);
+                    autocompletado.logroGuardado(guardado);
+                    busquedaLogros.logroGuardado(guardado);
+                    cacheEntidades.logroCambiado(id);
+                    versionesTablas.cambiado(VersionesTablas.LOGROS);
+                    return guardado;
                 })
                 .orElse(null);
     }
 
     /**
      * Elimina un logro de la base de datos usando su ID.
-     * Antes de eliminar el logro, desvincula todas sus relaciones con los jugadores
-     * para evitar errores de integridad de clave foránea en la tabla de unión.
+     * Primero borra sus filas de la tabla de unión con una sola sentencia y luego el logro,
+     * sin cargar en memoria a los jugadores que lo tienen.
      *
      * @param id El ID del logro que se quiere borrar.
+     * @return Las filas borradas de cada tabla; {@code isEncontrado()} es false si el logro no existía.
      */
     @Override
-    @Transactional // Es crucial para la eliminación de relaciones ManyToMany
-    public void deleteById(Long id) {
-        Optional<Logro> logroOptional = logroRepository.findById(id);
-
-        if (logroOptional.isPresent()) {
-            Logro logroToDelete = logroOptional.get();
-
-            // Desvincular este logro de todos los jugadores asociados.
-            // Es CRÍTICO iterar sobre una COPIA de la lista para evitar ConcurrentModificationException
-            // mientras se modifica la lista original dentro del bucle.
-            if (logroToDelete.getJugadoresConEsteLogro() != null && !logroToDelete.getJugadoresConEsteLogro().isEmpty()) {
-                List<Jugador> jugadoresAsociados = new ArrayList<>(logroToDelete.getJugadoresConEsteLogro());
-
-                for (Jugador jugador : jugadoresAsociados) {
-                    // Llama al método helper en la entidad Jugador para eliminar la asociación bidireccional.
-                    // Esto modificará la colección 'logros' del jugador y, por consiguiente, la tabla de unión.
-                    jugador.removeLogro(logroToDelete);
-
-                    // Dado que el método está @Transactional, los cambios en las entidades gestionadas
-                    // (como la lista 'logros' del jugador) se persistirán automáticamente
-                    // al finalizar la transacción del método.
-                }
-            }
-
-            logroRepository.delete(logroToDelete); 
-        } else {
-            System.out.println("Intento de eliminar logro con ID " + id + " que no existe.");
+    @Transactional
+    public ResultadoBorrado deleteById(Long id) {
+        ResultadoBorrado resultado = new ResultadoBorrado()
+                .registrar("jugadores_logros", logroRepository.borrarAsociaciones(id))
+                .registrarPrincipal("logros", logroRepository.borrarPorId(id));
+        // Si el logro no existía no ha cambiado nada: ni índices ni cachés ni ETags
+        if (resultado.isEncontrado()) {
+            autocompletado.logroEliminado(id);
+            busquedaLogros.logroEliminado(id);
+            cacheEntidades.logroCambiado(id);
+            versionesTablas.cambiado(VersionesTablas.LOGROS, VersionesTablas.JUGADORES);
         }
+        return resultado;
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,37 @@
 package com.stem.Proyecto.service.impl;
 
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.hibernate.engine.spi.SessionImplementor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.Marcador;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.PartidoResumen;
+import com.stem.Proyecto.dto.ResultadoImportacion;
 import com.stem.Proyecto.entity.Partido;
 import com.stem.Proyecto.repository.EquipoRepository;
 import com.stem.Proyecto.repository.PartidoRepository;
+import com.stem.Proyecto.service.ClasificacionService;
 import com.stem.Proyecto.service.PartidoService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.ContadorAproximado;
+import com.stem.Proyecto.util.CursorPaginacion;
+import com.stem.Proyecto.util.VersionesTablas;
+
+import jakarta.persistence.EntityManager;
 
 /**
  * Esta clase maneja las operaciones de negocio para los Partidos.
@@ -19,19 +40,43 @@ import com.stem.Proyecto.service.PartidoService;
 @Service
 public class PartidoServiceImpl implements PartidoService {
 
+    private static final Map<String, Class<?>> CAMPOS_ORDENABLES = Map.of("id", Long.class, "fecha", LocalDate.class, "temporada", String.class);
+    private static final String ACTUALIZAR_MARCADOR =
+            "UPDATE partidos SET puntuacion_local = ?, puntuacion_visitante = ? WHERE id = ?";
+
     private final PartidoRepository partidoRepository;
     private final EquipoRepository equipoRepository;
+    private final ClasificacionService clasificacionService;
+    private final CacheEntidades cacheEntidades;
+    private final VersionesTablas versionesTablas;
+    private final PaginacionConfig paginacionConfig;
+    private final EntityManager entityManager;
+    private final ContadorAproximado totalPartidos;
 
     /**
      * Constructor que Spring usa para inyectar los repositorios necesarios.
      *
      * @param partidoRepository Objeto para guardar y buscar partidos.
      * @param equipoRepository Objeto para buscar equipos y asignarlos a los partidos (local y visitante).
+     * @param clasificacionService La clasificación en memoria, a la que se avisa de cada partido escrito.
+     * @param cacheEntidades La caché de equipos, donde se buscan primero los equipos del partido.
+     * @param versionesTablas Las versiones de las tablas, de las que salen los ETags de las respuestas.
+     * @param paginacionConfig Los límites de tamaño de página de los listados.
+     * @param entityManager El contexto de persistencia, del que sale la conexión para actualizar marcadores por lotes.
      */
     @Autowired
-    public PartidoServiceImpl(PartidoRepository partidoRepository, EquipoRepository equipoRepository) {
+    public PartidoServiceImpl(PartidoRepository partidoRepository, EquipoRepository equipoRepository,
+                              ClasificacionService clasificacionService, CacheEntidades cacheEntidades,
+                              VersionesTablas versionesTablas, PaginacionConfig paginacionConfig,
+                              EntityManager entityManager) {
         this.partidoRepository = partidoRepository;
         this.equipoRepository = equipoRepository;
+        this.clasificacionService = clasificacionService;
+        this.cacheEntidades = cacheEntidades;
+        this.versionesTablas = versionesTablas;
+        this.paginacionConfig = paginacionConfig;
+        this.entityManager = entityManager;
+        this.totalPartidos = new ContadorAproximado(partidoRepository::count, paginacionConfig.getSegundosCacheTotal());
     }
 
     /**
@@ -57,9 +102,45 @@ public class PartidoServiceImpl implements PartidoService {
         return partidoRepository.findById(id);
     }
 
+    /**
+     * Devuelve una página de partidos a partir del cursor de la página anterior.
+     *
+     * @param cursor El cursor de la página anterior, o null para empezar.
+     * @param limite El tamaño de página pedido.
+     * @param orden El campo de ordenación ("id", "fecha" o "temporada", con "-" para descendente).
+     * @param incluirTotal Si se debe calcular el total aproximado de partidos.
+     * @return La página de partidos con el cursor de la siguiente.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<Partido> findPagina(String cursor, Integer limite, String orden, boolean incluirTotal) {
+        Sort sort = CursorPaginacion.resolverOrden(orden, CAMPOS_ORDENABLES);
+        ScrollPosition posicion = CursorPaginacion.decodificar(cursor, sort, CAMPOS_ORDENABLES);
+        Window<Partido> ventana = partidoRepository.findBy(posicion, sort, Limit.of(paginacionConfig.limitarTamanio(limite)));
+        return CursorPaginacion.aPagina(ventana, incluirTotal ? totalPartidos.obtener() : null);
+    }
+
+    /**
+     * Devuelve el resumen de los partidos, opcionalmente filtrado por temporada.
+     * La consulta hace JOIN con los equipos pero solo lee su ID y su nombre.
+     *
+     * @param temporada La temporada por la que filtrar, o null para todas.
+     * @return La lista de resúmenes de partidos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PartidoResumen> findResumen(String temporada) {
+        if (temporada == null || temporada.isBlank()) {
+            return partidoRepository.findAllResumen();
+        }
+        return partidoRepository.findResumenByTemporada(temporada);
+    }
+
     /**
      * Guarda un partido nuevo en la base de datos o actualiza uno que ya existe.
-     * Se asegura de que los equipos local y visitante existan antes de vincularlos al partido.
+     * Se asegura de que los equipos local y visitante existan antes de vincularlos al partido;
+     * los equipos se buscan primero en la caché, porque solo hace falta enlazarlos.
+     * La clasificación de su temporada se actualiza con este resultado, sin recalcularla.
      *
      * @param partido El partido que se quiere guardar o actualizar.
      * @return El partido que ha sido guardado, con su ID (si es nuevo) o con sus datos actualizados.
@@ -69,15 +150,18 @@ public class PartidoServiceImpl implements PartidoService {
     public Partido save(Partido partido) {
         // Si el partido tiene un equipo local con ID, busca el equipo y lo asigna
         if (partido.getEquipoLocal() != null && partido.getEquipoLocal().getId() != null) {
-            equipoRepository.findById(partido.getEquipoLocal().getId())
+            cacheEntidades.equipo(partido.getEquipoLocal().getId(), equipoRepository::findById)
                     .ifPresent(partido::setEquipoLocal);
         }
         // Si el partido tiene un equipo visitante con ID, busca el equipo y lo asigna
         if (partido.getEquipoVisitante() != null && partido.getEquipoVisitante().getId() != null) {
-            equipoRepository.findById(partido.getEquipoVisitante().getId())
+            cacheEntidades.equipo(partido.getEquipoVisitante().getId(), equipoRepository::findById)
                     .ifPresent(partido::setEquipoVisitante);
         }
-        return partidoRepository.save(partido);
+        Partido guardado = partidoRepository.save(partido);
+        clasificacionService.partidoGuardado(guardado);
+        versionesTablas.cambiado(VersionesTablas.PARTIDOS);
+        return guardado;
     }
 
     /**
@@ -103,7 +187,7 @@ public class PartidoServiceImpl implements PartidoService {
 
                     // Actualiza el equipo local del partido
                     if (partidoActualizado.getEquipoLocal() != null && partidoActualizado.getEquipoLocal().getId() != null) {
-                        equipoRepository.findById(partidoActualizado.getEquipoLocal().getId())
+                        cacheEntidades.equipo(partidoActualizado.getEquipoLocal().getId(), equipoRepository::findById)
                                 .ifPresent(partidoExistente::setEquipoLocal);
                     } else { // Si el equipo local actualizado es nulo, desasocia el existente
                         partidoExistente.setEquipoLocal(null);
@@ -111,24 +195,149 @@ public class PartidoServiceImpl implements PartidoService {
 
                     // Actualiza el equipo visitante del partido
                     if (partidoActualizado.getEquipoVisitante() != null && partidoActualizado.getEquipoVisitante().getId() != null) {
-                        equipoRepository.findById(partidoActualizado.getEquipoVisitante().getId())
+                        cacheEntidades.equipo(partidoActualizado.getEquipoVisitante().getId(), equipoRepository::findById)
                                 .ifPresent(partidoExistente::setEquipoVisitante);
                     } else { // Si el equipo visitante actualizado es nulo, desasocia el existente
                         partidoExistente.setEquipoVisitante(null);
                     }
-                    return partidoRepository.save(partidoExistente);
+                    Partido guardado = partidoRepository.save(partidoExistente);
+                    clasificacionService.partidoGuardado(guardado);
+                    versionesTablas.cambiado(VersionesTablas.PARTIDOS);
+                    return guardado;
                 })
                 .orElse(null);
     }
 
     /**
-     * Elimina un partido de la base de datos usando su ID.
+     * Reemplaza los datos de un partido con un único UPDATE: si no cambia ninguna fila, el partido no existe.
+     * Los equipos se toman de la caché de entidades (sin consulta si ya están en ella), y un equipo sin ID
+     * deja el partido sin ese equipo, igual que en {@link #update(Long, Partido)}.
+     *
+     * @param id El ID del partido que se va a reemplazar.
+     * @param partido El partido con los datos nuevos.
+     * @return El mismo partido con su ID y sus equipos, o 'null' si no se encontró un partido con ese ID.
+     */
+    @Override
+    @Transactional
+    public Partido reemplazar(Long id, Partido partido) {
+        if (partido.getEquipoLocal() != null && partido.getEquipoLocal().getId() != null) {
+            cacheEntidades.equipo(partido.getEquipoLocal().getId(), equipoRepository::findById)
+                    .ifPresent(partido::setEquipoLocal);
+        } else {
+            partido.setEquipoLocal(null);
+        }
+        if (partido.getEquipoVisitante() != null && partido.getEquipoVisitante().getId() != null) {
+            cacheEntidades.equipo(partido.getEquipoVisitante().getId(), equipoRepository::findById)
+                    .ifPresent(partido::setEquipoVisitante);
+        } else {
+            partido.setEquipoVisitante(null);
+        }
+        if (partidoRepository.reemplazar(id, partido) == 0) {
+            return null;
+        }
+        partido.setId(id);
+        clasificacionService.partidoGuardado(partido);
+        versionesTablas.cambiado(VersionesTablas.PARTIDOS);
+        return partido;
+    }
+
+    /**
+     * Elimina un partido de la base de datos usando su ID, con un único DELETE, y lo descuenta de la clasificación.
      *
      * @param id El ID del partido que se quiere borrar.
+     * @return true si se borró alguna fila, es decir, si el partido existía.
      */
     @Override
     @Transactional
-    public void deleteById(Long id) {
-        partidoRepository.deleteById(id);
+    public boolean deleteById(Long id) {
+        boolean borrado = partidoRepository.borrarPorId(id) > 0;
+        if (borrado) {
+            clasificacionService.partidoEliminado(id);
+            versionesTablas.cambiado(VersionesTablas.PARTIDOS);
+        }
+        return borrado;
+    }
+
+    /**
+     * Los marcadores se validan primero y luego se envían como un lote JDBC del UPDATE de las dos puntuaciones
+     * (en bloques del tamaño de lote configurado), sin cargar los partidos ni pasar por {@code merge}.
+     * El número de filas de cada UPDATE dice si el partido existía. Después se leen los partidos cambiados
+     * con una consulta, para actualizar la clasificación con sus nuevos resultados.
+     */
+    @Override
+    @Transactional
+    public ResultadoImportacion actualizarMarcadores(List<Marcador> marcadores) {
+        long inicio = System.nanoTime();
+        int n = marcadores.size();
+        String[] errores = new String[n];
+        List<Integer> validos = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            errores[i] = validar(marcadores.get(i));
+            if (errores[i] == null) {
+                validos.add(i);
+            }
+        }
+
+        SessionImplementor sesion = entityManager.unwrap(SessionImplementor.class);
+        int tamanioLote = Math.max(1, sesion.getConfiguredJdbcBatchSize());
+        // El UPDATE no pasa por Hibernate: lo pendiente se escribe antes, y lo cargado se descarta después
+        sesion.flush();
+        sesion.doWork(conexion -> {
+            try (PreparedStatement update = conexion.prepareStatement(ACTUALIZAR_MARCADOR)) {
+                for (int desde = 0; desde < validos.size(); desde += tamanioLote) {
+                    List<Integer> bloque = validos.subList(desde, Math.min(desde + tamanioLote, validos.size()));
+                    for (int i : bloque) {
+                        Marcador marcador = marcadores.get(i);
+                        update.setInt(1, marcador.getPuntuacionLocal());
+                        update.setInt(2, marcador.getPuntuacionVisitante());
+                        update.setLong(3, marcador.getPartidoId());
+                        update.addBatch();
+                    }
+                    int[] filas = update.executeBatch();
+                    for (int j = 0; j < filas.length; j++) {
+                        if (filas[j] == 0) {
+                            errores[bloque.get(j)] = "Partido no encontrado con ID: " + marcadores.get(bloque.get(j)).getPartidoId();
+                        }
+                    }
+                }
+            }
+        });
+        sesion.clear();
+
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        List<Long> actualizados = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (errores[i] == null) {
+                resultado.aceptar(i + 1, marcadores.get(i).getPartidoId());
+                actualizados.add(marcadores.get(i).getPartidoId());
+            } else {
+                resultado.rechazar(i + 1, errores[i]);
+            }
+        }
+        if (!actualizados.isEmpty()) {
+            partidoRepository.findByIdIn(actualizados).forEach(clasificacionService::partidoGuardado);
+            versionesTablas.cambiado(VersionesTablas.PARTIDOS);
+        }
+        resultado.setMilisegundos((System.nanoTime() - inicio) / 1_000_000);
+        return resultado;
+    }
+
+    /**
+     * @return El motivo por el que se rechaza el marcador, o null si es válido.
+     */
+    private static String validar(Marcador marcador) {
+        if (marcador == null) {
+            return "Marcador vacío";
+        }
+        if (marcador.getPartidoId() == null) {
+            return "Falta el ID del partido";
+        }
+        if (marcador.getPuntuacionLocal() == null || marcador.getPuntuacionVisitante() == null) {
+            return "Faltan las puntuaciones";
+        }
+        if (marcador.getPuntuacionLocal() < 0 || marcador.getPuntuacionVisitante() < 0) {
+            return "Las puntuaciones no pueden ser negativas";
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.stem.Proyecto.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Convierte un texto en español en la lista de términos que guarda el índice de texto completo.
+ * El texto se normaliza con {@link NormalizadorTexto}, se separa en palabras, se quitan las palabras
+ * vacías ("de", "la", "con"...) y cada palabra se reduce a su raíz con un lematizador ligero,
+ * de forma que "campeón", "campeona" y "campeones" dan el mismo término.
+ */
+public final class AnalizadorEspanol {
+
+    // Ya normalizadas: sin tildes y en minúsculas
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+            "a", "al", "algo", "algunas", "algunos", "ante", "antes", "como", "con", "contra", "cual", "cuando",
+            "de", "del", "desde", "donde", "durante", "e", "el", "ella", "ellos", "en", "entre", "era", "es",
+            "esa", "ese", "eso", "esta", "estas", "este", "esto", "estos", "fue", "ha", "han", "hasta", "hay",
+            "la", "las", "le", "les", "lo", "los", "mas", "me", "mi", "muy", "ni", "no", "nos", "o", "otra",
+            "otras", "otro", "otros", "para", "pero", "por", "porque", "que", "quien", "se", "ser", "si", "sin",
+            "sobre", "son", "su", "sus", "tambien", "tras", "u", "un", "una", "uno", "unos", "y", "ya");
+
+    private static final int LONGITUD_MINIMA_PARA_REDUCIR = 5;
+
+    private AnalizadorEspanol() {
+    }
+
+    /**
+     * @param texto El texto original (puede ser null).
+     * @return Los términos del texto, en orden y con repeticiones; vacía si no hay ninguno.
+     */
+    public static List<String> analizar(String texto) {
+        String normalizado = NormalizadorTexto.normalizar(texto);
+        List<String> terminos = new ArrayList<>();
+        if (normalizado.isEmpty()) {
+            return terminos;
+        }
+        for (String palabra : normalizado.split(" ")) {
+            if (!PALABRAS_VACIAS.contains(palabra)) {
+                terminos.add(raiz(palabra));
+            }
+        }
+        return terminos;
+    }
+
+    /**
+     * Lematizador ligero para español (el de J. Savoy): solo quita el género y el número,
+     * que es lo que más varía entre la consulta y el texto sin confundir palabras distintas.
+     * Las palabras de menos de 5 letras se dejan como están.
+     *
+     * @param palabra La palabra ya normalizada.
+     * @return Su raíz.
+     */
+    static String raiz(String palabra) {
+        int longitud = palabra.length();
+        if (longitud < LONGITUD_MINIMA_PARA_REDUCIR) {
+            return palabra;
+        }
+        char ultima = palabra.charAt(longitud - 1);
+        if (ultima == 'o' || ultima == 'a' || ultima == 'e') {
+            return palabra.substring(0, longitud - 1);
+        }
+        if (ultima == 's') {
+            // "meses" -> "mes", "veces" -> "vez", "jugadores" -> "jugador", "temporadas" -> "temporad"
+            if (palabra.endsWith("eses")) {
+                return palabra.substring(0, longitud - 2);
+            }
+            if (palabra.endsWith("ces")) {
+                return palabra.substring(0, longitud - 3) + "z";
+            }
+            char penultima = palabra.charAt(longitud - 2);
+            if (penultima == 'o' || penultima == 'a' || penultima == 'e') {
+                return palabra.substring(0, longitud - 2);
+            }
+        }
+        return palabra;
+    }
+}
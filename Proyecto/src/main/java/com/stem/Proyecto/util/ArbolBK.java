@@ -0,0 +1,142 @@
+package com.stem.Proyecto.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Árbol BK (Burkhard-Keller) de palabras con la distancia de Levenshtein.
+ * Cada hijo de un nodo cuelga de la distancia entre su palabra y la del nodo; por la desigualdad
+ * triangular, al buscar las palabras a distancia k o menos de una consulta que está a distancia d
+ * de un nodo solo hace falta bajar por los hijos de las distancias entre d - k y d + k.
+ * Así una búsqueda con una tolerancia pequeña calcula la distancia contra una fracción de las palabras.
+ * <p>
+ * El árbol solo crece: las palabras que dejan de usarse se quedan hasta que se reconstruye.
+ * No es seguro para varios hilos; lo protege quien lo usa.
+ */
+public class ArbolBK {
+
+    private Nodo raiz;
+    private int tamanio;
+
+    /**
+     * @param palabra La palabra a añadir (si ya está, no hace nada).
+     */
+    public void anadir(String palabra) {
+        if (raiz == null) {
+            raiz = new Nodo(palabra);
+            tamanio++;
+            return;
+        }
+        Nodo nodo = raiz;
+        while (true) {
+            int distancia = distancia(palabra, nodo.palabra);
+            if (distancia == 0) {
+                return;
+            }
+            Nodo hijo = nodo.hijo(distancia);
+            if (hijo == null) {
+                nodo.ponerHijo(distancia, new Nodo(palabra));
+                tamanio++;
+                return;
+            }
+            nodo = hijo;
+        }
+    }
+
+    /**
+     * Recorre las palabras a una distancia de la consulta menor o igual que la indicada.
+     *
+     * @param consulta La palabra buscada.
+     * @param distanciaMaxima El número máximo de inserciones, borrados o sustituciones.
+     * @param encontrada Recibe cada palabra encontrada y su distancia.
+     * @return El número de palabras con las que se ha comparado la consulta.
+     */
+    public int buscar(String consulta, int distanciaMaxima, ObjIntConsumer<String> encontrada) {
+        if (raiz == null) {
+            return 0;
+        }
+        int comparadas = 0;
+        Deque<Nodo> pendientes = new ArrayDeque<>();
+        pendientes.push(raiz);
+        while (!pendientes.isEmpty()) {
+            Nodo nodo = pendientes.pop();
+            int distancia = distancia(consulta, nodo.palabra);
+            comparadas++;
+            if (distancia <= distanciaMaxima) {
+                encontrada.accept(nodo.palabra, distancia);
+            }
+            if (nodo.hijos == null) {
+                continue;
+            }
+            int hasta = Math.min(distancia + distanciaMaxima, nodo.hijos.length - 1);
+            for (int d = Math.max(1, distancia - distanciaMaxima); d <= hasta; d++) {
+                if (nodo.hijos[d] != null) {
+                    pendientes.push(nodo.hijos[d]);
+                }
+            }
+        }
+        return comparadas;
+    }
+
+    /**
+     * @return El número de palabras del árbol.
+     */
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    /**
+     * Distancia de Levenshtein: el mínimo de inserciones, borrados y sustituciones de un carácter
+     * para convertir una palabra en la otra. Se calcula con dos filas de la tabla de programación dinámica.
+     */
+    static int distancia(String a, String b) {
+        if (a.length() < b.length()) {
+            String corta = a;
+            a = b;
+            b = corta;
+        }
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int sustitucion = anterior[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                actual[j] = Math.min(sustitucion, Math.min(anterior[j], actual[j - 1]) + 1);
+            }
+            int[] fila = anterior;
+            anterior = actual;
+            actual = fila;
+        }
+        return anterior[b.length()];
+    }
+
+    private static final class Nodo {
+
+        private final String palabra;
+        // hijos[d] es el hijo a distancia d (la posición 0 no se usa)
+        private Nodo[] hijos;
+
+        Nodo(String palabra) {
+            this.palabra = palabra;
+        }
+
+        Nodo hijo(int distancia) {
+            return hijos != null && distancia < hijos.length ? hijos[distancia] : null;
+        }
+
+        void ponerHijo(int distancia, Nodo hijo) {
+            if (hijos == null) {
+                hijos = new Nodo[distancia + 1];
+            } else if (distancia >= hijos.length) {
+                hijos = Arrays.copyOf(hijos, distancia + 1);
+            }
+            hijos[distancia] = hijo;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.stem.Proyecto.util;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.stem.Proyecto.config.CacheEntidadesConfig;
+import com.stem.Proyecto.dto.EstadisticasCache;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Logro;
+
+/**
+ * Cachés en memoria de los equipos y los logros, que se leen mucho más de lo que cambian.
+ * Los servicios pasan cómo cargar cada valor desde la base de datos y avisan de cada cambio;
+ * la entrada afectada se descarta cuando se confirma la transacción, y si se deshace no se toca.
+ * Las entidades guardadas están separadas de cualquier sesión y se comparten entre peticiones,
+ * así que solo se usan para leerlas o para enlazarlas desde otra entidad, nunca para modificarlas.
+ */
+@Component
+public class CacheEntidades {
+
+    private static final String TODOS = "todos";
+
+    private final CacheTinyLfu<Long, Equipo> equipos;
+    private final CacheTinyLfu<String, List<Equipo>> todosLosEquipos;
+    private final CacheTinyLfu<Long, Logro> logros;
+    private final CacheTinyLfu<String, List<Logro>> todosLosLogros;
+
+    /**
+     * @param config El tamaño máximo y la duración de las entradas.
+     */
+    @Autowired
+    public CacheEntidades(CacheEntidadesConfig config) {
+        this.equipos = new CacheTinyLfu<>("equipos", config.getTamanioMaximo(), config.getSegundosVida());
+        this.logros = new CacheTinyLfu<>("logros", config.getTamanioMaximo(), config.getSegundosVida());
+        // Los listados completos son una sola entrada cada uno
+        int listados = config.getTamanioMaximo() > 0 ? 1 : 0;
+        this.todosLosEquipos = new CacheTinyLfu<>("equipos.todos", listados, config.getSegundosVida());
+        this.todosLosLogros = new CacheTinyLfu<>("logros.todos", listados, config.getSegundosVida());
+    }
+
+    /**
+     * @param id El ID del equipo.
+     * @param cargar Cómo leerlo de la base de datos si no está en la caché.
+     * @return El equipo, o vacío si no existe (lo que no se guarda en la caché).
+     */
+    public Optional<Equipo> equipo(Long id, Function<Long, Optional<Equipo>> cargar) {
+        return Optional.ofNullable(equipos.obtener(id, clave -> cargar.apply(clave).orElse(null)));
+    }
+
+    /**
+     * @param cargar Cómo leer todos los equipos si no están en la caché.
+     * @return Todos los equipos, en una lista que no se puede modificar.
+     */
+    public List<Equipo> equipos(Supplier<List<Equipo>> cargar) {
+        return todosLosEquipos.obtener(TODOS, clave -> List.copyOf(cargar.get()));
+    }
+
+    /**
+     * @param id El ID del logro.
+     * @param cargar Cómo leerlo (con sus jugadores ya cargados) si no está en la caché.
+     * @return El logro, o vacío si no existe (lo que no se guarda en la caché).
+     */
+    public Optional<Logro> logro(Long id, Function<Long, Optional<Logro>> cargar) {
+        return Optional.ofNullable(logros.obtener(id, clave -> cargar.apply(clave).orElse(null)));
+    }
+
+    /**
+     * @param cargar Cómo leer todos los logros (con sus jugadores) si no están en la caché.
+     * @return Todos los logros, en una lista que no se puede modificar.
+     */
+    public List<Logro> logros(Supplier<List<Logro>> cargar) {
+        return todosLosLogros.obtener(TODOS, clave -> List.copyOf(cargar.get()));
+    }
+
+    /**
+     * Descarta el equipo y el listado de equipos cuando se confirme la transacción.
+     *
+     * @param id El ID del equipo guardado, modificado o borrado.
+     */
+    public void equipoCambiado(Long id) {
+        Transacciones.trasConfirmar(() -> {
+            equipos.invalidar(id);
+            todosLosEquipos.invalidarTodo();
+        });
+    }
+
+    /**
+     * Descarta el logro y el listado de logros cuando se confirme la transacción.
+     *
+     * @param id El ID del logro guardado, modificado o borrado.
+     */
+    public void logroCambiado(Long id) {
+        Transacciones.trasConfirmar(() -> {
+            logros.invalidar(id);
+            todosLosLogros.invalidarTodo();
+        });
+    }
+
+    /**
+     * Descarta todos los logros cuando se confirme la transacción. Se usa cuando cambian los jugadores
+     * que tienen algún logro (altas y bajas de logros, nombres o borrados), porque cada logro los incluye.
+     */
+    public void jugadoresDeLogrosCambiados() {
+        Transacciones.trasConfirmar(() -> {
+            logros.invalidarTodo();
+            todosLosLogros.invalidarTodo();
+        });
+    }
+
+    /**
+     * Descarta todas las entradas cuando se confirme la transacción. Se usa cuando los datos se escriben
+     * sin pasar por los servicios, como en la carga inicial.
+     */
+    public void invalidarTodo() {
+        Transacciones.trasConfirmar(() -> {
+            equipos.invalidarTodo();
+            todosLosEquipos.invalidarTodo();
+            logros.invalidarTodo();
+            todosLosLogros.invalidarTodo();
+        });
+    }
+
+    /**
+     * @return Los aciertos, fallos, expulsiones e invalidaciones de cada caché.
+     */
+    public List<EstadisticasCache> getEstadisticas() {
+        return List.of(equipos.getEstadisticas(), todosLosEquipos.getEstadisticas(),
+                logros.getEstadisticas(), todosLosLogros.getEstadisticas());
+    }
+}
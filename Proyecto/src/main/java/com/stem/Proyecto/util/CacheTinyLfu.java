@@ -0,0 +1,351 @@
+package com.stem.Proyecto.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.stem.Proyecto.dto.EstadisticasCache;
+
+/**
+ * Caché en memoria de tamaño acotado que decide qué guardar según la frecuencia de uso (W-TinyLFU).
+ * <ul>
+ *   <li>Las entradas nuevas pasan por una ventana LRU pequeña (1% del tamaño), que absorbe las ráfagas.</li>
+ *   <li>Al salir de la ventana, una entrada solo entra en la zona principal si se ha pedido más veces
+ *       que la que tendría que expulsar. Las frecuencias se estiman con un Count-Min sketch de contadores
+ *       de 4 bits que se dividen por la mitad periódicamente, para que lo antiguo deje de pesar.</li>
+ *   <li>La zona principal es una LRU segmentada: las entradas pedidas una segunda vez pasan de
+ *       "en prueba" a "protegidas" (80% de la zona) y son las últimas en salir.</li>
+ * </ul>
+ * Además, cada entrada caduca un tiempo después de guardarse. La carga de un valor que no está
+ * se hace fuera del cerrojo; si mientras tanto se invalida la caché, el valor cargado se devuelve
+ * pero no se guarda, porque podría ser anterior al cambio.
+ *
+ * @param <K> El tipo de las claves.
+ * @param <V> El tipo de los valores.
+ */
+public class CacheTinyLfu<K, V> {
+
+    private static final int VENTANA = 0;
+    private static final int EN_PRUEBA = 1;
+    private static final int PROTEGIDA = 2;
+
+    private final String nombre;
+    private final int tamanioMaximo;
+    private final int maximoVentana;
+    private final int maximoPrincipal;
+    private final int maximoProtegidas;
+    private final long nanosVida;
+    private final LongSupplier reloj;
+    private final Frecuencias frecuencias;
+
+    private final Map<K, Entrada<K, V>> entradas = new HashMap<>();
+    // Los tres segmentos, del menos al más recientemente usado
+    private final LinkedHashMap<K, Entrada<K, V>> ventana = new LinkedHashMap<>();
+    private final LinkedHashMap<K, Entrada<K, V>> enPrueba = new LinkedHashMap<>();
+    private final LinkedHashMap<K, Entrada<K, V>> protegidas = new LinkedHashMap<>();
+
+    // Cambia con cada invalidación, para no guardar un valor cargado antes de ella
+    private long generacion;
+    private long aciertos;
+    private long fallos;
+    private long expulsiones;
+    private long caducadas;
+    private long invalidaciones;
+
+    /**
+     * @param nombre El nombre con el que aparece en las estadísticas.
+     * @param tamanioMaximo El número máximo de entradas; 0 desactiva la caché.
+     * @param segundosVida Cuántos segundos vale una entrada desde que se guarda.
+     */
+    public CacheTinyLfu(String nombre, int tamanioMaximo, int segundosVida) {
+        this(nombre, tamanioMaximo, segundosVida, System::nanoTime);
+    }
+
+    CacheTinyLfu(String nombre, int tamanioMaximo, int segundosVida, LongSupplier reloj) {
+        this.nombre = nombre;
+        this.tamanioMaximo = Math.max(0, tamanioMaximo);
+        this.maximoVentana = this.tamanioMaximo == 0 ? 0 : Math.max(1, this.tamanioMaximo / 100);
+        this.maximoPrincipal = this.tamanioMaximo - maximoVentana;
+        this.maximoProtegidas = maximoPrincipal * 8 / 10;
+        this.nanosVida = segundosVida * 1_000_000_000L;
+        this.reloj = reloj;
+        this.frecuencias = new Frecuencias(this.tamanioMaximo);
+    }
+
+    /**
+     * Devuelve el valor de la clave, cargándolo si no está o ha caducado.
+     *
+     * @param clave La clave buscada.
+     * @param cargar Cómo obtener el valor si no está; puede devolver null, y entonces no se guarda nada.
+     * @return El valor guardado o el recién cargado (null si {@code cargar} devolvió null).
+     */
+    public V obtener(K clave, Function<? super K, ? extends V> cargar) {
+        long generacionAlCargar;
+        synchronized (this) {
+            Entrada<K, V> entrada = leer(clave);
+            if (entrada != null) {
+                return entrada.valor;
+            }
+            generacionAlCargar = generacion;
+        }
+        V valor = cargar.apply(clave);
+        if (valor != null) {
+            synchronized (this) {
+                if (generacion == generacionAlCargar && !entradas.containsKey(clave) && tamanioMaximo > 0) {
+                    insertar(clave, valor);
+                }
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Devuelve el valor de la clave sin cargarlo. Cuenta como acierto o fallo igual que {@link #obtener}.
+     *
+     * @param clave La clave buscada.
+     * @return El valor guardado, o null si no está o ha caducado.
+     */
+    public synchronized V buscar(K clave) {
+        Entrada<K, V> entrada = leer(clave);
+        return entrada == null ? null : entrada.valor;
+    }
+
+    /**
+     * Guarda un valor que el llamante ya tiene, sustituyendo el anterior si lo había.
+     * Una clave nueva pasa por la misma admisión que las cargadas, así que puede no quedarse.
+     *
+     * @param clave La clave.
+     * @param valor El valor (no null).
+     */
+    public synchronized void guardar(K clave, V valor) {
+        Entrada<K, V> entrada = entradas.get(clave);
+        if (entrada != null) {
+            entrada.valor = valor;
+            entrada.guardadaEn = reloj.getAsLong();
+            usar(entrada);
+        } else if (tamanioMaximo > 0) {
+            insertar(clave, valor);
+        }
+    }
+
+    /**
+     * @param clave La clave buscada.
+     * @return true si está guardada y no ha caducado; no cuenta como acierto ni fallo.
+     */
+    public synchronized boolean contiene(K clave) {
+        Entrada<K, V> entrada = entradas.get(clave);
+        return entrada != null && reloj.getAsLong() - entrada.guardadaEn < nanosVida;
+    }
+
+    /**
+     * Quita una clave de la caché.
+     *
+     * @param clave La clave que ha cambiado.
+     */
+    public synchronized void invalidar(K clave) {
+        generacion++;
+        invalidaciones++;
+        Entrada<K, V> entrada = entradas.get(clave);
+        if (entrada != null) {
+            quitar(entrada);
+        }
+    }
+
+    /**
+     * Vacía la caché. Las frecuencias se conservan: siguen sirviendo para decidir qué guardar.
+     */
+    public synchronized void invalidarTodo() {
+        generacion++;
+        invalidaciones++;
+        entradas.clear();
+        ventana.clear();
+        enPrueba.clear();
+        protegidas.clear();
+    }
+
+    /**
+     * @return El número de entradas guardadas (incluidas las caducadas que aún no se han pedido).
+     */
+    public synchronized int getTamanio() {
+        return entradas.size();
+    }
+
+    /**
+     * @return Una copia de los contadores de la caché.
+     */
+    public synchronized EstadisticasCache getEstadisticas() {
+        return new EstadisticasCache(nombre, entradas.size(), tamanioMaximo, aciertos, fallos, expulsiones, caducadas, invalidaciones);
+    }
+
+    /**
+     * Registra la petición y devuelve la entrada si sigue vigente, quitándola si ha caducado.
+     */
+    private Entrada<K, V> leer(K clave) {
+        frecuencias.registrar(clave);
+        Entrada<K, V> entrada = entradas.get(clave);
+        if (entrada != null) {
+            if (reloj.getAsLong() - entrada.guardadaEn < nanosVida) {
+                aciertos++;
+                usar(entrada);
+                return entrada;
+            }
+            quitar(entrada);
+            caducadas++;
+        }
+        fallos++;
+        return null;
+    }
+
+    private void usar(Entrada<K, V> entrada) {
+        switch (entrada.segmento) {
+            case VENTANA -> alFinal(ventana, entrada);
+            case PROTEGIDA -> alFinal(protegidas, entrada);
+            default -> {
+                // Segunda vez que se pide desde la zona principal: pasa a protegida
+                enPrueba.remove(entrada.clave);
+                entrada.segmento = PROTEGIDA;
+                protegidas.put(entrada.clave, entrada);
+                if (protegidas.size() > maximoProtegidas) {
+                    Entrada<K, V> degradada = primera(protegidas);
+                    protegidas.remove(degradada.clave);
+                    degradada.segmento = EN_PRUEBA;
+                    enPrueba.put(degradada.clave, degradada);
+                }
+            }
+        }
+    }
+
+    private void insertar(K clave, V valor) {
+        Entrada<K, V> entrada = new Entrada<>(clave, valor, reloj.getAsLong());
+        entradas.put(clave, entrada);
+        ventana.put(clave, entrada);
+        if (ventana.size() > maximoVentana) {
+            Entrada<K, V> candidata = primera(ventana);
+            ventana.remove(candidata.clave);
+            admitir(candidata);
+        }
+    }
+
+    /**
+     * Decide si la entrada que sale de la ventana entra en la zona principal.
+     */
+    private void admitir(Entrada<K, V> candidata) {
+        if (enPrueba.size() + protegidas.size() < maximoPrincipal) {
+            candidata.segmento = EN_PRUEBA;
+            enPrueba.put(candidata.clave, candidata);
+            return;
+        }
+        Entrada<K, V> victima = enPrueba.isEmpty() ? (protegidas.isEmpty() ? null : primera(protegidas)) : primera(enPrueba);
+        if (victima != null && frecuencias.estimar(candidata.clave) > frecuencias.estimar(victima.clave)) {
+            quitar(victima);
+            candidata.segmento = EN_PRUEBA;
+            enPrueba.put(candidata.clave, candidata);
+        } else {
+            entradas.remove(candidata.clave);
+        }
+        expulsiones++;
+    }
+
+    private void quitar(Entrada<K, V> entrada) {
+        entradas.remove(entrada.clave);
+        switch (entrada.segmento) {
+            case VENTANA -> ventana.remove(entrada.clave);
+            case EN_PRUEBA -> enPrueba.remove(entrada.clave);
+            default -> protegidas.remove(entrada.clave);
+        }
+    }
+
+    private static <K, V> void alFinal(LinkedHashMap<K, Entrada<K, V>> segmento, Entrada<K, V> entrada) {
+        segmento.remove(entrada.clave);
+        segmento.put(entrada.clave, entrada);
+    }
+
+    private static <K, V> Entrada<K, V> primera(LinkedHashMap<K, Entrada<K, V>> segmento) {
+        Iterator<Entrada<K, V>> iterador = segmento.values().iterator();
+        return iterador.next();
+    }
+
+    private static final class Entrada<K, V> {
+        private final K clave;
+        private V valor;
+        private long guardadaEn;
+        private int segmento = VENTANA;
+
+        private Entrada(K clave, V valor, long guardadaEn) {
+            this.clave = clave;
+            this.valor = valor;
+            this.guardadaEn = guardadaEn;
+        }
+    }
+
+    /**
+     * Count-Min sketch: cuatro filas de contadores de 4 bits (16 por long) con un hash distinto cada una.
+     * La estimación es el mínimo de los cuatro contadores, que nunca es menor que la frecuencia real.
+     * Tras {@code 10 × ancho} registros todos los contadores se dividen por dos.
+     */
+    private static final class Frecuencias {
+
+        private static final long[] SEMILLAS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+        private static final long MITAD_SIN_ACARREO = 0x7777777777777777L;
+
+        private final long[][] filas = new long[SEMILLAS.length][];
+        private final int mascara;
+        private final int registrosHastaReducir;
+        private int registros;
+
+        private Frecuencias(int tamanioMaximo) {
+            // Un contador por entrada, redondeado a potencia de dos (mínimo 16, un long por fila)
+            int contadores = Integer.highestOneBit((Math.max(16, tamanioMaximo) - 1) << 1);
+            for (int i = 0; i < filas.length; i++) {
+                filas[i] = new long[contadores / 16];
+            }
+            this.mascara = contadores - 1;
+            this.registrosHastaReducir = 10 * contadores;
+        }
+
+        private void registrar(Object clave) {
+            int hash = clave.hashCode();
+            boolean incrementado = false;
+            for (int i = 0; i < filas.length; i++) {
+                int posicion = posicion(hash, i);
+                long palabra = filas[i][posicion >>> 4];
+                int desplazamiento = (posicion & 15) << 2;
+                if (((palabra >>> desplazamiento) & 0xF) < 15) {
+                    filas[i][posicion >>> 4] = palabra + (1L << desplazamiento);
+                    incrementado = true;
+                }
+            }
+            if (incrementado && ++registros >= registrosHastaReducir) {
+                reducir();
+            }
+        }
+
+        private int estimar(Object clave) {
+            int hash = clave.hashCode();
+            int minimo = 15;
+            for (int i = 0; i < filas.length; i++) {
+                int posicion = posicion(hash, i);
+                minimo = Math.min(minimo, (int) ((filas[i][posicion >>> 4] >>> ((posicion & 15) << 2)) & 0xF));
+            }
+            return minimo;
+        }
+
+        private void reducir() {
+            for (long[] fila : filas) {
+                for (int j = 0; j < fila.length; j++) {
+                    // Divide los 16 contadores a la vez, sin que un bit pase al contador de al lado
+                    fila[j] = (fila[j] >>> 1) & MITAD_SIN_ACARREO;
+                }
+            }
+            registros /= 2;
+        }
+
+        private int posicion(int hash, int fila) {
+            long mezcla = (hash + SEMILLAS[fila]) * SEMILLAS[(fila + 1) % SEMILLAS.length];
+            return (int) (mezcla ^ (mezcla >>> 32)) & mascara;
+        }
+    }
+}
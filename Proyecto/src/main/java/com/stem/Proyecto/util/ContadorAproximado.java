@@ -0,0 +1,39 @@
+package com.stem.Proyecto.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Guarda durante un tiempo el resultado de un COUNT(*) para no repetirlo en cada página.
+ * El valor puede estar desfasado como mucho {@code milisegundosValidez}, por eso es "aproximado".
+ */
+public class ContadorAproximado {
+
+    private final LongSupplier contador;
+    private final long milisegundosValidez;
+
+    private volatile long ultimoValor;
+    private volatile long caducaEn;
+
+    /**
+     * @param contador La función que calcula el total real (normalmente {@code repository::count}).
+     * @param segundosValidez Cuántos segundos se reutiliza el último valor calculado.
+     */
+    public ContadorAproximado(LongSupplier contador, int segundosValidez) {
+        this.contador = contador;
+        this.milisegundosValidez = segundosValidez * 1000L;
+    }
+
+    /**
+     * Devuelve el total guardado, o lo vuelve a calcular si ha caducado.
+     *
+     * @return El número aproximado de filas.
+     */
+    public long obtener() {
+        long ahora = System.currentTimeMillis();
+        if (ahora >= caducaEn) {
+            ultimoValor = contador.getAsLong();
+            caducaEn = ahora + milisegundosValidez;
+        }
+        return ultimoValor;
+    }
+}
@@ -0,0 +1,178 @@
+package com.stem.Proyecto.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import com.stem.Proyecto.dto.PaginaCursor;
+
+/**
+ * Utilidades para la paginación por cursor (keyset) de los listados.
+ * El cursor es la posición del último elemento devuelto codificada en Base64,
+ * de forma que pedir la página 1000 cuesta lo mismo que pedir la primera:
+ * la consulta empieza directamente en esa clave en lugar de saltarse filas con OFFSET.
+ */
+public final class CursorPaginacion {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private CursorPaginacion() {
+    }
+
+    /**
+     * Convierte el parámetro "orden" de la petición en un {@link Sort}.
+     * El formato es el nombre del campo, con un "-" delante para orden descendente
+     * (por ejemplo "apellido" o "-fecha"). El ID se añade siempre como desempate
+     * para que el orden sea estable aunque haya valores repetidos.
+     *
+     * @param orden El campo por el que ordenar, o null para ordenar por ID.
+     * @param camposPermitidos Los campos (no nulos) por los que se permite ordenar, con su tipo en Java.
+     * @return El orden a aplicar en la consulta.
+     * @throws IllegalArgumentException si el campo no está permitido.
+     */
+    public static Sort resolverOrden(String orden, Map<String, Class<?>> camposPermitidos) {
+        if (orden == null || orden.isBlank()) {
+            return Sort.by("id");
+        }
+        boolean descendente = orden.startsWith("-");
+        String campo = descendente ? orden.substring(1) : orden;
+        if (!camposPermitidos.containsKey(campo)) {
+            throw new IllegalArgumentException("No se puede ordenar por el campo: " + campo);
+        }
+        Sort.Direction direccion = descendente ? Sort.Direction.DESC : Sort.Direction.ASC;
+        if (campo.equals("id")) {
+            return Sort.by(direccion, "id");
+        }
+        return Sort.by(direccion, campo).and(Sort.by(direccion, "id"));
+    }
+
+    /**
+     * Transforma el cursor recibido del cliente en una posición de scroll.
+     * El cursor lo manda el cliente, así que cada clave se interpreta con el tipo de su campo
+     * y no con el que diga el propio cursor: un tipo distinto se rechaza aquí y no llega a la consulta.
+     *
+     * @param cursor El cursor devuelto en la página anterior, o null para empezar desde el principio.
+     * @param orden El orden de la consulta; las claves del cursor deben coincidir con sus campos.
+     * @param tipos El tipo en Java de cada campo del orden.
+     * @return La posición desde la que continuar.
+     * @throws IllegalArgumentException si el cursor no es válido o pertenece a otro orden.
+     */
+    public static ScrollPosition decodificar(String cursor, Sort orden, Map<String, Class<?>> tipos) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> claves = new LinkedHashMap<>();
+        try {
+            String texto = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            for (String parte : texto.split(",")) {
+                String[] trozos = parte.split(":", 3);
+                Class<?> tipo = tipos.get(trozos[0]);
+                if (tipo == null || !tipo(tipo).equals(trozos[1])) {
+                    throw new IllegalArgumentException("Clave de cursor no válida: " + trozos[0]);
+                }
+                String valor = new String(DECODER.decode(trozos[2]), StandardCharsets.UTF_8);
+                claves.put(trozos[0], convertir(tipo, valor));
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginación no válido", e);
+        }
+        Set<String> camposOrden = new HashSet<>();
+        orden.forEach(order -> camposOrden.add(order.getProperty()));
+        if (!camposOrden.equals(claves.keySet())) {
+            throw new IllegalArgumentException("El cursor no corresponde al orden solicitado");
+        }
+        return ScrollPosition.forward(claves);
+    }
+
+    /**
+     * Lee una clave de la posición decodificada comprobando su tipo.
+     *
+     * @param posicion La posición devuelta por {@link #decodificar(String, Sort, Map)}.
+     * @param campo El nombre de la clave.
+     * @param tipo El tipo que debe tener.
+     * @return El valor de la clave, o null si la posición es la inicial.
+     * @throws IllegalArgumentException si la clave falta o tiene otro tipo.
+     */
+    public static <T> T clave(ScrollPosition posicion, String campo, Class<T> tipo) {
+        if (!(posicion instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+        Object valor = keyset.getKeys().get(campo);
+        if (!tipo.isInstance(valor)) {
+            throw new IllegalArgumentException("El cursor no tiene una clave \"" + campo + "\" válida");
+        }
+        return tipo.cast(valor);
+    }
+
+    /**
+     * Construye la página de respuesta a partir de la ventana devuelta por el repositorio.
+     *
+     * @param ventana Los resultados de la consulta por keyset.
+     * @param totalAproximado El total aproximado de elementos, o null si no se pidió.
+     * @return La página con el cursor para continuar, si hay más elementos.
+     */
+    public static <T> PaginaCursor<T> aPagina(Window<T> ventana, Long totalAproximado) {
+        String siguiente = null;
+        if (ventana.hasNext() && !ventana.isEmpty()) {
+            siguiente = codificar(ventana.positionAt(ventana.size() - 1));
+        }
+        return new PaginaCursor<>(ventana.getContent(), siguiente, ventana.hasNext(), totalAproximado);
+    }
+
+    /**
+     * Codifica una posición de keyset como texto opaco para el cliente.
+     * Cada clave se guarda como "campo:tipo:valor" para poder reconstruir el tipo original.
+     *
+     * @param posicion La posición del último elemento devuelto.
+     * @return El cursor codificado en Base64 (apto para URLs).
+     */
+    public static String codificar(ScrollPosition posicion) {
+        if (!(posicion instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Solo se admiten posiciones de tipo keyset");
+        }
+        StringBuilder texto = new StringBuilder();
+        for (Map.Entry<String, Object> clave : keyset.getKeys().entrySet()) {
+            if (texto.length() > 0) {
+                texto.append(',');
+            }
+            texto.append(clave.getKey()).append(':')
+                 .append(tipo(clave.getValue())).append(':')
+                 .append(ENCODER.encodeToString(String.valueOf(clave.getValue()).getBytes(StandardCharsets.UTF_8)));
+        }
+        return ENCODER.encodeToString(texto.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String tipo(Object valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Clave nula en el cursor");
+        }
+        return tipo(valor.getClass());
+    }
+
+    private static String tipo(Class<?> clase) {
+        if (clase == Long.class) return "L";
+        if (clase == Integer.class) return "I";
+        if (clase == Double.class) return "F";
+        if (clase == LocalDate.class) return "D";
+        if (clase == String.class) return "S";
+        throw new IllegalArgumentException("Tipo de clave no soportado en el cursor: " + clase.getSimpleName());
+    }
+
+    private static Object convertir(Class<?> tipo, String valor) {
+        if (tipo == Long.class) return Long.valueOf(valor);
+        if (tipo == Integer.class) return Integer.valueOf(valor);
+        if (tipo == Double.class) return Double.valueOf(valor);
+        if (tipo == LocalDate.class) return LocalDate.parse(valor);
+        return valor;
+    }
+}
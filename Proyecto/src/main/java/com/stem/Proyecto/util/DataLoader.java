@@ -4,11 +4,14 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Random;
 
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import com.github.javafaker.Faker;
@@ -21,8 +24,14 @@ import com.stem.Proyecto.repository.EquipoRepository;
 import com.stem.Proyecto.repository.JugadorRepository;
 import com.stem.Proyecto.repository.LogroRepository;
 import com.stem.Proyecto.repository.PartidoRepository;
+import com.stem.Proyecto.service.AutocompletadoService;
+import com.stem.Proyecto.service.BusquedaJugadoresService;
+import com.stem.Proyecto.service.BusquedaLogrosService;
+import com.stem.Proyecto.service.ClasificacionService;
+import com.stem.Proyecto.service.JugadorService;
 
 @Component
+@Order(1)
 public class DataLoader implements CommandLineRunner {
 
     private final EquipoRepository equipoRepository;
@@ -30,10 +39,21 @@ public class DataLoader implements CommandLineRunner {
     private final LogroRepository logroRepository;
     private final PartidoRepository partidoRepository;
 
-    private final InitializationConfig config;
+    private final JugadorService jugadorService;
 
-    private final Faker faker = new Faker(new Locale("es"));
-    private final Random random = new Random();
+    private final InitializationConfig config;
+    private final GeneradorDatosEscalados generadorDatosEscalados;
+    private final VersionesTablas versionesTablas;
+
+    // Estructuras en memoria que una consulta durante la carga puede haber construido con datos a medias
+    private final ClasificacionService clasificacionService;
+    private final BusquedaJugadoresService busquedaJugadores;
+    private final BusquedaLogrosService busquedaLogros;
+    private final AutocompletadoService autocompletado;
+    private final CacheEntidades cacheEntidades;
+
+    private final Random random;
+    private final Faker faker;
     private final LocalDate hoy = LocalDate.now();
 
     private final List<String> ciudadesNBA = List.of("Los Angeles", "Boston", "Chicago", "Miami", "Golden State", "Cleveland", "Houston", "Dallas", "Denver", "Milwaukee");
@@ -50,12 +70,26 @@ public class DataLoader implements CommandLineRunner {
 
 
     public DataLoader(EquipoRepository equipoRepository, JugadorRepository jugadorRepository, LogroRepository logroRepository, PartidoRepository partidoRepository,
-                      InitializationConfig config) {
+                      JugadorService jugadorService, InitializationConfig config, GeneradorDatosEscalados generadorDatosEscalados,
+                      VersionesTablas versionesTablas, ClasificacionService clasificacionService,
+                      BusquedaJugadoresService busquedaJugadores, BusquedaLogrosService busquedaLogros,
+                      AutocompletadoService autocompletado, CacheEntidades cacheEntidades) {
         this.equipoRepository = equipoRepository;
         this.jugadorRepository = jugadorRepository;
         this.logroRepository = logroRepository;
         this.partidoRepository = partidoRepository;
+        this.jugadorService = jugadorService;
         this.config = config;
+        this.generadorDatosEscalados = generadorDatosEscalados;
+        this.versionesTablas = versionesTablas;
+        this.clasificacionService = clasificacionService;
+        this.busquedaJugadores = busquedaJugadores;
+        this.busquedaLogros = busquedaLogros;
+        this.autocompletado = autocompletado;
+        this.cacheEntidades = cacheEntidades;
+        // Con la misma semilla se generan siempre los mismos datos
+        this.random = new Random(config.getSemilla());
+        this.faker = new Faker(new Locale("es"), random);
     }
 
     @Override
@@ -67,6 +101,13 @@ public class DataLoader implements CommandLineRunner {
             return;
         }
 
+        if (config.getFactorEscala() > 0) {
+            generadorDatosEscalados.generar();
+            datosCargados();
+            System.out.println("\n🎉 Datos iniciales de la NBA generados y persistidos correctamente. ¡La aplicación está lista! 🎉");
+            return;
+        }
+
         System.out.println("Iniciando la generación de datos iniciales de la NBA con la siguiente configuración:");
         System.out.println("  - Equipos a generar: " + config.getNumeroDeEquipos());
         System.out.println("  - Jugadores por equipo: entre " + config.getJugadoresMinPorEquipo() + " y " + config.getJugadoresMaxPorEquipo());
@@ -103,7 +144,7 @@ public class DataLoader implements CommandLineRunner {
                 java.time.LocalDate fechaNacimiento = faker.date().birthday(config.getEdadMinJugador(), config.getEdadMaxJugador()).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
                 Integer alturaCm = faker.number().numberBetween(config.getAlturaMinCmJugador(), config.getAlturaMaxCmJugador());
                 Integer pesoKg = faker.number().numberBetween(config.getPesoMinKgJugador(), config.getPesoMaxKgJugador());
-                String posicion = posicionesJugador[(int) (Math.random() * posicionesJugador.length)];
+                String posicion = posicionesJugador[random.nextInt(posicionesJugador.length)];
                 Integer numeroCamiseta = faker.number().numberBetween(0, 99);
                 Boolean activo = faker.bool().bool();
 
@@ -127,16 +168,16 @@ public class DataLoader implements CommandLineRunner {
         logroRepository.saveAll(logros);
         System.out.println("✅ " + logros.size() + " logros generados y guardados.");
 
+        // Se agrupan los jugadores por logro y cada grupo se inserta con una sola sentencia en jugadores_logros
+        Map<Long, List<Long>> jugadoresPorLogro = new LinkedHashMap<>();
         for (Jugador jugador : jugadores) {
             int numLogrosAsignar = random.nextInt(config.getMaxLogrosPorJugador() + 1);
             for (int i = 0; i < numLogrosAsignar; i++) {
                 Logro logroAleatorio = logros.get(random.nextInt(logros.size()));
-                if (!jugador.getLogros().contains(logroAleatorio)) {
-                    jugador.addLogro(logroAleatorio);
-                }
+                jugadoresPorLogro.computeIfAbsent(logroAleatorio.getId(), id -> new ArrayList<>()).add(jugador.getId());
             }
-            jugadorRepository.save(jugador);
         }
+        jugadoresPorLogro.forEach(jugadorService::addLogroToJugadores);
         System.out.println("✅ Logros asignados aleatoriamente a jugadores.");
 
         List<Partido> partidos = new ArrayList<>();
@@ -159,7 +200,21 @@ public class DataLoader implements CommandLineRunner {
         }
         partidoRepository.saveAll(partidos);
         System.out.println("✅ " + partidos.size() + " partidos generados y guardados.");
+        datosCargados();
 
         System.out.println("\n🎉 Datos iniciales de la NBA generados y persistidos correctamente. ¡La aplicación está lista! 🎉");
     }
-}
\ No newline at end of file
+
+    // El servidor ya atiende peticiones mientras se cargan los datos, y la carga escribe con los repositorios,
+    // sin los avisos de los servicios: se descarta todo lo que una consulta haya podido construir a medias
+    // (se reconstruye en la siguiente) y después se cambian las versiones, para que ningún ETag siga valiendo
+    private void datosCargados() {
+        clasificacionService.invalidar();
+        busquedaJugadores.invalidar();
+        busquedaLogros.invalidar();
+        autocompletado.invalidarTodo();
+        cacheEntidades.invalidarTodo();
+        versionesTablas.cambiado(VersionesTablas.EQUIPOS, VersionesTablas.JUGADORES,
+                VersionesTablas.LOGROS, VersionesTablas.PARTIDOS);
+    }
+}
@@ -0,0 +1,214 @@
+package com.stem.Proyecto.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Escritor de CSV (RFC 4180, en UTF-8, filas terminadas en LF) que compone las filas en un búfer directo
+ * y lo vuelca en el canal cuando se llena: con un {@link java.nio.channels.FileChannel} los bytes
+ * pasan al archivo sin copias intermedias. Los números, las fechas y las horas se escriben dígito a dígito,
+ * sin crear un String por campo. No es seguro para varios hilos.
+ */
+public class EscritorCsv implements Closeable {
+
+    private final WritableByteChannel canal;
+    private final ByteBuffer bufer;
+    private boolean primerCampo = true;
+    private long bytesEscritos;
+
+    /**
+     * @param canal Donde se escriben las filas. No se cierra al cerrar el escritor.
+     * @param tamanioBufer Los bytes que se acumulan antes de escribir en el canal.
+     */
+    public EscritorCsv(WritableByteChannel canal, int tamanioBufer) {
+        this.canal = canal;
+        this.bufer = ByteBuffer.allocateDirect(tamanioBufer);
+    }
+
+    /** Escribe un texto, entre comillas si contiene comas, comillas o saltos de línea. Null se escribe vacío. */
+    public EscritorCsv texto(String texto) throws IOException {
+        separador();
+        if (texto != null && !texto.isEmpty()) {
+            poner(codificar(texto));
+        }
+        return this;
+    }
+
+    /**
+     * Escribe un campo ya codificado con {@link #codificar(String)}, para los textos que se repiten mucho
+     * (por ejemplo, las abreviaturas de los equipos): se codifican una vez y se copian en cada fila.
+     */
+    public EscritorCsv codificado(byte[] campo) throws IOException {
+        separador();
+        poner(campo);
+        return this;
+    }
+
+    /**
+     * @param texto Un texto, o null.
+     * @return El campo tal y como se escribe en el CSV: el texto en UTF-8, entre comillas (y con las comillas duplicadas)
+     * si contiene comas, comillas o saltos de línea. Null da un campo vacío.
+     */
+    public static byte[] codificar(String texto) {
+        if (texto == null) {
+            return new byte[0];
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        int comillas = 0;
+        boolean especial = false;
+        for (byte b : bytes) {
+            if (b == '"') {
+                comillas++;
+            }
+            especial |= b == ',' || b == '"' || b == '\n' || b == '\r';
+        }
+        if (!especial) {
+            return bytes;
+        }
+        byte[] campo = new byte[bytes.length + comillas + 2];
+        int n = 0;
+        campo[n++] = '"';
+        for (byte b : bytes) {
+            campo[n++] = b;
+            if (b == '"') {
+                campo[n++] = b;
+            }
+        }
+        campo[n] = '"';
+        return campo;
+    }
+
+    /** Escribe un número entero. Null se escribe vacío. */
+    public EscritorCsv entero(Long numero) throws IOException {
+        separador();
+        if (numero != null) {
+            digitos(numero);
+        }
+        return this;
+    }
+
+    /** Escribe un número entero. Null se escribe vacío. */
+    public EscritorCsv entero(Integer numero) throws IOException {
+        separador();
+        if (numero != null) {
+            digitos(numero);
+        }
+        return this;
+    }
+
+    /** Escribe una fecha en formato ISO (aaaa-mm-dd). Null se escribe vacía. */
+    public EscritorCsv fecha(LocalDate fecha) throws IOException {
+        separador();
+        if (fecha != null) {
+            relleno(fecha.getYear(), 4);
+            poner((byte) '-');
+            relleno(fecha.getMonthValue(), 2);
+            poner((byte) '-');
+            relleno(fecha.getDayOfMonth(), 2);
+        }
+        return this;
+    }
+
+    /** Escribe una hora como hh:mm, o hh:mm:ss si tiene segundos. Null se escribe vacía. */
+    public EscritorCsv hora(LocalTime hora) throws IOException {
+        separador();
+        if (hora != null) {
+            relleno(hora.getHour(), 2);
+            poner((byte) ':');
+            relleno(hora.getMinute(), 2);
+            if (hora.getSecond() != 0) {
+                poner((byte) ':');
+                relleno(hora.getSecond(), 2);
+            }
+        }
+        return this;
+    }
+
+    /** Termina la fila actual. */
+    public void finFila() throws IOException {
+        poner((byte) '\n');
+        primerCampo = true;
+    }
+
+    /** @return Los bytes escritos hasta ahora, incluidos los que aún están en el búfer. */
+    public long getBytesEscritos() {
+        return bytesEscritos;
+    }
+
+    /** Escribe en el canal lo que queda en el búfer. */
+    public void vaciar() throws IOException {
+        bufer.flip();
+        while (bufer.hasRemaining()) {
+            canal.write(bufer);
+        }
+        bufer.clear();
+    }
+
+    /** Vacía el búfer; el canal sigue abierto. */
+    @Override
+    public void close() throws IOException {
+        vaciar();
+    }
+
+    private void separador() throws IOException {
+        if (!primerCampo) {
+            poner((byte) ',');
+        }
+        primerCampo = false;
+    }
+
+    private void digitos(long numero) throws IOException {
+        if (numero < 0) {
+            poner((byte) '-');
+            if (numero == Long.MIN_VALUE) {
+                poner(Long.toString(numero).substring(1).getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            numero = -numero;
+        }
+        long divisor = 1;
+        while (numero / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            poner((byte) ('0' + numero / divisor % 10));
+        }
+    }
+
+    // Escribe un número no negativo con ceros a la izquierda hasta ocupar al menos esas cifras
+    private void relleno(int numero, int cifras) throws IOException {
+        int divisor = 1;
+        for (int i = 1; i < cifras || numero / divisor >= 10; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            poner((byte) ('0' + numero / divisor % 10));
+        }
+    }
+
+    private void poner(byte b) throws IOException {
+        if (!bufer.hasRemaining()) {
+            vaciar();
+        }
+        bufer.put(b);
+        bytesEscritos++;
+    }
+
+    private void poner(byte[] bytes) throws IOException {
+        int desde = 0;
+        while (desde < bytes.length) {
+            if (!bufer.hasRemaining()) {
+                vaciar();
+            }
+            int n = Math.min(bufer.remaining(), bytes.length - desde);
+            bufer.put(bytes, desde, n);
+            desde += n;
+        }
+        bytesEscritos += bytes.length;
+    }
+}
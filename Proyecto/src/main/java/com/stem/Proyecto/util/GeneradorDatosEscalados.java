@@ -0,0 +1,268 @@
+package com.stem.Proyecto.util;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.github.javafaker.Faker;
+import com.stem.Proyecto.config.InitializationConfig;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.entity.Logro;
+import com.stem.Proyecto.entity.Partido;
+import com.stem.Proyecto.repository.EquipoRepository;
+import com.stem.Proyecto.repository.JugadorRepository;
+import com.stem.Proyecto.repository.LogroRepository;
+import com.stem.Proyecto.repository.PartidoRepository;
+
+/**
+ * Genera ligas sintéticas grandes a partir de un factor de escala y una semilla.
+ * <p>
+ * Con factor 1 se crean 1.000 equipos, 500.000 jugadores y 5.000.000 de partidos
+ * (y 1.000 logros); con factor 0,01, cien veces menos. Cada fila se genera con un
+ * {@link Random} inicializado a partir de la semilla, del tipo de entidad y de su posición,
+ * así que el resultado no depende del número de hilos: la misma semilla y la misma
+ * configuración producen siempre los mismos datos, con los mismos IDs.
+ * <p>
+ * Los bloques de filas se generan en paralelo y se guardan en orden, bloque a bloque,
+ * con inserciones por lotes. Solo se mantienen en memoria los equipos, los logros
+ * y los bloques que se están generando en ese momento.
+ */
+@Component
+public class GeneradorDatosEscalados {
+
+    // Tamaño de la liga con factor de escala 1
+    private static final int EQUIPOS_POR_FACTOR = 1_000;
+    private static final int JUGADORES_POR_FACTOR = 500_000;
+    private static final int PARTIDOS_POR_FACTOR = 5_000_000;
+    private static final int LOGROS_POR_FACTOR = 1_000;
+
+    // Las abreviaturas tienen 3 letras, así que como mucho hay 26^3 equipos distintos
+    private static final int MAXIMO_EQUIPOS = 26 * 26 * 26;
+
+    // Fechas fijas para que los datos no dependan del día en que se generan
+    private static final LocalDate INICIO_PARTIDOS = LocalDate.of(2000, 10, 1);
+    private static final LocalDate FECHA_REFERENCIA_EDAD = LocalDate.of(2025, 1, 1);
+
+    private static final long TIPO_EQUIPO = 1;
+    private static final long TIPO_LOGRO = 2;
+    private static final long TIPO_JUGADOR = 3;
+    private static final long TIPO_PARTIDO = 4;
+
+    private static final String[] APODOS = {"Toros", "Halcones", "Leones", "Tiburones", "Lobos", "Águilas", "Osos", "Panteras",
+            "Rayos", "Titanes", "Piratas", "Dragones", "Jaguares", "Cóndores", "Linces", "Vaqueros"};
+    private static final String[] NOMBRES_LOGROS = {"MVP de la Temporada", "Jugador All-Star", "Mejor Entrenador/a",
+            "MVP de las Finales", "Defensor del Año", "Sexto Hombre del Año", "Jugador Más Mejorado", "Novato del Año",
+            "Máximo Anotador", "Líder en Asistencias", "Líder en Rebotes"};
+    private static final String[] POSICIONES = {"Base", "Escolta", "Alero", "Ala-Pívot", "Pívot"};
+
+    private final EquipoRepository equipoRepository;
+    private final JugadorRepository jugadorRepository;
+    private final LogroRepository logroRepository;
+    private final PartidoRepository partidoRepository;
+    private final InitializationConfig config;
+
+    public GeneradorDatosEscalados(EquipoRepository equipoRepository, JugadorRepository jugadorRepository, LogroRepository logroRepository,
+                                   PartidoRepository partidoRepository, InitializationConfig config) {
+        this.equipoRepository = equipoRepository;
+        this.jugadorRepository = jugadorRepository;
+        this.logroRepository = logroRepository;
+        this.partidoRepository = partidoRepository;
+        this.config = config;
+    }
+
+    /**
+     * Un generador aleatorio por hilo. Faker usa el mismo {@link Random},
+     * de modo que basta con cambiar su semilla antes de generar cada fila.
+     */
+    private static final class Azar {
+        private final Random random = new Random();
+        private final Faker faker = new Faker(new Locale("es"), random);
+    }
+
+    /** Crea una fila a partir de su posición y del generador aleatorio ya inicializado para ella. */
+    @FunctionalInterface
+    private interface Fabrica<T> {
+        T crear(int indice, Azar azar);
+    }
+
+    /**
+     * Genera y guarda la liga completa según el factor de escala configurado.
+     *
+     * @throws IllegalArgumentException si la configuración pide más equipos de los posibles o menos de dos.
+     */
+    public void generar() {
+        double factor = config.getFactorEscala();
+        int numEquipos = escalar(EQUIPOS_POR_FACTOR, factor);
+        int numLogros = Math.max(NOMBRES_LOGROS.length, escalar(LOGROS_POR_FACTOR, factor));
+        int numJugadores = escalar(JUGADORES_POR_FACTOR, factor);
+        int numPartidos = escalar(PARTIDOS_POR_FACTOR, factor);
+        if (numEquipos < 2 || numEquipos > MAXIMO_EQUIPOS) {
+            throw new IllegalArgumentException("El factor de escala " + factor + " da " + numEquipos
+                    + " equipos; debe haber entre 2 y " + MAXIMO_EQUIPOS);
+        }
+        int hilos = config.getHilosGeneracion() > 0 ? config.getHilosGeneracion() : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Generando una liga con factor de escala " + factor + " (semilla " + config.getSemilla() + ", " + hilos + " hilos):");
+        System.out.printf("  - %,d equipos, %,d logros, %,d jugadores y %,d partidos%n", numEquipos, numLogros, numJugadores, numPartidos);
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        ThreadLocal<Azar> azarPorHilo = ThreadLocal.withInitial(Azar::new);
+        try {
+            List<Equipo> equipos = new ArrayList<>(numEquipos);
+            generarEnParalelo("equipos", TIPO_EQUIPO, numEquipos, ejecutor, hilos, azarPorHilo,
+                    this::crearEquipo, bloque -> equipos.addAll(equipoRepository.saveAll(bloque)));
+
+            List<Logro> logros = new ArrayList<>(numLogros);
+            generarEnParalelo("logros", TIPO_LOGRO, numLogros, ejecutor, hilos, azarPorHilo,
+                    this::crearLogro, bloque -> logros.addAll(logroRepository.saveAll(bloque)));
+
+            generarEnParalelo("jugadores", TIPO_JUGADOR, numJugadores, ejecutor, hilos, azarPorHilo,
+                    (indice, azar) -> crearJugador(azar, equipos, logros), jugadorRepository::saveAll);
+
+            int partidosPorDia = Math.max(1, numEquipos / 2);
+            generarEnParalelo("partidos", TIPO_PARTIDO, numPartidos, ejecutor, hilos, azarPorHilo,
+                    (indice, azar) -> crearPartido(indice, azar, equipos, partidosPorDia), partidoRepository::saveAll);
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Genera {@code total} filas en bloques repartidos entre los hilos y las guarda en orden.
+     * Como mucho hay {@code 2 * hilos} bloques en memoria a la vez.
+     */
+    private <T> void generarEnParalelo(String entidad, long tipo, int total, ExecutorService ejecutor, int hilos,
+                                       ThreadLocal<Azar> azarPorHilo, Fabrica<T> fabrica, Consumer<List<T>> guardar) {
+        int tamanioBloque = Math.max(1, config.getTamanioBloqueGeneracion());
+        long semilla = config.getSemilla();
+        long inicio = System.nanoTime();
+        Deque<Future<List<T>>> pendientes = new ArrayDeque<>();
+        int siguiente = 0;
+        try {
+            while (siguiente < total || !pendientes.isEmpty()) {
+                while (siguiente < total && pendientes.size() < 2 * hilos) {
+                    int desde = siguiente;
+                    int hasta = (int) Math.min((long) desde + tamanioBloque, total);
+                    pendientes.add(ejecutor.submit(() -> {
+                        Azar azar = azarPorHilo.get();
+                        List<T> bloque = new ArrayList<>(hasta - desde);
+                        for (int i = desde; i < hasta; i++) {
+                            azar.random.setSeed(semillaFila(semilla, tipo, i));
+                            bloque.add(fabrica.crear(i, azar));
+                        }
+                        return bloque;
+                    }));
+                    siguiente = hasta;
+                }
+                guardar.accept(pendientes.poll().get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error al generar " + entidad, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generación de " + entidad + " interrumpida", e);
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.printf("✅ %,d %s generados y guardados en %.1f s (%,.0f filas/s)%n",
+                total, entidad, segundos, total / Math.max(segundos, 1e-9));
+    }
+
+    private Equipo crearEquipo(int indice, Azar azar) {
+        String abreviatura = abreviatura(indice);
+        String ciudad = azar.faker.address().city();
+        String nombre = ciudad + " " + APODOS[azar.random.nextInt(APODOS.length)] + " (" + abreviatura + ")";
+        int anioFundacion = entre(azar.random, config.getAnioFundacionMinEquipo(), config.getAnioFundacionMaxEquipo());
+        String pabellon = "Pabellón " + azar.faker.name().lastName();
+        return new Equipo(nombre, ciudad, abreviatura, anioFundacion, pabellon, azar.faker.name().fullName());
+    }
+
+    private Logro crearLogro(int indice, Azar azar) {
+        // El año forma parte del nombre para que cada logro sea único
+        int anio = 1950 + indice / NOMBRES_LOGROS.length;
+        String nombre = NOMBRES_LOGROS[indice % NOMBRES_LOGROS.length] + " " + anio;
+        return new Logro(nombre, azar.faker.lorem().sentence(), anio);
+    }
+
+    private Jugador crearJugador(Azar azar, List<Equipo> equipos, List<Logro> logros) {
+        Random random = azar.random;
+        int edadEnDias = entre(random, config.getEdadMinJugador() * 365, config.getEdadMaxJugador() * 365);
+        Jugador jugador = new Jugador(
+                azar.faker.name().firstName(),
+                azar.faker.name().lastName(),
+                FECHA_REFERENCIA_EDAD.minusDays(edadEnDias),
+                entre(random, config.getAlturaMinCmJugador(), config.getAlturaMaxCmJugador()),
+                entre(random, config.getPesoMinKgJugador(), config.getPesoMaxKgJugador()),
+                POSICIONES[random.nextInt(POSICIONES.length)],
+                random.nextInt(100),
+                random.nextBoolean());
+        jugador.setEquipo(equipos.get(random.nextInt(equipos.size())));
+        // Solo se rellena el lado propietario: los logros ya guardados no tienen cargada su lista de jugadores
+        int numLogros = random.nextInt(config.getMaxLogrosPorJugador() + 1);
+        for (int i = 0; i < numLogros; i++) {
+            jugador.getLogros().add(logros.get(random.nextInt(logros.size())));
+        }
+        return jugador;
+    }
+
+    private Partido crearPartido(int indice, Azar azar, List<Equipo> equipos, int partidosPorDia) {
+        Random random = azar.random;
+        int local = random.nextInt(equipos.size());
+        int visitante = (local + 1 + random.nextInt(equipos.size() - 1)) % equipos.size();
+        LocalDate fecha = INICIO_PARTIDOS.plusDays(indice / partidosPorDia);
+        Equipo equipoLocal = equipos.get(local);
+        return new Partido(
+                fecha,
+                LocalTime.of(entre(random, 19, 23), random.nextInt(60)),
+                entre(random, config.getPuntuacionMinPartido(), config.getPuntuacionMaxPartido()),
+                entre(random, config.getPuntuacionMinPartido(), config.getPuntuacionMaxPartido()),
+                temporada(fecha),
+                equipoLocal.getPabellon(),
+                equipoLocal,
+                equipos.get(visitante));
+    }
+
+    private static int escalar(int base, double factor) {
+        return (int) Math.round(base * factor);
+    }
+
+    private static int entre(Random random, int minimo, int maximo) {
+        return minimo + random.nextInt(maximo - minimo + 1);
+    }
+
+    /** La temporada empieza en octubre: un partido de marzo de 2005 es de la temporada "2004-2005". */
+    private static String temporada(LocalDate fecha) {
+        int anioInicio = fecha.getMonthValue() >= 10 ? fecha.getYear() : fecha.getYear() - 1;
+        return anioInicio + "-" + (anioInicio + 1);
+    }
+
+    /** Abreviatura de tres letras única para cada posición: 0 → "AAA", 1 → "AAB", ... */
+    private static String abreviatura(int indice) {
+        char[] letras = new char[3];
+        for (int i = 2; i >= 0; i--) {
+            letras[i] = (char) ('A' + indice % 26);
+            indice /= 26;
+        }
+        return new String(letras);
+    }
+
+    /** Mezcla la semilla, el tipo de entidad y la posición de la fila (función de mezcla de SplitMix64). */
+    private static long semillaFila(long semilla, long tipo, long indice) {
+        long z = semilla + tipo * 0x9E3779B97F4A7C15L + indice * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,173 @@
+package com.stem.Proyecto.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.stem.Proyecto.dto.FilaClasificacion;
+import com.stem.Proyecto.dto.PosicionEnFecha;
+
+/**
+ * Clasificación de una temporada a cada fecha con partidos, precalculada.
+ * Para cada fecha guarda el balance acumulado de cada equipo hasta ese día (sumas prefijas)
+ * y el orden de la clasificación, así que consultar la tabla a una fecha es una búsqueda binaria
+ * más recorrer los equipos, y la evolución de un equipo es leer una columna.
+ * <p>
+ * Es inmutable: la construye {@link TablaClasificacion#historial()} y se descarta entera
+ * cuando cambia algún partido de la temporada.
+ */
+public class HistorialClasificacion {
+
+    // Campos del balance acumulado de cada equipo, en este orden
+    private static final int VICTORIAS = 0;
+    private static final int DERROTAS = 1;
+    private static final int JUGADOS = 2;
+    private static final int PUNTOS_A_FAVOR = 3;
+    private static final int PUNTOS_EN_CONTRA = 4;
+    private static final int VICTORIAS_LOCAL = 5;
+    private static final int DERROTAS_LOCAL = 6;
+    private static final int VICTORIAS_VISITANTE = 7;
+    private static final int DERROTAS_VISITANTE = 8;
+    private static final int CAMPOS = 9;
+
+    private final LocalDate[] fechas;
+    private final Long[] equipoIds;
+    private final String[] nombres;
+    private final Map<Long, Integer> indiceEquipo = new HashMap<>();
+
+    /** [fecha][equipo * CAMPOS + campo]: balance de cada equipo al terminar esa fecha. */
+    private final int[][] acumulado;
+
+    /** [fecha][i]: índice del equipo que va i-ésimo ese día (solo los que ya han jugado). */
+    private final int[][] orden;
+
+    /** [fecha][equipo]: posición del equipo ese día, o 0 si todavía no ha jugado. */
+    private final int[][] posiciones;
+
+    HistorialClasificacion(Collection<TablaClasificacion.Resultado> resultados, Map<Long, String> nombresEquipo) {
+        List<TablaClasificacion.Resultado> porFecha = new ArrayList<>(resultados);
+        porFecha.sort(Comparator.comparing((TablaClasificacion.Resultado r) -> r.fecha));
+
+        equipoIds = nombresEquipo.keySet().toArray(new Long[0]);
+        nombres = new String[equipoIds.length];
+        for (int i = 0; i < equipoIds.length; i++) {
+            indiceEquipo.put(equipoIds[i], i);
+            nombres[i] = nombresEquipo.get(equipoIds[i]);
+        }
+
+        fechas = porFecha.stream().map(r -> r.fecha).distinct().toArray(LocalDate[]::new);
+        acumulado = new int[fechas.length][];
+        orden = new int[fechas.length][];
+        posiciones = new int[fechas.length][];
+
+        int[] balance = new int[equipoIds.length * CAMPOS];
+        int siguiente = 0;
+        for (int d = 0; d < fechas.length; d++) {
+            while (siguiente < porFecha.size() && porFecha.get(siguiente).fecha.equals(fechas[d])) {
+                sumar(balance, porFecha.get(siguiente++));
+            }
+            acumulado[d] = balance.clone();
+            ordenar(d);
+        }
+    }
+
+    private void sumar(int[] balance, TablaClasificacion.Resultado r) {
+        int local = indiceEquipo.get(r.localId) * CAMPOS;
+        int visitante = indiceEquipo.get(r.visitanteId) * CAMPOS;
+        balance[local + JUGADOS]++;
+        balance[visitante + JUGADOS]++;
+        balance[local + PUNTOS_A_FAVOR] += r.puntosLocal;
+        balance[local + PUNTOS_EN_CONTRA] += r.puntosVisitante;
+        balance[visitante + PUNTOS_A_FAVOR] += r.puntosVisitante;
+        balance[visitante + PUNTOS_EN_CONTRA] += r.puntosLocal;
+        if (r.puntosLocal > r.puntosVisitante) {
+            balance[local + VICTORIAS]++;
+            balance[local + VICTORIAS_LOCAL]++;
+            balance[visitante + DERROTAS]++;
+            balance[visitante + DERROTAS_VISITANTE]++;
+        } else if (r.puntosLocal < r.puntosVisitante) {
+            balance[local + DERROTAS]++;
+            balance[local + DERROTAS_LOCAL]++;
+            balance[visitante + VICTORIAS]++;
+            balance[visitante + VICTORIAS_VISITANTE]++;
+        }
+    }
+
+    /** Ordena la clasificación de la fecha {@code d} con el mismo criterio que la tabla actual. */
+    private void ordenar(int d) {
+        List<FilaClasificacion> filas = new ArrayList<>();
+        for (int e = 0; e < equipoIds.length; e++) {
+            if (acumulado[d][e * CAMPOS + JUGADOS] > 0) {
+                filas.add(fila(d, e, 0));
+            }
+        }
+        TablaClasificacion.numerar(filas);
+        orden[d] = new int[filas.size()];
+        posiciones[d] = new int[equipoIds.length];
+        for (FilaClasificacion fila : filas) {
+            int e = indiceEquipo.get(fila.getEquipoId());
+            orden[d][fila.getPosicion() - 1] = e;
+            posiciones[d][e] = fila.getPosicion();
+        }
+    }
+
+    private FilaClasificacion fila(int d, int e, int posicion) {
+        int[] b = acumulado[d];
+        int base = e * CAMPOS;
+        return new FilaClasificacion(posicion, equipoIds[e], nombres[e], b[base + VICTORIAS], b[base + DERROTAS],
+                b[base + JUGADOS] - b[base + VICTORIAS] - b[base + DERROTAS], b[base + PUNTOS_A_FAVOR], b[base + PUNTOS_EN_CONTRA],
+                b[base + VICTORIAS_LOCAL], b[base + DERROTAS_LOCAL], b[base + VICTORIAS_VISITANTE], b[base + DERROTAS_VISITANTE]);
+    }
+
+    /**
+     * Devuelve la clasificación tal como estaba al terminar un día, contando sus partidos.
+     *
+     * @param fecha El día que se quiere consultar.
+     * @return Las filas de primero a último; vacía si antes de ese día no se había jugado ningún partido.
+     */
+    public List<FilaClasificacion> alDia(LocalDate fecha) {
+        int d = ultimaFechaHasta(fecha);
+        if (d < 0) {
+            return List.of();
+        }
+        List<FilaClasificacion> filas = new ArrayList<>(orden[d].length);
+        for (int i = 0; i < orden[d].length; i++) {
+            filas.add(fila(d, orden[d][i], i + 1));
+        }
+        return filas;
+    }
+
+    /**
+     * Devuelve la posición de un equipo en cada fecha con partidos desde que jugó el primero.
+     *
+     * @param equipoId El ID del equipo.
+     * @return Un punto por fecha; vacía si el equipo no ha jugado en la temporada.
+     */
+    public List<PosicionEnFecha> evolucion(Long equipoId) {
+        Integer e = indiceEquipo.get(equipoId);
+        if (e == null) {
+            return List.of();
+        }
+        List<PosicionEnFecha> puntos = new ArrayList<>();
+        int base = e * CAMPOS;
+        for (int d = 0; d < fechas.length; d++) {
+            if (posiciones[d][e] > 0) {
+                int[] b = acumulado[d];
+                puntos.add(new PosicionEnFecha(fechas[d], posiciones[d][e], b[base + VICTORIAS], b[base + DERROTAS],
+                        b[base + JUGADOS] - b[base + VICTORIAS] - b[base + DERROTAS]));
+            }
+        }
+        return puntos;
+    }
+
+    /** @return El índice de la última fecha con partidos que no es posterior a {@code fecha}, o -1. */
+    private int ultimaFechaHasta(LocalDate fecha) {
+        int i = Arrays.binarySearch(fechas, fecha);
+        return i >= 0 ? i : -i - 2;
+    }
+}
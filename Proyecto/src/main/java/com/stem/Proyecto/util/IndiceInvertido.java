@@ -0,0 +1,528 @@
+package com.stem.Proyecto.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice invertido para la búsqueda de texto completo, con la puntuación BM25.
+ * Cada documento tiene varios campos con su propio peso (el nombre de un logro cuenta más que su descripción);
+ * cada campo se analiza con {@link AnalizadorEspanol} y guarda, por término, los documentos que lo contienen
+ * y cuántas veces. Una búsqueda devuelve los documentos con alguno de los términos de la consulta,
+ * de más a menos relevante.
+ * <p>
+ * Si se abre sobre un directorio ({@link #abrir}), el índice también se guarda en disco:
+ * una instantánea con las listas de cada término ({@value #INSTANTANEA}) y un diario ({@value #DIARIO})
+ * al que cada cambio añade un registro, así que guardar un documento no reescribe el índice entero.
+ * Al abrirlo se carga la instantánea y se repiten los cambios del diario; cuando el diario crece,
+ * se escribe una instantánea nueva y se vacía. Un registro a medio escribir al final del diario
+ * (por ejemplo, tras un corte) se descarta. Si no se puede escribir en disco, el índice sigue
+ * funcionando solo en memoria. Un directorio solo puede tenerlo abierto un índice a la vez,
+ * también entre procesos distintos.
+ * <p>
+ * Los métodos están sincronizados: se puede buscar mientras otro hilo aplica cambios.
+ */
+public class IndiceInvertido implements Closeable {
+
+    /** Orden de los resultados: mayor puntuación primero y, a igual puntuación, menor ID. */
+    public static final Comparator<Coincidencia> ORDEN = Comparator.comparingDouble(Coincidencia::getPuntuacion).reversed()
+            .thenComparingLong(Coincidencia::getId);
+
+    static final String INSTANTANEA = "indice.dat";
+    static final String DIARIO = "cambios.log";
+    private static final String BLOQUEO = "indice.lock";
+    private static final int MAGIA = 0x4E424149;
+    // Cambia si cambia el formato de los ficheros o el analizador: un índice de otra versión se descarta
+    private static final int VERSION = 1;
+    private static final byte GUARDAR = 'G';
+    private static final byte ELIMINAR = 'E';
+    private static final int CAMBIOS_MINIMOS_PARA_COMPACTAR = 256;
+    // Directorios abiertos en este proceso: el bloqueo del fichero solo protege frente a otros procesos
+    private static final Set<Path> ABIERTOS = ConcurrentHashMap.newKeySet();
+
+    // Parámetros habituales de BM25: saturación de la frecuencia y peso de la longitud del campo
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final double[] pesos;
+    // Por campo: término -> (ID del documento -> veces que aparece)
+    private final List<Map<String, Map<Long, Integer>>> listas = new ArrayList<>();
+    private final long[] longitudTotal;
+    private final Map<Long, Documento> documentos = new HashMap<>();
+
+    private final Path directorio;
+    private boolean registrado;
+    private FileChannel canalBloqueo;
+    private DataOutputStream diario;
+    private int cambiosEnDiario;
+
+    /**
+     * Crea un índice vacío que solo vive en memoria.
+     *
+     * @param pesos El peso de cada campo, en el orden en que se pasan los textos al guardar.
+     */
+    public IndiceInvertido(double... pesos) {
+        this(null, pesos);
+    }
+
+    private IndiceInvertido(Path directorio, double[] pesos) {
+        if (pesos.length == 0) {
+            throw new IllegalArgumentException("El índice necesita al menos un campo");
+        }
+        this.directorio = directorio;
+        this.pesos = pesos.clone();
+        this.longitudTotal = new long[pesos.length];
+        for (int campo = 0; campo < pesos.length; campo++) {
+            listas.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Abre (o crea) un índice guardado en un directorio.
+     *
+     * @param directorio El directorio del índice; se crea si no existe.
+     * @param pesos El peso de cada campo.
+     * @return El índice con los documentos que tenía al cerrarse.
+     * @throws IllegalStateException si otro índice ya tiene abierto el mismo directorio.
+     * @throws UncheckedIOException si no se puede leer o crear el directorio.
+     */
+    public static IndiceInvertido abrir(Path directorio, double... pesos) {
+        IndiceInvertido indice = new IndiceInvertido(directorio, pesos);
+        try {
+            indice.cargar();
+            return indice;
+        } catch (IOException e) {
+            indice.close();
+            throw new UncheckedIOException("No se pudo abrir el índice en " + directorio, e);
+        } catch (RuntimeException e) {
+            indice.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Guarda un documento, o sustituye sus textos si ya estaba.
+     * Si los textos no han cambiado, no hace nada (ni escribe en disco).
+     *
+     * @param id El ID del documento.
+     * @param textos Un texto por campo (puede ser null).
+     */
+    public synchronized void guardar(long id, String... textos) {
+        if (textos.length != pesos.length) {
+            throw new IllegalArgumentException("Se esperaban " + pesos.length + " campos y llegaron " + textos.length);
+        }
+        long huella = huella(textos);
+        Documento actual = documentos.get(id);
+        if (actual != null && actual.huella == huella) {
+            return;
+        }
+        List<Map<String, Integer>> frecuencias = new ArrayList<>(textos.length);
+        for (String texto : textos) {
+            Map<String, Integer> frecuenciasCampo = new HashMap<>();
+            for (String termino : AnalizadorEspanol.analizar(texto)) {
+                frecuenciasCampo.merge(termino, 1, Integer::sum);
+            }
+            frecuencias.add(frecuenciasCampo);
+        }
+        Documento documento = new Documento(huella, frecuencias);
+        aplicar(id, documento);
+        if (diario != null) {
+            try {
+                diario.writeByte(GUARDAR);
+                diario.writeLong(id);
+                diario.writeLong(huella);
+                escribirCampos(diario, documento);
+                registrarCambio();
+            } catch (IOException e) {
+                dejarDeEscribir(e);
+            }
+        }
+    }
+
+    /**
+     * Quita un documento del índice. Si no estaba, no hace nada.
+     *
+     * @param id El ID del documento.
+     */
+    public synchronized void eliminar(long id) {
+        if (quitar(id) && diario != null) {
+            try {
+                diario.writeByte(ELIMINAR);
+                diario.writeLong(id);
+                registrarCambio();
+            } catch (IOException e) {
+                dejarDeEscribir(e);
+            }
+        }
+    }
+
+    /**
+     * Busca los documentos que contienen alguno de los términos de la consulta, ordenados por {@link #ORDEN}.
+     * Para continuar desde la página anterior se pasan la puntuación y el ID de su último resultado;
+     * mientras el índice no cambie, las puntuaciones se repiten exactamente entre búsquedas.
+     *
+     * @param consulta El texto buscado.
+     * @param despuesDePuntuacion La puntuación del último resultado de la página anterior, o null.
+     * @param despuesDeId El ID del último resultado de la página anterior, o null.
+     * @param limite El número máximo de resultados.
+     * @return Los documentos encontrados, en orden; vacía si la consulta no tiene términos.
+     */
+    public synchronized List<Coincidencia> buscar(String consulta, Double despuesDePuntuacion, Long despuesDeId, int limite) {
+        Set<String> terminos = new LinkedHashSet<>(AnalizadorEspanol.analizar(consulta));
+        int total = documentos.size();
+        Map<Long, Double> puntuaciones = new HashMap<>();
+        for (int campo = 0; campo < pesos.length; campo++) {
+            if (longitudTotal[campo] == 0) {
+                continue;
+            }
+            double longitudMedia = (double) longitudTotal[campo] / total;
+            for (String termino : terminos) {
+                Map<Long, Integer> lista = listas.get(campo).get(termino);
+                if (lista == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (total - lista.size() + 0.5) / (lista.size() + 0.5));
+                for (Map.Entry<Long, Integer> aparicion : lista.entrySet()) {
+                    int frecuencia = aparicion.getValue();
+                    int longitud = documentos.get(aparicion.getKey()).longitudes[campo];
+                    double saturacion = frecuencia * (K1 + 1) / (frecuencia + K1 * (1 - B + B * longitud / longitudMedia));
+                    puntuaciones.merge(aparicion.getKey(), pesos[campo] * idf * saturacion, Double::sum);
+                }
+            }
+        }
+        List<Coincidencia> encontrados = new ArrayList<>();
+        for (Map.Entry<Long, Double> puntuacion : puntuaciones.entrySet()) {
+            Coincidencia coincidencia = new Coincidencia(puntuacion.getKey(), puntuacion.getValue());
+            if (despuesDePuntuacion == null || ORDEN.compare(coincidencia, new Coincidencia(despuesDeId, despuesDePuntuacion)) > 0) {
+                encontrados.add(coincidencia);
+            }
+        }
+        encontrados.sort(ORDEN);
+        return encontrados.size() > limite ? new ArrayList<>(encontrados.subList(0, limite)) : encontrados;
+    }
+
+    /**
+     * @return Los IDs de todos los documentos del índice.
+     */
+    public synchronized Set<Long> getIds() {
+        return new LinkedHashSet<>(documentos.keySet());
+    }
+
+    /**
+     * @return El número de documentos del índice.
+     */
+    public synchronized int getTamanio() {
+        return documentos.size();
+    }
+
+    /**
+     * @return Si el índice se está guardando en disco.
+     */
+    public synchronized boolean isEnDisco() {
+        return diario != null;
+    }
+
+    /**
+     * Cierra el diario y libera el directorio. El índice sigue sirviendo búsquedas, pero ya solo en memoria.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            if (diario != null) {
+                diario.close();
+            }
+            if (canalBloqueo != null) {
+                canalBloqueo.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            diario = null;
+            canalBloqueo = null;
+            if (registrado) {
+                ABIERTOS.remove(directorio.toAbsolutePath().normalize());
+                registrado = false;
+            }
+        }
+    }
+
+    private void aplicar(long id, Documento documento) {
+        quitar(id);
+        for (int campo = 0; campo < pesos.length; campo++) {
+            Map<String, Map<Long, Integer>> listasCampo = listas.get(campo);
+            for (Map.Entry<String, Integer> termino : documento.frecuencias.get(campo).entrySet()) {
+                listasCampo.computeIfAbsent(termino.getKey(), t -> new HashMap<>()).put(id, termino.getValue());
+            }
+            longitudTotal[campo] += documento.longitudes[campo];
+        }
+        documentos.put(id, documento);
+    }
+
+    private boolean quitar(long id) {
+        Documento documento = documentos.remove(id);
+        if (documento == null) {
+            return false;
+        }
+        for (int campo = 0; campo < pesos.length; campo++) {
+            Map<String, Map<Long, Integer>> listasCampo = listas.get(campo);
+            for (String termino : documento.frecuencias.get(campo).keySet()) {
+                Map<Long, Integer> lista = listasCampo.get(termino);
+                lista.remove(id);
+                if (lista.isEmpty()) {
+                    listasCampo.remove(termino);
+                }
+            }
+            longitudTotal[campo] -= documento.longitudes[campo];
+        }
+        return true;
+    }
+
+    /**
+     * Huella de los textos de un documento (FNV-1a de 64 bits), para saber si han cambiado sin volver a analizarlos.
+     */
+    private static long huella(String[] textos) {
+        long huella = 0xcbf29ce484222325L;
+        for (String texto : textos) {
+            if (texto != null) {
+                for (int i = 0; i < texto.length(); i++) {
+                    huella = (huella ^ texto.charAt(i)) * 0x100000001b3L;
+                }
+            }
+            // Separador entre campos; distinto para un campo nulo que para uno vacío
+            huella = (huella ^ (texto == null ? 0x10000 : 0x10001)) * 0x100000001b3L;
+        }
+        return huella;
+    }
+
+    // ---- Ficheros ----
+
+    private void cargar() throws IOException {
+        registrado = ABIERTOS.add(directorio.toAbsolutePath().normalize());
+        if (!registrado) {
+            throw new IllegalStateException("El índice de " + directorio + " ya está abierto");
+        }
+        Files.createDirectories(directorio);
+        canalBloqueo = FileChannel.open(directorio.resolve(BLOQUEO), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (canalBloqueo.tryLock() == null) {
+            throw new IllegalStateException("El índice de " + directorio + " ya está abierto");
+        }
+        Path instantanea = directorio.resolve(INSTANTANEA);
+        Path ficheroDiario = directorio.resolve(DIARIO);
+        boolean valida = Files.exists(instantanea) && leerInstantanea(instantanea);
+        if (valida && Files.exists(ficheroDiario)) {
+            repetirDiario(ficheroDiario);
+        }
+        // Se empieza con una instantánea al día y el diario vacío, sin el posible registro incompleto
+        if (!valida || (Files.exists(ficheroDiario) && Files.size(ficheroDiario) > 0)) {
+            compactar();
+        }
+        diario = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(ficheroDiario,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    }
+
+    /**
+     * Lee la instantánea: primero la huella de cada documento y después, por campo, cada término con su lista.
+     *
+     * @return false si la instantánea es de otra versión o está incompleta; el índice queda entonces vacío.
+     */
+    private boolean leerInstantanea(Path fichero) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(fichero)))) {
+            if (entrada.readInt() != MAGIA || entrada.readInt() != VERSION || entrada.readInt() != pesos.length) {
+                return false;
+            }
+            int numeroDocumentos = entrada.readInt();
+            Map<Long, Documento> leidos = new HashMap<>();
+            for (int i = 0; i < numeroDocumentos; i++) {
+                long id = entrada.readLong();
+                List<Map<String, Integer>> frecuencias = new ArrayList<>(pesos.length);
+                for (int campo = 0; campo < pesos.length; campo++) {
+                    frecuencias.add(new HashMap<>());
+                }
+                leidos.put(id, new Documento(entrada.readLong(), frecuencias));
+            }
+            for (int campo = 0; campo < pesos.length; campo++) {
+                int numeroTerminos = entrada.readInt();
+                for (int i = 0; i < numeroTerminos; i++) {
+                    String termino = entrada.readUTF();
+                    int numeroApariciones = entrada.readInt();
+                    for (int j = 0; j < numeroApariciones; j++) {
+                        Documento documento = leidos.get(entrada.readLong());
+                        if (documento == null) {
+                            return false;
+                        }
+                        documento.frecuencias.get(campo).put(termino, entrada.readInt());
+                    }
+                }
+            }
+            // Las longitudes se calculan de nuevo ahora que están todas las frecuencias
+            leidos.forEach((id, documento) -> aplicar(id, new Documento(documento.huella, documento.frecuencias)));
+            return true;
+        } catch (EOFException | UTFDataFormatException e) {
+            return false;
+        }
+    }
+
+    private void repetirDiario(Path fichero) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(fichero)))) {
+            while (entrada.available() > 0) {
+                byte tipo = entrada.readByte();
+                long id = entrada.readLong();
+                if (tipo == GUARDAR) {
+                    long huella = entrada.readLong();
+                    // Se lee el registro entero antes de aplicarlo, por si está incompleto
+                    aplicar(id, new Documento(huella, leerCampos(entrada)));
+                } else if (tipo == ELIMINAR) {
+                    quitar(id);
+                } else {
+                    return;
+                }
+            }
+        } catch (EOFException | UTFDataFormatException e) {
+            // El último registro quedó a medio escribir: se descarta
+        }
+    }
+
+    /**
+     * Escribe una instantánea nueva en un fichero temporal, la pone en su sitio de una vez y vacía el diario.
+     * Si el proceso se corta entre los dos pasos, repetir el diario sobre la instantánea nueva no cambia nada.
+     */
+    private void compactar() throws IOException {
+        Path temporal = directorio.resolve(INSTANTANEA + ".tmp");
+        try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+            salida.writeInt(MAGIA);
+            salida.writeInt(VERSION);
+            salida.writeInt(pesos.length);
+            salida.writeInt(documentos.size());
+            for (Map.Entry<Long, Documento> documento : documentos.entrySet()) {
+                salida.writeLong(documento.getKey());
+                salida.writeLong(documento.getValue().huella);
+            }
+            for (Map<String, Map<Long, Integer>> listasCampo : listas) {
+                salida.writeInt(listasCampo.size());
+                for (Map.Entry<String, Map<Long, Integer>> lista : listasCampo.entrySet()) {
+                    salida.writeUTF(lista.getKey());
+                    salida.writeInt(lista.getValue().size());
+                    for (Map.Entry<Long, Integer> aparicion : lista.getValue().entrySet()) {
+                        salida.writeLong(aparicion.getKey());
+                        salida.writeInt(aparicion.getValue());
+                    }
+                }
+            }
+        }
+        Files.move(temporal, directorio.resolve(INSTANTANEA), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        boolean abierto = diario != null;
+        if (abierto) {
+            diario.close();
+        }
+        Files.newOutputStream(directorio.resolve(DIARIO), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING).close();
+        if (abierto) {
+            diario = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(directorio.resolve(DIARIO),
+                    StandardOpenOption.APPEND)));
+        }
+        cambiosEnDiario = 0;
+    }
+
+    private void registrarCambio() throws IOException {
+        diario.flush();
+        cambiosEnDiario++;
+        if (cambiosEnDiario > CAMBIOS_MINIMOS_PARA_COMPACTAR + documentos.size() / 2) {
+            compactar();
+        }
+    }
+
+    private void escribirCampos(DataOutputStream salida, Documento documento) throws IOException {
+        for (Map<String, Integer> frecuenciasCampo : documento.frecuencias) {
+            salida.writeInt(frecuenciasCampo.size());
+            for (Map.Entry<String, Integer> termino : frecuenciasCampo.entrySet()) {
+                salida.writeUTF(termino.getKey());
+                salida.writeInt(termino.getValue());
+            }
+        }
+    }
+
+    private List<Map<String, Integer>> leerCampos(DataInputStream entrada) throws IOException {
+        List<Map<String, Integer>> frecuencias = new ArrayList<>(pesos.length);
+        for (int campo = 0; campo < pesos.length; campo++) {
+            int numeroTerminos = entrada.readInt();
+            Map<String, Integer> frecuenciasCampo = new HashMap<>();
+            for (int i = 0; i < numeroTerminos; i++) {
+                frecuenciasCampo.put(entrada.readUTF(), entrada.readInt());
+            }
+            frecuencias.add(frecuenciasCampo);
+        }
+        return frecuencias;
+    }
+
+    /**
+     * Tras un error de escritura el índice sigue solo en memoria: la base de datos es la referencia,
+     * y al volver a abrirlo se corrige lo que falte en disco.
+     */
+    private void dejarDeEscribir(IOException e) {
+        System.out.println("No se pudo escribir el índice en " + directorio + "; se sigue solo en memoria: " + e.getMessage());
+        try {
+            close();
+        } catch (UncheckedIOException ignorada) {
+            // Ya se ha avisado del primer error
+        }
+    }
+
+    /**
+     * Los términos de cada campo de un documento, con sus frecuencias.
+     */
+    private static final class Documento {
+
+        private final long huella;
+        private final List<Map<String, Integer>> frecuencias;
+        private final int[] longitudes;
+
+        Documento(long huella, List<Map<String, Integer>> frecuencias) {
+            this.huella = huella;
+            this.frecuencias = frecuencias;
+            this.longitudes = new int[frecuencias.size()];
+            for (int campo = 0; campo < longitudes.length; campo++) {
+                longitudes[campo] = frecuencias.get(campo).values().stream().mapToInt(Integer::intValue).sum();
+            }
+        }
+    }
+
+    /**
+     * Un documento encontrado y su puntuación BM25.
+     */
+    public static final class Coincidencia {
+
+        private final long id;
+        private final double puntuacion;
+
+        Coincidencia(long id, double puntuacion) {
+            this.id = id;
+            this.puntuacion = puntuacion;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getPuntuacion() {
+            return puntuacion;
+        }
+    }
+}
@@ -0,0 +1,500 @@
+package com.stem.Proyecto.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Índice en memoria para autocompletar: dado el principio de un texto, devuelve los elementos
+ * que tienen algún campo con una palabra que empieza así.
+ * <p>
+ * Cada elemento guarda sus campos normalizados (con {@link NormalizadorTexto}) una sola vez, y las entradas
+ * del índice son posiciones dentro de esos campos: un {@code long} con la ranura del elemento, el número de
+ * campo y el desplazamiento de una palabra. La clave de una entrada es el campo desde esa palabra hasta el final,
+ * así que "lebron ja" encuentra "LeBron James" por la entrada del principio y "ja" por la que empieza en "james".
+ * Las entradas están ordenadas por clave en arrays de {@code long}: las que empiezan por la consulta forman un
+ * tramo contiguo que se localiza con una búsqueda binaria, y como el tramo ya está en orden alfabético basta
+ * con leer sus primeras entradas. Una consulta cuesta lo mismo con mil elementos que con un millón.
+ * <p>
+ * Hay dos niveles: primero las entradas que empiezan al principio de un campo y después las que empiezan
+ * en una palabra interior, de modo que "ja" sugiere "James" antes que "LeBron James".
+ * <p>
+ * Las escrituras no reordenan nada: las entradas nuevas se apuntan como pendientes y las de un elemento
+ * modificado o borrado se dan por muertas. La siguiente consulta inserta las pendientes, si son pocas,
+ * en un array pequeño de entradas recientes; cuando hay muchas, o demasiadas muertas, se vuelve a generar
+ * el array principal mezclando los ya ordenados, sin ordenar de nuevo todo el índice.
+ * <p>
+ * Los métodos públicos están sincronizados.
+ */
+public class IndicePrefijos {
+
+    // Orden entre resultados de índices distintos: primero el nivel y después la clave
+    public static final Comparator<Coincidencia> ORDEN = Comparator.comparingInt(Coincidencia::getNivel)
+            .thenComparing(Coincidencia::getClave);
+
+    private static final int MAXIMO_CAMPOS = 1 << 8;
+    private static final int MAXIMO_DESPLAZAMIENTO = (1 << 16) - 1;
+    private static final int MINIMO_RECIENTES = 1024;
+    private static final int MAXIMO_PENDIENTES_SUELTAS = 64;
+    private static final int TRAMO_PEQUENIO = 16;
+    private static final int CARACTERES_POR_PASO = 3;
+
+    private long[] ids = new long[16];
+    private String[] etiquetas = new String[16];
+    private String[][] campos = new String[16][];
+    // Una ranura muerta conserva sus campos hasta la compactación: sus entradas siguen en los arrays
+    private boolean[] vivas = new boolean[16];
+    private int ocupadas;
+    private final Map<Long, Integer> ranuraPorId = new HashMap<>();
+    private final Nivel[] niveles = {new Nivel(), new Nivel()};
+    private int entradasVivas;
+    private int entradasMuertas;
+
+    /**
+     * Añade un elemento o sustituye sus textos. Si no cambia nada, no hace nada.
+     *
+     * @param id El ID del elemento.
+     * @param etiqueta El texto que se devuelve como sugerencia.
+     * @param textos Los campos por los que se encuentra el elemento.
+     */
+    public synchronized void guardar(long id, String etiqueta, String... textos) {
+        if (textos.length > MAXIMO_CAMPOS) {
+            throw new IllegalArgumentException("Demasiados campos: " + textos.length);
+        }
+        String[] normalizados = new String[textos.length];
+        for (int i = 0; i < textos.length; i++) {
+            normalizados[i] = NormalizadorTexto.normalizar(textos[i]);
+        }
+        Integer anterior = ranuraPorId.get(id);
+        if (anterior != null) {
+            if (Objects.equals(etiquetas[anterior], etiqueta) && Arrays.equals(campos[anterior], normalizados)) {
+                return;
+            }
+            retirar(anterior);
+        }
+        if (ocupadas == ids.length) {
+            int capacidad = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacidad);
+            etiquetas = Arrays.copyOf(etiquetas, capacidad);
+            campos = Arrays.copyOf(campos, capacidad);
+            vivas = Arrays.copyOf(vivas, capacidad);
+        }
+        int ranura = ocupadas++;
+        ids[ranura] = id;
+        etiquetas[ranura] = etiqueta;
+        campos[ranura] = normalizados;
+        vivas[ranura] = true;
+        ranuraPorId.put(id, ranura);
+        for (int campo = 0; campo < normalizados.length; campo++) {
+            String texto = normalizados[campo];
+            for (int desde = 0; desde < texto.length() && desde <= MAXIMO_DESPLAZAMIENTO; desde = siguientePalabra(texto, desde)) {
+                niveles[desde == 0 ? 0 : 1].apuntar(entrada(ranura, campo, desde));
+                entradasVivas++;
+            }
+        }
+    }
+
+    /**
+     * @param id El ID del elemento a quitar (si no está, no hace nada).
+     */
+    public synchronized void eliminar(long id) {
+        Integer ranura = ranuraPorId.remove(id);
+        if (ranura != null) {
+            retirar(ranura);
+        }
+    }
+
+    /**
+     * Devuelve los primeros elementos con alguna palabra que empiece por la consulta: primero los que
+     * la tienen al principio de un campo y, dentro de cada nivel, por orden alfabético del texto
+     * encontrado y después por ID. Cada elemento aparece una vez, con su mejor entrada.
+     *
+     * @param consulta El texto tecleado; se normaliza igual que los campos.
+     * @param limite El número máximo de resultados.
+     * @return Las coincidencias, como mucho {@code limite}.
+     */
+    public synchronized List<Coincidencia> buscar(String consulta, int limite) {
+        List<Coincidencia> resultado = new ArrayList<>();
+        String prefijo = NormalizadorTexto.normalizar(consulta);
+        if (prefijo.isEmpty() || limite <= 0) {
+            return resultado;
+        }
+        prepararParaLeer();
+        Set<Integer> vistas = new HashSet<>();
+        for (int nivel = 0; nivel < niveles.length && resultado.size() < limite; nivel++) {
+            long[] base = niveles[nivel].base;
+            long[] recientes = niveles[nivel].recientes;
+            int numRecientes = niveles[nivel].numRecientes;
+            int i = primera(base, base.length, prefijo);
+            int j = primera(recientes, numRecientes, prefijo);
+            while (resultado.size() < limite) {
+                boolean hayBase = i < base.length && empiezaPor(base[i], prefijo);
+                boolean hayReciente = j < numRecientes && empiezaPor(recientes[j], prefijo);
+                if (!hayBase && !hayReciente) {
+                    break;
+                }
+                long entrada = !hayReciente || (hayBase && comparar(base[i], recientes[j]) <= 0) ? base[i++] : recientes[j++];
+                int ranura = ranura(entrada);
+                if (vivas[ranura] && vistas.add(ranura)) {
+                    resultado.add(new Coincidencia(ids[ranura], etiquetas[ranura], nivel,
+                            campos[ranura][campo(entrada)].substring(desplazamiento(entrada))));
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * @return El número de elementos del índice.
+     */
+    public synchronized int getTamanio() {
+        return ranuraPorId.size();
+    }
+
+    private void retirar(int ranura) {
+        vivas[ranura] = false;
+        for (String texto : campos[ranura]) {
+            for (int desde = 0; desde < texto.length() && desde <= MAXIMO_DESPLAZAMIENTO; desde = siguientePalabra(texto, desde)) {
+                entradasVivas--;
+                entradasMuertas++;
+            }
+        }
+    }
+
+    private void prepararParaLeer() {
+        int pendientes = 0;
+        int recientes = 0;
+        int base = 0;
+        for (Nivel nivel : niveles) {
+            pendientes += nivel.numPendientes;
+            recientes += nivel.numRecientes;
+            base += nivel.base.length;
+        }
+        if (pendientes > MAXIMO_PENDIENTES_SUELTAS || recientes + pendientes > MINIMO_RECIENTES + base / 8
+                || entradasMuertas > MINIMO_RECIENTES + entradasVivas / 4) {
+            compactar();
+        } else if (pendientes > 0) {
+            for (Nivel nivel : niveles) {
+                nivel.insertarPendientes();
+            }
+        }
+    }
+
+    /**
+     * Junta en el array principal de cada nivel todas las entradas vivas y renumera las ranuras sin huecos.
+     * La nueva numeración respeta el orden de las ranuras, así que las entradas ya ordenadas siguen
+     * ordenadas y basta con mezclarlas.
+     */
+    private void compactar() {
+        int[] nuevaRanura = new int[ocupadas];
+        int numVivas = 0;
+        for (int ranura = 0; ranura < ocupadas; ranura++) {
+            nuevaRanura[ranura] = vivas[ranura] ? numVivas++ : -1;
+        }
+        // Las comparaciones usan las ranuras antiguas, así que se compactan todos los niveles antes de moverlas
+        for (Nivel nivel : niveles) {
+            nivel.compactar(nuevaRanura);
+        }
+        int capacidad = Math.max(16, numVivas);
+        long[] nuevosIds = new long[capacidad];
+        String[] nuevasEtiquetas = new String[capacidad];
+        String[][] nuevosCampos = new String[capacidad][];
+        boolean[] nuevasVivas = new boolean[capacidad];
+        for (int ranura = 0; ranura < ocupadas; ranura++) {
+            int nueva = nuevaRanura[ranura];
+            if (nueva >= 0) {
+                nuevosIds[nueva] = ids[ranura];
+                nuevasEtiquetas[nueva] = etiquetas[ranura];
+                nuevosCampos[nueva] = campos[ranura];
+                nuevasVivas[nueva] = true;
+                ranuraPorId.put(ids[ranura], nueva);
+            }
+        }
+        ids = nuevosIds;
+        etiquetas = nuevasEtiquetas;
+        campos = nuevosCampos;
+        vivas = nuevasVivas;
+        ocupadas = numVivas;
+        entradasMuertas = 0;
+    }
+
+    /** Orden de las entradas: por clave, después por ID y, dentro de un mismo elemento, por posición. */
+    private int comparar(long a, long b) {
+        return comparar(a, b, 0);
+    }
+
+    /** Como {@link #comparar(long, long)}, para dos claves que ya se sabe que coinciden en los primeros caracteres. */
+    private int comparar(long a, long b, int iguales) {
+        int ranuraA = ranura(a);
+        int ranuraB = ranura(b);
+        String textoA = campos[ranuraA][campo(a)];
+        String textoB = campos[ranuraB][campo(b)];
+        int comparacion = compararDesde(textoA, Math.min(desplazamiento(a) + iguales, textoA.length()),
+                textoB, Math.min(desplazamiento(b) + iguales, textoB.length()));
+        if (comparacion != 0) {
+            return comparacion;
+        }
+        comparacion = Long.compare(ids[ranuraA], ids[ranuraB]);
+        return comparacion != 0 ? comparacion : Long.compare(a, b);
+    }
+
+    /** Compara {@code a} desde {@code i} con {@code b} desde {@code j}, sin crear subcadenas. */
+    private static int compararDesde(String a, int i, String b, int j) {
+        for (; i < a.length() && j < b.length(); i++, j++) {
+            int diferencia = a.charAt(i) - b.charAt(j);
+            if (diferencia != 0) {
+                return diferencia;
+            }
+        }
+        return (a.length() - i) - (b.length() - j);
+    }
+
+    /** Primera posición de {@code entradas[0, tamanio)} con clave mayor o igual que el prefijo. */
+    private int primera(long[] entradas, int tamanio, String prefijo) {
+        int desde = 0;
+        int hasta = tamanio;
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            long entrada = entradas[medio];
+            if (compararDesde(campos[ranura(entrada)][campo(entrada)], desplazamiento(entrada), prefijo, 0) < 0) {
+                desde = medio + 1;
+            } else {
+                hasta = medio;
+            }
+        }
+        return desde;
+    }
+
+    private boolean empiezaPor(long entrada, String prefijo) {
+        return campos[ranura(entrada)][campo(entrada)].startsWith(prefijo, desplazamiento(entrada));
+    }
+
+    /** Ordena {@code entradas[0, tamanio)} con el mismo orden que {@link #comparar}. */
+    private void ordenar(long[] entradas, int tamanio) {
+        ordenar(entradas, new long[tamanio], 0, tamanio, 0, false);
+    }
+
+    /**
+     * Ordenación rápida de tres vías por caracteres (Bentley y Sedgewick): reparte el tramo según los caracteres
+     * de cada clave a partir de la posición {@code profundidad} y solo sigue comparando el grupo de los iguales,
+     * así que los prefijos comunes (muchos, con nombres y apellidos repetidos) no se vuelven a recorrer.
+     * Cada paso compara tres caracteres a la vez, y {@code leidos} guarda los de cada entrada (se intercambia
+     * con ella) para que los tramos de menores y mayores no los vuelvan a leer de las cadenas.
+     * Los tramos pequeños y las claves idénticas, que se desempatan por ID, se ordenan por mezcla.
+     */
+    private void ordenar(long[] entradas, long[] leidos, int desde, int hasta, int profundidad, boolean yaLeidos) {
+        while (hasta - desde > TRAMO_PEQUENIO) {
+            if (!yaLeidos) {
+                for (int i = desde; i < hasta; i++) {
+                    leidos[i] = caracteres(entradas[i], profundidad);
+                }
+            }
+            long pivote = medianaDeTres(leidos[desde], leidos[(desde + hasta) >>> 1], leidos[hasta - 1]);
+            int menores = desde;
+            int mayores = hasta - 1;
+            for (int i = desde; i <= mayores; ) {
+                if (leidos[i] < pivote) {
+                    intercambiar(entradas, leidos, menores++, i++);
+                } else if (leidos[i] > pivote) {
+                    intercambiar(entradas, leidos, i, mayores--);
+                } else {
+                    i++;
+                }
+            }
+            ordenar(entradas, leidos, desde, menores, profundidad, true);
+            ordenar(entradas, leidos, mayores + 1, hasta, profundidad, true);
+            if (pivote == 0) {
+                // Claves terminadas antes de esta posición: son iguales y el orden lo da el ID
+                ordenarPorMezcla(entradas, menores, mayores + 1, profundidad);
+                return;
+            }
+            desde = menores;
+            hasta = mayores + 1;
+            profundidad += CARACTERES_POR_PASO;
+            yaLeidos = false;
+        }
+        ordenarPorMezcla(entradas, desde, hasta, profundidad);
+    }
+
+    /**
+     * Los caracteres de la clave desde esa posición, cada uno más 1 en 17 bits y 0 al acabar la clave,
+     * de modo que comparar los números es comparar los textos.
+     */
+    private long caracteres(long entrada, int posicion) {
+        String texto = campos[ranura(entrada)][campo(entrada)];
+        int indice = desplazamiento(entrada) + posicion;
+        long caracteres = 0;
+        for (int i = 0; i < CARACTERES_POR_PASO; i++, indice++) {
+            caracteres = (caracteres << 17) | (indice < texto.length() ? texto.charAt(indice) + 1 : 0);
+        }
+        return caracteres;
+    }
+
+    private static long medianaDeTres(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static void intercambiar(long[] entradas, long[] leidos, int i, int j) {
+        long entrada = entradas[i];
+        entradas[i] = entradas[j];
+        entradas[j] = entrada;
+        long caracteres = leidos[i];
+        leidos[i] = leidos[j];
+        leidos[j] = caracteres;
+    }
+
+    // Las claves del tramo coinciden en los primeros "iguales" caracteres
+    private void ordenarPorMezcla(long[] entradas, int desde, int hasta, int iguales) {
+        if (hasta - desde < 2) {
+            return;
+        }
+        long[] tramo = Arrays.copyOfRange(entradas, desde, hasta);
+        ordenarPorMezcla(tramo.clone(), tramo, 0, tramo.length, iguales);
+        System.arraycopy(tramo, 0, entradas, desde, tramo.length);
+    }
+
+    // Ordena origen[desde, hasta) dejando el resultado en destino; los dos empiezan con el mismo contenido
+    private void ordenarPorMezcla(long[] origen, long[] destino, int desde, int hasta, int iguales) {
+        if (hasta - desde < 2) {
+            return;
+        }
+        int medio = (desde + hasta) >>> 1;
+        ordenarPorMezcla(destino, origen, desde, medio, iguales);
+        ordenarPorMezcla(destino, origen, medio, hasta, iguales);
+        for (int i = desde, j = medio, k = desde; k < hasta; k++) {
+            destino[k] = j >= hasta || (i < medio && comparar(origen[i], origen[j], iguales) <= 0) ? origen[i++] : origen[j++];
+        }
+    }
+
+    /**
+     * Mezcla dos tramos ordenados. Con {@code nuevaRanura} descarta las entradas muertas y renumera las demás.
+     */
+    private long[] mezclar(long[] a, int tamanioA, long[] b, int tamanioB, int[] nuevaRanura) {
+        long[] resultado = new long[tamanioA + tamanioB];
+        int tamanio = 0;
+        for (int i = 0, j = 0; i < tamanioA || j < tamanioB; ) {
+            long entrada = j >= tamanioB || (i < tamanioA && comparar(a[i], b[j]) <= 0) ? a[i++] : b[j++];
+            if (nuevaRanura == null) {
+                resultado[tamanio++] = entrada;
+            } else if (vivas[ranura(entrada)]) {
+                resultado[tamanio++] = entrada(nuevaRanura[ranura(entrada)], campo(entrada), desplazamiento(entrada));
+            }
+        }
+        return tamanio == resultado.length ? resultado : Arrays.copyOf(resultado, tamanio);
+    }
+
+    private static int siguientePalabra(String texto, int desde) {
+        int espacio = texto.indexOf(' ', desde);
+        return espacio < 0 ? texto.length() : espacio + 1;
+    }
+
+    private static long entrada(int ranura, int campo, int desplazamiento) {
+        return ((long) ranura << 24) | ((long) campo << 16) | desplazamiento;
+    }
+
+    private static int ranura(long entrada) {
+        return (int) (entrada >>> 24);
+    }
+
+    private static int campo(long entrada) {
+        return (int) (entrada >>> 16) & 0xFF;
+    }
+
+    private static int desplazamiento(long entrada) {
+        return (int) entrada & 0xFFFF;
+    }
+
+    /**
+     * Las entradas de un nivel: el array principal, un array pequeño de recientes (los dos ordenados)
+     * y las pendientes, sin ordenar, que se han apuntado desde la última consulta.
+     */
+    private final class Nivel {
+
+        private long[] base = new long[0];
+        private long[] recientes = new long[16];
+        private int numRecientes;
+        private long[] pendientes = new long[16];
+        private int numPendientes;
+
+        void apuntar(long entrada) {
+            if (numPendientes == pendientes.length) {
+                pendientes = Arrays.copyOf(pendientes, numPendientes * 2);
+            }
+            pendientes[numPendientes++] = entrada;
+        }
+
+        void insertarPendientes() {
+            for (int p = 0; p < numPendientes; p++) {
+                long entrada = pendientes[p];
+                if (numRecientes == recientes.length) {
+                    recientes = Arrays.copyOf(recientes, numRecientes * 2);
+                }
+                int posicion = numRecientes;
+                int desde = 0;
+                while (desde < posicion) {
+                    int medio = (desde + posicion) >>> 1;
+                    if (comparar(recientes[medio], entrada) < 0) {
+                        desde = medio + 1;
+                    } else {
+                        posicion = medio;
+                    }
+                }
+                System.arraycopy(recientes, posicion, recientes, posicion + 1, numRecientes - posicion);
+                recientes[posicion] = entrada;
+                numRecientes++;
+            }
+            numPendientes = 0;
+        }
+
+        void compactar(int[] nuevaRanura) {
+            ordenar(pendientes, numPendientes);
+            long[] nuevas = mezclar(recientes, numRecientes, pendientes, numPendientes, null);
+            base = mezclar(base, base.length, nuevas, nuevas.length, nuevaRanura);
+            recientes = new long[16];
+            numRecientes = 0;
+            pendientes = new long[16];
+            numPendientes = 0;
+        }
+    }
+
+    /**
+     * Un elemento encontrado, con el nivel y el texto normalizado por el que se ha encontrado.
+     */
+    public static final class Coincidencia {
+
+        private final long id;
+        private final String etiqueta;
+        private final int nivel;
+        private final String clave;
+
+        Coincidencia(long id, String etiqueta, int nivel, String clave) {
+            this.id = id;
+            this.etiqueta = etiqueta;
+            this.nivel = nivel;
+            this.clave = clave;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getEtiqueta() {
+            return etiqueta;
+        }
+
+        /** 0 si la consulta coincide con el principio de un campo, 1 si con una palabra interior. */
+        public int getNivel() {
+            return nivel;
+        }
+
+        public String getClave() {
+            return clave;
+        }
+    }
+}
@@ -0,0 +1,500 @@
+package com.stem.Proyecto.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Índice de trigramas en memoria para buscar por subcadena sin recorrer todos los textos.
+ * Cada documento (por ejemplo, el nombre y el apellido de un jugador) se normaliza con
+ * {@link NormalizadorTexto} y se parte en palabras; de cada palabra, rodeada de espacios
+ * ("  juan "), se guardan sus trigramas junto con la lista ordenada de documentos que los contienen.
+ * <p>
+ * Una búsqueda intersecta las listas de los trigramas de la consulta, empezando por la más corta,
+ * y solo comprueba el texto de los documentos que aparecen en todas. Cada palabra de la consulta
+ * tiene que aparecer en el documento: las de tres o más letras en cualquier posición y las más
+ * cortas al principio de una palabra. Cada palabra suma 3 puntos si coincide con una palabra entera,
+ * 2 si es su principio y 1 si está en medio; los resultados se ordenan por puntuación y después por ID.
+ * <p>
+ * Las posiciones de los documentos siguen el orden de sus IDs, así que una búsqueda puede terminar
+ * en cuanto tiene una página completa con la puntuación máxima posible, sin puntuar el resto de
+ * candidatos (una palabra frecuente como "garcía" no obliga a recorrer todos los García).
+ * Los documentos modificados, o con un ID menor que el último, se añaden al final, fuera de ese orden,
+ * y se recorren siempre enteros. Los borrados y modificados dejan un hueco en las listas.
+ * Cuando hay demasiados huecos o demasiados documentos fuera de orden, el índice se reconstruye en memoria.
+ * <p>
+ * Para la búsqueda aproximada se guardan además las palabras distintas en un {@link ArbolBK}, cada una
+ * con sus documentos: una palabra mal escrita ("gonzales") se compara solo con parte del vocabulario,
+ * nunca con cada documento.
+ */
+public class IndiceTrigramas {
+
+    /** Orden de los resultados: más puntuación primero y, a igualdad, menor ID. */
+    static final Comparator<Coincidencia> ORDEN = Comparator.comparingInt(Coincidencia::getPuntuacion).reversed()
+            .thenComparingLong(Coincidencia::getId);
+
+    private static final int HUECOS_MINIMOS_PARA_COMPACTAR = 1_024;
+    private static final int PUNTOS_PALABRA_COMPLETA = 3;
+    // En la búsqueda aproximada, cada candidato es un long con la posición y los puntos en los 16 bits bajos
+    private static final int BITS_PUNTOS = 16;
+
+    private long[] ids = new long[16];
+    // El texto normalizado de cada documento, o null si se ha borrado
+    private String[] textos = new String[16];
+    private int ocupados;
+    // Las posiciones [0, ordenados) tienen IDs crecientes; las demás se añadieron fuera de orden
+    private int ordenados;
+    private int borrados;
+    private final Map<Long, Integer> posicionPorId = new HashMap<>();
+    private final Map<Long, ListaPosiciones> listas = new HashMap<>();
+    private final Map<String, ListaPosiciones> listasPorPalabra = new HashMap<>();
+    private ArbolBK vocabulario = new ArbolBK();
+
+    /**
+     * Añade un documento o sustituye el que ya tuviera ese ID.
+     *
+     * @param id El ID del documento.
+     * @param campos Los textos del documento (los nulos se ignoran).
+     */
+    public synchronized void guardar(long id, String... campos) {
+        StringBuilder unido = new StringBuilder();
+        for (String campo : campos) {
+            if (campo != null) {
+                unido.append(campo).append(' ');
+            }
+        }
+        String texto = NormalizadorTexto.normalizar(unido.toString());
+        Integer anterior = posicionPorId.get(id);
+        if (anterior != null) {
+            if (texto.equals(textos[anterior])) {
+                return;
+            }
+            posicionPorId.remove(id);
+            borrar(anterior);
+        }
+        if (!texto.isEmpty()) {
+            anadir(id, texto);
+        }
+        compactarSiHaceFalta();
+    }
+
+    /**
+     * @param id El ID del documento que se quita del índice (si no está, no hace nada).
+     */
+    public synchronized void eliminar(long id) {
+        Integer posicion = posicionPorId.remove(id);
+        if (posicion != null) {
+            borrar(posicion);
+            compactarSiHaceFalta();
+        }
+    }
+
+    /**
+     * Busca los documentos que contienen todas las palabras de la consulta.
+     *
+     * @param consulta El texto buscado, sin normalizar.
+     * @param despuesDePuntuacion La puntuación del último resultado de la página anterior, o null para empezar.
+     * @param despuesDeId El ID del último resultado de la página anterior, o null para empezar.
+     * @param limite El número máximo de resultados.
+     * @return Los mejores resultados posteriores a la posición indicada, en orden.
+     */
+    public synchronized List<Coincidencia> buscar(String consulta, Integer despuesDePuntuacion, Long despuesDeId, int limite) {
+        String normalizada = NormalizadorTexto.normalizar(consulta);
+        if (normalizada.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        String[] palabras = new LinkedHashSet<>(Arrays.asList(normalizada.split(" "))).toArray(String[]::new);
+        List<ListaPosiciones> necesarias = new ArrayList<>();
+        Set<Long> claves = new LinkedHashSet<>();
+        for (String palabra : palabras) {
+            // Las palabras cortas solo se buscan al principio de una palabra: "ju" es el trigrama " ju"
+            String buscada = palabra.length() >= 3 ? palabra : " ".repeat(3 - palabra.length()) + palabra;
+            for (int i = 0; i + 3 <= buscada.length(); i++) {
+                claves.add(clave(buscada, i));
+            }
+        }
+        for (Long clave : claves) {
+            ListaPosiciones lista = listas.get(clave);
+            if (lista == null) {
+                return List.of();
+            }
+            necesarias.add(lista);
+        }
+        necesarias.sort(Comparator.comparingInt(lista -> lista.tamanio));
+
+        int maxima = PUNTOS_PALABRA_COMPLETA * palabras.length;
+        if (despuesDePuntuacion != null && despuesDeId != null) {
+            maxima = Math.min(maxima, despuesDePuntuacion);
+        }
+        Mejores mejores = new Mejores(despuesDePuntuacion, despuesDeId, limite);
+        Recorrido recorrido = new Recorrido(palabras, necesarias, maxima, mejores);
+        // Primero los documentos fuera de orden, enteros; después los ordenados, hasta que no puedan mejorar la página
+        ListaPosiciones menor = necesarias.get(0);
+        int inicioDesordenados = Arrays.binarySearch(menor.posiciones, 0, menor.tamanio, ordenados);
+        if (inicioDesordenados < 0) {
+            inicioDesordenados = -inicioDesordenados - 1;
+        }
+        recorrido.recorrer(inicioDesordenados, menor.tamanio, false);
+        recorrido.recorrer(0, inicioDesordenados, true);
+        return mejores.resultado();
+    }
+
+    /**
+     * Busca los documentos que tienen, por cada palabra de la consulta, una palabra igual o parecida.
+     * Se admite una distancia de Levenshtein de 0 en palabras de hasta 2 letras, de 1 hasta 5 letras
+     * y de 2 a partir de 6. Cada palabra suma 3 puntos menos la distancia a la más parecida del documento,
+     * así que las coincidencias exactas quedan primero. El orden y la paginación son los de {@link #buscar}.
+     *
+     * @param consulta El texto buscado, sin normalizar.
+     * @param despuesDePuntuacion La puntuación del último resultado de la página anterior, o null para empezar.
+     * @param despuesDeId El ID del último resultado de la página anterior, o null para empezar.
+     * @param limite El número máximo de resultados.
+     * @return Los mejores resultados posteriores a la posición indicada, en orden.
+     */
+    public synchronized List<Coincidencia> buscarAproximado(String consulta, Integer despuesDePuntuacion, Long despuesDeId,
+                                                            int limite) {
+        String normalizada = NormalizadorTexto.normalizar(consulta);
+        if (normalizada.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        long[] candidatos = null;
+        for (String palabra : new LinkedHashSet<>(Arrays.asList(normalizada.split(" ")))) {
+            long[] conLaPalabra = posicionesParecidas(palabra);
+            candidatos = candidatos == null ? conLaPalabra : intersectar(candidatos, conLaPalabra);
+            if (candidatos.length == 0) {
+                return List.of();
+            }
+        }
+        Mejores mejores = new Mejores(despuesDePuntuacion, despuesDeId, limite);
+        for (long candidato : candidatos) {
+            int posicion = (int) (candidato >>> BITS_PUNTOS);
+            if (textos[posicion] != null) {
+                mejores.ofrecer(ids[posicion], (int) (candidato & ((1 << BITS_PUNTOS) - 1)));
+            }
+        }
+        return mejores.resultado();
+    }
+
+    /**
+     * @return El número de documentos en el índice.
+     */
+    public synchronized int getTamanio() {
+        return posicionPorId.size();
+    }
+
+    /**
+     * Puntúa un documento que ya contiene todos los trigramas de la consulta.
+     * Los trigramas no garantizan que cada palabra aparezca seguida, así que aquí se comprueba.
+     *
+     * @return La suma de puntos de las palabras, o 0 si alguna no aparece.
+     */
+    private static int puntuar(String texto, String[] palabras) {
+        int total = 0;
+        for (String palabra : palabras) {
+            int mejor = 0;
+            int inicio = texto.indexOf(palabra);
+            while (inicio >= 0 && mejor < PUNTOS_PALABRA_COMPLETA) {
+                int fin = inicio + palabra.length();
+                boolean empiezaPalabra = inicio == 0 || texto.charAt(inicio - 1) == ' ';
+                boolean terminaPalabra = fin == texto.length() || texto.charAt(fin) == ' ';
+                int puntos = empiezaPalabra ? (terminaPalabra ? PUNTOS_PALABRA_COMPLETA : 2) : (palabra.length() >= 3 ? 1 : 0);
+                mejor = Math.max(mejor, puntos);
+                inicio = texto.indexOf(palabra, inicio + 1);
+            }
+            if (mejor == 0) {
+                return 0;
+            }
+            total += mejor;
+        }
+        return total;
+    }
+
+    /**
+     * Las posiciones de los documentos con alguna palabra parecida a la dada, ordenadas,
+     * cada una con los puntos de la más parecida.
+     */
+    private long[] posicionesParecidas(String palabra) {
+        int tolerancia = palabra.length() <= 2 ? 0 : (palabra.length() <= 5 ? 1 : 2);
+        List<ListaPosiciones> encontradas = new ArrayList<>();
+        List<Integer> puntos = new ArrayList<>();
+        vocabulario.buscar(palabra, tolerancia, (parecida, distancia) -> {
+            encontradas.add(listasPorPalabra.get(parecida));
+            puntos.add(PUNTOS_PALABRA_COMPLETA - distancia);
+        });
+        int total = 0;
+        for (ListaPosiciones lista : encontradas) {
+            total += lista.tamanio;
+        }
+        long[] candidatos = new long[total];
+        int n = 0;
+        for (int i = 0; i < encontradas.size(); i++) {
+            ListaPosiciones lista = encontradas.get(i);
+            for (int k = 0; k < lista.tamanio; k++) {
+                candidatos[n++] = ((long) lista.posiciones[k] << BITS_PUNTOS) | puntos.get(i);
+            }
+        }
+        Arrays.sort(candidatos);
+        // Un documento con varias palabras parecidas aparece varias veces seguidas; se queda la última, la de más puntos
+        int unicos = 0;
+        for (int i = 0; i < candidatos.length; i++) {
+            if (i + 1 == candidatos.length || candidatos[i] >>> BITS_PUNTOS != candidatos[i + 1] >>> BITS_PUNTOS) {
+                candidatos[unicos++] = candidatos[i];
+            }
+        }
+        return Arrays.copyOf(candidatos, unicos);
+    }
+
+    /**
+     * Las posiciones que están en las dos listas, sumando sus puntos.
+     */
+    private static long[] intersectar(long[] a, long[] b) {
+        long[] comunes = new long[Math.min(a.length, b.length)];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            long posicionA = a[i] >>> BITS_PUNTOS;
+            long posicionB = b[j] >>> BITS_PUNTOS;
+            if (posicionA < posicionB) {
+                i++;
+            } else if (posicionA > posicionB) {
+                j++;
+            } else {
+                comunes[n++] = a[i++] + (b[j++] & ((1 << BITS_PUNTOS) - 1));
+            }
+        }
+        return Arrays.copyOf(comunes, n);
+    }
+
+    private void anadir(long id, String texto) {
+        if (ocupados == ids.length) {
+            ids = Arrays.copyOf(ids, ocupados * 2);
+            textos = Arrays.copyOf(textos, ocupados * 2);
+        }
+        int posicion = ocupados++;
+        if (ordenados == posicion && (posicion == 0 || id > ids[posicion - 1])) {
+            ordenados++;
+        }
+        ids[posicion] = id;
+        textos[posicion] = texto;
+        posicionPorId.put(id, posicion);
+        // Trigramas de cada palabra rodeada de espacios ("  juan "), sin construir esas cadenas
+        char primero = ' ';
+        char segundo = ' ';
+        int inicioPalabra = 0;
+        for (int i = 0; i <= texto.length(); i++) {
+            char tercero = i < texto.length() ? texto.charAt(i) : ' ';
+            listas.computeIfAbsent(clave(primero, segundo, tercero), c -> new ListaPosiciones()).anadir(posicion);
+            if (tercero == ' ') {
+                listasPorPalabra.computeIfAbsent(texto.substring(inicioPalabra, i), palabra -> {
+                    vocabulario.anadir(palabra);
+                    return new ListaPosiciones();
+                }).anadir(posicion);
+                inicioPalabra = i + 1;
+                primero = ' ';
+                segundo = ' ';
+            } else {
+                primero = segundo;
+                segundo = tercero;
+            }
+        }
+    }
+
+    private void borrar(int posicion) {
+        textos[posicion] = null;
+        borrados++;
+    }
+
+    /**
+     * Reconstruye las listas, en orden de ID y sin huecos, cuando los documentos borrados ya son más
+     * que los vivos o cuando los añadidos fuera de orden son más de la octava parte.
+     */
+    private void compactarSiHaceFalta() {
+        int vivos = ocupados - borrados;
+        int desordenados = ocupados - ordenados;
+        boolean muchosHuecos = borrados >= HUECOS_MINIMOS_PARA_COMPACTAR && borrados > vivos;
+        boolean muchosDesordenados = desordenados >= HUECOS_MINIMOS_PARA_COMPACTAR && desordenados > vivos / 8;
+        if (!muchosHuecos && !muchosDesordenados) {
+            return;
+        }
+        Integer[] vivas = new Integer[vivos];
+        int n = 0;
+        for (int i = 0; i < ocupados; i++) {
+            if (textos[i] != null) {
+                vivas[n++] = i;
+            }
+        }
+        long[] idsAnteriores = ids;
+        String[] textosAnteriores = textos;
+        Arrays.sort(vivas, Comparator.comparingLong(i -> idsAnteriores[i]));
+        int capacidad = Math.max(16, Integer.highestOneBit(Math.max(1, vivos)) * 2);
+        ids = new long[capacidad];
+        textos = new String[capacidad];
+        ocupados = 0;
+        ordenados = 0;
+        borrados = 0;
+        posicionPorId.clear();
+        listas.clear();
+        listasPorPalabra.clear();
+        vocabulario = new ArbolBK();
+        for (int posicion : vivas) {
+            anadir(idsAnteriores[posicion], textosAnteriores[posicion]);
+        }
+    }
+
+    // Los tres caracteres del trigrama en un long (16 bits cada uno), sin crear un String por trigrama
+    private static long clave(char primero, char segundo, char tercero) {
+        return ((long) primero << 32) | ((long) segundo << 16) | tercero;
+    }
+
+    private static long clave(String texto, int desde) {
+        return clave(texto.charAt(desde), texto.charAt(desde + 1), texto.charAt(desde + 2));
+    }
+
+    /** Posiciones de documentos en orden creciente (se añaden siempre al final). */
+    private static final class ListaPosiciones {
+
+        private int[] posiciones = new int[4];
+        private int tamanio;
+
+        void anadir(int posicion) {
+            // Un trigrama repetido en el mismo documento solo se apunta una vez
+            if (tamanio > 0 && posiciones[tamanio - 1] == posicion) {
+                return;
+            }
+            if (tamanio == posiciones.length) {
+                posiciones = Arrays.copyOf(posiciones, tamanio * 2);
+            }
+            posiciones[tamanio++] = posicion;
+        }
+    }
+
+    /**
+     * Estado de una búsqueda: las listas que hay que intersectar y los mejores resultados hasta el momento.
+     */
+    private final class Recorrido {
+
+        private final String[] palabras;
+        private final List<ListaPosiciones> necesarias;
+        // La mejor puntuación que puede tener un resultado de esta página
+        private final int maxima;
+        private final Mejores mejores;
+
+        Recorrido(String[] palabras, List<ListaPosiciones> necesarias, int maxima, Mejores mejores) {
+            this.palabras = palabras;
+            this.necesarias = necesarias;
+            this.maxima = maxima;
+            this.mejores = mejores;
+        }
+
+        /**
+         * Comprueba los candidatos de la lista más corta entre dos índices.
+         *
+         * @param enOrdenDeId Si los candidatos están en orden de ID: entonces se para en cuanto el peor
+         * resultado de la página tiene la puntuación máxima y un ID menor que el candidato, porque ningún
+         * candidato posterior puede desplazarlo.
+         */
+        void recorrer(int desde, int hasta, boolean enOrdenDeId) {
+            ListaPosiciones menor = necesarias.get(0);
+            int[] inicios = new int[necesarias.size()];
+            candidatos:
+            for (int k = desde; k < hasta; k++) {
+                int posicion = menor.posiciones[k];
+                if (enOrdenDeId && mejores.completa()) {
+                    Coincidencia peor = mejores.peor();
+                    if (peor.puntuacion >= maxima && peor.id < ids[posicion]) {
+                        return;
+                    }
+                }
+                for (int l = 1; l < necesarias.size(); l++) {
+                    ListaPosiciones lista = necesarias.get(l);
+                    int encontrada = Arrays.binarySearch(lista.posiciones, inicios[l], lista.tamanio, posicion);
+                    if (encontrada < 0) {
+                        inicios[l] = -encontrada - 1;
+                        continue candidatos;
+                    }
+                    inicios[l] = encontrada + 1;
+                }
+                String texto = textos[posicion];
+                int puntuacion = texto == null ? 0 : puntuar(texto, palabras);
+                if (puntuacion > 0) {
+                    mejores.ofrecer(ids[posicion], puntuacion);
+                }
+            }
+        }
+    }
+
+    /**
+     * Los mejores resultados de una página, posteriores a la posición del cursor.
+     */
+    private static final class Mejores {
+
+        private final Integer despuesDePuntuacion;
+        private final Long despuesDeId;
+        private final int limite;
+        // El peor de los resultados guardados queda arriba, para sustituirlo si llega uno mejor
+        private final PriorityQueue<Coincidencia> cola = new PriorityQueue<>(ORDEN.reversed());
+
+        Mejores(Integer despuesDePuntuacion, Long despuesDeId, int limite) {
+            this.despuesDePuntuacion = despuesDePuntuacion;
+            this.despuesDeId = despuesDeId;
+            this.limite = limite;
+        }
+
+        boolean completa() {
+            return cola.size() == limite;
+        }
+
+        Coincidencia peor() {
+            return cola.peek();
+        }
+
+        void ofrecer(long id, int puntuacion) {
+            if (despuesDePuntuacion != null && despuesDeId != null
+                    && (puntuacion > despuesDePuntuacion || (puntuacion == despuesDePuntuacion && id <= despuesDeId))) {
+                return;
+            }
+            Coincidencia coincidencia = new Coincidencia(id, puntuacion);
+            if (cola.size() < limite) {
+                cola.add(coincidencia);
+            } else if (ORDEN.compare(coincidencia, cola.peek()) < 0) {
+                cola.poll();
+                cola.add(coincidencia);
+            }
+        }
+
+        List<Coincidencia> resultado() {
+            List<Coincidencia> resultado = new ArrayList<>(cola);
+            resultado.sort(ORDEN);
+            return resultado;
+        }
+    }
+
+    /**
+     * Un documento encontrado y su puntuación.
+     */
+    public static final class Coincidencia {
+
+        private final long id;
+        private final int puntuacion;
+
+        Coincidencia(long id, int puntuacion) {
+            this.id = id;
+            this.puntuacion = puntuacion;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public int getPuntuacion() {
+            return puntuacion;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.stem.Proyecto.util;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Lector de CSV (RFC 4180, en UTF-8) que recorre el archivo proyectado en memoria, por ventanas de tamaño fijo,
+ * en lugar de copiarlo a un búfer. Cada fila se divide en campos guardando solo sus posiciones,
+ * y cada campo se interpreta directamente desde los bytes: los números, las fechas y las horas
+ * no pasan por un String, y los textos que se repiten (la temporada o el pabellón) devuelven
+ * siempre el mismo String, que solo se crea la primera vez que aparece.
+ * <p>
+ * Admite campos entre comillas dobles, con comillas escapadas ("") y saltos de línea dentro,
+ * y filas terminadas en LF o en CRLF. Las filas vacías se saltan.
+ * Una fila no puede ocupar más que una ventana. No es seguro para varios hilos.
+ */
+public class LectorCsv {
+
+    // Posiciones guardadas en la caché de textos repetidos (potencia de dos)
+    private static final int TEXTOS_EN_CACHE = 1024;
+
+    private final FileChannel canal;
+    private final long tamanioArchivo;
+    private final int tamanioVentana;
+
+    private MappedByteBuffer ventana;
+    // Posición de la ventana en el archivo, y de la siguiente fila dentro de la ventana
+    private long base;
+    private int posicion;
+
+    private int campos;
+    private int[] inicio = new int[16];
+    private int[] fin = new int[16];
+    // Si el campo iba entre comillas y tenía comillas escapadas, que hay que quitar
+    private boolean[] escapado = new boolean[16];
+    private long filas;
+
+    private byte[] auxiliar = new byte[256];
+    private final byte[][] textosBytes = new byte[TEXTOS_EN_CACHE][];
+    private final String[] textos = new String[TEXTOS_EN_CACHE];
+
+    /**
+     * @param canal El archivo a leer, abierto para lectura. No se cierra.
+     * @param tamanioVentana Los bytes del archivo proyectados en memoria de cada vez.
+     * @throws IOException Si no se puede proyectar el archivo.
+     */
+    public LectorCsv(FileChannel canal, int tamanioVentana) throws IOException {
+        this.canal = canal;
+        this.tamanioArchivo = canal.size();
+        this.tamanioVentana = tamanioVentana;
+        proyectar(0);
+    }
+
+    private void proyectar(long desde) throws IOException {
+        base = desde;
+        posicion = 0;
+        ventana = canal.map(FileChannel.MapMode.READ_ONLY, desde, Math.min(tamanioVentana, tamanioArchivo - desde));
+    }
+
+    /**
+     * Avanza a la siguiente fila no vacía.
+     *
+     * @return false si no quedan filas.
+     * @throws IllegalArgumentException si una fila tiene comillas sin cerrar o no cabe en una ventana.
+     * @throws IOException Si no se puede proyectar la siguiente ventana.
+     */
+    public boolean siguienteFila() throws IOException {
+        while (base + posicion < tamanioArchivo) {
+            boolean finArchivo = base + ventana.limit() >= tamanioArchivo;
+            int siguiente = analizarFila(posicion, finArchivo);
+            if (siguiente < 0) {
+                // La fila sigue en la siguiente ventana: se vuelve a leer desde su principio
+                if (posicion == 0) {
+                    throw new IllegalArgumentException("La fila " + (filas + 1) + " ocupa más de " + tamanioVentana + " bytes");
+                }
+                proyectar(base + posicion);
+                continue;
+            }
+            posicion = siguiente;
+            filas++;
+            if (campos > 1 || fin[0] > inicio[0]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Divide en campos la fila que empieza en {@code desde}.
+     *
+     * @return La posición de la fila siguiente, o -1 si la fila no termina dentro de la ventana.
+     */
+    private int analizarFila(int desde, boolean finArchivo) {
+        int limite = ventana.limit();
+        campos = 0;
+        int i = desde;
+        int inicioCampo = i;
+        while (true) {
+            if (i >= limite) {
+                if (!finArchivo) {
+                    return -1;
+                }
+                // Última fila sin salto de línea
+                anotarCampo(inicioCampo, i > inicioCampo && ventana.get(i - 1) == '\r' ? i - 1 : i, false);
+                return i;
+            }
+            byte b = ventana.get(i);
+            if (b == '"' && i == inicioCampo) {
+                boolean conEscapes = false;
+                int inicioTexto = ++i;
+                while (true) {
+                    if (i >= limite) {
+                        if (!finArchivo) {
+                            return -1;
+                        }
+                        throw new IllegalArgumentException("Comillas sin cerrar en la fila " + (filas + 1));
+                    }
+                    if (ventana.get(i) == '"') {
+                        if (i + 1 < limite && ventana.get(i + 1) == '"') {
+                            conEscapes = true;
+                            i += 2;
+                            continue;
+                        }
+                        if (i + 1 >= limite && !finArchivo) {
+                            return -1;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                anotarCampo(inicioTexto, i, conEscapes);
+                i++;
+                // Tras las comillas de cierre solo puede venir un separador o el fin de la fila
+                if (i >= limite) {
+                    if (!finArchivo) {
+                        return -1;
+                    }
+                    return i;
+                }
+                b = ventana.get(i);
+                if (b == ',') {
+                    inicioCampo = ++i;
+                    continue;
+                }
+                if (b == '\r') {
+                    if (++i >= limite) {
+                        return finArchivo ? i : -1;
+                    }
+                    b = ventana.get(i);
+                }
+                if (b != '\n') {
+                    throw new IllegalArgumentException("Carácter inesperado tras unas comillas en la fila " + (filas + 1));
+                }
+                return i + 1;
+            }
+            if (b == ',') {
+                anotarCampo(inicioCampo, i, false);
+                inicioCampo = ++i;
+            } else if (b == '\n') {
+                int finCampo = i > inicioCampo && ventana.get(i - 1) == '\r' ? i - 1 : i;
+                anotarCampo(inicioCampo, finCampo, false);
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private void anotarCampo(int desde, int hasta, boolean conEscapes) {
+        if (campos == inicio.length) {
+            inicio = Arrays.copyOf(inicio, campos * 2);
+            fin = Arrays.copyOf(fin, campos * 2);
+            escapado = Arrays.copyOf(escapado, campos * 2);
+        }
+        inicio[campos] = desde;
+        fin[campos] = hasta;
+        escapado[campos] = conEscapes;
+        campos++;
+    }
+
+    /** @return El número de campos de la fila actual. */
+    public int numeroCampos() {
+        return campos;
+    }
+
+    /** @return El número de filas leídas hasta ahora, incluidas las vacías (empezando por 1 en la primera). */
+    public long getFilas() {
+        return filas;
+    }
+
+    /** @return Los bytes del archivo recorridos hasta el final de la fila actual. */
+    public long getBytesLeidos() {
+        return base + posicion;
+    }
+
+    /** @return Si el campo no existe en esta fila o está vacío. */
+    public boolean vacio(int campo) {
+        return campo < 0 || campo >= campos || fin[campo] == inicio[campo];
+    }
+
+    /**
+     * @return El campo como número entero.
+     * @throws IllegalArgumentException si no es un número.
+     */
+    public int entero(int campo) {
+        int i = inicio[campo];
+        int hasta = fin[campo];
+        boolean negativo = i < hasta && ventana.get(i) == '-';
+        if (negativo) {
+            i++;
+        }
+        if (i == hasta || hasta - i > 9) {
+            throw new IllegalArgumentException("\"" + texto(campo) + "\" no es un número válido");
+        }
+        int valor = 0;
+        for (; i < hasta; i++) {
+            valor = valor * 10 + digito(campo, i);
+        }
+        return negativo ? -valor : valor;
+    }
+
+    /**
+     * @return El campo como fecha en formato ISO (aaaa-mm-dd).
+     * @throws IllegalArgumentException si no es una fecha con ese formato.
+     * @throws java.time.DateTimeException si la fecha no existe (por ejemplo, un 30 de febrero).
+     */
+    public LocalDate fecha(int campo) {
+        int i = inicio[campo];
+        if (fin[campo] - i != 10 || ventana.get(i + 4) != '-' || ventana.get(i + 7) != '-') {
+            throw new IllegalArgumentException("\"" + texto(campo) + "\" no es una fecha aaaa-mm-dd");
+        }
+        return LocalDate.of(numero(campo, i, 4), numero(campo, i + 5, 2), numero(campo, i + 8, 2));
+    }
+
+    /**
+     * @return El campo como hora (hh:mm o hh:mm:ss).
+     * @throws IllegalArgumentException si no es una hora con ese formato.
+     * @throws java.time.DateTimeException si la hora no existe.
+     */
+    public LocalTime hora(int campo) {
+        int i = inicio[campo];
+        int longitud = fin[campo] - i;
+        if ((longitud != 5 && longitud != 8) || ventana.get(i + 2) != ':' || (longitud == 8 && ventana.get(i + 5) != ':')) {
+            throw new IllegalArgumentException("\"" + texto(campo) + "\" no es una hora hh:mm");
+        }
+        return LocalTime.of(numero(campo, i, 2), numero(campo, i + 3, 2), longitud == 8 ? numero(campo, i + 6, 2) : 0);
+    }
+
+    private int numero(int campo, int desde, int digitos) {
+        int valor = 0;
+        for (int i = desde; i < desde + digitos; i++) {
+            valor = valor * 10 + digito(campo, i);
+        }
+        return valor;
+    }
+
+    private int digito(int campo, int i) {
+        int d = ventana.get(i) - '0';
+        if (d < 0 || d > 9) {
+            throw new IllegalArgumentException("\"" + texto(campo) + "\" no es un valor válido");
+        }
+        return d;
+    }
+
+    /**
+     * Los bytes del campo (hasta 8) empaquetados en un long, para buscarlo en un mapa sin crear un String.
+     * Coincide con {@link MapaAbreviaturas#clave(String)} para el mismo texto.
+     *
+     * @return La clave, o {@link MapaAbreviaturas#SIN_CLAVE} si el campo ocupa más de 8 bytes o lleva comillas escapadas.
+     */
+    public long clave(int campo) {
+        int longitud = fin[campo] - inicio[campo];
+        if (longitud > Long.BYTES || escapado[campo]) {
+            return MapaAbreviaturas.SIN_CLAVE;
+        }
+        long clave = 0;
+        for (int i = inicio[campo]; i < fin[campo]; i++) {
+            clave = (clave << 8) | (ventana.get(i) & 0xFF);
+        }
+        return clave;
+    }
+
+    /**
+     * Devuelve el campo como texto. Si el mismo texto ya apareció antes (en esta fila o en otra),
+     * se devuelve el mismo String sin crear otro.
+     *
+     * @return El texto, sin las comillas; vacío si el campo no existe.
+     */
+    public String texto(int campo) {
+        if (campo < 0 || campo >= campos) {
+            return "";
+        }
+        int longitud = copiar(campo);
+        int hash = 1;
+        for (int i = 0; i < longitud; i++) {
+            hash = 31 * hash + auxiliar[i];
+        }
+        int posicionCache = (hash ^ (hash >>> 16)) & (TEXTOS_EN_CACHE - 1);
+        byte[] guardado = textosBytes[posicionCache];
+        if (guardado != null && Arrays.equals(guardado, 0, guardado.length, auxiliar, 0, longitud)) {
+            return textos[posicionCache];
+        }
+        String texto = new String(auxiliar, 0, longitud, StandardCharsets.UTF_8);
+        textosBytes[posicionCache] = Arrays.copyOf(auxiliar, longitud);
+        textos[posicionCache] = texto;
+        return texto;
+    }
+
+    /**
+     * Copia los bytes del campo al array auxiliar, quitando las comillas escapadas.
+     *
+     * @return El número de bytes copiados.
+     */
+    private int copiar(int campo) {
+        int longitud = fin[campo] - inicio[campo];
+        if (auxiliar.length < longitud) {
+            auxiliar = new byte[Math.max(longitud, auxiliar.length * 2)];
+        }
+        if (!escapado[campo]) {
+            ventana.get(inicio[campo], auxiliar, 0, longitud);
+            return longitud;
+        }
+        int n = 0;
+        for (int i = inicio[campo]; i < fin[campo]; i++) {
+            byte b = ventana.get(i);
+            auxiliar[n++] = b;
+            if (b == '"') {
+                i++;
+            }
+        }
+        return n;
+    }
+}
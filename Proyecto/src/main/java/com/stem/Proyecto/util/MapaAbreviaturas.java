@@ -0,0 +1,118 @@
+package com.stem.Proyecto.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Mapa de la abreviatura de cada equipo a un número (su ID o su posición en una lista),
+ * con la abreviatura empaquetada en un long (sus bytes en UTF-8, hasta 8) y direccionamiento abierto,
+ * para resolver los equipos de cada fila de un CSV sin crear un String ni un Long por búsqueda
+ * (ver {@link LectorCsv#clave(int)}). No es seguro para varios hilos mientras se rellena.
+ */
+public class MapaAbreviaturas {
+
+    /** Clave de los textos que no caben en un long: no está en el mapa. */
+    public static final long SIN_CLAVE = Long.MIN_VALUE;
+
+    /** Lo que devuelve {@link #get} si la abreviatura no está. */
+    public static final long NO_ENCONTRADO = -1;
+
+    private long[] claves;
+    private long[] valores;
+    private boolean[] ocupadas;
+    private int tamanio;
+
+    public MapaAbreviaturas() {
+        reservar(64);
+    }
+
+    /**
+     * @param abreviatura Una abreviatura.
+     * @return Sus bytes empaquetados, o {@link #SIN_CLAVE} si ocupa más de 8 bytes.
+     */
+    public static long clave(String abreviatura) {
+        byte[] bytes = abreviatura.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Long.BYTES) {
+            return SIN_CLAVE;
+        }
+        long clave = 0;
+        for (byte b : bytes) {
+            clave = (clave << 8) | (b & 0xFF);
+        }
+        return clave;
+    }
+
+    /**
+     * Añade o reemplaza una abreviatura. Las que ocupan más de 8 bytes no se guardan.
+     *
+     * @param abreviatura La abreviatura del equipo.
+     * @param valor El número asociado, que no puede ser {@link #NO_ENCONTRADO}.
+     */
+    public void put(String abreviatura, long valor) {
+        long clave = clave(abreviatura);
+        if (clave == SIN_CLAVE) {
+            return;
+        }
+        if ((tamanio + 1) * 2 > claves.length) {
+            long[] clavesAntes = claves;
+            long[] valoresAntes = valores;
+            boolean[] ocupadasAntes = ocupadas;
+            reservar(claves.length * 2);
+            for (int i = 0; i < clavesAntes.length; i++) {
+                if (ocupadasAntes[i]) {
+                    insertar(clavesAntes[i], valoresAntes[i]);
+                }
+            }
+        }
+        insertar(clave, valor);
+    }
+
+    /**
+     * @param clave La abreviatura empaquetada con {@link #clave(String)} o {@link LectorCsv#clave(int)}.
+     * @return El número asociado a la abreviatura, o {@link #NO_ENCONTRADO}.
+     */
+    public long get(long clave) {
+        if (clave == SIN_CLAVE) {
+            return NO_ENCONTRADO;
+        }
+        for (int i = posicion(clave); ocupadas[i]; i = (i + 1) & (claves.length - 1)) {
+            if (claves[i] == clave) {
+                return valores[i];
+            }
+        }
+        return NO_ENCONTRADO;
+    }
+
+    public int size() {
+        return tamanio;
+    }
+
+    private void reservar(int capacidad) {
+        claves = new long[capacidad];
+        valores = new long[capacidad];
+        ocupadas = new boolean[capacidad];
+        tamanio = 0;
+    }
+
+    private void insertar(long clave, long valor) {
+        int i = posicion(clave);
+        while (ocupadas[i] && claves[i] != clave) {
+            i = (i + 1) & (claves.length - 1);
+        }
+        if (!ocupadas[i]) {
+            ocupadas[i] = true;
+            claves[i] = clave;
+            tamanio++;
+        }
+        valores[i] = valor;
+    }
+
+    private int posicion(long clave) {
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (claves.length - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "MapaAbreviaturas{tamanio=" + tamanio + ", capacidad=" + claves.length + "}";
+    }
+}
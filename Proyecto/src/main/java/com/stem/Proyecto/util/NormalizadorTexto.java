@@ -0,0 +1,58 @@
+package com.stem.Proyecto.util;
+
+import java.text.Normalizer;
+
+/**
+ * Normaliza textos para las búsquedas: quita tildes y diéresis, pasa a minúsculas y deja
+ * las palabras separadas por un único espacio. Así "Muñoz", "MUNOZ" y "muñoz" se buscan igual.
+ */
+public final class NormalizadorTexto {
+
+    private NormalizadorTexto() {
+    }
+
+    /**
+     * @param texto El texto original (puede ser null).
+     * @return El texto sin tildes, en minúsculas y con las palabras separadas por un espacio;
+     * cadena vacía si no contiene letras ni números.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        // La descomposición NFD separa cada letra de su tilde; solo hace falta si hay caracteres no ASCII
+        String descompuesto = esAscii(texto) ? texto : Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder resultado = new StringBuilder(descompuesto.length());
+        boolean separar = false;
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char c = descompuesto.charAt(i);
+            if (esDiacritico(c)) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (separar && resultado.length() > 0) {
+                    resultado.append(' ');
+                }
+                separar = false;
+                resultado.append(Character.toLowerCase(c));
+            } else {
+                separar = true;
+            }
+        }
+        return resultado.toString();
+    }
+
+    private static boolean esAscii(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean esDiacritico(char c) {
+        int tipo = Character.getType(c);
+        return tipo == Character.NON_SPACING_MARK || tipo == Character.COMBINING_SPACING_MARK || tipo == Character.ENCLOSING_MARK;
+    }
+}
@@ -0,0 +1,52 @@
+package com.stem.Proyecto.util;
+
+/**
+ * Puntuación común para mezclar resultados de búsquedas distintas (jugadores, equipos, logros, partidos).
+ * Cada índice ordena a su manera; para poder comparar sus resultados entre sí, se vuelve a puntuar
+ * el texto que se muestra de cada uno con la misma regla que la búsqueda de jugadores
+ * ({@link IndiceTrigramas}): por cada palabra de la consulta, 3 puntos si coincide con una palabra entera
+ * (o con la misma palabra en otro género o número), 2 si es el principio de una palabra y 1 si aparece
+ * dentro de una palabra (solo a partir de 3 letras).
+ */
+public final class PuntuacionTexto {
+
+    private static final int PUNTOS_PALABRA_COMPLETA = 3;
+
+    private PuntuacionTexto() {
+    }
+
+    /**
+     * @param consulta El texto buscado.
+     * @param texto El texto del resultado (puede ser null).
+     * @return Los puntos conseguidos entre los puntos posibles: 1 si todas las palabras de la consulta
+     * aparecen enteras y 0 si no aparece ninguna.
+     */
+    public static double puntuar(String consulta, String texto) {
+        String normalizada = NormalizadorTexto.normalizar(consulta);
+        String normalizado = NormalizadorTexto.normalizar(texto);
+        if (normalizada.isEmpty() || normalizado.isEmpty()) {
+            return 0;
+        }
+        String[] palabras = normalizada.split(" ");
+        String[] palabrasTexto = normalizado.split(" ");
+        int puntos = 0;
+        for (String palabra : palabras) {
+            int mejor = 0;
+            for (int i = 0; i < palabrasTexto.length && mejor < PUNTOS_PALABRA_COMPLETA; i++) {
+                mejor = Math.max(mejor, puntuarPalabra(palabra, palabrasTexto[i]));
+            }
+            puntos += mejor;
+        }
+        return (double) puntos / (PUNTOS_PALABRA_COMPLETA * palabras.length);
+    }
+
+    private static int puntuarPalabra(String palabra, String delTexto) {
+        if (delTexto.equals(palabra) || AnalizadorEspanol.raiz(delTexto).equals(AnalizadorEspanol.raiz(palabra))) {
+            return PUNTOS_PALABRA_COMPLETA;
+        }
+        if (delTexto.startsWith(palabra)) {
+            return 2;
+        }
+        return palabra.length() >= 3 && delTexto.contains(palabra) ? 1 : 0;
+    }
+}
@@ -0,0 +1,159 @@
+package com.stem.Proyecto.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import com.stem.Proyecto.dto.EstadisticasCache;
+
+/**
+ * Proveedor de la caché de segundo nivel de Hibernate, local a esta JVM.
+ * Cada región (una por entidad o colección cacheada, más la de resultados de consultas)
+ * es una {@link CacheTinyLfu} con el tamaño máximo y el tiempo de vida configurados en
+ * {@value #TAMANIO_MAXIMO} y {@value #SEGUNDOS_VIDA} (en las propiedades de Hibernate).
+ * La región de marcas de tiempo, que dice qué tablas han cambiado desde que se guardó el resultado
+ * de una consulta, no tiene límite ni caducidad: perder una marca haría pasar por válido un resultado antiguo.
+ * Hibernate la crea a partir de {@code hibernate.cache.region.factory_class}.
+ */
+public class RegionesCacheHibernate extends RegionFactoryTemplate {
+
+    public static final String TAMANIO_MAXIMO = "nba.cache-regiones.tamanio-maximo";
+    public static final String SEGUNDOS_VIDA = "nba.cache-regiones.segundos-vida";
+
+    // Ordenadas por nombre para las estadísticas
+    private final Map<String, CacheTinyLfu<Object, Object>> regiones = new ConcurrentSkipListMap<>();
+    private int tamanioMaximo = 10_000;
+    private int segundosVida = 3_600;
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        tamanioMaximo = entero(configValues, TAMANIO_MAXIMO, tamanioMaximo);
+        segundosVida = entero(configValues, SEGUNDOS_VIDA, segundosVida);
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regiones.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return new Almacen(region(regionConfig.getRegionName()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return new Almacen(region(regionName));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return new MarcasDeTiempo();
+    }
+
+    /**
+     * @return Los aciertos, fallos, expulsiones e invalidaciones de cada región, por nombre.
+     */
+    public List<EstadisticasCache> getEstadisticas() {
+        return regiones.values().stream().map(CacheTinyLfu::getEstadisticas).toList();
+    }
+
+    private CacheTinyLfu<Object, Object> region(String nombre) {
+        return regiones.computeIfAbsent(nombre, n -> new CacheTinyLfu<>(n, tamanioMaximo, segundosVida));
+    }
+
+    private static int entero(Map<String, Object> configValues, String nombre, int porDefecto) {
+        Object valor = configValues.get(nombre);
+        return valor == null ? porDefecto : Integer.parseInt(valor.toString().trim());
+    }
+
+    /**
+     * Las entradas de una región. Hibernate guarda aquí tanto los datos como los bloqueos
+     * temporales de las entidades que se están modificando.
+     */
+    private static final class Almacen implements DomainDataStorageAccess {
+
+        private final CacheTinyLfu<Object, Object> cache;
+
+        private Almacen(CacheTinyLfu<Object, Object> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return cache.buscar(key);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            cache.guardar(key, value);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return cache.contiene(key);
+        }
+
+        @Override
+        public void evictData() {
+            cache.invalidarTodo();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            cache.invalidar(key);
+        }
+
+        @Override
+        public void release() {
+            cache.invalidarTodo();
+        }
+    }
+
+    private static final class MarcasDeTiempo implements StorageAccess {
+
+        private final ConcurrentMap<Object, Object> marcas = new ConcurrentHashMap<>();
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return marcas.get(key);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            marcas.put(key, value);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return marcas.containsKey(key);
+        }
+
+        @Override
+        public void evictData() {
+            marcas.clear();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            marcas.remove(key);
+        }
+
+        @Override
+        public void release() {
+            marcas.clear();
+        }
+    }
+}
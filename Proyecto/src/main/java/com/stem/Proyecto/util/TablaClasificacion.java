@@ -0,0 +1,234 @@
+package com.stem.Proyecto.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.stem.Proyecto.dto.FilaClasificacion;
+import com.stem.Proyecto.entity.Partido;
+
+/**
+ * Clasificación en memoria de una temporada.
+ * Guarda el resultado de cada partido contado, indexado por su ID, y el balance acumulado
+ * de cada equipo. Registrar o retirar un partido solo toca a sus dos equipos, y volver a
+ * registrar un partido ya contado sustituye su resultado anterior (no lo suma dos veces).
+ * <p>
+ * No es un bean: la crea y la guarda {@code ClasificacionServiceImpl}, una por temporada.
+ */
+public class TablaClasificacion {
+
+    /** Orden de la clasificación: porcentaje de victorias, diferencia de puntos, puntos a favor y nombre. */
+    static final Comparator<FilaClasificacion> ORDEN = Comparator
+            .comparingDouble(FilaClasificacion::getPorcentajeVictorias).reversed()
+            .thenComparing(Comparator.comparingInt(FilaClasificacion::getDiferencia).reversed())
+            .thenComparing(Comparator.comparingInt(FilaClasificacion::getPuntosAFavor).reversed())
+            .thenComparing(FilaClasificacion::getNombreEquipo, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(FilaClasificacion::getEquipoId);
+
+    private final Map<Long, Resultado> partidos = new HashMap<>();
+    private final Map<Long, Balance> equipos = new HashMap<>();
+    private HistorialClasificacion historial;
+
+    /**
+     * Construye la clasificación a partir de los partidos de una temporada.
+     *
+     * @param partidosTemporada Los partidos de la temporada, con sus equipos cargados.
+     * @return La tabla con todos los partidos ya disputados contados.
+     */
+    public static TablaClasificacion desde(List<Partido> partidosTemporada) {
+        TablaClasificacion tabla = new TablaClasificacion();
+        for (Partido partido : partidosTemporada) {
+            tabla.registrar(Resultado.de(partido));
+        }
+        return tabla;
+    }
+
+    /**
+     * Cuenta el resultado de un partido, sustituyendo el anterior si ya estaba contado.
+     * Si el partido todavía no tiene puntuación, solo se retira el resultado anterior.
+     *
+     * @param resultado El resultado del partido.
+     */
+    public synchronized void registrar(Resultado resultado) {
+        retirar(resultado.partidoId);
+        if (resultado.isDisputado()) {
+            partidos.put(resultado.partidoId, resultado);
+            aplicar(resultado, 1);
+        }
+    }
+
+    /**
+     * Descuenta el resultado de un partido, si estaba contado.
+     *
+     * @param partidoId El ID del partido.
+     */
+    public synchronized void retirar(Long partidoId) {
+        Resultado anterior = partidos.remove(partidoId);
+        if (anterior != null) {
+            aplicar(anterior, -1);
+        }
+    }
+
+    /**
+     * Cambia el nombre con el que aparece un equipo, si está en la clasificación.
+     *
+     * @param equipoId El ID del equipo.
+     * @param nombre El nombre nuevo.
+     */
+    public synchronized void renombrarEquipo(Long equipoId, String nombre) {
+        Balance balance = equipos.get(equipoId);
+        if (balance != null && !Objects.equals(balance.nombre, nombre)) {
+            balance.nombre = nombre;
+            historial = null;
+        }
+    }
+
+    /**
+     * Devuelve la clasificación ordenada. Solo recorre los equipos, no los partidos.
+     *
+     * @return Una fila por equipo con al menos un partido disputado.
+     */
+    public synchronized List<FilaClasificacion> filas() {
+        List<FilaClasificacion> filas = new ArrayList<>(equipos.size());
+        equipos.forEach((equipoId, balance) -> filas.add(balance.aFila(equipoId)));
+        return numerar(filas);
+    }
+
+    /**
+     * Devuelve el historial de la temporada (clasificación a cada fecha).
+     * Se calcula a partir de los partidos que ya están en memoria la primera vez que se pide
+     * después de un cambio, sin consultar la base de datos, y se reutiliza hasta el siguiente cambio.
+     *
+     * @return El historial, inmutable, así que se puede consultar sin bloquear la tabla.
+     */
+    public synchronized HistorialClasificacion historial() {
+        if (historial == null) {
+            Map<Long, String> nombres = new HashMap<>();
+            equipos.forEach((equipoId, balance) -> nombres.put(equipoId, balance.nombre));
+            historial = new HistorialClasificacion(partidos.values(), nombres);
+        }
+        return historial;
+    }
+
+    /** Ordena las filas y les asigna su posición. */
+    static List<FilaClasificacion> numerar(List<FilaClasificacion> filas) {
+        filas.sort(ORDEN);
+        for (int i = 0; i < filas.size(); i++) {
+            filas.set(i, filas.get(i).conPosicion(i + 1));
+        }
+        return filas;
+    }
+
+    /** @return El número de partidos disputados que se están contando. */
+    public synchronized int getPartidosContados() {
+        return partidos.size();
+    }
+
+    private void aplicar(Resultado r, int signo) {
+        historial = null;
+        int diferencia = Integer.compare(r.puntosLocal, r.puntosVisitante);
+        Balance local = equipos.computeIfAbsent(r.localId, id -> new Balance());
+        Balance visitante = equipos.computeIfAbsent(r.visitanteId, id -> new Balance());
+        if (signo > 0) {
+            // El nombre más reciente es el del último partido registrado (o el de renombrarEquipo)
+            local.nombre = r.localNombre;
+            visitante.nombre = r.visitanteNombre;
+        }
+        local.sumar(signo, diferencia, r.puntosLocal, r.puntosVisitante, true);
+        visitante.sumar(signo, -diferencia, r.puntosVisitante, r.puntosLocal, false);
+        if (local.jugados == 0) {
+            equipos.remove(r.localId);
+        }
+        if (visitante.jugados == 0) {
+            equipos.remove(r.visitanteId);
+        }
+    }
+
+    /**
+     * Copia inmutable de lo que la clasificación necesita de un partido.
+     * Se toma en el momento de guardar, así los cambios posteriores en la entidad no le afectan.
+     */
+    public static final class Resultado {
+
+        final Long partidoId;
+        final LocalDate fecha;
+        final Long localId;
+        final String localNombre;
+        final Long visitanteId;
+        final String visitanteNombre;
+        final int puntosLocal;
+        final int puntosVisitante;
+        private final boolean disputado;
+
+        private Resultado(Partido p) {
+            this.partidoId = p.getId();
+            this.fecha = p.getFecha();
+            this.localId = p.getIdEquipoLocal();
+            this.visitanteId = p.getIdEquipoVisitante();
+            this.disputado = localId != null && visitanteId != null
+                    && p.getPuntuacionLocal() != null && p.getPuntuacionVisitante() != null;
+            this.localNombre = disputado ? p.getNombreEquipoLocal() : null;
+            this.visitanteNombre = disputado ? p.getNombreEquipoVisitante() : null;
+            this.puntosLocal = disputado ? p.getPuntuacionLocal() : 0;
+            this.puntosVisitante = disputado ? p.getPuntuacionVisitante() : 0;
+        }
+
+        /**
+         * @param partido El partido, con sus equipos cargados.
+         * @return Su resultado; si aún no tiene puntuación no se cuenta en la clasificación.
+         */
+        public static Resultado de(Partido partido) {
+            return new Resultado(partido);
+        }
+
+        public Long getPartidoId() {
+            return partidoId;
+        }
+
+        public LocalDate getFecha() {
+            return fecha;
+        }
+
+        /** @return Si el partido tiene los dos equipos y las dos puntuaciones. */
+        public boolean isDisputado() {
+            return disputado;
+        }
+    }
+
+    /** Balance acumulado de un equipo. */
+    private static final class Balance {
+
+        String nombre;
+        int jugados;
+        int victorias;
+        int derrotas;
+        int puntosAFavor;
+        int puntosEnContra;
+        int victoriasLocal;
+        int derrotasLocal;
+        int victoriasVisitante;
+        int derrotasVisitante;
+
+        void sumar(int signo, int resultado, int aFavor, int enContra, boolean enCasa) {
+            jugados += signo;
+            puntosAFavor += signo * aFavor;
+            puntosEnContra += signo * enContra;
+            if (resultado > 0) {
+                victorias += signo;
+                if (enCasa) victoriasLocal += signo; else victoriasVisitante += signo;
+            } else if (resultado < 0) {
+                derrotas += signo;
+                if (enCasa) derrotasLocal += signo; else derrotasVisitante += signo;
+            }
+        }
+
+        FilaClasificacion aFila(Long equipoId) {
+            return new FilaClasificacion(0, equipoId, nombre, victorias, derrotas, jugados - victorias - derrotas,
+                    puntosAFavor, puntosEnContra, victoriasLocal, derrotasLocal, victoriasVisitante, derrotasVisitante);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.stem.Proyecto.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidades para los servicios que mantienen datos en memoria a partir de la base de datos.
+ */
+public final class Transacciones {
+
+    private Transacciones() {
+    }
+
+    /**
+     * Ejecuta un cambio cuando se confirma la transacción actual (si se deshace, no se aplica),
+     * o en el momento si no hay transacción.
+     *
+     * @param cambio El cambio sobre los datos en memoria.
+     */
+    public static void trasConfirmar(Runnable cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cambio.run();
+                }
+            });
+        } else {
+            cambio.run();
+        }
+    }
+}
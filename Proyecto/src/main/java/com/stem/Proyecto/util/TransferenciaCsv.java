@@ -0,0 +1,84 @@
+package com.stem.Proyecto.util;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.stem.Proyecto.config.TransferenciaCsvConfig;
+import com.stem.Proyecto.dto.ResultadoExportacion;
+import com.stem.Proyecto.dto.ResultadoImportacion;
+import com.stem.Proyecto.service.ExportacionService;
+import com.stem.Proyecto.service.ImportacionService;
+
+/**
+ * Importa y exporta partidos en CSV al arrancar, después de los datos iniciales, si se indica un archivo
+ * en {@code nba.csv.importar} o {@code nba.csv.exportar}. Con {@code nba.csv.salir=true} la aplicación
+ * se cierra al terminar, para usarla como herramienta de línea de comandos:
+ * {@code java -jar proyecto.jar --nba.csv.importar=partidos.csv --nba.csv.exportar=copia.csv --nba.csv.salir=true}
+ */
+@Component
+@Order(2)
+public class TransferenciaCsv implements CommandLineRunner {
+
+    // Filas rechazadas que se muestran; el resto solo se cuentan
+    private static final int RECHAZOS_MOSTRADOS = 20;
+
+    private final ImportacionService importacionService;
+    private final ExportacionService exportacionService;
+    private final TransferenciaCsvConfig config;
+    private final ApplicationContext contexto;
+
+    public TransferenciaCsv(ImportacionService importacionService, ExportacionService exportacionService,
+                            TransferenciaCsvConfig config, ApplicationContext contexto) {
+        this.importacionService = importacionService;
+        this.exportacionService = exportacionService;
+        this.config = config;
+        this.contexto = contexto;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!config.getImportar().isBlank()) {
+            importar(Path.of(config.getImportar()));
+        }
+        if (!config.getExportar().isBlank()) {
+            exportar(Path.of(config.getExportar()));
+        }
+        if (config.isSalir()) {
+            System.exit(SpringApplication.exit(contexto, () -> 0));
+        }
+    }
+
+    private void importar(Path archivo) throws Exception {
+        System.out.println("Importando partidos desde " + archivo.toAbsolutePath() + "...");
+        ResultadoImportacion resultado = importacionService.importarPartidosCsv(archivo);
+        System.out.printf("✅ %,d partidos importados y %,d filas rechazadas: %,d bytes en %,d ms (%,.0f filas/s, %,.1f MB/s)%n",
+                resultado.getAceptadas(), resultado.getRechazadas(), resultado.getBytes(), resultado.getMilisegundos(),
+                resultado.getFilasPorSegundo(), resultado.getMegabytesPorSegundo());
+        resultado.getFilas().stream().limit(RECHAZOS_MOSTRADOS)
+                .forEach(fila -> System.out.println("  - Fila " + fila.getFila() + ": " + fila.getError()));
+        if (resultado.getRechazadas() > RECHAZOS_MOSTRADOS) {
+            System.out.println("  - ...");
+        }
+    }
+
+    private void exportar(Path archivo) throws Exception {
+        String temporada = config.getTemporada().isBlank() ? null : config.getTemporada();
+        System.out.println("Exportando " + (temporada == null ? "todos los partidos" : "los partidos de " + temporada)
+                + " a " + archivo.toAbsolutePath() + "...");
+        ResultadoExportacion resultado;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            resultado = exportacionService.exportarPartidosCsv(temporada, canal);
+        }
+        System.out.printf("✅ %,d partidos exportados: %,d bytes en %,d ms (%,.0f filas/s, %,.1f MB/s)%n",
+                resultado.getFilas(), resultado.getBytes(), resultado.getMilisegundos(),
+                resultado.getFilasPorSegundo(), resultado.getMegabytesPorSegundo());
+    }
+}
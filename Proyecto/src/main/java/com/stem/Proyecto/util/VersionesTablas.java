@@ -0,0 +1,162 @@
+package com.stem.Proyecto.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Un contador de versión por tabla, que los servicios incrementan con cada escritura, y a partir del cual
+ * los controladores responden a las peticiones condicionales (If-None-Match / If-Modified-Since)
+ * con 304 Not Modified sin tocar la base de datos.
+ * El ETag de una respuesta se forma con las versiones de todas las tablas de las que salen sus datos
+ * (por ejemplo, los jugadores incluyen su equipo y sus logros), y con el instante de arranque,
+ * para que los contadores, que vuelven a empezar en cada arranque, no repitan ETags antiguos.
+ */
+@Component
+public class VersionesTablas {
+
+    // Las tablas de las que dependen las respuestas. Un cambio en la tabla intermedia jugadores_logros
+    // se cuenta como un cambio en jugadores y en logros.
+    public static final String EQUIPOS = "equipos";
+    public static final String JUGADORES = "jugadores";
+    public static final String LOGROS = "logros";
+    public static final String PARTIDOS = "partidos";
+
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+    // Se rellenan en el constructor y después solo se leen
+    private final Map<String, AtomicLong> versiones = new HashMap<>();
+    private final Map<String, AtomicLong> modificaciones = new HashMap<>();
+
+    public VersionesTablas() {
+        long ahora = System.currentTimeMillis();
+        for (String tabla : new String[] {EQUIPOS, JUGADORES, LOGROS, PARTIDOS}) {
+            versiones.put(tabla, new AtomicLong());
+            modificaciones.put(tabla, new AtomicLong(ahora));
+        }
+    }
+
+    /**
+     * Incrementa la versión de las tablas cuando se confirme la transacción. Si se hiciera antes,
+     * una lectura concurrente podría guardar los datos antiguos con el ETag nuevo y no volver a pedirlos.
+     *
+     * @param tablas Las tablas modificadas.
+     */
+    public void cambiado(String... tablas) {
+        Transacciones.trasConfirmar(() -> {
+            long ahora = System.currentTimeMillis();
+            for (String tabla : tablas) {
+                version(tabla).incrementAndGet();
+                modificaciones.get(tabla).accumulateAndGet(ahora, Math::max);
+            }
+        });
+    }
+
+    /**
+     * @param tablas Las tablas de las que salen los datos de la respuesta.
+     * @return El ETag fuerte de esas tablas en su versión actual.
+     */
+    public String etag(String... tablas) {
+        StringBuilder etag = new StringBuilder("\"").append(arranque);
+        for (String tabla : tablas) {
+            etag.append('-').append(version(tabla).get());
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * @param tablas Las tablas de las que salen los datos de la respuesta.
+     * @return El instante (en milisegundos) del último cambio confirmado en alguna de ellas.
+     */
+    public long ultimaModificacion(String... tablas) {
+        long ultima = 0;
+        for (String tabla : tablas) {
+            ultima = Math.max(ultima, modificaciones.get(tabla).get());
+        }
+        return ultima;
+    }
+
+    /**
+     * Comprueba si el cliente ya tiene la versión actual de los datos. Si la tiene, la respuesta queda
+     * marcada como 304 y el controlador devuelve null sin leer nada; si no, se añaden a la respuesta
+     * el ETag y la fecha de modificación. Como la versión se lee antes que los datos, un cambio que
+     * se confirme entre medias hace que la siguiente petición los vuelva a pedir.
+     * La respuesta se marca como "no-cache" para que el navegador no la reutilice sin preguntar.
+     * Solo sirve para las respuestas que siempre son 2xx, como los listados: las que pueden acabar en 404
+     * usan {@link #instantanea(String...)} y {@link #sinCambios(WebRequest, Instantanea)}.
+     *
+     * @param request La petición, con sus cabeceras condicionales.
+     * @param tablas Las tablas de las que salen los datos de la respuesta.
+     * @return true si se responde 304 Not Modified.
+     */
+    public boolean sinCambios(WebRequest request, String... tablas) {
+        return sinCambios(request, instantanea(tablas));
+    }
+
+    /**
+     * Lee la versión actual de las tablas sin tocar la respuesta. Se usa en las consultas de un elemento:
+     * la versión se lee antes que los datos, pero el ETag solo se pone, con
+     * {@link #sinCambios(WebRequest, Instantanea)}, una vez encontrado el elemento, para que un 404
+     * no lleve validadores ni se pueda contestar después con un 304.
+     *
+     * @param tablas Las tablas de las que salen los datos de la respuesta.
+     * @return El ETag y la fecha de modificación de esas tablas en este momento.
+     */
+    public Instantanea instantanea(String... tablas) {
+        return new Instantanea(etag(tablas), ultimaModificacion(tablas));
+    }
+
+    /**
+     * Igual que {@link #sinCambios(WebRequest, String...)}, pero con la versión leída antes con
+     * {@link #instantanea(String...)}.
+     *
+     * @param request La petición, con sus cabeceras condicionales.
+     * @param instantanea La versión de las tablas leída antes que los datos.
+     * @return true si se responde 304 Not Modified.
+     */
+    public boolean sinCambios(WebRequest request, Instantanea instantanea) {
+        if (request instanceof NativeWebRequest nativa) {
+            HttpServletResponse response = nativa.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            }
+        }
+        return request.checkNotModified(instantanea.getEtag(), instantanea.getUltimaModificacion());
+    }
+
+    private AtomicLong version(String tabla) {
+        AtomicLong version = versiones.get(tabla);
+        if (version == null) {
+            throw new IllegalArgumentException("Tabla sin versión: " + tabla);
+        }
+        return version;
+    }
+
+    /**
+     * La versión de unas tablas en un momento dado: su ETag y la fecha de su último cambio.
+     */
+    public static final class Instantanea {
+
+        private final String etag;
+        private final long ultimaModificacion;
+
+        private Instantanea(String etag, long ultimaModificacion) {
+            this.etag = etag;
+            this.ultimaModificacion = ultimaModificacion;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public long getUltimaModificacion() {
+            return ultimaModificacion;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+import { fetchApi } from '../utils/apiUtils.js';
+
+export const AutocompletadoAPI = {
+    // Devuelve [{ tipo, id, etiqueta }]; tipo puede ser 'jugador', 'equipo' o 'logro' (o null para todos)
+    sugerir: (texto, tipo = null, limite = 8) => fetchApi('GET',
+        `/v1/autocomplete?q=${encodeURIComponent(texto)}${tipo ? `&tipo=${tipo}` : ''}&limite=${limite}`)
+};
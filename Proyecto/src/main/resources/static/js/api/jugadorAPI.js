@@ -6,6 +6,6 @@ export const JugadorAPI = {
     createJugador: (jugador) => fetchApi('POST', '/v1/jugadores', jugador),
     updateJugador: (id, jugador) => fetchApi('PUT', `/v1/jugadores/${id}`, jugador),
     deleteJugador: (id) => fetchApi('DELETE', `/v1/jugadores/${id}`),
-    searchJugadores: (searchTerm) => fetchApi('GET', `/v1/jugadores/search?nombre=${encodeURIComponent(searchTerm)}`),
+    searchJugadores: (searchTerm, aproximada = false) => fetchApi('GET', `/v1/jugadores/search?nombre=${encodeURIComponent(searchTerm)}${aproximada ? '&aproximada=true' : ''}`),
     updateJugadorLogros: (jugadorId, logroIds) => fetchApi('PUT', `/v1/jugadores/${jugadorId}/logros`, logroIds)
 };
\ No newline at end of file
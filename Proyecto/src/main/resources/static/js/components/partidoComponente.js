@@ -3,8 +3,8 @@ export function crearElementoPartido(partido) {
     const fechaPartido = partido.fecha ? new Date(partido.fecha).toLocaleString('es-ES', { dateStyle: 'medium', timeStyle: 'short' }) : 'Fecha desconocida';
 
 
-    const equipoLocalNombre = partido.equipoLocal ? partido.equipoLocal.nombre : 'Equipo Local Desconocido';
-    const equipoVisitanteNombre = partido.equipoVisitante ? partido.equipoVisitante.nombre : 'Equipo Visitante Desconocido';
+    const equipoLocalNombre = partido.nombreEquipoLocal || (partido.equipoLocal ? partido.equipoLocal.nombre : 'Equipo Local Desconocido');
+    const equipoVisitanteNombre = partido.nombreEquipoVisitante || (partido.equipoVisitante ? partido.equipoVisitante.nombre : 'Equipo Visitante Desconocido');
 
 
     return `
@@ -1,5 +1,6 @@
 import { crearBarraNavegacion } from '../components/navbar.js';
 import { JugadorAPI } from '../api/jugadorAPI.js'; 
+import { AutocompletadoAPI } from '../api/autocompletadoAPI.js';
 
 document.addEventListener('DOMContentLoaded', async () => {
     console.log('1. DOMContentLoadado. Iniciando carga de página de jugadores.');
@@ -22,7 +23,8 @@ document.addEventListener('DOMContentLoaded', async () => {
                     <div class="card-body">
                         <h5 class="card-title text-primary mb-3"><i class="fas fa-search me-2"></i>Buscar Jugador</h5>
                         <div class="input-group">
-                            <input type="text" id="searchInput" class="form-control" placeholder="Buscar jugador por nombre o apellido..." aria-label="Buscar jugador">
+                            <input type="text" id="searchInput" class="form-control" placeholder="Buscar jugador por nombre o apellido..." aria-label="Buscar jugador" list="searchSuggestions" autocomplete="off">
+                            <datalist id="searchSuggestions"></datalist>
                             <button class="btn btn-primary" type="button" id="searchButton">
                                 <i class="fas fa-search me-1"></i>Buscar
                             </button>
@@ -67,6 +69,9 @@ document.addEventListener('DOMContentLoaded', async () => {
                         <div id="searchNoResultsMessage" class="alert alert-info text-center m-3" role="alert" style="display: none;">
                             <i class="fas fa-info-circle me-2"></i>No se encontraron jugadores con ese criterio de búsqueda.
                         </div>
+                        <div id="searchAproximadaMessage" class="alert alert-secondary text-center m-3" role="alert" style="display: none;">
+                            <i class="fas fa-spell-check me-2"></i>No hay coincidencias exactas; se muestran jugadores con nombres parecidos.
+                        </div>
                         <div id="errorMessage" class="alert alert-danger text-center m-3" role="alert" style="display: none;">
                             <i class="fas fa-exclamation-circle me-2"></i>Ocurrió un error al cargar los jugadores. Por favor, inténtalo de nuevo.
                         </div>
@@ -81,17 +86,20 @@ document.addEventListener('DOMContentLoaded', async () => {
     const searchInput = document.getElementById('searchInput');
     const searchButton = document.getElementById('searchButton');
     const clearSearchButton = document.getElementById('clearSearchButton');
+    const searchSuggestions = document.getElementById('searchSuggestions');
     
     const loadingMessage = document.getElementById('loadingMessage');
     const jugadoresTable = document.querySelector('.table');
     const noPlayersMessage = document.getElementById('noPlayersMessage');
     const searchNoResultsMessage = document.getElementById('searchNoResultsMessage');
+    const searchAproximadaMessage = document.getElementById('searchAproximadaMessage');
     const errorMessage = document.getElementById('errorMessage');
 
     const hideAllMessages = () => {
         loadingMessage.style.display = 'none';
         noPlayersMessage.style.display = 'none';
         searchNoResultsMessage.style.display = 'none';
+        searchAproximadaMessage.style.display = 'none';
         errorMessage.style.display = 'none';
         jugadoresTable.style.display = 'none'; 
     };
@@ -103,9 +111,17 @@ document.addEventListener('DOMContentLoaded', async () => {
 
         try {
             let jugadores;
+            let aproximados = false;
             if (searchTerm) {
                 console.log(`Buscando jugadores con término: "${searchTerm}"`);
-                jugadores = await JugadorAPI.searchJugadores(searchTerm); 
+                // La búsqueda devuelve una página ({ contenido, siguienteCursor, ... }) o null si no hay resultados
+                let pagina = await JugadorAPI.searchJugadores(searchTerm);
+                if (!pagina) {
+                    // Sin coincidencias exactas: se repite admitiendo errores de escritura
+                    pagina = await JugadorAPI.searchJugadores(searchTerm, true);
+                    aproximados = !!pagina;
+                }
+                jugadores = pagina ? pagina.contenido : [];
             } else {
                 console.log('Obteniendo todos los jugadores.');
                 jugadores = await JugadorAPI.getAllJugadores();
@@ -132,6 +148,9 @@ document.addEventListener('DOMContentLoaded', async () => {
                     jugadoresTableBody.appendChild(row);
                 });
                 jugadoresTable.style.display = 'table';
+                if (aproximados) {
+                    searchAproximadaMessage.style.display = 'block';
+                }
                 console.log('Tabla de jugadores renderizada.');
 
                 document.querySelectorAll('.delete-btn').forEach(button => {
@@ -182,6 +201,30 @@ document.addEventListener('DOMContentLoaded', async () => {
         }
     });
 
+    // Sugerencias mientras se escribe: solo se pide la última tecla, tras una pausa corta
+    let temporizadorSugerencias;
+    searchInput.addEventListener('input', () => {
+        clearTimeout(temporizadorSugerencias);
+        const texto = searchInput.value.trim();
+        if (!texto) {
+            searchSuggestions.innerHTML = '';
+            return;
+        }
+        temporizadorSugerencias = setTimeout(async () => {
+            try {
+                const sugerencias = await AutocompletadoAPI.sugerir(texto, 'jugador');
+                searchSuggestions.innerHTML = '';
+                (sugerencias || []).forEach(sugerencia => {
+                    const opcion = document.createElement('option');
+                    opcion.value = sugerencia.etiqueta;
+                    searchSuggestions.appendChild(opcion);
+                });
+            } catch (error) {
+                console.error('Error al obtener sugerencias:', error);
+            }
+        }, 150);
+    });
+
     clearSearchButton.addEventListener('click', () => {
         searchInput.value = ''; 
         cargarJugadores(); 
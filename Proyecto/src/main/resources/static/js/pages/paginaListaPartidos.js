@@ -10,7 +10,7 @@ document.addEventListener('DOMContentLoaded', async () => {
     root.innerHTML = `<h1 class="text-center my-4">Cargando Partidos...</h1>`;
 
     try {
-        const partidos = await PartidoAPI.getAllPartidos(); 
+        const partidos = await PartidoAPI.getResumenPartidos(); 
 
         let partidosContainerHTML = ''; 
         if (partidos.length > 0) {
@@ -1,5 +1,28 @@
 import { API_CONFIG } from '../config/apiConfig.js';
 
+// Las respuestas GET se guardan por URL junto con su ETag. La siguiente vez se piden con If-None-Match
+// y, si los datos no han cambiado, el servidor responde 304 sin cuerpo y se devuelve la copia guardada.
+// Se usa sessionStorage porque cada página es un documento distinto y la memoria se pierde al navegar.
+const PREFIJO_RESPUESTAS = 'respuesta:';
+
+function leerRespuestaGuardada(url) {
+    try {
+        const guardada = sessionStorage.getItem(PREFIJO_RESPUESTAS + url);
+        return guardada ? JSON.parse(guardada) : null;
+    } catch (e) {
+        return null;
+    }
+}
+
+function guardarRespuesta(url, etag, datos) {
+    try {
+        sessionStorage.setItem(PREFIJO_RESPUESTAS + url, JSON.stringify({ etag, datos }));
+    } catch (e) {
+        // No cabe (listados muy grandes): se volverá a pedir completa
+        sessionStorage.removeItem(PREFIJO_RESPUESTAS + url);
+    }
+}
+
 export async function fetchApi(method = 'GET', path, body = null) {
     let url = `${API_CONFIG.baseURL}${path}`;
     let response = {};
@@ -17,6 +40,15 @@ export async function fetchApi(method = 'GET', path, body = null) {
             body: stringifiedBody
         });
 
+    } else if (method === 'GET') {
+        const guardada = leerRespuestaGuardada(url);
+        response = await fetch(url, {
+            method: method,
+            headers: guardada ? { 'If-None-Match': guardada.etag } : {}
+        });
+        if (response.status === 304 && guardada) {
+            return guardada.datos;
+        }
     } else {
         response = await fetch(url, { method: method });
     }
@@ -39,7 +71,12 @@ export async function fetchApi(method = 'GET', path, body = null) {
     }
 
     try {
-        return await response.json();
+        const datos = await response.json();
+        const etag = response.headers.get('ETag');
+        if (method === 'GET' && etag) {
+            guardarRespuesta(url, etag, datos);
+        }
+        return datos;
     } catch (jsonError) {
         console.error("Error al parsear JSON de la respuesta:", jsonError);
         throw new Error(`Error en la API: La respuesta no es JSON válido o está vacía. ${response.status} - ${response.statusText}`);
@@ -0,0 +1,140 @@
+package com.stem.Proyecto.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.entity.Logro;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Pruebas de integración (con H2) de la caché de segundo nivel y de la caché de consultas.
+ * Cada lectura se hace en su propia transacción, como las peticiones, para que no la sirva
+ * el contexto de persistencia; las consultas ejecutadas se cuentan con las estadísticas de Hibernate.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private EquipoRepository equipoRepository;
+
+    @Autowired
+    private LogroRepository logroRepository;
+
+    @Autowired
+    private JugadorRepository jugadorRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private <T> T enTransaccion(Supplier<T> lectura) {
+        return new TransactionTemplate(transactionManager).execute(estado -> lectura.get());
+    }
+
+    /**
+     * @return El número de sentencias que ejecuta la lectura.
+     */
+    private long sentencias(Runnable lectura) {
+        estadisticas.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> lectura.run());
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("Un equipo leído una vez se sirve desde la caché hasta que se modifica")
+    void testEntidadEnCache() {
+        Equipo equipo = equipoRepository.save(new Equipo("Caché FC", "Ciudad Caché", "CCH", 1990, "Pabellón", "Entrenador"));
+        entityManagerFactory.getCache().evictAll();
+
+        assertEquals(1, sentencias(() -> equipoRepository.findById(equipo.getId()).orElseThrow()));
+        assertEquals(0, sentencias(() -> equipoRepository.findById(equipo.getId()).orElseThrow()));
+
+        enTransaccion(() -> {
+            Equipo leido = equipoRepository.findById(equipo.getId()).orElseThrow();
+            leido.setEntrenador("Entrenador Nuevo");
+            return leido;
+        });
+        assertEquals("Entrenador Nuevo", enTransaccion(() -> equipoRepository.findById(equipo.getId()).orElseThrow().getEntrenador()));
+    }
+
+    @Test
+    @DisplayName("Las consultas marcadas se repiten sin ir a la base de datos hasta que cambia su tabla")
+    void testCacheDeConsultas() {
+        equipoRepository.save(new Equipo("Consulta Cacheada", "Ciudad Consulta", "CON", 1991, "Pabellón", "Entrenador"));
+
+        sentencias(() -> equipoRepository.findByNombre("Consulta Cacheada"));
+        assertEquals(0, sentencias(() -> equipoRepository.findByNombre("Consulta Cacheada")));
+        assertEquals(1, sentencias(() -> equipoRepository.findByCiudad("Ciudad Consulta")), "Otra consulta va a la base de datos");
+
+        // Cualquier cambio en la tabla de equipos invalida los resultados guardados
+        equipoRepository.save(new Equipo("Otra Consulta", "Ciudad Consulta", "CO2", 1992, "Pabellón", "Entrenador"));
+        assertEquals(1, sentencias(() -> equipoRepository.findByNombre("Consulta Cacheada")));
+        assertEquals(2, enTransaccion(() -> equipoRepository.findByCiudad("Ciudad Consulta")).size());
+    }
+
+    @Test
+    @DisplayName("La lista de logros con sus jugadores se guarda completa en la caché de consultas")
+    void testLogrosConJugadores() {
+        Logro logro = logroRepository.save(new Logro("Logro Cacheado", "Descripción", 2001));
+        Jugador jugador = new Jugador("Ana", "Caché", LocalDate.of(1999, 1, 1), 180, 70, "Base", 7, true);
+        jugador.getLogros().add(logro);
+        jugadorRepository.save(jugador);
+
+        sentencias(logroRepository::findAllWithJugadores);
+        estadisticas.clear();
+        List<Logro> logros = enTransaccion(logroRepository::findAllWithJugadores);
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+        Logro cacheado = logros.stream().filter(l -> l.getId().equals(logro.getId())).findFirst().orElseThrow();
+        assertTrue(Hibernate.isInitialized(cacheado.getJugadoresConEsteLogro()));
+        assertEquals(List.of("Ana"), cacheado.getJugadoresJson().stream().map(j -> j.nombre).toList());
+    }
+
+    @Test
+    @DisplayName("Las escrituras masivas en jugadores_logros solo descartan los logros y sus colecciones")
+    void testSqlNativoNoVaciaLaCache() {
+        Equipo equipo = equipoRepository.save(new Equipo("Nativo FC", "Ciudad Nativa", "NAT", 1993, "Pabellón", "Entrenador"));
+        Logro logro = logroRepository.save(new Logro("Logro Nativo", "Descripción", 2002));
+        Jugador jugador = jugadorRepository.save(new Jugador("Luis", "Nativo", LocalDate.of(1998, 1, 1), 190, 80, "Alero", 8, true));
+        enTransaccion(() -> jugadorRepository.findById(jugador.getId()).orElseThrow().getLogros().size());
+        Cache cache = entityManagerFactory.getCache();
+        assertTrue(cache.contains(Equipo.class, equipo.getId()));
+
+        enTransaccion(() -> jugadorRepository.insertarLogros(List.of(jugador.getId()), List.of(logro.getId())));
+
+        assertTrue(cache.contains(Equipo.class, equipo.getId()), "Los equipos no dependen de jugadores_logros");
+        assertFalse(entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .containsCollection(Jugador.class.getName() + ".logros", jugador.getId()));
+        assertEquals(1, enTransaccion(() -> jugadorRepository.findById(jugador.getId()).orElseThrow().getLogros().size()));
+    }
+}
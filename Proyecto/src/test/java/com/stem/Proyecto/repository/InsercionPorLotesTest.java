@@ -0,0 +1,124 @@
+package com.stem.Proyecto.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Partido;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Pruebas de la inserción por lotes (JDBC batching) de {@code saveAll}.
+ * Incluye además una prueba de rendimiento que inserta un millón de partidos; solo se ejecuta
+ * si se pide de forma explícita:
+ * {@code mvn test -Dtest=InsercionPorLotesTest -Dnba.benchmark=true [-Dnba.benchmark.partidos=1000000]}
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InsercionPorLotesTest {
+
+    // Partidos guardados en cada transacción de la prueba de rendimiento
+    private static final int PARTIDOS_POR_TRANSACCION = 10_000;
+
+    @Autowired
+    private PartidoRepository partidoRepository;
+
+    @Autowired
+    private EquipoRepository equipoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaccion;
+    private Statistics estadisticas;
+    private List<Equipo> equipos;
+
+    @BeforeEach
+    void setUp() {
+        transaccion = new TransactionTemplate(transactionManager);
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transaccion.executeWithoutResult(estado -> {
+            partidoRepository.deleteAllInBatch();
+            equipoRepository.deleteAllInBatch();
+        });
+        equipos = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            equipos.add(new Equipo("Equipo " + i, "Ciudad " + i, "E" + i, 1950 + i, "Pabellón " + i, "Entrenador " + i));
+        }
+        transaccion.executeWithoutResult(estado -> equipoRepository.saveAll(equipos));
+    }
+
+    private List<Partido> generarPartidos(int desde, int cantidad) {
+        List<Partido> partidos = new ArrayList<>(cantidad);
+        for (int i = desde; i < desde + cantidad; i++) {
+            Equipo local = equipos.get(i % equipos.size());
+            Equipo visitante = equipos.get((i + 1 + i / equipos.size() % (equipos.size() - 1)) % equipos.size());
+            partidos.add(new Partido(LocalDate.of(2000, 1, 1).plusDays(i % 9000), LocalTime.of(20, i % 60),
+                    80 + i % 50, 80 + (i * 7) % 50, "2024-2025", local.getPabellon(), local, visitante));
+        }
+        return partidos;
+    }
+
+    @Test
+    @DisplayName("saveAll agrupa los INSERT de partidos en lotes")
+    void testSaveAllInsertaPorLotes() {
+        int cantidad = 500;
+        estadisticas.clear();
+        transaccion.executeWithoutResult(estado -> partidoRepository.saveAll(generarPartidos(0, cantidad)));
+
+        assertEquals(cantidad, partidoRepository.count());
+        // Sin lotes habría una sentencia preparada por fila
+        assertTrue(estadisticas.getPrepareStatementCount() < cantidad / 10,
+                "Se esperaban muy pocas sentencias y hubo " + estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "nba.benchmark", matches = "true")
+    @DisplayName("Rendimiento: inserción masiva de partidos")
+    void benchmarkInsercionMasivaPartidos() {
+        int total = Integer.getInteger("nba.benchmark.partidos", 1_000_000);
+        estadisticas.clear();
+        long inicio = System.nanoTime();
+        for (int desde = 0; desde < total; desde += PARTIDOS_POR_TRANSACCION) {
+            List<Partido> lote = generarPartidos(desde, Math.min(PARTIDOS_POR_TRANSACCION, total - desde));
+            transaccion.executeWithoutResult(estado -> {
+                partidoRepository.saveAll(lote);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        assertEquals(total, partidoRepository.count());
+        System.out.printf("Insertados %,d partidos en %.1f s (%,.0f filas/s, %,d sentencias preparadas)%n",
+                total, segundos, total / segundos, estadisticas.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,179 @@
+package com.stem.Proyecto.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.Hibernate;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stem.Proyecto.config.InitializationConfig;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Logro;
+import com.stem.Proyecto.util.GeneradorDatosEscalados;
+
+/**
+ * Comprueba el plan de ejecución de las consultas de los repositorios.
+ * Carga una liga sintética con {@link GeneradorDatosEscalados}, ejecuta cada método de búsqueda
+ * capturando el SQL que genera Hibernate y pasa cada sentencia por EXPLAIN: si alguna recorre
+ * una tabla entera (tableScan) en lugar de usar un índice, la prueba falla.
+ * <p>
+ * No se comprueban los listados completos (findAll y las páginas sin filtro) ni las búsquedas
+ * por subcadena (Containing), que por su naturaleza no pueden usar un índice B-tree.
+ * El tamaño de la liga se puede cambiar con {@code -Dnba.explain.factor-escala=0.1}.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.stem.Proyecto.repository.PlanConsultasTest$CapturaSql"
+})
+@Import({GeneradorDatosEscalados.class, InitializationConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PlanConsultasTest {
+
+    /** Guarda el SQL que prepara Hibernate mientras {@link #capturando} está activo. */
+    public static class CapturaSql implements StatementInspector {
+
+        static final List<String> SENTENCIAS = Collections.synchronizedList(new ArrayList<>());
+        static volatile boolean capturando;
+
+        @Override
+        public String inspect(String sql) {
+            if (capturando) {
+                SENTENCIAS.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    private static boolean datosCargados;
+
+    @Autowired
+    private EquipoRepository equipoRepository;
+
+    @Autowired
+    private JugadorRepository jugadorRepository;
+
+    @Autowired
+    private LogroRepository logroRepository;
+
+    @Autowired
+    private PartidoRepository partidoRepository;
+
+    @Autowired
+    private GeneradorDatosEscalados generador;
+
+    @Autowired
+    private InitializationConfig config;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        if (!datosCargados) {
+            // Por defecto, 10 equipos, 5.000 jugadores, 10 logros y 50.000 partidos
+            config.setFactorEscala(Double.parseDouble(System.getProperty("nba.explain.factor-escala", "0.01")));
+            generador.generar();
+            // Estadísticas de selectividad para el optimizador de H2
+            jdbcTemplate.execute("ANALYZE");
+            datosCargados = true;
+        }
+    }
+
+    /**
+     * Ejecuta una llamada a un repositorio (en una transacción que se deshace) y pasa por EXPLAIN
+     * cada sentencia que haya generado.
+     */
+    private void assertSinRecorridosCompletos(Runnable llamada) {
+        CapturaSql.SENTENCIAS.clear();
+        CapturaSql.capturando = true;
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+                llamada.run();
+                estado.setRollbackOnly();
+            });
+        } finally {
+            CapturaSql.capturando = false;
+        }
+        List<String> sentencias = new ArrayList<>(CapturaSql.SENTENCIAS);
+        assertFalse(sentencias.isEmpty(), "La llamada no ha generado ninguna sentencia");
+        for (String sql : sentencias) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            assertFalse(plan.contains("tableScan"), "Recorrido completo de una tabla:\n" + plan);
+        }
+    }
+
+    private DynamicTest consulta(String nombre, Runnable llamada) {
+        return DynamicTest.dynamicTest(nombre, () -> assertSinRecorridosCompletos(llamada));
+    }
+
+    @TestFactory
+    @DisplayName("Ninguna búsqueda de los repositorios recorre una tabla entera")
+    Stream<DynamicTest> testConsultasUsanIndices() {
+        Equipo equipo = equipoRepository.findAll().get(0);
+        Equipo rival = equipoRepository.findAll().get(1);
+        Logro logro = logroRepository.findAll().get(0);
+        String temporada = jdbcTemplate.queryForObject("SELECT temporada FROM partidos FETCH FIRST 1 ROWS ONLY", String.class);
+        Long jugadorId = jugadorRepository.findByEquipoId(equipo.getId()).get(0).getId();
+
+        return Stream.of(
+                consulta("EquipoRepository.findByNombre", () -> equipoRepository.findByNombre(equipo.getNombre())),
+                consulta("EquipoRepository.findByCiudad", () -> equipoRepository.findByCiudad(equipo.getCiudad())),
+                consulta("JugadorRepository.findByApellido", () -> jugadorRepository.findByApellido("García")),
+                consulta("JugadorRepository.findByNombre", () -> jugadorRepository.findByNombre("Lucía")),
+                consulta("JugadorRepository.findByEquipoId", () -> jugadorRepository.findByEquipoId(equipo.getId())),
+                consulta("JugadorRepository.findByEquipoId (plantilla paginada)",
+                        () -> jugadorRepository.findByEquipoId(equipo.getId(), 0L, null, null, Limit.of(20))),
+                consulta("JugadorRepository.findByNumeroCamisetaAndEquipo",
+                        () -> jugadorRepository.findByNumeroCamisetaAndEquipo(23, equipo)),
+                consulta("JugadorRepository.cargarLogros", () -> jugadorRepository.cargarLogros(Set.of(jugadorId))),
+                consulta("JugadorRepository.findByIdIn", () -> jugadorRepository.findByIdIn(Set.of(jugadorId))),
+                consulta("JugadorRepository.borrarLogrosDeEquipo", () -> jugadorRepository.borrarLogrosDeEquipo(equipo.getId())),
+                consulta("JugadorRepository.borrarPorEquipo", () -> jugadorRepository.borrarPorEquipo(equipo.getId())),
+                consulta("LogroRepository.findByNombre", () -> logroRepository.findByNombre(logro.getNombre())),
+                consulta("LogroRepository.findByAnio", () -> logroRepository.findByAnio(logro.getAnio())),
+                consulta("LogroRepository.findByIdIn", () -> logroRepository.findByIdIn(Set.of(logro.getId()))),
+                consulta("LogroRepository.findIdsExistentes", () -> logroRepository.findIdsExistentes(Set.of(logro.getId()))),
+                consulta("Logro.jugadoresConEsteLogro (búsqueda inversa en jugadores_logros)",
+                        () -> Hibernate.initialize(logroRepository.findById(logro.getId()).orElseThrow().getJugadoresConEsteLogro())),
+                consulta("LogroRepository.borrarAsociaciones", () -> logroRepository.borrarAsociaciones(logro.getId())),
+                consulta("PartidoRepository.findByTemporada", () -> partidoRepository.findByTemporada(temporada)),
+                consulta("PartidoRepository.findResumenByTemporada", () -> partidoRepository.findResumenByTemporada(temporada)),
+                consulta("PartidoRepository.findByEquipoLocal", () -> partidoRepository.findByEquipoLocal(equipo)),
+                consulta("PartidoRepository.findByEquipoVisitante", () -> partidoRepository.findByEquipoVisitante(equipo)),
+                consulta("PartidoRepository.findByEquipoLocalIdAndEquipoVisitanteId",
+                        () -> partidoRepository.findByEquipoLocalIdAndEquipoVisitanteId(equipo.getId(), rival.getId())),
+                consulta("PartidoRepository.borrarPorEquipo", () -> partidoRepository.borrarPorEquipo(equipo.getId())),
+                consulta("EquipoRepository.borrarPorId", () -> equipoRepository.borrarPorId(-1L))
+        );
+    }
+
+    @TestFactory
+    @DisplayName("La prueba detecta un recorrido completo")
+    Stream<DynamicTest> testDetectaRecorridoCompleto() {
+        return Stream.of(DynamicTest.dynamicTest("Consulta por una columna sin índice", () -> {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT * FROM partidos WHERE lugar = ?", String.class);
+            assertTrue(plan.contains("tableScan"), plan);
+        }));
+    }
+}
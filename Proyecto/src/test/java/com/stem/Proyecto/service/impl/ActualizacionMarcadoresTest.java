@@ -0,0 +1,98 @@
+package com.stem.Proyecto.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.stem.Proyecto.config.CacheEntidadesConfig;
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.Marcador;
+import com.stem.Proyecto.dto.ResultadoFila;
+import com.stem.Proyecto.dto.ResultadoImportacion;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Partido;
+import com.stem.Proyecto.repository.PartidoRepository;
+import com.stem.Proyecto.service.PartidoService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.VersionesTablas;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Pruebas de integración (con H2) de la actualización de muchos marcadores de una vez.
+ * El tamaño de lote JDBC es de dos sentencias para que cada prueba envíe varios lotes.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.jdbc.batch_size=2")
+@Import({PartidoServiceImpl.class, ClasificacionServiceImpl.class, CacheEntidades.class, CacheEntidadesConfig.class,
+    VersionesTablas.class, PaginacionConfig.class})
+class ActualizacionMarcadoresTest {
+
+    @Autowired
+    private PartidoService partidoService;
+
+    @Autowired
+    private PartidoRepository partidoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Partido> partidos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Equipo local = new Equipo("Local", "Ciudad A", "LOC", 1950, "Pabellón A", "Entrenador A");
+        Equipo visitante = new Equipo("Visitante", "Ciudad B", "VIS", 1960, "Pabellón B", "Entrenador B");
+        entityManager.persist(local);
+        entityManager.persist(visitante);
+        for (int i = 0; i < 4; i++) {
+            Partido partido = new Partido(LocalDate.of(2024, 11, 1 + i), LocalTime.of(20, 0), null, null,
+                    "2024-2025", "Pabellón A", local, visitante);
+            entityManager.persist(partido);
+            partidos.add(partido);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Cambia solo las puntuaciones y da el resultado de cada marcador en orden")
+    void testActualizarMarcadores() {
+        List<Marcador> marcadores = new ArrayList<>();
+        marcadores.add(new Marcador(partidos.get(0).getId(), 101, 99));
+        marcadores.add(new Marcador(999_999L, 100, 90));
+        marcadores.add(new Marcador(partidos.get(1).getId(), null, 90));
+        marcadores.add(new Marcador(partidos.get(2).getId(), 88, 95));
+        marcadores.add(new Marcador(partidos.get(3).getId(), -1, 90));
+        marcadores.add(null);
+
+        ResultadoImportacion resultado = partidoService.actualizarMarcadores(marcadores);
+
+        assertEquals(2, resultado.getAceptadas());
+        assertEquals(4, resultado.getRechazadas());
+        List<ResultadoFila> filas = resultado.getFilas();
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), filas.stream().map(ResultadoFila::getFila).toList());
+        assertEquals(partidos.get(0).getId(), filas.get(0).getId());
+        assertEquals("Partido no encontrado con ID: 999999", filas.get(1).getError());
+        assertEquals("Faltan las puntuaciones", filas.get(2).getError());
+        assertNull(filas.get(3).getError());
+        assertEquals("Las puntuaciones no pueden ser negativas", filas.get(4).getError());
+        assertEquals("Marcador vacío", filas.get(5).getError());
+
+        entityManager.clear();
+        Partido primero = partidoRepository.findById(partidos.get(0).getId()).orElseThrow();
+        assertEquals(101, primero.getPuntuacionLocal());
+        assertEquals(99, primero.getPuntuacionVisitante());
+        assertEquals("Pabellón A", primero.getLugar());
+        assertEquals(88, partidoRepository.findById(partidos.get(2).getId()).orElseThrow().getPuntuacionLocal());
+        assertNull(partidoRepository.findById(partidos.get(1).getId()).orElseThrow().getPuntuacionLocal());
+    }
+}
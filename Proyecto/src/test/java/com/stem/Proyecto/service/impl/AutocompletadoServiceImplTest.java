@@ -0,0 +1,135 @@
+package com.stem.Proyecto.service.impl;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stem.Proyecto.config.BusquedaLogrosConfig;
+import com.stem.Proyecto.config.CacheEntidadesConfig;
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.Sugerencia;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.entity.Logro;
+import com.stem.Proyecto.service.AutocompletadoService;
+import com.stem.Proyecto.service.EquipoService;
+import com.stem.Proyecto.service.JugadorService;
+import com.stem.Proyecto.service.LogroService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.VersionesTablas;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Pruebas de integración (con H2) de {@link AutocompletadoServiceImpl}.
+ * Cada escritura se confirma en su propia transacción, y los índices deben reflejarla solo cuando se confirma.
+ * Los índices viven lo mismo que el contexto de Spring, así que cada prueba usa sus propios nombres.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({JugadorServiceImpl.class, EquipoServiceImpl.class, LogroServiceImpl.class, ClasificacionServiceImpl.class,
+    BusquedaJugadoresServiceImpl.class, AutocompletadoServiceImpl.class, BusquedaLogrosServiceImpl.class,
+    BusquedaLogrosConfig.class, CacheEntidades.class, CacheEntidadesConfig.class, VersionesTablas.class, PaginacionConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AutocompletadoServiceImplTest {
+
+    @Autowired
+    private AutocompletadoService autocompletado;
+
+    @Autowired
+    private JugadorService jugadorService;
+
+    @Autowired
+    private EquipoService equipoService;
+
+    @Autowired
+    private LogroService logroService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Jugador crearJugador(String nombre, String apellido) {
+        return jugadorService.save(new Jugador(nombre, apellido, LocalDate.of(1995, 1, 1), 200, 100, "Base", 1, true));
+    }
+
+    private Equipo crearEquipo(String nombre, String ciudad, String abreviatura) {
+        return equipoService.save(new Equipo(nombre, ciudad, abreviatura, 1950, "Pabellón", "Entrenador"));
+    }
+
+    private List<String> etiquetas(String texto) {
+        return autocompletado.sugerir(texto, null, 10).stream().map(s -> s.getTipo() + ":" + s.getEtiqueta()).toList();
+    }
+
+    @Test
+    @DisplayName("Mezcla jugadores, equipos y logros y, una vez construidos los índices, no consulta la base de datos")
+    void testSugerenciasSinConsultas() {
+        crearEquipo("Zorros de Zaragoza", "Zaragoza", "ZZZ");
+        crearJugador("Zoe", "Zamora");
+        logroService.save(new Logro("Zafiro de Oro", "Premio a la constancia", 2020));
+
+        assertEquals(List.of("logro:Zafiro de Oro", "jugador:Zoe Zamora", "equipo:Zorros de Zaragoza"), etiquetas("za"));
+        assertEquals(List.of("equipo:Zorros de Zaragoza"), etiquetas("zzz"));
+        assertEquals(List.of("jugador:Zoe Zamora"), etiquetas("zoe zam"));
+
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        etiquetas("zo");
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Guardar, modificar y borrar actualiza las sugerencias al confirmar, y deshacer no las cambia")
+    void testIndicesSeActualizanAlConfirmar() {
+        etiquetas("xa");
+        Equipo equipo = crearEquipo("Xabia Xarxa", "Xàbia", "XAX");
+        Logro logro = logroService.save(new Logro("Xaloc de Plata", "Premio al mejor sexto hombre", 2021));
+        Jugador jugador = crearJugador("Xana", "Xirau");
+        assertEquals(List.of("equipo:Xabia Xarxa", "logro:Xaloc de Plata", "jugador:Xana Xirau"), etiquetas("xa"));
+
+        equipo.setNombre("Xeraco Xarxa");
+        equipoService.update(equipo.getId(), equipo);
+        logroService.deleteById(logro.getId());
+        jugador.setNombre("Ximo");
+        jugadorService.update(jugador.getId(), jugador);
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            crearJugador("Xavier", "Xunta");
+            estado.setRollbackOnly();
+        });
+
+        assertEquals(List.of("equipo:Xeraco Xarxa"), etiquetas("xa"), "Por la ciudad, Xàbia");
+        assertEquals(List.of("jugador:Ximo Xirau"), etiquetas("xi"));
+
+        jugadorService.deleteById(jugador.getId());
+        assertEquals(List.of(), etiquetas("xi"));
+    }
+
+    @Test
+    @DisplayName("Filtra por tipo, respeta el límite y rechaza un tipo desconocido")
+    void testTipoYLimite() {
+        for (int i = 0; i < 5; i++) {
+            crearJugador("Wenceslao" + i, "Wolff");
+        }
+        crearEquipo("Wolves", "Worcester", "WOL");
+
+        assertEquals(List.of("equipo:Wolves"), autocompletado.sugerir("wo", Sugerencia.EQUIPO, null).stream()
+                .map(s -> s.getTipo() + ":" + s.getEtiqueta()).toList());
+        assertEquals(3, autocompletado.sugerir("wo", Sugerencia.JUGADOR, 3).size());
+        assertEquals(6, autocompletado.sugerir("wo", null, null).size());
+        assertThrows(IllegalArgumentException.class, () -> autocompletado.sugerir("wo", "partido", null));
+    }
+}
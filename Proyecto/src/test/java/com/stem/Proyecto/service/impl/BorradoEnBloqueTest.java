@@ -0,0 +1,140 @@
+package com.stem.Proyecto.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.stem.Proyecto.config.BusquedaLogrosConfig;
+import com.stem.Proyecto.config.CacheEntidadesConfig;
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.ResultadoBorrado;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.entity.Logro;
+import com.stem.Proyecto.entity.Partido;
+import com.stem.Proyecto.service.EquipoService;
+import com.stem.Proyecto.service.LogroService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.VersionesTablas;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Pruebas de integración (con H2) del borrado en bloque de equipos y logros.
+ * Comprueban las filas borradas de cada tabla y que el número de sentencias
+ * no depende del número de filas dependientes.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({EquipoServiceImpl.class, LogroServiceImpl.class, ClasificacionServiceImpl.class, BusquedaJugadoresServiceImpl.class,
+    AutocompletadoServiceImpl.class, BusquedaLogrosServiceImpl.class,
+    BusquedaLogrosConfig.class, CacheEntidades.class, CacheEntidadesConfig.class, VersionesTablas.class, PaginacionConfig.class})
+class BorradoEnBloqueTest {
+
+    @Autowired
+    private EquipoService equipoService;
+
+    @Autowired
+    private LogroService logroService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+    private Equipo local;
+    private Equipo visitante;
+    private Logro logro;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        local = new Equipo("Local", "Ciudad A", "LOC", 1950, "Pabellón A", "Entrenador A");
+        visitante = new Equipo("Visitante", "Ciudad B", "VIS", 1960, "Pabellón B", "Entrenador B");
+        logro = new Logro("MVP", "Mejor jugador", 2020);
+        entityManager.persist(local);
+        entityManager.persist(visitante);
+        entityManager.persist(logro);
+    }
+
+    private void crearJugadoresYPartidos(int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            Jugador jugador = new Jugador("Nombre" + i, "Apellido" + i, LocalDate.of(1995, 1, 1), 200, 100, "Base", i, true);
+            jugador.setEquipo(i % 2 == 0 ? local : visitante);
+            jugador.getLogros().add(logro);
+            entityManager.persist(jugador);
+            entityManager.persist(new Partido(LocalDate.of(2024, 11, 1).plusDays(i), LocalTime.of(20, 0), 100, 90,
+                    "2024-2025", "Pabellón A", i % 2 == 0 ? local : visitante, i % 2 == 0 ? visitante : local));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Borrar un equipo borra sus jugadores, sus logros otorgados y sus partidos")
+    void testBorrarEquipoEnBloque() {
+        crearJugadoresYPartidos(10);
+        estadisticas.clear();
+
+        ResultadoBorrado resultado = equipoService.deleteById(local.getId());
+
+        assertTrue(resultado.isEncontrado());
+        assertEquals(5, resultado.getFilasPorTabla().get("jugadores_logros"));
+        assertEquals(5, resultado.getFilasPorTabla().get("jugadores"));
+        assertEquals(10, resultado.getFilasPorTabla().get("partidos"), "Se borran los partidos como local y como visitante");
+        assertEquals(1, resultado.getFilasPorTabla().get("equipos"));
+        assertEquals(0, estadisticas.getEntityLoadCount(), "El borrado no debería cargar entidades");
+
+        assertNull(entityManager.find(Equipo.class, local.getId()));
+        assertEquals(5L, entityManager.createQuery("SELECT COUNT(j) FROM Jugador j", Long.class).getSingleResult());
+    }
+
+    @Test
+    @DisplayName("El número de sentencias del borrado no depende del tamaño del equipo")
+    void testBorrarEquipoSentenciasConstantes() {
+        crearJugadoresYPartidos(4);
+        estadisticas.clear();
+        equipoService.deleteById(local.getId());
+        long pocos = estadisticas.getPrepareStatementCount();
+
+        // Un equipo nuevo, con diez veces más jugadores y partidos
+        local = new Equipo("Local 2", "Ciudad C", "LO2", 1970, "Pabellón C", "Entrenador C");
+        entityManager.persist(local);
+        crearJugadoresYPartidos(40);
+        estadisticas.clear();
+        equipoService.deleteById(local.getId());
+        long muchos = estadisticas.getPrepareStatementCount();
+
+        assertEquals(pocos, muchos);
+    }
+
+    @Test
+    @DisplayName("Borrar un logro borra sus asociaciones sin cargar a los jugadores")
+    void testBorrarLogroEnBloque() {
+        crearJugadoresYPartidos(6);
+        estadisticas.clear();
+
+        ResultadoBorrado resultado = logroService.deleteById(logro.getId());
+
+        assertTrue(resultado.isEncontrado());
+        assertEquals(6, resultado.getFilasPorTabla().get("jugadores_logros"));
+        assertEquals(0, estadisticas.getEntityLoadCount());
+        assertEquals(6L, entityManager.createQuery("SELECT COUNT(j) FROM Jugador j", Long.class).getSingleResult());
+
+        assertFalse(logroService.deleteById(logro.getId()).isEncontrado(), "Un segundo borrado ya no encuentra el logro");
+    }
+}
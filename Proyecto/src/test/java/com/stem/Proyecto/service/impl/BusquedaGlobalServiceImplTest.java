@@ -0,0 +1,177 @@
+package com.stem.Proyecto.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import com.stem.Proyecto.config.BusquedaGlobalConfig;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.PartidoResumen;
+import com.stem.Proyecto.dto.RespuestaBusqueda;
+import com.stem.Proyecto.dto.ResultadoBusqueda;
+import com.stem.Proyecto.dto.Sugerencia;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.entity.Logro;
+import com.stem.Proyecto.repository.EquipoRepository;
+import com.stem.Proyecto.repository.JugadorRepository;
+import com.stem.Proyecto.repository.LogroRepository;
+import com.stem.Proyecto.repository.PartidoRepository;
+import com.stem.Proyecto.service.AutocompletadoService;
+import com.stem.Proyecto.service.BusquedaJugadoresService;
+import com.stem.Proyecto.service.BusquedaLogrosService;
+
+/**
+ * Pruebas unitarias de {@link BusquedaGlobalServiceImpl}.
+ * Las fuentes se simulan con Mockito; una de ellas tarda más que el plazo o falla para comprobar
+ * que la respuesta llega a tiempo con los resultados de las demás.
+ */
+@ExtendWith(MockitoExtension.class)
+class BusquedaGlobalServiceImplTest {
+
+    @Mock
+    private EquipoRepository equipoRepository;
+
+    @Mock
+    private JugadorRepository jugadorRepository;
+
+    @Mock
+    private LogroRepository logroRepository;
+
+    @Mock
+    private PartidoRepository partidoRepository;
+
+    @Mock
+    private AutocompletadoService autocompletado;
+
+    @Mock
+    private BusquedaJugadoresService busquedaJugadores;
+
+    @Mock
+    private BusquedaLogrosService busquedaLogros;
+
+    private BusquedaGlobalServiceImpl busquedaGlobal;
+
+    @BeforeEach
+    void setUp() {
+        BusquedaGlobalConfig config = new BusquedaGlobalConfig();
+        config.setMilisegundosPorFuente(200);
+        busquedaGlobal = new BusquedaGlobalServiceImpl(equipoRepository, jugadorRepository, logroRepository, partidoRepository,
+                autocompletado, busquedaJugadores, busquedaLogros, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        busquedaGlobal.cerrar();
+    }
+
+    private void simularEquipos() {
+        Equipo equipo = new Equipo("Celtics", "Boston", "BOS", 1946, "TD Garden", "Entrenador");
+        equipo.setId(1L);
+        when(autocompletado.sugerir(anyString(), eq(Sugerencia.EQUIPO), anyInt()))
+                .thenReturn(List.of(new Sugerencia(Sugerencia.EQUIPO, 1L, "Celtics")));
+        when(equipoRepository.findAllById(List.of(1L))).thenReturn(List.of(equipo));
+    }
+
+    private void simularJugadores() {
+        Jugador jugador = new Jugador("Bostonio", "Pérez", LocalDate.of(1995, 1, 1), 200, 100, "Base", 1, true);
+        jugador.setId(2L);
+        when(busquedaJugadores.buscar(anyString(), eq(false), any(), anyInt())).thenReturn(new PaginaCursor<>(List.of(2L), null, false, null));
+        when(jugadorRepository.findAllById(List.of(2L))).thenReturn(List.of(jugador));
+    }
+
+    private void simularLogros() {
+        Logro logro = new Logro("Premio Boston", "Al mejor de la conferencia", 2020);
+        logro.setId(3L);
+        when(busquedaLogros.buscar(anyString(), any(), anyInt())).thenReturn(new PaginaCursor<>(List.of(3L), null, false, null));
+        when(logroRepository.findAllById(List.of(3L))).thenReturn(List.of(logro));
+    }
+
+    private PartidoResumen partido() {
+        return new PartidoResumen(4L, LocalDate.of(2024, 1, 10), LocalTime.of(20, 0), 100, 90, "2023-2024", "Garden de Boston",
+                1L, "Celtics", 9L, "Knicks");
+    }
+
+    private static List<String> tipos(RespuestaBusqueda respuesta) {
+        return respuesta.getResultados().stream().map(ResultadoBusqueda::getTipo).toList();
+    }
+
+    @Test
+    @DisplayName("Mezcla los resultados de las cuatro fuentes por puntuación")
+    void testMezclaPorPuntuacion() {
+        simularEquipos();
+        simularJugadores();
+        simularLogros();
+        when(partidoRepository.buscarPorLugarOTemporada("boston", Limit.of(20))).thenReturn(List.of(partido()));
+
+        RespuestaBusqueda respuesta = busquedaGlobal.buscar("boston", null);
+
+        assertTrue(respuesta.isCompleta());
+        // Palabra entera en los tres primeros (empate resuelto por tipo); el jugador solo empieza por "boston"
+        assertEquals(List.of("equipo", "logro", "partido", "jugador"), tipos(respuesta));
+        assertEquals(List.of(1.0, 1.0, 1.0), respuesta.getResultados().subList(0, 3).stream().map(ResultadoBusqueda::getPuntuacion).toList());
+        assertEquals("Celtics - Knicks", respuesta.getResultados().get(2).getEtiqueta());
+        assertEquals("Bostonio Pérez", respuesta.getResultados().get(3).getEtiqueta());
+    }
+
+    @Test
+    @DisplayName("Una fuente lenta no retrasa la respuesta: se devuelve sin ella")
+    void testFuenteLentaDaResultadosParciales() {
+        simularEquipos();
+        simularJugadores();
+        simularLogros();
+        when(partidoRepository.buscarPorLugarOTemporada("boston", Limit.of(20))).thenAnswer(invocacion -> {
+            Thread.sleep(3_000);
+            return List.of(partido());
+        });
+
+        long inicio = System.nanoTime();
+        RespuestaBusqueda respuesta = busquedaGlobal.buscar("boston", null);
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+
+        assertTrue(milisegundos < 2_000, "Ha tardado " + milisegundos + " ms");
+        assertEquals(List.of("partido"), respuesta.getFuentesSinRespuesta());
+        assertEquals(List.of("equipo", "logro", "jugador"), tipos(respuesta));
+    }
+
+    @Test
+    @DisplayName("Una fuente que falla se omite sin afectar a las demás")
+    void testFuenteQueFalla() {
+        simularEquipos();
+        simularJugadores();
+        when(busquedaLogros.buscar(anyString(), any(), anyInt())).thenThrow(new IllegalStateException("Índice no disponible"));
+        when(partidoRepository.buscarPorLugarOTemporada("boston", Limit.of(2))).thenReturn(List.of(partido()));
+
+        RespuestaBusqueda respuesta = busquedaGlobal.buscar("boston", 2);
+
+        assertEquals(List.of("logro"), respuesta.getFuentesSinRespuesta());
+        assertEquals(List.of("equipo", "partido"), tipos(respuesta), "Se respeta el límite");
+    }
+
+    @Test
+    @DisplayName("Un texto sin letras ni números no consulta ninguna fuente")
+    void testTextoVacio() {
+        RespuestaBusqueda respuesta = busquedaGlobal.buscar(" ¿? ", null);
+
+        assertTrue(respuesta.getResultados().isEmpty());
+        assertTrue(respuesta.isCompleta());
+        verifyNoInteractions(autocompletado, busquedaJugadores, busquedaLogros, partidoRepository);
+    }
+}
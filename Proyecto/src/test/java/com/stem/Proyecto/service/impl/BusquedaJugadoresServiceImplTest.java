@@ -0,0 +1,174 @@
+package com.stem.Proyecto.service.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stem.Proyecto.config.CacheEntidadesConfig;
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.service.BusquedaJugadoresService;
+import com.stem.Proyecto.service.JugadorService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.CursorPaginacion;
+import com.stem.Proyecto.util.VersionesTablas;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Pruebas de integración (con H2) de {@link BusquedaJugadoresServiceImpl}.
+ * Cada escritura de {@link JugadorService} se confirma en su propia transacción,
+ * y el índice en memoria debe reflejarla solo cuando se confirma.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({JugadorServiceImpl.class, BusquedaJugadoresServiceImpl.class, AutocompletadoServiceImpl.class, CacheEntidades.class, CacheEntidadesConfig.class, VersionesTablas.class, PaginacionConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BusquedaJugadoresServiceImplTest {
+
+    @Autowired
+    private JugadorService jugadorService;
+
+    @Autowired
+    private BusquedaJugadoresService busquedaJugadores;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM jugadores_logros");
+        jdbcTemplate.update("DELETE FROM jugadores");
+        busquedaJugadores.invalidar();
+    }
+
+    private Jugador crear(String nombre, String apellido) {
+        return jugadorService.save(new Jugador(nombre, apellido, LocalDate.of(1995, 1, 1), 200, 100, "Base", 1, true));
+    }
+
+    private List<String> apellidosEncontrados(String texto) {
+        return jugadorService.buscar(texto, false, null, 50).getContenido().stream().map(Jugador::getApellido).toList();
+    }
+
+    @Test
+    @DisplayName("Busca por nombre o apellido sin tildes y ordena por coincidencia")
+    void testBuscaPorNombreYApellido() {
+        crear("Lucía", "Santamaría");
+        crear("María", "Núñez");
+        crear("Ana", "Mariano");
+
+        assertEquals(List.of("Núñez", "Mariano", "Santamaría"), apellidosEncontrados("MARIA"));
+        assertEquals(List.of("Núñez"), apellidosEncontrados("nunez"));
+        assertTrue(apellidosEncontrados("pérez").isEmpty());
+    }
+
+    @Test
+    @DisplayName("La búsqueda aproximada encuentra apellidos mal escritos")
+    void testBusquedaAproximada() {
+        crear("Marc", "González");
+        crear("Ana", "Gonzalo");
+        crear("Luis", "Gómez");
+
+        assertTrue(apellidosEncontrados("gonzales").isEmpty());
+        List<String> aproximados = jugadorService.buscar("gonzales", true, null, 50).getContenido().stream()
+                .map(Jugador::getApellido).toList();
+        assertEquals(List.of("González", "Gonzalo"), aproximados);
+    }
+
+    @Test
+    @DisplayName("Tras construir el índice, una búsqueda solo lanza la consulta que carga la página")
+    void testBusquedaConUnaSolaConsulta() {
+        for (int i = 0; i < 30; i++) {
+            crear("Jugador" + i, "García");
+        }
+        jugadorService.buscar("garcia", false, null, 10);
+
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        PaginaCursor<Jugador> pagina = jugadorService.buscar("garcia", false, null, 20);
+
+        assertEquals(20, pagina.getTamanio());
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Guardar, modificar y borrar un jugador actualiza el índice al confirmar")
+    void testIndiceSeActualizaAlConfirmar() {
+        Jugador pau = crear("Pau", "Gasol");
+        assertEquals(List.of("Gasol"), apellidosEncontrados("gasol"));
+
+        Jugador inigo = crear("Íñigo", "Martínez");
+        assertEquals(List.of("Martínez"), apellidosEncontrados("inigo"));
+
+        pau.setApellido("Gásol Sáez");
+        jugadorService.update(pau.getId(), pau);
+        assertEquals(List.of("Gásol Sáez"), apellidosEncontrados("saez"));
+
+        jugadorService.deleteById(inigo.getId());
+        assertTrue(apellidosEncontrados("inigo").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un jugador guardado en una transacción que se deshace no entra en el índice")
+    void testTransaccionDeshechaNoCambiaElIndice() {
+        crear("Pau", "Gasol");
+        apellidosEncontrados("gasol");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            crear("Marc", "Gasol");
+            estado.setRollbackOnly();
+        });
+
+        assertEquals(List.of("Gasol"), apellidosEncontrados("gasol"));
+    }
+
+    @Test
+    @DisplayName("Las páginas se recorren con el cursor sin repetir jugadores")
+    void testPaginasPorCursor() {
+        for (int i = 0; i < 25; i++) {
+            crear("Jugador" + i, i % 2 == 0 ? "Fernández" : "Hernández");
+        }
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaCursor<Jugador> pagina = jugadorService.buscar("andez", false, cursor, 4);
+            pagina.getContenido().forEach(jugador -> ids.add(jugador.getId()));
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != null);
+
+        assertEquals(25, ids.size());
+        assertEquals(25, ids.stream().distinct().count());
+        assertThrows(IllegalArgumentException.class, () -> jugadorService.buscar("andez", false, "no-es-un-cursor", 4));
+        // Cursores bien formados pero de otro listado: el de los logros (puntuación decimal) o el de la lista de jugadores
+        String deLogros = CursorPaginacion.codificar(ScrollPosition.forward(Map.of("puntuacion", 2.5, "id", 3L)));
+        String deLista = CursorPaginacion.codificar(ScrollPosition.forward(Map.of("id", 3L)));
+        assertThrows(IllegalArgumentException.class, () -> jugadorService.buscar("andez", false, deLogros, 4));
+        assertThrows(IllegalArgumentException.class, () -> jugadorService.buscar("andez", false, deLista, 4));
+    }
+}
@@ -0,0 +1,156 @@
+package com.stem.Proyecto.service.impl;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stem.Proyecto.config.BusquedaLogrosConfig;
+import com.stem.Proyecto.config.CacheEntidadesConfig;
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.entity.Logro;
+import com.stem.Proyecto.repository.LogroRepository;
+import com.stem.Proyecto.service.LogroService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.CursorPaginacion;
+import com.stem.Proyecto.util.VersionesTablas;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Pruebas de integración (con H2) de {@link BusquedaLogrosServiceImpl}.
+ * Cada escritura de {@link LogroService} se confirma en su propia transacción,
+ * y el índice debe reflejarla solo cuando se confirma. El índice del contexto vive en memoria;
+ * la prueba del disco crea sus propias instancias sobre un directorio temporal.
+ * Los logros de todas las pruebas comparten la base de datos, así que cada prueba usa sus propias palabras.
+ */
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true", "nba.busqueda-logros.directorio="})
+@Import({LogroServiceImpl.class, BusquedaLogrosServiceImpl.class, AutocompletadoServiceImpl.class,
+    BusquedaLogrosConfig.class, CacheEntidades.class, CacheEntidadesConfig.class, VersionesTablas.class, PaginacionConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BusquedaLogrosServiceImplTest {
+
+    @Autowired
+    private LogroService logroService;
+
+    @Autowired
+    private LogroRepository logroRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TempDir
+    Path directorio;
+
+    private List<String> nombresEncontrados(String texto) {
+        return logroService.buscar(texto, null, 50).getContenido().stream().map(Logro::getNombre).toList();
+    }
+
+    @Test
+    @DisplayName("Busca en el nombre y la descripción, ordena por relevancia y después no consulta más que la página")
+    void testBuscaPorRelevancia() {
+        logroService.save(new Logro("Mejor Taponador", "Premio al jugador con más tapones de la temporada", 2020));
+        logroService.save(new Logro("Muro Defensivo", "El mejor taponador de las finales", 2021));
+        logroService.save(new Logro("Anotador", "Más puntos en un partido", 2022));
+
+        assertEquals(List.of("Mejor Taponador", "Muro Defensivo"), nombresEncontrados("taponadores"));
+        assertEquals(List.of("Muro Defensivo"), nombresEncontrados("defensivos"));
+
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        PaginaCursor<Logro> pagina = logroService.buscar("taponador", null, 10);
+        assertEquals(2, pagina.getTamanio());
+        assertEquals(1, estadisticas.getPrepareStatementCount(), "Los logros y sus jugadores se cargan en una consulta");
+    }
+
+    @Test
+    @DisplayName("Guardar, modificar y borrar un logro actualiza el índice al confirmar, y deshacer no lo cambia")
+    void testIndiceSeActualizaAlConfirmar() {
+        Logro logro = logroService.save(new Logro("Trofeo Zigurat", "Premio al zigurat más alto", 2019));
+        assertEquals(List.of("Trofeo Zigurat"), nombresEncontrados("zigurat"));
+
+        logro.setDescripcion("Premio a la mejor pirámide");
+        logro.setNombre("Trofeo Pirámide");
+        logroService.update(logro.getId(), logro);
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            logroService.save(new Logro("Zigurat de Plata", "No llega a confirmarse", 2019));
+            estado.setRollbackOnly();
+        });
+        assertTrue(nombresEncontrados("zigurat").isEmpty());
+        assertEquals(List.of("Trofeo Pirámide"), nombresEncontrados("piramides"));
+
+        logroService.deleteById(logro.getId());
+        assertTrue(nombresEncontrados("piramide").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Las páginas se recorren con el cursor sin repetir logros")
+    void testPaginasPorCursor() {
+        for (int i = 0; i < 23; i++) {
+            logroService.save(new Logro("Quinteto " + i, i % 3 == 0 ? "Quinteto ideal quinteto" : "Del quinteto ideal", 2000 + i));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaCursor<Logro> pagina = logroService.buscar("quinteto", cursor, 5);
+            pagina.getContenido().forEach(logro -> ids.add(logro.getId()));
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != null);
+
+        assertEquals(23, ids.size());
+        assertEquals(23, ids.stream().distinct().count());
+        assertThrows(IllegalArgumentException.class, () -> logroService.buscar("quinteto", "no-es-un-cursor", 5));
+        // Un cursor bien formado pero de la búsqueda de jugadores, con la puntuación entera
+        String deJugadores = CursorPaginacion.codificar(ScrollPosition.forward(Map.of("puntuacion", 2, "id", 3L)));
+        assertThrows(IllegalArgumentException.class, () -> logroService.buscar("quinteto", deJugadores, 5));
+    }
+
+    @Test
+    @DisplayName("Al volver a abrir el índice guardado en disco se pone al día con la base de datos")
+    void testSeReconciliaConLaBaseDeDatos() {
+        BusquedaLogrosConfig config = new BusquedaLogrosConfig();
+        config.setDirectorio(directorio.toString());
+        Logro cambiado = logroService.save(new Logro("Gran Xilófono", "Premio musical", 2010));
+        Logro borrado = logroService.save(new Logro("Pequeño Xilófono", "Premio musical menor", 2011));
+
+        BusquedaLogrosServiceImpl primera = new BusquedaLogrosServiceImpl(logroRepository, config);
+        assertEquals(2, primera.buscar("xilofonos", null, 10).getTamanio());
+        primera.cerrar();
+
+        // Cambios que no pasan por el servicio mientras el índice está cerrado
+        jdbcTemplate.update("UPDATE logros SET descripcion = 'Premio a la mejor marimba' WHERE id = ?", cambiado.getId());
+        jdbcTemplate.update("DELETE FROM logros WHERE id = ?", borrado.getId());
+
+        BusquedaLogrosServiceImpl segunda = new BusquedaLogrosServiceImpl(logroRepository, config);
+        assertEquals(List.of(cambiado.getId()), segunda.buscar("xilofono", null, 10).getContenido());
+        assertEquals(List.of(cambiado.getId()), segunda.buscar("marimbas", null, 10).getContenido());
+        assertTrue(segunda.buscar("musical", null, 10).getContenido().isEmpty());
+        segunda.cerrar();
+    }
+}
@@ -0,0 +1,179 @@
+package com.stem.Proyecto.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stem.Proyecto.config.CacheEntidadesConfig;
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.FilaClasificacion;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Partido;
+import com.stem.Proyecto.repository.EquipoRepository;
+import com.stem.Proyecto.repository.PartidoRepository;
+import com.stem.Proyecto.service.ClasificacionService;
+import com.stem.Proyecto.service.PartidoService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.TablaClasificacion;
+import com.stem.Proyecto.util.VersionesTablas;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Pruebas de integración (con H2) de {@link ClasificacionServiceImpl}.
+ * Cada escritura de {@link PartidoService} se confirma en su propia transacción,
+ * y la clasificación en memoria debe coincidir con la que se construye desde cero.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({PartidoServiceImpl.class, ClasificacionServiceImpl.class, CacheEntidades.class, CacheEntidadesConfig.class, VersionesTablas.class, PaginacionConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClasificacionServiceImplTest {
+
+    private static final String TEMPORADA = "2024-2025";
+
+    @Autowired
+    private ClasificacionService clasificacionService;
+
+    @Autowired
+    private PartidoService partidoService;
+
+    @Autowired
+    private EquipoRepository equipoRepository;
+
+    @Autowired
+    private PartidoRepository partidoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Equipo lakers;
+    private Equipo celtics;
+    private Equipo bulls;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM jugadores_logros");
+        jdbcTemplate.update("DELETE FROM partidos");
+        jdbcTemplate.update("DELETE FROM jugadores");
+        jdbcTemplate.update("DELETE FROM equipos");
+        clasificacionService.invalidar();
+        lakers = equipoRepository.save(new Equipo("Lakers", "Los Angeles", "LAL", 1947, "Crypto.com Arena", "A"));
+        celtics = equipoRepository.save(new Equipo("Celtics", "Boston", "BOS", 1946, "TD Garden", "B"));
+        bulls = equipoRepository.save(new Equipo("Bulls", "Chicago", "CHI", 1966, "United Center", "C"));
+    }
+
+    private Partido jugar(Equipo local, Equipo visitante, Integer puntosLocal, Integer puntosVisitante) {
+        return partidoService.save(new Partido(LocalDate.of(2024, 11, 1), LocalTime.of(20, 0), puntosLocal, puntosVisitante,
+                TEMPORADA, local.getPabellon(), local, visitante));
+    }
+
+    private FilaClasificacion fila(List<FilaClasificacion> filas, Equipo equipo) {
+        return filas.stream().filter(f -> f.getEquipoId().equals(equipo.getId())).findFirst().orElseThrow();
+    }
+
+    /** Compara la clasificación en memoria con la que se construye desde la base de datos. */
+    private void assertIgualQueRecalculada() {
+        List<FilaClasificacion> incremental = clasificacionService.getClasificacion(TEMPORADA);
+        List<FilaClasificacion> recalculada = new TransactionTemplate(transactionManager).execute(
+                estado -> TablaClasificacion.desde(partidoRepository.findByTemporada(TEMPORADA)).filas());
+        assertEquals(recalculada.size(), incremental.size());
+        for (int i = 0; i < recalculada.size(); i++) {
+            FilaClasificacion esperada = recalculada.get(i);
+            FilaClasificacion obtenida = incremental.get(i);
+            assertEquals(esperada.getEquipoId(), obtenida.getEquipoId(), "Posición " + (i + 1));
+            assertEquals(esperada.getVictorias(), obtenida.getVictorias());
+            assertEquals(esperada.getDerrotas(), obtenida.getDerrotas());
+            assertEquals(esperada.getPuntosAFavor(), obtenida.getPuntosAFavor());
+            assertEquals(esperada.getPuntosEnContra(), obtenida.getPuntosEnContra());
+            assertEquals(esperada.getVictoriasLocal(), obtenida.getVictoriasLocal());
+            assertEquals(esperada.getDerrotasVisitante(), obtenida.getDerrotasVisitante());
+        }
+    }
+
+    @Test
+    @DisplayName("La clasificación se construye una vez y después se lee sin consultas")
+    void testClasificacionSinConsultasTrasConstruirla() {
+        jugar(lakers, celtics, 110, 100);
+        jugar(celtics, bulls, 95, 90);
+        jugar(bulls, lakers, 120, 101);
+
+        List<FilaClasificacion> filas = clasificacionService.getClasificacion(TEMPORADA);
+        assertEquals(3, filas.size());
+        FilaClasificacion filaLakers = fila(filas, lakers);
+        assertEquals(1, filaLakers.getVictorias());
+        assertEquals(1, filaLakers.getDerrotas());
+        assertEquals(1, filaLakers.getVictoriasLocal());
+        assertEquals(1, filaLakers.getDerrotasVisitante());
+        assertEquals(211, filaLakers.getPuntosAFavor());
+        assertEquals(-9, filaLakers.getDiferencia());
+
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        clasificacionService.getClasificacion(TEMPORADA);
+        assertEquals(0, estadisticas.getPrepareStatementCount(), "Leer la clasificación ya construida no debería consultar la base de datos");
+    }
+
+    @Test
+    @DisplayName("Crear, modificar y borrar partidos actualiza la clasificación sin recalcularla")
+    void testActualizacionIncremental() {
+        Partido primero = jugar(lakers, celtics, 110, 100);
+        clasificacionService.getClasificacion(TEMPORADA);
+
+        jugar(celtics, bulls, 95, 90);
+        Partido sinJugar = jugar(bulls, lakers, null, null);
+        assertIgualQueRecalculada();
+
+        // Se da la vuelta al resultado y se disputa el partido pendiente
+        Partido cambio = new Partido(primero.getFecha(), primero.getHora(), 99, 104, TEMPORADA, primero.getLugar(), lakers, celtics);
+        partidoService.update(primero.getId(), cambio);
+        partidoService.update(sinJugar.getId(), new Partido(sinJugar.getFecha(), sinJugar.getHora(), 88, 87, TEMPORADA, "", bulls, lakers));
+        assertIgualQueRecalculada();
+        assertEquals(celtics.getId(), clasificacionService.getClasificacion(TEMPORADA).get(0).getEquipoId());
+
+        // Un partido que cambia de temporada deja de contar en esta
+        partidoService.update(primero.getId(), new Partido(primero.getFecha(), primero.getHora(), 99, 104, "2025-2026", "", lakers, celtics));
+        assertIgualQueRecalculada();
+
+        partidoService.deleteById(sinJugar.getId());
+        assertIgualQueRecalculada();
+        assertEquals(1, fila(clasificacionService.getClasificacion("2025-2026"), lakers).getDerrotas());
+    }
+
+    @Test
+    @DisplayName("Una escritura que se deshace no cambia la clasificación")
+    void testEscrituraDeshechaNoCuenta() {
+        jugar(lakers, celtics, 110, 100);
+        clasificacionService.getClasificacion(TEMPORADA);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            jugar(celtics, bulls, 95, 90);
+            estado.setRollbackOnly();
+        });
+
+        List<FilaClasificacion> filas = clasificacionService.getClasificacion(TEMPORADA);
+        assertEquals(2, filas.size());
+        assertTrue(filas.stream().noneMatch(f -> f.getEquipoId().equals(bulls.getId())));
+    }
+}
@@ -2,12 +2,14 @@ package com.stem.Proyecto.service.impl;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,16 +17,34 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import com.stem.Proyecto.config.CacheEntidadesConfig;
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.ResultadoBorrado;
 import com.stem.Proyecto.entity.Equipo;
 import com.stem.Proyecto.repository.EquipoRepository;
+import com.stem.Proyecto.repository.JugadorRepository;
+import com.stem.Proyecto.repository.PartidoRepository;
+import com.stem.Proyecto.service.AutocompletadoService;
+import com.stem.Proyecto.service.BusquedaJugadoresService;
+import com.stem.Proyecto.service.ClasificacionService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.CursorPaginacion;
+import com.stem.Proyecto.util.VersionesTablas;
 
 /**
  * Clase de pruebas unitarias para {@link EquipoServiceImpl}.
@@ -36,6 +56,30 @@ class EquipoServiceImplTest {
     @Mock // Crea un mock del repositorio de Equipo
     private EquipoRepository equipoRepository;
 
+    @Mock
+    private JugadorRepository jugadorRepository;
+
+    @Mock
+    private PartidoRepository partidoRepository;
+
+    @Mock
+    private ClasificacionService clasificacionService;
+
+    @Mock
+    private BusquedaJugadoresService busquedaJugadores;
+
+    @Mock
+    private AutocompletadoService autocompletado;
+
+    @Spy
+    private CacheEntidades cacheEntidades = new CacheEntidades(new CacheEntidadesConfig());
+
+    @Spy
+    private VersionesTablas versionesTablas = new VersionesTablas();
+
+    @Spy
+    private PaginacionConfig paginacionConfig = new PaginacionConfig();
+
     @InjectMocks // Inyecta los mocks creados (en este caso, equipoRepository) en esta instancia
     private EquipoServiceImpl equipoService; // La implementación real del servicio que queremos probar
 
@@ -93,6 +137,28 @@ class EquipoServiceImplTest {
         verify(equipoRepository, times(1)).findById(1L);
     }
 
+    @Test
+    @DisplayName("Test para servir desde la caché las lecturas repetidas hasta que el equipo cambia")
+    void testFindByIdUsaLaCache() {
+        when(equipoRepository.findById(1L)).thenReturn(Optional.of(equipo1));
+        when(equipoRepository.findAll()).thenReturn(Arrays.asList(equipo1, equipo2));
+        when(equipoRepository.save(any(Equipo.class))).thenReturn(equipo1);
+
+        equipoService.findById(1L);
+        equipoService.findAll();
+        assertEquals(equipo1, equipoService.findById(1L).orElseThrow());
+        assertEquals(2, equipoService.findAll().size());
+        verify(equipoRepository, times(1)).findById(1L);
+        verify(equipoRepository, times(1)).findAll();
+
+        // Sin transacción, el aviso se aplica en el momento
+        equipoService.save(equipo1);
+        equipoService.findById(1L);
+        equipoService.findAll();
+        verify(equipoRepository, times(2)).findById(1L);
+        verify(equipoRepository, times(2)).findAll();
+    }
+
     @Test
     @DisplayName("Test para obtener un equipo por ID no existente")
     void testFindByIdNotFound() {
@@ -129,6 +195,8 @@ class EquipoServiceImplTest {
 
         // Verifica que el método save() del repositorio fue llamado exactamente una vez con cualquier objeto Equipo
         verify(equipoRepository, times(1)).save(any(Equipo.class));
+        // Sin transacción, la nueva versión de la tabla se aplica en el momento
+        verify(versionesTablas, times(1)).cambiado(VersionesTablas.EQUIPOS);
     }
 
     @Test
@@ -179,32 +247,102 @@ class EquipoServiceImplTest {
     @Test
     @DisplayName("Test para eliminar un equipo existente por ID")
     void testDeleteByIdExisting() {
-        // Configura el mock para simular que el equipo existe antes de eliminarlo
-        when(equipoRepository.findById(1L)).thenReturn(Optional.of(equipo1));
-        // No necesitamos configurar un thenReturn para deleteById ya que es un método void
+        // Cada tabla dependiente se borra con una sola sentencia, sin cargar el equipo
+        when(jugadorRepository.borrarLogrosDeEquipo(1L)).thenReturn(7);
+        when(jugadorRepository.borrarPorEquipo(1L)).thenReturn(12);
+        when(partidoRepository.borrarPorEquipo(1L)).thenReturn(30);
+        when(equipoRepository.borrarPorId(1L)).thenReturn(1);
 
         // Llama al método del servicio
-        equipoService.deleteById(1L);
+        ResultadoBorrado resultado = equipoService.deleteById(1L);
 
-        // Afirmaciones (en este caso, verificar las interacciones con el mock)
-        // Verifica que findById() fue llamado para confirmar la existencia
-        verify(equipoRepository, times(1)).findById(1L);
-        // Verifica que deleteById() del repositorio fue llamado exactamente una vez con el ID correcto
-        verify(equipoRepository, times(1)).deleteById(1L);
+        // Afirmaciones
+        assertTrue(resultado.isEncontrado());
+        assertEquals(List.of("jugadores_logros", "jugadores", "partidos", "equipos"),
+                List.copyOf(resultado.getFilasPorTabla().keySet()), "Primero se borran las tablas dependientes");
+        assertEquals(12, resultado.getFilasPorTabla().get("jugadores"));
+        assertEquals(50, resultado.getTotal());
+        verify(equipoRepository, never()).findById(anyLong());
+        verify(equipoRepository, never()).deleteById(anyLong());
+        verify(busquedaJugadores, times(1)).invalidar();
+        verify(autocompletado, times(1)).invalidarJugadores();
+        verify(autocompletado, times(1)).equipoEliminado(1L);
+        // Con el equipo se borran sus jugadores y sus partidos
+        verify(versionesTablas, times(1)).cambiado(VersionesTablas.EQUIPOS, VersionesTablas.JUGADORES, VersionesTablas.PARTIDOS);
     }
 
     @Test
     @DisplayName("Test para intentar eliminar un equipo no existente por ID")
     void testDeleteByIdNonExisting() {
-        // Configura el mock para simular que el equipo no existe
-        when(equipoRepository.findById(99L)).thenReturn(Optional.empty());
-
-        // Llama al método del servicio
-        equipoService.deleteById(99L);
+        // Los mocks devuelven 0 filas borradas en todas las tablas
+        ResultadoBorrado resultado = equipoService.deleteById(99L);
 
         // Afirmaciones
-        // Verifica que findById() fue llamado, pero deleteById() NO fue llamado
-        verify(equipoRepository, times(1)).findById(99L);
-        verify(equipoRepository, never()).deleteById(anyLong()); // Asegura que deleteById no fue llamado
+        assertFalse(resultado.isEncontrado(), "Si no se borra ningún equipo, el equipo no existía");
+        assertEquals(0, resultado.getTotal());
+        verify(equipoRepository, times(1)).borrarPorId(99L);
+        // No ha cambiado nada: ni la clasificación, ni los índices, ni las versiones de las tablas
+        verify(clasificacionService, never()).invalidar();
+        verify(busquedaJugadores, never()).invalidar();
+        verify(autocompletado, never()).invalidarJugadores();
+        verify(versionesTablas, never()).cambiado(VersionesTablas.EQUIPOS, VersionesTablas.JUGADORES, VersionesTablas.PARTIDOS);
+    }
+
+    @Test
+    @DisplayName("Test para obtener la primera página de equipos con cursor")
+    void testFindPaginaPrimeraPagina() {
+        Window<Equipo> ventana = Window.from(Arrays.asList(equipo1, equipo2),
+                i -> ScrollPosition.forward(Map.of("id", (long) (i + 1))), true);
+        when(equipoRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenReturn(ventana);
+
+        PaginaCursor<Equipo> pagina = equipoService.findPagina(null, 2, null, false);
+
+        assertEquals(2, pagina.getTamanio());
+        assertTrue(pagina.isHayMas());
+        assertNotNull(pagina.getSiguienteCursor(), "Debería devolver un cursor para la siguiente página");
+        assertNull(pagina.getTotalAproximado(), "El total no se pidió, no debería calcularse");
+        verify(equipoRepository, times(1)).findBy(ScrollPosition.keyset(), Sort.by("id"), Limit.of(2));
+        verify(equipoRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Test para continuar desde el cursor de la página anterior")
+    void testFindPaginaDesdeCursor() {
+        Window<Equipo> primera = Window.from(Arrays.asList(equipo1, equipo2),
+                i -> ScrollPosition.forward(Map.of("nombre", i == 0 ? "FC Barcelona" : "Real Madrid", "id", (long) (i + 1))), true);
+        Sort sort = Sort.by("nombre").and(Sort.by("id"));
+        when(equipoRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(primera)
+                .thenReturn(Window.from(List.of(), i -> ScrollPosition.keyset(), false));
+
+        String cursor = equipoService.findPagina(null, 2, "nombre", false).getSiguienteCursor();
+        PaginaCursor<Equipo> segunda = equipoService.findPagina(cursor, 2, "nombre", true);
+
+        assertFalse(segunda.isHayMas());
+        assertNull(segunda.getSiguienteCursor(), "La última página no debería tener cursor");
+        verify(equipoRepository, times(1)).findBy(
+                ScrollPosition.forward(Map.of("nombre", "Real Madrid", "id", 2L)), sort, Limit.of(2));
+        verify(equipoRepository, times(1)).count();
+    }
+
+    @Test
+    @DisplayName("Test para limitar el tamaño de página y rechazar órdenes no permitidos")
+    void testFindPaginaLimitesYOrdenInvalido() {
+        when(equipoRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(), i -> ScrollPosition.keyset(), false));
+
+        int maximo = paginacionConfig.getTamanioMaximo();
+
+        equipoService.findPagina(null, 100000, null, false);
+
+        verify(equipoRepository, times(1)).findBy(any(ScrollPosition.class), any(Sort.class), eq(Limit.of(maximo)));
+        assertThrows(IllegalArgumentException.class, () -> equipoService.findPagina(null, 10, "entrenador", false));
+        assertThrows(IllegalArgumentException.class, () -> equipoService.findPagina("no-es-un-cursor", 10, null, false));
+        // Un cursor con el ID de otro tipo se rechaza al decodificarlo, sin llegar a la consulta
+        String idComoEntero = CursorPaginacion.codificar(ScrollPosition.forward(Map.of("id", 5)));
+        String idComoTexto = CursorPaginacion.codificar(ScrollPosition.forward(Map.of("id", "5")));
+        assertThrows(IllegalArgumentException.class, () -> equipoService.findPagina(idComoEntero, 10, null, false));
+        assertThrows(IllegalArgumentException.class, () -> equipoService.findPagina(idComoTexto, 10, null, false));
+        verify(equipoRepository, times(1)).findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,135 @@
+package com.stem.Proyecto.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.entity.Logro;
+import com.stem.Proyecto.entity.Partido;
+import com.stem.Proyecto.service.ExportacionService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Pruebas de integración (con H2) de la exportación en NDJSON: una línea por fila, en orden de ID,
+ * y los logros de cada jugador juntados desde la tabla intermedia.
+ */
+@DataJpaTest
+@Import(ExportacionServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ExportacionServiceImplTest {
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Equipo local;
+    private Equipo visitante;
+
+    @BeforeEach
+    void setUp() {
+        local = new Equipo("Exportación Local", "Ciudad A", "EXL", 1950, "Pabellón A", "Entrenador A");
+        visitante = new Equipo("Exportación Visitante", "Ciudad B", "EXV", 1960, "Pabellón B", "Entrenador B");
+        entityManager.persist(local);
+        entityManager.persist(visitante);
+    }
+
+    private List<JsonNode> lineas(ByteArrayOutputStream salida) throws IOException {
+        String texto = salida.toString(StandardCharsets.UTF_8);
+        assertTrue(texto.isEmpty() || texto.endsWith("\n"), "Cada línea termina en un salto de línea");
+        List<JsonNode> lineas = new ArrayList<>();
+        for (String linea : texto.split("\n")) {
+            if (!linea.isEmpty()) {
+                lineas.add(objectMapper.readTree(linea));
+            }
+        }
+        return lineas;
+    }
+
+    @Test
+    @DisplayName("Exporta un partido por línea, en orden de ID y filtrando por temporada")
+    void testExportarPartidos() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(new Partido(LocalDate.of(2024, 11, 5 - i), LocalTime.of(20, 0), 100 + i, 90,
+                    i < 3 ? "2024-2025" : "2023-2024", "Pabellón A", local, visitante));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        assertEquals(3, exportacionService.exportarPartidos("2024-2025", salida));
+        List<JsonNode> partidos = lineas(salida);
+        assertEquals(3, partidos.size());
+        assertEquals(List.of(100, 101, 102), partidos.stream().map(p -> p.get("puntuacionLocal").asInt()).toList());
+        assertEquals("2024-11-05", partidos.get(0).get("fecha").asText());
+        assertEquals("Exportación Visitante", partidos.get(0).get("nombreEquipoVisitante").asText());
+
+        ByteArrayOutputStream todos = new ByteArrayOutputStream();
+        assertEquals(5, exportacionService.exportarPartidos(null, todos));
+        assertEquals(5, lineas(todos).size());
+    }
+
+    @Test
+    @DisplayName("Cada jugador se exporta con su equipo y los IDs de sus logros, también sin equipo ni logros")
+    void testExportarJugadores() throws IOException {
+        Logro mvp = new Logro("MVP Exportado", "Mejor jugador", 2020);
+        Logro anillo = new Logro("Anillo Exportado", "Campeón", 2021);
+        entityManager.persist(mvp);
+        entityManager.persist(anillo);
+        Jugador conTodo = new Jugador("Ana", "Exportada", LocalDate.of(1999, 1, 1), 180, 70, "Base", 7, true);
+        conTodo.setEquipo(local);
+        conTodo.getLogros().add(mvp);
+        conTodo.getLogros().add(anillo);
+        Jugador sinLogros = new Jugador("Luis", "Exportado", LocalDate.of(1998, 1, 1), 190, 80, "Alero", 8, true);
+        sinLogros.setEquipo(visitante);
+        Jugador sinEquipo = new Jugador("Eva", "Libre", LocalDate.of(1997, 1, 1), 175, 65, "Escolta", 9, false);
+        sinEquipo.getLogros().add(mvp);
+        entityManager.persist(conTodo);
+        entityManager.persist(sinLogros);
+        entityManager.persist(sinEquipo);
+        entityManager.flush();
+        entityManager.clear();
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        assertEquals(3, exportacionService.exportarJugadores(salida));
+        List<JsonNode> jugadores = lineas(salida);
+        assertEquals(List.of("Ana", "Luis", "Eva"), jugadores.stream().map(j -> j.get("nombre").asText()).toList());
+
+        JsonNode ana = jugadores.get(0);
+        assertEquals("Exportación Local", ana.get("nombreEquipo").asText());
+        assertEquals(List.of(mvp.getId(), anillo.getId()), ids(ana.get("logroIds")));
+        assertEquals(List.of(), ids(jugadores.get(1).get("logroIds")));
+        assertTrue(jugadores.get(2).get("idEquipo").isNull());
+        assertEquals(List.of(mvp.getId()), ids(jugadores.get(2).get("logroIds")));
+    }
+
+    private static List<Long> ids(JsonNode array) {
+        List<Long> ids = new ArrayList<>();
+        array.forEach(id -> ids.add(id.asLong()));
+        return ids;
+    }
+}
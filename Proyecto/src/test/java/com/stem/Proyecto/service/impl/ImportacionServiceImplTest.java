@@ -0,0 +1,252 @@
+package com.stem.Proyecto.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.stem.Proyecto.config.CacheEntidadesConfig;
+import com.stem.Proyecto.config.ImportacionConfig;
+import com.stem.Proyecto.config.TransferenciaCsvConfig;
+import com.stem.Proyecto.dto.ResultadoExportacion;
+import com.stem.Proyecto.dto.ResultadoFila;
+import com.stem.Proyecto.dto.ResultadoImportacion;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.entity.Logro;
+import com.stem.Proyecto.entity.Partido;
+import com.stem.Proyecto.repository.JugadorRepository;
+import com.stem.Proyecto.repository.PartidoRepository;
+import com.stem.Proyecto.service.ExportacionService;
+import com.stem.Proyecto.service.ImportacionService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.VersionesTablas;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Pruebas de integración (con H2) de la importación masiva de jugadores y de la importación de partidos en CSV.
+ * Los lotes son de dos filas para que cada prueba recorra varios.
+ * Incluye además una prueba de rendimiento que solo se ejecuta si se pide de forma explícita:
+ * {@code mvn test -Dtest=ImportacionServiceImplTest -Dnba.benchmark=true [-Dnba.benchmark.jugadores=200000]}
+ */
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "nba.importacion.tamanio-lote=2"})
+@Import({ImportacionServiceImpl.class, ExportacionServiceImpl.class, BusquedaJugadoresServiceImpl.class, AutocompletadoServiceImpl.class,
+    ClasificacionServiceImpl.class, CacheEntidades.class, CacheEntidadesConfig.class, VersionesTablas.class,
+    ImportacionConfig.class, TransferenciaCsvConfig.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ImportacionServiceImplTest {
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    @Autowired
+    private JugadorRepository jugadorRepository;
+
+    @Autowired
+    private PartidoRepository partidoRepository;
+
+    @Autowired
+    private ImportacionConfig importacionConfig;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @TempDir
+    Path directorio;
+
+    private Equipo equipo;
+    private Logro logro;
+
+    @BeforeEach
+    void setUp() {
+        equipo = new Equipo("Importados FC", "Ciudad Importada", "IMP", 1970, "Pabellón", "Entrenador");
+        logro = new Logro("Logro Importado", "Descripción", 2020);
+        entityManager.persist(equipo);
+        entityManager.persist(logro);
+        entityManager.flush();
+    }
+
+    private ResultadoImportacion importar(String cuerpo) throws IOException {
+        return importacionService.importarJugadores(new ByteArrayInputStream(cuerpo.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Guarda las filas válidas de un array y rechaza las demás, con el resultado de cada una en orden")
+    void testImportarArray() throws IOException {
+        String cuerpo = "["
+                + "{\"nombre\": \"Ana\", \"apellido\": \"Uno\", \"equipo\": {\"id\": " + equipo.getId() + "},"
+                + " \"logros\": [{\"id\": " + logro.getId() + "}]},"
+                + "{\"nombre\": \"Sin\", \"apellido\": \"Equipo\", \"equipo\": {\"id\": 999999}},"
+                + "{\"apellido\": \"Sin Nombre\"},"
+                + "{\"nombre\": \"Luis\", \"apellido\": \"Dos\", \"fechaNacimiento\": \"no es una fecha\"},"
+                + "{\"nombre\": \"Eva\", \"apellido\": \"Tres\", \"fechaNacimiento\": \"2000-02-29\", \"numeroCamiseta\": 23}"
+                + "]";
+
+        ResultadoImportacion resultado = importar(cuerpo);
+
+        assertEquals(2, resultado.getAceptadas());
+        assertEquals(3, resultado.getRechazadas());
+        List<ResultadoFila> filas = resultado.getFilas();
+        assertEquals(List.of(1, 2, 3, 4, 5), filas.stream().map(ResultadoFila::getFila).toList());
+        assertNotNull(filas.get(0).getId());
+        assertEquals("Equipo no encontrado con ID: 999999", filas.get(1).getError());
+        assertEquals("Falta el nombre", filas.get(2).getError());
+        assertTrue(filas.get(3).getError().startsWith("Formato no válido"));
+        assertNull(filas.get(4).getError());
+
+        entityManager.clear();
+        Jugador ana = jugadorRepository.findById(filas.get(0).getId()).orElseThrow();
+        assertEquals(equipo.getId(), ana.getEquipo().getId());
+        assertEquals(1, ana.getLogros().size());
+        assertEquals(23, jugadorRepository.findById(filas.get(4).getId()).orElseThrow().getNumeroCamiseta());
+    }
+
+    @Test
+    @DisplayName("Acepta JSON delimitado por saltos de línea")
+    void testImportarNdjson() throws IOException {
+        String cuerpo = "{\"nombre\": \"Uno\", \"apellido\": \"Ndjson\", \"equipo\": {\"id\": " + equipo.getId() + "}}\n"
+                + "{\"nombre\": \"Dos\", \"apellido\": \"Ndjson\"}\n"
+                + "{\"nombre\": \"Tres\", \"apellido\": \"Ndjson\", \"equipo\": {\"id\": " + equipo.getId() + "}}\n";
+
+        ResultadoImportacion resultado = importar(cuerpo);
+
+        assertEquals(3, resultado.getAceptadas());
+        assertEquals(3, jugadorRepository.findByApellido("Ndjson").size());
+        assertEquals(2, jugadorRepository.findByEquipoId(equipo.getId()).size());
+    }
+
+    @Test
+    @DisplayName("Un cuerpo que no es JSON válido se rechaza entero")
+    void testJsonNoValido() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importar("[{\"nombre\": \"Ana\", \"apellido\": \"Uno\"}, {\"nombre\": "));
+    }
+
+    @Test
+    @DisplayName("Importa partidos en CSV por el nombre de las columnas y rechaza las filas no válidas")
+    void testImportarPartidosCsv() throws IOException {
+        Equipo otro = new Equipo("Visitantes CSV", "Otra Ciudad", "VIS", 1980, "Otro Pabellón", "Otro Entrenador");
+        entityManager.persist(otro);
+        Path archivo = directorio.resolve("partidos.csv");
+        Files.writeString(archivo, "temporada,fecha,hora,local,visitante,puntuacionLocal,puntuacionVisitante,lugar,ignorada\r\n"
+                + "2024-2025,2024-11-05,20:00,IMP,VIS,101,99,\"Pabellón, \"\"central\"\"\",x\r\n"
+                + "2024-2025,2024-11-06,21:30,VIS,IMP,,,,\r\n"
+                + "2024-2025,2024-11-07,20:00,IMP,XXX,100,90,,\r\n"
+                + "2024-2025,2024-02-30,20:00,IMP,VIS,100,90,,\r\n"
+                + ",2024-11-08,20:00,IMP,VIS,100,90,,\r\n"
+                + "2024-2025,2024-11-09,20:00,IMP,VIS,cien,90,,\r\n"
+                + "2024-2025,2024-11-10,19:00,VIS,IMP,88,77,,\r\n", StandardCharsets.UTF_8);
+
+        ResultadoImportacion resultado = importacionService.importarPartidosCsv(archivo);
+
+        assertEquals(3, resultado.getAceptadas());
+        assertEquals(4, resultado.getRechazadas());
+        assertEquals(Files.size(archivo), resultado.getBytes());
+        assertEquals(List.of(4, 5, 6, 7), resultado.getFilas().stream().map(ResultadoFila::getFila).toList());
+        assertEquals("Equipo no encontrado con abreviatura: XXX", resultado.getFilas().get(0).getError());
+        assertEquals("Falta la temporada", resultado.getFilas().get(2).getError());
+
+        entityManager.clear();
+        List<Partido> partidos = partidoRepository.findByTemporada("2024-2025");
+        assertEquals(3, partidos.size());
+        Partido primero = partidos.stream().filter(p -> p.getFecha().equals(LocalDate.of(2024, 11, 5))).findFirst().orElseThrow();
+        assertEquals("Pabellón, \"central\"", primero.getLugar());
+        assertEquals(equipo.getId(), primero.getEquipoLocal().getId());
+        assertEquals(101, primero.getPuntuacionLocal());
+        Partido segundo = partidos.stream().filter(p -> p.getFecha().equals(LocalDate.of(2024, 11, 6))).findFirst().orElseThrow();
+        assertEquals(LocalTime.of(21, 30), segundo.getHora());
+        assertNull(segundo.getPuntuacionLocal());
+        assertNull(segundo.getLugar());
+    }
+
+    @Test
+    @DisplayName("Un CSV sin alguna columna obligatoria se rechaza entero")
+    void testCsvSinColumnas() {
+        assertThrows(IllegalArgumentException.class, () -> importacionService.importarPartidosCsv(
+                new ByteArrayInputStream("fecha,hora,local,visitante\n2024-11-05,20:00,IMP,IMP\n".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(IllegalArgumentException.class, () -> importacionService.importarPartidosCsv(
+                new ByteArrayInputStream(new byte[0])));
+    }
+
+    @Test
+    @DisplayName("Lo que exporta el CSV se vuelve a importar igual")
+    void testIdaYVueltaCsv() throws IOException {
+        Equipo otro = new Equipo("Ida y Vuelta", "Otra Ciudad", "IYV", 1980, "Otro Pabellón", "Otro Entrenador");
+        entityManager.persist(otro);
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(new Partido(LocalDate.of(2023, 1, 1 + i), LocalTime.of(20, i, i % 2), i == 0 ? null : 100 + i, 90,
+                    "2022-2023", i == 1 ? "Con \"comillas\", y coma" : "Pabellón", equipo, otro));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ResultadoExportacion exportado = exportacionService.exportarPartidosCsv("2022-2023", Channels.newChannel(salida));
+        assertEquals(5, exportado.getFilas());
+        assertEquals(salida.size(), exportado.getBytes());
+        String csv = salida.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,fecha,hora,local,visitante,puntuacionLocal,puntuacionVisitante,temporada,lugar\n"));
+
+        ResultadoImportacion importado = importacionService.importarPartidosCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(5, importado.getAceptadas());
+        entityManager.clear();
+        List<String> originales = partidoRepository.findByTemporada("2022-2023").stream()
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .map(ImportacionServiceImplTest::comparable).toList();
+        assertEquals(10, originales.size());
+        assertEquals(originales.subList(0, 5), originales.subList(5, 10));
+    }
+
+    private static String comparable(Partido partido) {
+        return partido.getFecha() + " " + partido.getHora() + " " + partido.getEquipoLocal().getId() + "-"
+                + partido.getEquipoVisitante().getId() + " " + partido.getPuntuacionLocal() + "-"
+                + partido.getPuntuacionVisitante() + " " + partido.getLugar();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "nba.benchmark", matches = "true")
+    @DisplayName("Rendimiento: importación masiva de jugadores")
+    void benchmarkImportacionMasiva() throws IOException {
+        int total = Integer.getInteger("nba.benchmark.jugadores", 200_000);
+        importacionConfig.setTamanioLote(1_000);
+        StringBuilder cuerpo = new StringBuilder(total * 150);
+        for (int i = 0; i < total; i++) {
+            cuerpo.append("{\"nombre\":\"Jugador").append(i).append("\",\"apellido\":\"Benchmark\",\"fechaNacimiento\":\"1995-01-01\",")
+                    .append("\"alturaCm\":200,\"pesoKg\":100,\"posicion\":\"Base\",\"numeroCamiseta\":").append(i % 100)
+                    .append(",\"activo\":true,\"equipo\":{\"id\":").append(equipo.getId()).append("}}\n");
+        }
+
+        ResultadoImportacion resultado = importar(cuerpo.toString());
+
+        assertEquals(total, resultado.getAceptadas());
+        System.out.printf("Importados %,d jugadores en %,d ms (%,.0f filas/s)%n",
+                total, resultado.getMilisegundos(), total * 1000.0 / Math.max(1, resultado.getMilisegundos()));
+    }
+}
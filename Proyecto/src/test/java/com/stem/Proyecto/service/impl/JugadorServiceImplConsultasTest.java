@@ -0,0 +1,264 @@
+package com.stem.Proyecto.service.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.ScrollPosition;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.stem.Proyecto.config.CacheEntidadesConfig;
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.JugadorResumen;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Jugador;
+import com.stem.Proyecto.entity.Logro;
+import com.stem.Proyecto.service.JugadorService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.CursorPaginacion;
+import com.stem.Proyecto.util.VersionesTablas;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Pruebas de integración (con H2) de las consultas de {@link JugadorServiceImpl}.
+ * Comprueban que el número de sentencias SQL de un listado, incluida su conversión a JSON,
+ * no crece con el número de jugadores devueltos (es decir, que no hay problema N+1).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({JugadorServiceImpl.class, BusquedaJugadoresServiceImpl.class, AutocompletadoServiceImpl.class, CacheEntidades.class, CacheEntidadesConfig.class, VersionesTablas.class, PaginacionConfig.class})
+class JugadorServiceImplConsultasTest {
+
+    @Autowired
+    private JugadorService jugadorService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private Statistics estadisticas;
+    private List<Equipo> equipos;
+    private List<Logro> logros;
+    private int jugadoresCreados;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        equipos = new ArrayList<>();
+        logros = new ArrayList<>();
+        jugadoresCreados = 0;
+        for (int i = 0; i < 6; i++) {
+            Equipo equipo = new Equipo("Equipo " + i, "Ciudad " + i, "E" + i, 1950 + i, "Pabellón " + i, "Entrenador " + i);
+            entityManager.persist(equipo);
+            equipos.add(equipo);
+        }
+        for (int i = 0; i < 5; i++) {
+            Logro logro = new Logro("Logro " + i, "Descripción " + i, 2000 + i);
+            entityManager.persist(logro);
+            logros.add(logro);
+        }
+    }
+
+    private void crearJugadores(int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            int n = jugadoresCreados++;
+            Jugador jugador = new Jugador("Nombre" + n, "Apellido" + n, LocalDate.of(1995, 1, 1), 200, 100, "Base", n % 99, true);
+            jugador.setEquipo(equipos.get(n % equipos.size()));
+            jugador.getLogros().add(logros.get(n % logros.size()));
+            jugador.getLogros().add(logros.get((n + 2) % logros.size()));
+            entityManager.persist(jugador);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long sentenciasAlListarYSerializar(Runnable listado) {
+        entityManager.clear();
+        estadisticas.clear();
+        listado.run();
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    private void serializar(Object valor) {
+        try {
+            objectMapper.writeValueAsString(valor);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("findAll usa un número fijo de consultas aunque haya más jugadores")
+    void testFindAllSinNMasUno() {
+        crearJugadores(4);
+        long pocos = sentenciasAlListarYSerializar(() -> serializar(jugadorService.findAll()));
+
+        crearJugadores(40);
+        long muchos = sentenciasAlListarYSerializar(() -> serializar(jugadorService.findAll()));
+
+        assertEquals(44, jugadorService.findAll().size());
+        assertEquals(pocos, muchos, "El número de consultas no debería depender del número de jugadores");
+    }
+
+    @Test
+    @DisplayName("findPagina usa un número fijo de consultas aunque la página sea más grande")
+    void testFindPaginaSinNMasUno() {
+        crearJugadores(44);
+
+        long paginaPequena = sentenciasAlListarYSerializar(
+                () -> serializar(jugadorService.findPagina(null, 4, "apellido", false)));
+        long paginaGrande = sentenciasAlListarYSerializar(
+                () -> serializar(jugadorService.findPagina(null, 40, "apellido", false)));
+
+        assertEquals(paginaPequena, paginaGrande, "El número de consultas no debería depender del tamaño de la página");
+    }
+
+    @Test
+    @DisplayName("La búsqueda por nombre usa un número fijo de consultas")
+    void testBusquedaSinNMasUno() {
+        crearJugadores(4);
+        long pocos = sentenciasAlListarYSerializar(
+                () -> serializar(jugadorService.findByNombreContainingIgnoreCase("nombre")));
+
+        crearJugadores(40);
+        long muchos = sentenciasAlListarYSerializar(
+                () -> serializar(jugadorService.findByNombreContainingIgnoreCase("nombre")));
+
+        assertEquals(pocos, muchos, "El número de consultas no debería depender del número de resultados");
+    }
+
+    @Test
+    @DisplayName("findPlantilla recorre la plantilla de un equipo por páginas aplicando los filtros")
+    void testFindPlantillaPaginadaYFiltrada() {
+        crearJugadores(60);
+        Long equipoId = equipos.get(0).getId();
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaCursor<JugadorResumen> pagina = jugadorService.findPlantilla(equipoId, true, "Base", cursor, 3);
+            pagina.getContenido().forEach(jugador -> ids.add(jugador.getId()));
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != null);
+
+        assertEquals(10, ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids, "La plantilla debería recorrerse en orden de ID");
+        assertTrue(jugadorService.findPlantilla(equipoId, false, null, null, 10).getContenido().isEmpty());
+        assertTrue(jugadorService.findPlantilla(equipoId, null, "Pívot", null, 10).getContenido().isEmpty());
+        // Un cursor con el ID de otro tipo es un error del cliente, no del servidor
+        String idComoTexto = CursorPaginacion.codificar(ScrollPosition.forward(Map.of("id", "5")));
+        assertThrows(IllegalArgumentException.class, () -> jugadorService.findPlantilla(equipoId, null, null, idComoTexto, 10));
+    }
+
+    @Test
+    @DisplayName("findPlantilla devuelve null si el equipo no existe")
+    void testFindPlantillaEquipoInexistente() {
+        assertNull(jugadorService.findPlantilla(-1L, null, null, null, 10));
+        assertNotNull(jugadorService.findPlantilla(equipos.get(0).getId(), null, null, null, 10));
+    }
+
+    private Set<Long> logrosDe(Long jugadorId) {
+        entityManager.clear();
+        Set<Long> ids = new HashSet<>();
+        jugadorService.findById(jugadorId).orElseThrow().getLogros().forEach(logro -> ids.add(logro.getId()));
+        return ids;
+    }
+
+    @Test
+    @DisplayName("updateJugadoresLogros solo borra los logros que sobran y solo inserta los que faltan")
+    void testUpdateJugadoresLogrosDiferenciaEnSql() {
+        crearJugadores(3);
+        List<Long> jugadorIds = jugadorService.findAll().stream().map(Jugador::getId).sorted().toList();
+        Long l0 = logros.get(0).getId();
+        Long l1 = logros.get(1).getId();
+        Long l2 = logros.get(2).getId();
+        Long l3 = logros.get(3).getId();
+        // Al crearse, el jugador 0 tiene {l0, l2}, el 1 tiene {l1, l3} y el 2 tiene {l2, l4}
+
+        int cambios = jugadorService.updateJugadoresLogros(jugadorIds, List.of(l0, l1, l2));
+
+        // Borrados: l3 (jugador 1) y l4 (jugador 2). Insertados: l1 (0), l0 y l2 (1), l0 y l1 (2)
+        assertEquals(2 + 5, cambios);
+        for (Long jugadorId : jugadorIds) {
+            assertEquals(Set.of(l0, l1, l2), logrosDe(jugadorId));
+        }
+        assertEquals(0, jugadorService.updateJugadoresLogros(jugadorIds, List.of(l0, l1, l2)), "Sin cambios no se toca ninguna fila");
+        assertEquals(3, jugadorService.updateJugadoresLogros(jugadorIds, List.of(l0, l2)), "Solo se borra l1 de cada jugador");
+        assertEquals(6, jugadorService.updateJugadoresLogros(jugadorIds, List.of()));
+        assertTrue(logrosDe(jugadorIds.get(0)).isEmpty());
+        assertEquals(Set.of(l3), logrosDe(jugadorService.updateJugadorLogros(jugadorIds.get(1), List.of(l3)).getId()));
+    }
+
+    @Test
+    @DisplayName("addLogroToJugadores y removeLogroFromJugadores ignoran a quien ya tiene (o no tiene) el logro")
+    void testOtorgarYRetirarLogroEnBloque() {
+        crearJugadores(10);
+        List<Long> jugadorIds = new ArrayList<>(jugadorService.findAll().stream().map(Jugador::getId).toList());
+        Long l0 = logros.get(0).getId();
+        // 4 de los 10 jugadores ya tienen l0 (n = 0, 3, 5 y 8); el ID -1 no existe y se ignora
+        jugadorIds.add(-1L);
+
+        assertEquals(6, jugadorService.addLogroToJugadores(l0, jugadorIds));
+        assertEquals(0, jugadorService.addLogroToJugadores(l0, jugadorIds));
+        assertEquals(10, jugadorService.removeLogroFromJugadores(l0, jugadorIds));
+        assertEquals(0, jugadorService.removeLogroFromJugadores(l0, jugadorIds));
+    }
+
+    private Long crearJugadorSinLogros() {
+        Jugador jugador = new Jugador("Nuevo", "Jugador", LocalDate.of(2000, 1, 1), 195, 90, "Alero", 10, true);
+        jugador.setEquipo(equipos.get(0));
+        entityManager.persist(jugador);
+        entityManager.flush();
+        entityManager.clear();
+        return jugador.getId();
+    }
+
+    private long entidadesCargadasAlOtorgar(Long jugadorId, Long logroId) {
+        entityManager.clear();
+        estadisticas.clear();
+        jugadorService.addLogroToJugador(jugadorId, logroId);
+        entityManager.flush();
+        // El logro sigue en el contexto de persistencia: su lista de jugadores no se ha tenido que leer
+        Logro logro = entityManager.find(Logro.class, logroId);
+        assertFalse(Hibernate.isInitialized(logro.getJugadoresConEsteLogro()), "No se debería cargar la lista de poseedores del logro");
+        return estadisticas.getEntityLoadCount();
+    }
+
+    @Test
+    @DisplayName("addLogroToJugador no depende del número de jugadores que ya tienen el logro")
+    void testAddLogroSinCargarPoseedores() {
+        Long logroId = logros.get(0).getId();
+        crearJugadores(4);
+        long pocosPoseedores = entidadesCargadasAlOtorgar(crearJugadorSinLogros(), logroId);
+
+        crearJugadores(40);
+        long muchosPoseedores = entidadesCargadasAlOtorgar(crearJugadorSinLogros(), logroId);
+
+        assertEquals(pocosPoseedores, muchosPoseedores, "Las entidades cargadas no deberían depender de los poseedores del logro");
+    }
+}
@@ -4,8 +4,11 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;   // <-- ¡AÑADIR ESTA IMPORTACIÓN!
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;     // <-- ¡AÑADIR ESTA IMPORTACIÓN!
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -21,19 +24,31 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import static org.mockito.Mockito.doNothing;
+import org.mockito.Spy;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import com.stem.Proyecto.config.CacheEntidadesConfig;
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.ResultadoBorrado;
 import com.stem.Proyecto.entity.Equipo;
 import com.stem.Proyecto.entity.Jugador;
 import com.stem.Proyecto.entity.Logro;
 import com.stem.Proyecto.repository.EquipoRepository;
 import com.stem.Proyecto.repository.JugadorRepository;
 import com.stem.Proyecto.repository.LogroRepository;
+import com.stem.Proyecto.service.AutocompletadoService;
+import com.stem.Proyecto.service.BusquedaJugadoresService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.VersionesTablas;
 
 /**
  * Clase de pruebas unitarias para {@link JugadorServiceImpl}.
@@ -52,6 +67,21 @@ class JugadorServiceImplTest {
     @Mock
     private LogroRepository logroRepository;
 
+    @Mock
+    private BusquedaJugadoresService busquedaJugadores;
+
+    @Mock
+    private AutocompletadoService autocompletado;
+
+    @Spy
+    private CacheEntidades cacheEntidades = new CacheEntidades(new CacheEntidadesConfig());
+
+    @Spy
+    private VersionesTablas versionesTablas = new VersionesTablas();
+
+    @Spy
+    private PaginacionConfig paginacionConfig = new PaginacionConfig();
+
     @InjectMocks
     private JugadorServiceImpl jugadorService;
 
@@ -159,6 +189,8 @@ class JugadorServiceImplTest {
         assertEquals(equipo1.getId(), savedJugador.getEquipo().getId(), "El jugador debería tener el equipo asignado");
         verify(equipoRepository, times(1)).findById(equipo1.getId());
         verify(jugadorRepository, times(1)).save(any(Jugador.class));
+        verify(busquedaJugadores, times(1)).jugadorGuardado(savedJugador);
+        verify(autocompletado, times(1)).jugadorGuardado(savedJugador);
     }
 
     @Test
@@ -217,6 +249,7 @@ class JugadorServiceImplTest {
         verify(jugadorRepository, times(1)).findById(1L);
         verify(equipoRepository, times(1)).findById(nuevoEquipo.getId());
         verify(jugadorRepository, times(1)).save(any(Jugador.class));
+        verify(autocompletado, times(1)).jugadorGuardado(any(Jugador.class));
     }
 
     @Test
@@ -267,30 +300,33 @@ class JugadorServiceImplTest {
     @Test
     @DisplayName("Test para eliminar un jugador existente por ID")
     void testDeleteByIdExisting() {
-        // En tu servicio, solo llamas a deleteById directamente, sin existsById.
-        // Mockito verificará que se llamó.
-        doNothing().when(jugadorRepository).deleteById(1L); // Opcional, pero explícito para void methods
+        // El servicio no busca el jugador: borra sus logros asignados y luego el jugador, y las filas dicen si existía
+        when(jugadorRepository.borrarTodosLosLogros(List.of(1L))).thenReturn(2);
+        when(jugadorRepository.borrarPorId(1L)).thenReturn(1);
 
-        jugadorService.deleteById(1L);
+        ResultadoBorrado resultado = jugadorService.deleteById(1L);
 
-        // Verifica que deleteById fue llamado con el ID correcto
-        verify(jugadorRepository, times(1)).deleteById(1L);
+        assertTrue(resultado.isEncontrado(), "El jugador debería constar como encontrado");
+        assertEquals(Map.of("jugadores_logros", 2, "jugadores", 1), resultado.getFilasPorTabla());
+        verify(jugadorRepository, never()).findById(anyLong());
+        verify(busquedaJugadores, times(1)).jugadorEliminado(1L);
+        verify(autocompletado, times(1)).jugadorEliminado(1L);
     }
 
     @Test
     @DisplayName("Test para intentar eliminar un jugador no existente por ID")
     void testDeleteByIdNonExisting() {
-        // Para simular que no existe sin un existsById, simplemente no mockeamos findById
-        // y verificamos que deleteById no se llama si no hay una pre-condición de "existencia" en el servicio.
-        // En tu servicio actual, deleteById se llama directamente sin una comprobación previa.
-        // Por lo tanto, este test verificaría que deleteById *siempre* se llama si no hay Optional o existsById.
-        // Si tu repository.deleteById lanza una excepción para no existentes, ese es un test de integración.
-        // Para un test unitario aquí, simplemente verificamos que se intenta la eliminación.
-        doNothing().when(jugadorRepository).deleteById(99L);
+        // Si el DELETE del jugador no borra ninguna fila, el jugador no existía
+        when(jugadorRepository.borrarTodosLosLogros(List.of(99L))).thenReturn(0);
+        when(jugadorRepository.borrarPorId(99L)).thenReturn(0);
 
-        jugadorService.deleteById(99L);
+        ResultadoBorrado resultado = jugadorService.deleteById(99L);
 
-        verify(jugadorRepository, times(1)).deleteById(99L);
+        assertFalse(resultado.isEncontrado(), "El jugador no debería constar como encontrado");
+        verify(jugadorRepository, times(1)).borrarPorId(99L);
+        // Los índices de búsqueda y de autocompletado no cambian
+        verify(busquedaJugadores, never()).jugadorEliminado(99L);
+        verify(autocompletado, never()).jugadorEliminado(99L);
     }
 
 
@@ -415,173 +451,65 @@ class JugadorServiceImplTest {
         verify(jugadorRepository, never()).save(any(Jugador.class));
     }
 
+    /**
+     * Jugador tal y como se leería de la base de datos después de actualizar sus logros.
+     */
+    private Jugador jugadorConLogros(Logro... logros) {
+        Jugador jugador = new Jugador(jugador1.getNombre(), jugador1.getApellido(), jugador1.getFechaNacimiento(), jugador1.getAlturaCm(), jugador1.getPesoKg(), jugador1.getPosicion(), jugador1.getNumeroCamiseta(), jugador1.getActivo());
+        jugador.setId(jugador1.getId());
+        jugador.setEquipo(jugador1.getEquipo());
+        jugador.setLogros(new HashSet<>(Arrays.asList(logros)));
+        return jugador;
+    }
+
     @Test
     @DisplayName("Test para actualizar la lista de logros: añadir nuevos y quitar existentes")
     void testUpdateJugadorLogrosAddAndRemove() {
         // Jugador1 tiene solo logro1 al inicio. Queremos que termine con logro2 y logro3.
-        // Simulamos que el jugador existe
-        Jugador jugadorParaMock = new Jugador(jugador1.getNombre(), jugador1.getApellido(), jugador1.getFechaNacimiento(), jugador1.getAlturaCm(), jugador1.getPesoKg(), jugador1.getPosicion(), jugador1.getNumeroCamiseta(), jugador1.getActivo());
-        jugadorParaMock.setId(jugador1.getId());
-        jugadorParaMock.setEquipo(jugador1.getEquipo());
-        jugadorParaMock.setLogros(new HashSet<>(Arrays.asList(logro1))); // Logros iniciales
-        logro1.addJugador(jugadorParaMock); // Asegurar bidireccionalidad
-
-        when(jugadorRepository.findById(1L)).thenReturn(Optional.of(jugadorParaMock));
-        when(logroRepository.findById(logro1.getId())).thenReturn(Optional.of(logro1)); // Necesario si se verifica su existencia
-        when(logroRepository.findById(logro2.getId())).thenReturn(Optional.of(logro2));
-        when(logroRepository.findById(logro3.getId())).thenReturn(Optional.of(logro3));
-
-        // Simular el guardado
-        when(jugadorRepository.save(any(Jugador.class))).thenAnswer(invocation -> {
-            Jugador savedJ = invocation.getArgument(0);
-            // No es necesario simular la bidireccionalidad en el save mock,
-            // ya que se asume que la entidad ya lo maneja al añadir/quitar.
-            return savedJ;
-        });
-
         List<Long> nuevosLogroIds = Arrays.asList(logro2.getId(), logro3.getId());
-        Jugador result = jugadorService.updateJugadorLogros(1L, nuevosLogroIds);
+        Set<Long> idsEsperados = new LinkedHashSet<>(nuevosLogroIds);
+        when(jugadorRepository.existsById(1L)).thenReturn(true);
+        when(logroRepository.findIdsExistentes(idsEsperados)).thenReturn(nuevosLogroIds);
+        when(jugadorRepository.borrarLogrosExcepto(List.of(1L), idsEsperados)).thenReturn(1);
+        when(jugadorRepository.insertarLogros(List.of(1L), idsEsperados)).thenReturn(2);
+        when(jugadorRepository.findById(1L)).thenReturn(Optional.of(jugadorConLogros(logro2, logro3)));
 
-        assertNotNull(result);
-        assertEquals(2, result.getLogros().size(), "El jugador debería tener 2 logros al final");
-        assertTrue(result.getLogros().contains(logro2), "Debería contener logro2");
-        assertTrue(result.getLogros().contains(logro3), "Debería contener logro3");
-        assertFalse(result.getLogros().contains(logro1), "No debería contener logro1");
-
-        verify(jugadorRepository, times(1)).findById(1L);
-        verify(logroRepository, times(1)).findById(logro2.getId());
-        verify(logroRepository, times(1)).findById(logro3.getId());
-        // verify(logroRepository, times(1)).findById(logro1.getId()); // Podría ser llamado si la implementación lo verifica
-        verify(jugadorRepository, times(1)).save(any(Jugador.class));
-    }
-
-    @Test
-    @DisplayName("Test para actualizar la lista de logros: solo añadir nuevos")
-    void testUpdateJugadorLogrosOnlyAdd() {
-        // Jugador1 tiene solo logro1 al inicio. Queremos que termine con logro1 y logro2.
-        Jugador jugadorParaMock = new Jugador(jugador1.getNombre(), jugador1.getApellido(), jugador1.getFechaNacimiento(), jugador1.getAlturaCm(), jugador1.getPesoKg(), jugador1.getPosicion(), jugador1.getNumeroCamiseta(), jugador1.getActivo());
-        jugadorParaMock.setId(jugador1.getId());
-        jugadorParaMock.setEquipo(jugador1.getEquipo());
-        jugadorParaMock.setLogros(new HashSet<>(Arrays.asList(logro1)));
-        logro1.addJugador(jugadorParaMock);
-
-        when(jugadorRepository.findById(1L)).thenReturn(Optional.of(jugadorParaMock));
-        when(logroRepository.findById(logro1.getId())).thenReturn(Optional.of(logro1));
-        when(logroRepository.findById(logro2.getId())).thenReturn(Optional.of(logro2));
-
-        when(jugadorRepository.save(any(Jugador.class))).thenAnswer(invocation -> {
-            Jugador savedJ = invocation.getArgument(0);
-            return savedJ;
-        });
-
-        List<Long> nuevosLogroIds = Arrays.asList(logro1.getId(), logro2.getId());
         Jugador result = jugadorService.updateJugadorLogros(1L, nuevosLogroIds);
 
         assertNotNull(result);
         assertEquals(2, result.getLogros().size(), "El jugador debería tener 2 logros al final");
-        assertTrue(result.getLogros().contains(logro1), "Debería contener logro1");
-        assertTrue(result.getLogros().contains(logro2), "Debería contener logro2");
-
-        verify(jugadorRepository, times(1)).findById(1L);
-        verify(logroRepository, times(1)).findById(logro1.getId());
-        verify(logroRepository, times(1)).findById(logro2.getId());
-        verify(jugadorRepository, times(1)).save(any(Jugador.class));
-    }
-
-    @Test
-    @DisplayName("Test para actualizar la lista de logros: solo quitar existentes")
-    void testUpdateJugadorLogrosOnlyRemove() {
-        // Jugador1 tiene logro1 y logro2 al inicio. Queremos que termine con solo logro2.
-        Jugador jugadorParaMock = new Jugador(jugador1.getNombre(), jugador1.getApellido(), jugador1.getFechaNacimiento(), jugador1.getAlturaCm(), jugador1.getPesoKg(), jugador1.getPosicion(), jugador1.getNumeroCamiseta(), jugador1.getActivo());
-        jugadorParaMock.setId(jugador1.getId());
-        jugadorParaMock.setEquipo(jugador1.getEquipo());
-        jugadorParaMock.setLogros(new HashSet<>(Arrays.asList(logro1, logro2)));
-        logro1.addJugador(jugadorParaMock);
-        logro2.addJugador(jugadorParaMock);
-
-        when(jugadorRepository.findById(1L)).thenReturn(Optional.of(jugadorParaMock));
-        when(logroRepository.findById(logro2.getId())).thenReturn(Optional.of(logro2)); // El que se mantiene
-
-        when(jugadorRepository.save(any(Jugador.class))).thenAnswer(invocation -> {
-            Jugador savedJ = invocation.getArgument(0);
-            return savedJ;
-        });
-
-        List<Long> nuevosLogroIds = Arrays.asList(logro2.getId()); // Solo queremos logro2
-        Jugador result = jugadorService.updateJugadorLogros(1L, nuevosLogroIds);
-
-        assertNotNull(result);
-        assertEquals(1, result.getLogros().size(), "El jugador debería tener 1 logro al final");
         assertTrue(result.getLogros().contains(logro2), "Debería contener logro2");
+        assertTrue(result.getLogros().contains(logro3), "Debería contener logro3");
         assertFalse(result.getLogros().contains(logro1), "No debería contener logro1");
 
-        verify(jugadorRepository, times(1)).findById(1L);
-        verify(logroRepository, times(1)).findById(logro2.getId()); // Solo se busca el que se mantiene
-        verify(jugadorRepository, times(1)).save(any(Jugador.class));
-    }
-
-    @Test
-    @DisplayName("Test para actualizar la lista de logros: sin cambios")
-    void testUpdateJugadorLogrosNoChange() {
-        // Jugador1 tiene solo logro1 al inicio. La nueva lista también es logro1.
-        Jugador jugadorParaMock = new Jugador(jugador1.getNombre(), jugador1.getApellido(), jugador1.getFechaNacimiento(), jugador1.getAlturaCm(), jugador1.getPesoKg(), jugador1.getPosicion(), jugador1.getNumeroCamiseta(), jugador1.getActivo());
-        jugadorParaMock.setId(jugador1.getId());
-        jugadorParaMock.setEquipo(jugador1.getEquipo());
-        jugadorParaMock.setLogros(new HashSet<>(Arrays.asList(logro1)));
-        logro1.addJugador(jugadorParaMock);
-
-        when(jugadorRepository.findById(1L)).thenReturn(Optional.of(jugadorParaMock));
-        when(logroRepository.findById(logro1.getId())).thenReturn(Optional.of(logro1));
-
-        when(jugadorRepository.save(any(Jugador.class))).thenAnswer(invocation -> {
-            Jugador savedJ = invocation.getArgument(0);
-            return savedJ;
-        });
-
-        List<Long> nuevosLogroIds = Arrays.asList(logro1.getId());
-        Jugador result = jugadorService.updateJugadorLogros(1L, nuevosLogroIds);
-
-        assertNotNull(result);
-        assertEquals(1, result.getLogros().size(), "El jugador debería tener 1 logro al final");
-        assertTrue(result.getLogros().contains(logro1), "Debería contener logro1");
-
-        verify(jugadorRepository, times(1)).findById(1L);
-        verify(logroRepository, times(1)).findById(logro1.getId());
-        verify(jugadorRepository, times(1)).save(any(Jugador.class)); // Save siempre se llama por ahora, incluso sin cambios
+        // La diferencia de conjuntos se hace en la base de datos: ni se cargan los logros uno a uno ni se guarda la entidad
+        verify(jugadorRepository, times(1)).borrarLogrosExcepto(List.of(1L), idsEsperados);
+        verify(jugadorRepository, times(1)).insertarLogros(List.of(1L), idsEsperados);
+        verify(logroRepository, never()).findById(anyLong());
+        verify(jugadorRepository, never()).save(any(Jugador.class));
     }
 
     @Test
     @DisplayName("Test para actualizar la lista de logros: con lista vacía (quitar todos)")
     void testUpdateJugadorLogrosEmptyList() {
-        // Jugador1 tiene logro1 al inicio. Queremos que no tenga ninguno.
-        Jugador jugadorParaMock = new Jugador(jugador1.getNombre(), jugador1.getApellido(), jugador1.getFechaNacimiento(), jugador1.getAlturaCm(), jugador1.getPesoKg(), jugador1.getPosicion(), jugador1.getNumeroCamiseta(), jugador1.getActivo());
-        jugadorParaMock.setId(jugador1.getId());
-        jugadorParaMock.setEquipo(jugador1.getEquipo());
-        jugadorParaMock.setLogros(new HashSet<>(Arrays.asList(logro1)));
-        logro1.addJugador(jugadorParaMock);
+        when(jugadorRepository.existsById(1L)).thenReturn(true);
+        when(jugadorRepository.borrarTodosLosLogros(List.of(1L))).thenReturn(1);
+        when(jugadorRepository.findById(1L)).thenReturn(Optional.of(jugadorConLogros()));
 
-        when(jugadorRepository.findById(1L)).thenReturn(Optional.of(jugadorParaMock));
-
-        when(jugadorRepository.save(any(Jugador.class))).thenAnswer(invocation -> {
-            Jugador savedJ = invocation.getArgument(0);
-            return savedJ;
-        });
-
-        List<Long> nuevosLogroIds = new ArrayList<>(); // Lista vacía
-        Jugador result = jugadorService.updateJugadorLogros(1L, nuevosLogroIds);
+        Jugador result = jugadorService.updateJugadorLogros(1L, new ArrayList<>());
 
         assertNotNull(result);
         assertTrue(result.getLogros().isEmpty(), "El jugador no debería tener logros");
 
-        verify(jugadorRepository, times(1)).findById(1L);
-        verify(logroRepository, never()).findById(anyLong()); // No se busca ningún logro
-        verify(jugadorRepository, times(1)).save(any(Jugador.class));
+        verify(jugadorRepository, times(1)).borrarTodosLosLogros(List.of(1L));
+        verify(logroRepository, never()).findIdsExistentes(any());
+        verify(jugadorRepository, never()).insertarLogros(any(), any());
     }
 
     @Test
     @DisplayName("Test para actualizar logros de un jugador no existente debería lanzar RuntimeException")
     void testUpdateJugadorLogrosNonExistingJugadorThrowsException() {
-        when(jugadorRepository.findById(99L)).thenReturn(Optional.empty());
+        when(jugadorRepository.existsById(99L)).thenReturn(false);
 
         List<Long> logroIds = Arrays.asList(logro1.getId());
 
@@ -589,34 +517,67 @@ class JugadorServiceImplTest {
             jugadorService.updateJugadorLogros(99L, logroIds);
         }, "Debería lanzar RuntimeException si el jugador no existe");
 
-        verify(jugadorRepository, times(1)).findById(99L);
-        verify(logroRepository, never()).findById(anyLong());
-        verify(jugadorRepository, never()).save(any(Jugador.class));
+        verify(logroRepository, never()).findIdsExistentes(any());
+        verify(jugadorRepository, never()).insertarLogros(any(), any());
     }
 
     @Test
     @DisplayName("Test para actualizar logros con un ID de logro no existente en la lista debería lanzar RuntimeException")
     void testUpdateJugadorLogrosNonExistingLogroInListThrowsException() {
-        // Jugador1 existe
-        Jugador jugadorParaMock = new Jugador(jugador1.getNombre(), jugador1.getApellido(), jugador1.getFechaNacimiento(), jugador1.getAlturaCm(), jugador1.getPesoKg(), jugador1.getPosicion(), jugador1.getNumeroCamiseta(), jugador1.getActivo());
-        jugadorParaMock.setId(jugador1.getId());
-        jugadorParaMock.setEquipo(jugador1.getEquipo());
-        jugadorParaMock.setLogros(new HashSet<>(Arrays.asList(logro1)));
-        logro1.addJugador(jugadorParaMock);
-
-        when(jugadorRepository.findById(1L)).thenReturn(Optional.of(jugadorParaMock));
-        when(logroRepository.findById(logro1.getId())).thenReturn(Optional.of(logro1));
-        when(logroRepository.findById(99L)).thenReturn(Optional.empty()); // Logro inexistente
-
         List<Long> logroIds = Arrays.asList(logro1.getId(), 99L); // Uno existente y uno no existente
+        when(jugadorRepository.existsById(1L)).thenReturn(true);
+        when(logroRepository.findIdsExistentes(new LinkedHashSet<>(logroIds))).thenReturn(List.of(logro1.getId()));
 
-        assertThrows(RuntimeException.class, () -> {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> {
             jugadorService.updateJugadorLogros(1L, logroIds);
         }, "Debería lanzar RuntimeException si un logro en la lista no existe");
 
-        verify(jugadorRepository, times(1)).findById(1L);
-        verify(logroRepository, times(1)).findById(logro1.getId());
-        verify(logroRepository, times(1)).findById(99L); // Intenta buscar el logro inexistente
-        verify(jugadorRepository, never()).save(any(Jugador.class));
+        assertEquals("Logro no encontrado con ID: 99", e.getMessage());
+        verify(jugadorRepository, never()).borrarLogrosExcepto(any(), any());
+        verify(jugadorRepository, never()).insertarLogros(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test para otorgar un logro a muchos jugadores en bloques")
+    void testAddLogroToJugadoresPorBloques() {
+        List<Long> jugadorIds = new ArrayList<>();
+        for (long id = 1; id <= 2_500; id++) {
+            jugadorIds.add(id);
+        }
+        jugadorIds.add(1L); // Los repetidos se ignoran
+        when(logroRepository.existsById(logro1.getId())).thenReturn(true);
+        when(jugadorRepository.insertarLogros(any(), any())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        int creadas = jugadorService.addLogroToJugadores(logro1.getId(), jugadorIds);
+
+        assertEquals(2_500, creadas);
+        verify(jugadorRepository, times(3)).insertarLogros(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test para otorgar un logro inexistente debería lanzar RuntimeException")
+    void testAddLogroToJugadoresLogroInexistente() {
+        when(logroRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(RuntimeException.class, () -> jugadorService.addLogroToJugadores(99L, List.of(1L, 2L)));
+        verify(jugadorRepository, never()).insertarLogros(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test para obtener una página de jugadores ordenada por apellido")
+    void testFindPaginaOrdenadaPorApellido() {
+        Window<Jugador> ventana = Window.from(Arrays.asList(jugador1, jugador2),
+                i -> ScrollPosition.forward(Map.of("apellido", i == 0 ? "Doncic" : "James", "id", (long) (i + 1))), false);
+        when(jugadorRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenReturn(ventana);
+
+        int porDefecto = paginacionConfig.getTamanioPorDefecto();
+
+        PaginaCursor<Jugador> pagina = jugadorService.findPagina(null, null, "-apellido", false);
+
+        assertEquals(2, pagina.getTamanio());
+        assertFalse(pagina.isHayMas());
+        assertNull(pagina.getSiguienteCursor());
+        Sort esperado = Sort.by(Sort.Direction.DESC, "apellido").and(Sort.by(Sort.Direction.DESC, "id"));
+        verify(jugadorRepository, times(1)).findBy(ScrollPosition.keyset(), esperado, Limit.of(porDefecto));
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.stem.Proyecto.service.impl;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -16,15 +17,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import static org.mockito.Mockito.doNothing;
+import org.mockito.Spy;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import com.stem.Proyecto.config.CacheEntidadesConfig;
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.PaginaCursor;
+import com.stem.Proyecto.dto.ResultadoBorrado;
 import com.stem.Proyecto.entity.Logro;
 import com.stem.Proyecto.repository.LogroRepository;
+import com.stem.Proyecto.service.AutocompletadoService;
+import com.stem.Proyecto.service.BusquedaLogrosService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.VersionesTablas;
 
 /**
  * Clase de pruebas unitarias para {@link LogroServiceImpl}.
@@ -36,6 +49,21 @@ class LogroServiceImplTest {
     @Mock // Crea un mock del repositorio de Logro
     private LogroRepository logroRepository;
 
+    @Mock
+    private AutocompletadoService autocompletado;
+
+    @Mock
+    private BusquedaLogrosService busquedaLogros;
+
+    @Spy
+    private CacheEntidades cacheEntidades = new CacheEntidades(new CacheEntidadesConfig());
+
+    @Spy
+    private VersionesTablas versionesTablas = new VersionesTablas();
+
+    @Spy
+    private PaginacionConfig paginacionConfig = new PaginacionConfig();
+
     @InjectMocks // Inyecta el mock creado (logroRepository) en esta instancia
     private LogroServiceImpl logroService; // La implementación real del servicio que queremos probar
 
@@ -60,8 +88,8 @@ class LogroServiceImplTest {
     @DisplayName("Test para obtener todos los logros")
     void testFindAll() {
         // Configura el comportamiento del mock:
-        // Cuando se llame a logroRepository.findAll(), devolverá una lista de logro1 y logro2
-        when(logroRepository.findAll()).thenReturn(Arrays.asList(logro1, logro2));
+        // el servicio lee los logros con sus jugadores (a través de la caché de entidades)
+        when(logroRepository.findAllWithJugadores()).thenReturn(Arrays.asList(logro1, logro2));
 
         // Llama al método del servicio que estamos probando
         List<Logro> logros = logroService.findAll();
@@ -72,8 +100,9 @@ class LogroServiceImplTest {
         assertTrue(logros.contains(logro1), "La lista debería contener logro1");
         assertTrue(logros.contains(logro2), "La lista debería contener logro2");
 
-        // Verifica que el método findAll() del repositorio fue llamado exactamente una vez
-        verify(logroRepository, times(1)).findAll();
+        // Verifica que la consulta con los jugadores se hizo exactamente una vez, y no la de findAll()
+        verify(logroRepository, times(1)).findAllWithJugadores();
+        verify(logroRepository, never()).findAll();
     }
 
     @Test
@@ -129,6 +158,8 @@ class LogroServiceImplTest {
 
         // Verifica que el método save() del repositorio fue llamado exactamente una vez con cualquier objeto Logro
         verify(logroRepository, times(1)).save(any(Logro.class));
+        verify(autocompletado, times(1)).logroGuardado(logro1);
+        verify(busquedaLogros, times(1)).logroGuardado(logro1);
     }
 
     @Test
@@ -180,28 +211,49 @@ class LogroServiceImplTest {
     @Test
     @DisplayName("Test para eliminar un logro existente por ID")
     void testDeleteByIdExisting() {
-        // En tu servicio, deleteById se llama directamente sin una comprobación de existencia.
-        // Mockito verificará que el método fue invocado.
-        doNothing().when(logroRepository).deleteById(1L);
+        // Las asociaciones se borran con una sola sentencia, sin cargar a los jugadores
+        when(logroRepository.borrarAsociaciones(1L)).thenReturn(4);
+        when(logroRepository.borrarPorId(1L)).thenReturn(1);
 
         // Llama al método del servicio
-        logroService.deleteById(1L);
+        ResultadoBorrado resultado = logroService.deleteById(1L);
 
-        // Afirmaciones (en este caso, verificar las interacciones con el mock)
-        // Verifica que deleteById() del repositorio fue llamado exactamente una vez con el ID correcto
-        verify(logroRepository, times(1)).deleteById(1L);
+        // Afirmaciones
+        assertTrue(resultado.isEncontrado());
+        assertEquals(4, resultado.getFilasPorTabla().get("jugadores_logros"));
+        assertEquals(1, resultado.getFilasPorTabla().get("logros"));
+        verify(logroRepository, never()).findById(1L);
+        verify(autocompletado, times(1)).logroEliminado(1L);
+        verify(busquedaLogros, times(1)).logroEliminado(1L);
     }
 
     @Test
     @DisplayName("Test para intentar eliminar un logro no existente por ID")
     void testDeleteByIdNonExisting() {
-        // De nuevo, como el servicio llama directamente a deleteById,
-        // el test verifica que el intento de eliminación se realiza,
-        // incluso si el ID no existe "realmente" en la base de datos mockeada.
-        doNothing().when(logroRepository).deleteById(99L);
+        // Los mocks devuelven 0 filas borradas
+        ResultadoBorrado resultado = logroService.deleteById(99L);
+
+        assertFalse(resultado.isEncontrado());
+        assertEquals(0, resultado.getTotal());
+        verify(logroRepository, times(1)).borrarAsociaciones(99L);
+        verify(logroRepository, times(1)).borrarPorId(99L);
+        // No ha cambiado nada: ni los índices ni las versiones de las tablas
+        verify(autocompletado, never()).logroEliminado(99L);
+        verify(busquedaLogros, never()).logroEliminado(99L);
+        verify(versionesTablas, never()).cambiado(VersionesTablas.LOGROS, VersionesTablas.JUGADORES);
+    }
+
+    @Test
+    @DisplayName("Test para obtener una página de logros cargando sus jugadores con una sola consulta")
+    void testFindPaginaCargaJugadores() {
+        Window<Logro> ventana = Window.from(Arrays.asList(logro1, logro2),
+                i -> ScrollPosition.forward(Map.of("id", (long) (i + 1))), false);
+        when(logroRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenReturn(ventana);
 
-        logroService.deleteById(99L);
+        PaginaCursor<Logro> pagina = logroService.findPagina(null, 2, null, false);
 
-        verify(logroRepository, times(1)).deleteById(99L);
+        assertEquals(2, pagina.getTamanio());
+        assertFalse(pagina.isHayMas());
+        verify(logroRepository, times(1)).cargarJugadores(List.of(1L, 2L));
     }
-}
\ No newline at end of file
+}
@@ -20,17 +20,23 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import static org.mockito.Mockito.doNothing;
+import org.mockito.Spy;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.stem.Proyecto.config.CacheEntidadesConfig;
+import com.stem.Proyecto.config.PaginacionConfig;
+import com.stem.Proyecto.dto.PartidoResumen;
 import com.stem.Proyecto.entity.Equipo;
 import com.stem.Proyecto.entity.Partido;
 import com.stem.Proyecto.repository.EquipoRepository;
 import com.stem.Proyecto.repository.PartidoRepository;
+import com.stem.Proyecto.service.ClasificacionService;
+import com.stem.Proyecto.util.CacheEntidades;
+import com.stem.Proyecto.util.VersionesTablas;
 
 /**
  * Clase de pruebas unitarias para {@link PartidoServiceImpl}.
@@ -45,6 +51,18 @@ class PartidoServiceImplTest {
     @Mock
     private EquipoRepository equipoRepository;
 
+    @Mock
+    private ClasificacionService clasificacionService;
+
+    @Spy
+    private CacheEntidades cacheEntidades = new CacheEntidades(new CacheEntidadesConfig());
+
+    @Spy
+    private VersionesTablas versionesTablas = new VersionesTablas();
+
+    @Spy
+    private PaginacionConfig paginacionConfig = new PaginacionConfig();
+
     @InjectMocks
     private PartidoServiceImpl partidoService;
 
@@ -303,25 +321,75 @@ class PartidoServiceImplTest {
     @Test
     @DisplayName("Test para eliminar un partido existente por ID")
     void testDeleteByIdExisting() {
-        // En tu servicio, deleteById se llama directamente sin una comprobación de existencia.
-        // Mockito verificará que el método fue invocado.
-        doNothing().when(partidoRepository).deleteById(1L);
+        // Un solo DELETE, sin buscar antes el partido: la fila borrada dice que existía
+        when(partidoRepository.borrarPorId(1L)).thenReturn(1);
 
-        partidoService.deleteById(1L);
+        assertTrue(partidoService.deleteById(1L), "Debería indicar que el partido se ha borrado");
 
-        verify(partidoRepository, times(1)).deleteById(1L);
+        verify(partidoRepository, never()).findById(anyLong());
+        // El partido se descuenta de la clasificación en memoria, sin recalcularla
+        verify(clasificacionService, times(1)).partidoEliminado(1L);
     }
 
     @Test
     @DisplayName("Test para intentar eliminar un partido no existente por ID")
     void testDeleteByIdNonExisting() {
-        // De nuevo, como el servicio llama directamente a deleteById,
-        // el test verifica que el intento de eliminación se realiza,
-        // incluso si el ID no existe "realmente" en la base de datos mockeada.
-        doNothing().when(partidoRepository).deleteById(99L);
+        // Si el DELETE no borra ninguna fila, el partido no existía
+        when(partidoRepository.borrarPorId(99L)).thenReturn(0);
+
+        assertFalse(partidoService.deleteById(99L), "No debería indicar que se ha borrado un partido que no existe");
 
-        partidoService.deleteById(99L);
+        verify(partidoRepository, times(1)).borrarPorId(99L);
+        // La clasificación no cambia
+        verify(clasificacionService, never()).partidoEliminado(99L);
+    }
 
-        verify(partidoRepository, times(1)).deleteById(99L);
+    @Test
+    @DisplayName("Test para reemplazar un partido existente con un solo UPDATE")
+    void testReemplazarExisting() {
+        Equipo soloIdLocal = new Equipo();
+        soloIdLocal.setId(30L);
+        Partido nuevosDatos = new Partido(LocalDate.of(2025, 2, 1), LocalTime.of(19, 0), 100, 99,
+                "2024-2025", "Pabellón Fuente de San Luis", soloIdLocal, null);
+        when(equipoRepository.findById(30L)).thenReturn(Optional.of(equipoLocal2));
+        when(partidoRepository.reemplazar(1L, nuevosDatos)).thenReturn(1);
+
+        Partido result = partidoService.reemplazar(1L, nuevosDatos);
+
+        assertNotNull(result, "El partido reemplazado no debería ser nulo");
+        assertEquals(1L, result.getId());
+        assertEquals(equipoLocal2, result.getEquipoLocal(), "El equipo local debería ser el equipo real");
+        assertNull(result.getEquipoVisitante(), "Sin equipo visitante, el partido debería quedarse sin él");
+        verify(partidoRepository, never()).findById(anyLong());
+        verify(partidoRepository, never()).save(any(Partido.class));
+        verify(clasificacionService, times(1)).partidoGuardado(result);
+    }
+
+    @Test
+    @DisplayName("Test para intentar reemplazar un partido no existente")
+    void testReemplazarNonExisting() {
+        Partido nuevosDatos = new Partido(LocalDate.of(2025, 2, 1), LocalTime.of(19, 0), 100, 99,
+                "2024-2025", "Pabellón Fuente de San Luis", null, null);
+        when(partidoRepository.reemplazar(99L, nuevosDatos)).thenReturn(0);
+
+        assertNull(partidoService.reemplazar(99L, nuevosDatos), "El resultado debería ser nulo si el partido no existe");
+        verify(clasificacionService, never()).partidoGuardado(any(Partido.class));
+    }
+
+    @Test
+    @DisplayName("Test para obtener el resumen de partidos con y sin temporada")
+    void testFindResumen() {
+        PartidoResumen resumen = new PartidoResumen(1L, LocalDate.of(2025, 1, 15), LocalTime.of(20, 30), 85, 78,
+                "2024-2025", "WiZink Center", 10L, "Real Madrid", 20L, "FC Barcelona");
+        when(partidoRepository.findAllResumen()).thenReturn(List.of(resumen));
+        when(partidoRepository.findResumenByTemporada("2024-2025")).thenReturn(List.of(resumen));
+
+        assertEquals(1, partidoService.findResumen(null).size());
+        List<PartidoResumen> deTemporada = partidoService.findResumen("2024-2025");
+
+        assertEquals("Real Madrid", deTemporada.get(0).getNombreEquipoLocal());
+        verify(partidoRepository, times(1)).findAllResumen();
+        verify(partidoRepository, times(1)).findResumenByTemporada("2024-2025");
+        verify(equipoRepository, never()).findById(anyLong());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package com.stem.Proyecto.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias de {@link ArbolBK}.
+ */
+class ArbolBKTest {
+
+    @Test
+    @DisplayName("La distancia de Levenshtein cuenta inserciones, borrados y sustituciones")
+    void testDistancia() {
+        assertEquals(0, ArbolBK.distancia("gonzalez", "gonzalez"));
+        assertEquals(1, ArbolBK.distancia("gonzales", "gonzalez"));
+        assertEquals(1, ArbolBK.distancia("perez", "peres"));
+        assertEquals(2, ArbolBK.distancia("fernandez", "hernandes"));
+        assertEquals(3, ArbolBK.distancia("", "ruz"));
+        assertEquals(3, ArbolBK.distancia("kitten", "sitting"));
+    }
+
+    @Test
+    @DisplayName("Encuentra lo mismo que comparar con todas las palabras, comparando con muchas menos")
+    void testIgualQueRecorrerTodo() {
+        Random random = new Random(3);
+        Set<String> palabras = new LinkedHashSet<>();
+        while (palabras.size() < 20_000) {
+            StringBuilder palabra = new StringBuilder();
+            int longitud = 4 + random.nextInt(6);
+            for (int i = 0; i < longitud; i++) {
+                palabra.append((char) ('a' + random.nextInt(26)));
+            }
+            palabras.add(palabra.toString());
+        }
+        ArbolBK arbol = new ArbolBK();
+        palabras.forEach(arbol::anadir);
+        palabras.forEach(arbol::anadir);
+        assertEquals(palabras.size(), arbol.getTamanio(), "Las palabras repetidas no se añaden dos veces");
+
+        List<String> lista = new ArrayList<>(palabras);
+        for (int i = 0; i < 50; i++) {
+            // Una palabra del vocabulario con una letra cambiada
+            char[] letras = lista.get(random.nextInt(lista.size())).toCharArray();
+            letras[random.nextInt(letras.length)] = (char) ('a' + random.nextInt(26));
+            String consulta = new String(letras);
+
+            Map<String, Integer> esperadas = new HashMap<>();
+            for (String palabra : palabras) {
+                int distancia = ArbolBK.distancia(consulta, palabra);
+                if (distancia <= 1) {
+                    esperadas.put(palabra, distancia);
+                }
+            }
+            Map<String, Integer> encontradas = new HashMap<>();
+            int comparadas = arbol.buscar(consulta, 1, encontradas::put);
+
+            assertEquals(esperadas, encontradas, "Consulta: " + consulta);
+            assertTrue(comparadas < palabras.size() / 4, "Comparadas " + comparadas + " de " + palabras.size());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.stem.Proyecto.util;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.stem.Proyecto.dto.EstadisticasCache;
+
+/**
+ * Pruebas unitarias de {@link CacheTinyLfu}.
+ */
+class CacheTinyLfuTest {
+
+    @Test
+    @DisplayName("Carga cada clave una vez, cuenta aciertos y fallos y no guarda los valores nulos")
+    void testAciertosYFallos() {
+        CacheTinyLfu<Long, String> cache = new CacheTinyLfu<>("prueba", 100, 60);
+        AtomicInteger cargas = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("equipo 1", cache.obtener(1L, id -> {
+                cargas.incrementAndGet();
+                return "equipo " + id;
+            }));
+            assertNull(cache.obtener(2L, id -> {
+                cargas.incrementAndGet();
+                return null;
+            }));
+        }
+
+        EstadisticasCache estadisticas = cache.getEstadisticas();
+        assertEquals(4, cargas.get(), "La clave 1 se carga una vez y la 2, que no existe, cada vez");
+        assertEquals(2, estadisticas.getAciertos());
+        assertEquals(4, estadisticas.getFallos());
+        assertEquals(1, estadisticas.getTamanio());
+        assertEquals(1.0 / 3, estadisticas.getTasaAciertos(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Las entradas caducan al pasar su tiempo de vida y se quitan al invalidarlas")
+    void testCaducidadEInvalidacion() {
+        AtomicLong reloj = new AtomicLong();
+        CacheTinyLfu<Long, String> cache = new CacheTinyLfu<>("prueba", 100, 10, reloj::get);
+        AtomicInteger cargas = new AtomicInteger();
+
+        cache.obtener(1L, id -> "v" + cargas.incrementAndGet());
+        reloj.addAndGet(9_000_000_000L);
+        assertEquals("v1", cache.obtener(1L, id -> "v" + cargas.incrementAndGet()));
+        reloj.addAndGet(1_000_000_000L);
+        assertEquals("v2", cache.obtener(1L, id -> "v" + cargas.incrementAndGet()), "A los 10 segundos ya ha caducado");
+        cache.invalidar(1L);
+        assertEquals("v3", cache.obtener(1L, id -> "v" + cargas.incrementAndGet()));
+        cache.invalidarTodo();
+        assertEquals(0, cache.getTamanio());
+
+        EstadisticasCache estadisticas = cache.getEstadisticas();
+        assertEquals(1, estadisticas.getCaducadas());
+        assertEquals(2, estadisticas.getInvalidaciones());
+    }
+
+    @Test
+    @DisplayName("Un valor cargado mientras se invalida la caché se devuelve pero no se guarda")
+    void testNoGuardaLoCargadoAntesDeUnaInvalidacion() {
+        CacheTinyLfu<Long, String> cache = new CacheTinyLfu<>("prueba", 100, 60);
+
+        String cargado = cache.obtener(1L, id -> {
+            // Otro hilo confirma un cambio del mismo equipo mientras se leía
+            cache.invalidar(id);
+            return "antiguo";
+        });
+
+        assertEquals("antiguo", cargado);
+        assertEquals("nuevo", cache.obtener(1L, id -> "nuevo"));
+        assertEquals("nuevo", cache.obtener(1L, id -> "otro"));
+    }
+
+    @Test
+    @DisplayName("Nunca pasa del tamaño máximo, y un recorrido de claves nuevas no expulsa a las más pedidas")
+    void testResisteUnRecorrido() {
+        CacheTinyLfu<Long, Long> cache = new CacheTinyLfu<>("prueba", 100, 60);
+        Random random = new Random(5);
+        // 50 claves muy pedidas
+        for (int i = 0; i < 5_000; i++) {
+            long clave = random.nextInt(50);
+            cache.obtener(clave, id -> id);
+        }
+        // Un recorrido de 20.000 claves que se piden una sola vez, intercalado con las habituales
+        for (long i = 1_000; i < 21_000; i++) {
+            cache.obtener(i, id -> id);
+            long clave = random.nextInt(50);
+            cache.obtener(clave, id -> id);
+            assertTrue(cache.getTamanio() <= 100);
+        }
+
+        AtomicInteger fallos = new AtomicInteger();
+        for (long clave = 0; clave < 50; clave++) {
+            cache.obtener(clave, id -> {
+                fallos.incrementAndGet();
+                return id;
+            });
+        }
+        assertEquals(0, fallos.get(), "Las claves frecuentes siguen en la caché");
+        assertTrue(cache.getEstadisticas().getExpulsiones() >= 19_000);
+    }
+
+    @Test
+    @DisplayName("Con tamaño 0 no guarda nada")
+    void testDesactivada() {
+        CacheTinyLfu<Long, String> cache = new CacheTinyLfu<>("prueba", 0, 60);
+        AtomicInteger cargas = new AtomicInteger();
+
+        cache.obtener(1L, id -> "v" + cargas.incrementAndGet());
+        cache.obtener(1L, id -> "v" + cargas.incrementAndGet());
+
+        assertEquals(2, cargas.get());
+        assertEquals(0, cache.getTamanio());
+    }
+}
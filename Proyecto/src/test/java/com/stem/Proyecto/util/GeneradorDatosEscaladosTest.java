@@ -0,0 +1,105 @@
+package com.stem.Proyecto.util;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.stem.Proyecto.config.InitializationConfig;
+
+/**
+ * Pruebas de integración (con H2) de {@link GeneradorDatosEscalados}.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({GeneradorDatosEscalados.class, InitializationConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GeneradorDatosEscaladosTest {
+
+    @Autowired
+    private GeneradorDatosEscalados generador;
+
+    @Autowired
+    private InitializationConfig config;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        borrarDatos();
+        // 4 equipos, 11 logros, 2.000 jugadores y 20.000 partidos
+        config.setFactorEscala(0.004);
+        config.setSemilla(7);
+        config.setTamanioBloqueGeneracion(300);
+    }
+
+    private void borrarDatos() {
+        jdbcTemplate.update("DELETE FROM jugadores_logros");
+        jdbcTemplate.update("DELETE FROM partidos");
+        jdbcTemplate.update("DELETE FROM jugadores");
+        jdbcTemplate.update("DELETE FROM logros");
+        jdbcTemplate.update("DELETE FROM equipos");
+    }
+
+    /** Contenido de la base de datos sin los IDs, en el orden en que se insertó. */
+    private List<String> huella() {
+        List<String> filas = jdbcTemplate.queryForList(
+                "SELECT CONCAT_WS('|', j.nombre, j.apellido, j.fecha_nacimiento, j.altura_cm, j.posicion, j.activo, e.abreviatura, "
+                + "(SELECT LISTAGG(l.nombre, ',') WITHIN GROUP (ORDER BY l.nombre) FROM jugadores_logros jl "
+                + "JOIN logros l ON l.id = jl.logro_id WHERE jl.jugador_id = j.id)) "
+                + "FROM jugadores j JOIN equipos e ON e.id = j.equipo_id ORDER BY j.id", String.class);
+        filas.addAll(jdbcTemplate.queryForList(
+                "SELECT CONCAT_WS('|', p.fecha, p.hora, p.puntuacion_local, p.puntuacion_visitante, p.temporada, el.abreviatura, ev.abreviatura) "
+                + "FROM partidos p JOIN equipos el ON el.id = p.equipo_local_id JOIN equipos ev ON ev.id = p.equipo_visitante_id "
+                + "ORDER BY p.id", String.class));
+        return filas;
+    }
+
+    @Test
+    @DisplayName("La misma semilla genera los mismos datos aunque cambie el número de hilos")
+    void testMismaSemillaMismosDatos() {
+        config.setHilosGeneracion(1);
+        generador.generar();
+        List<String> primeraVez = huella();
+
+        borrarDatos();
+        config.setHilosGeneracion(4);
+        generador.generar();
+
+        assertEquals(2_000 + 20_000, primeraVez.size());
+        assertEquals(primeraVez, huella());
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM equipos", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM partidos WHERE equipo_local_id = equipo_visitante_id", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Otra semilla genera datos distintos")
+    void testOtraSemillaOtrosDatos() {
+        generador.generar();
+        List<String> primeraVez = huella();
+
+        borrarDatos();
+        config.setSemilla(8);
+        generador.generar();
+
+        assertNotEquals(primeraVez, huella());
+    }
+
+    @Test
+    @DisplayName("Un factor de escala con menos de dos equipos no se acepta")
+    void testFactorDemasiadoPequeno() {
+        config.setFactorEscala(0.001);
+        assertThrows(IllegalArgumentException.class, () -> generador.generar());
+    }
+}
@@ -0,0 +1,155 @@
+package com.stem.Proyecto.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas unitarias de {@link IndiceInvertido} y {@link AnalizadorEspanol}.
+ */
+class IndiceInvertidoTest {
+
+    private static final String[] PALABRAS = {"mejor", "jugador", "temporada", "defensor", "campeón", "triple",
+        "rebotes", "asistencias", "finales", "liga", "equipo", "partido"};
+
+    @TempDir
+    Path directorio;
+
+    private static List<Long> ids(List<IndiceInvertido.Coincidencia> coincidencias) {
+        return coincidencias.stream().map(IndiceInvertido.Coincidencia::getId).toList();
+    }
+
+    private static String frase(Random random, int palabras) {
+        StringBuilder frase = new StringBuilder();
+        for (int i = 0; i < palabras; i++) {
+            frase.append(i == 0 ? "" : " de ").append(PALABRAS[random.nextInt(PALABRAS.length)]);
+        }
+        return frase.toString();
+    }
+
+    @Test
+    @DisplayName("El analizador quita tildes, palabras vacías, género y número")
+    void testAnalizador() {
+        assertEquals(List.of("campeon", "temporad"), AnalizadorEspanol.analizar("Los CAMPEONES de la Temporada"));
+        assertEquals(List.of("campeon", "campeon", "campeon"), AnalizadorEspanol.analizar("campeón, campeona y campeones"));
+        assertEquals(List.of("jugador", "jugador", "mes", "vez", "tripl"), AnalizadorEspanol.analizar("jugadoras jugadores meses veces triples"));
+        assertEquals(List.of("mvp", "liga"), AnalizadorEspanol.analizar("MVP liga"), "Las palabras cortas no se reducen");
+        assertTrue(AnalizadorEspanol.analizar("de la por").isEmpty());
+        assertTrue(AnalizadorEspanol.analizar(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Ordena por relevancia: cuentan más los términos raros, repetidos y los del nombre")
+    void testPuntuacionBm25() {
+        IndiceInvertido indice = new IndiceInvertido(2.0, 1.0);
+        indice.guardar(1, "Mejor Defensor", "Premio al mejor defensor de la temporada");
+        indice.guardar(2, "Máximo Anotador", "Jugador con más puntos por partido en la temporada");
+        indice.guardar(3, "Mejor Sexto Hombre", "Mejor jugador saliendo desde el banquillo");
+        indice.guardar(4, "Campeón de Liga", "Equipo ganador de las finales");
+        indice.guardar(5, "Rey del Triple", "Más triples anotados");
+        indice.guardar(6, "Tirador", "Récord de triple en un partido");
+
+        assertEquals(List.of(1L), ids(indice.buscar("DEFENSORES", null, null, 10)));
+        assertEquals(List.of(4L), ids(indice.buscar("campeones", null, null, 10)));
+        assertEquals(List.of(5L, 6L), ids(indice.buscar("triple", null, null, 10)), "El nombre pesa más que la descripción");
+        assertEquals(List.of(3L, 1L, 2L), ids(indice.buscar("mejor jugador", null, null, 10)));
+        assertEquals(List.of(2L, 1L), ids(indice.buscar("anotador temporada", null, null, 10)), "Basta con una de las palabras");
+        assertTrue(indice.buscar("de la", null, null, 10).isEmpty());
+        assertTrue(indice.buscar("pabellón", null, null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Modificar y borrar un documento cambia sus términos y sus puntuaciones")
+    void testActualizaciones() {
+        IndiceInvertido indice = new IndiceInvertido(2.0, 1.0);
+        indice.guardar(1, "Mejor Defensor", null);
+        indice.guardar(2, "Mejor Anotador", null);
+        double antes = indice.buscar("mejor", null, null, 10).get(0).getPuntuacion();
+
+        indice.guardar(1, "Máximo Reboteador", "Más rebotes");
+        indice.eliminar(2);
+        indice.eliminar(99);
+
+        assertEquals(1, indice.getTamanio());
+        assertTrue(indice.buscar("mejor defensor", null, null, 10).isEmpty());
+        assertEquals(List.of(1L), ids(indice.buscar("rebote", null, null, 10)));
+        indice.guardar(2, "Mejor Anotador", null);
+        assertTrue(indice.buscar("anotador", null, null, 10).get(0).getPuntuacion() != antes,
+                "La puntuación depende del número de documentos");
+    }
+
+    @Test
+    @DisplayName("Recorrer las páginas devuelve cada resultado una vez y en orden")
+    void testPaginasSinRepetidos() {
+        IndiceInvertido indice = new IndiceInvertido(2.0, 1.0);
+        Random random = new Random(3);
+        for (long id = 1; id <= 400; id++) {
+            indice.guardar(id, frase(random, 2), frase(random, 6));
+        }
+
+        List<IndiceInvertido.Coincidencia> todos = indice.buscar("mejor jugador", null, null, Integer.MAX_VALUE);
+        List<IndiceInvertido.Coincidencia> recorridos = new ArrayList<>();
+        List<IndiceInvertido.Coincidencia> pagina = indice.buscar("mejor jugador", null, null, 7);
+        while (!pagina.isEmpty()) {
+            recorridos.addAll(pagina);
+            IndiceInvertido.Coincidencia ultima = pagina.get(pagina.size() - 1);
+            pagina = indice.buscar("mejor jugador", ultima.getPuntuacion(), ultima.getId(), 7);
+        }
+
+        assertTrue(todos.size() > 100);
+        assertEquals(ids(todos), ids(recorridos));
+    }
+
+    @Test
+    @DisplayName("Al volver a abrir el directorio se recupera el índice, aunque el diario termine a medias")
+    void testSeRecuperaDelDisco() throws IOException {
+        IndiceInvertido enMemoria = new IndiceInvertido(2.0, 1.0);
+        Random random = new Random(9);
+        try (IndiceInvertido indice = IndiceInvertido.abrir(directorio, 2.0, 1.0)) {
+            assertTrue(indice.isEnDisco());
+            assertThrows(IllegalStateException.class, () -> IndiceInvertido.abrir(directorio, 2.0, 1.0),
+                    "Solo puede tenerlo abierto un índice a la vez");
+            // Suficientes cambios para que el diario se compacte varias veces
+            for (int i = 0; i < 3_000; i++) {
+                long id = 1 + random.nextInt(300);
+                if (random.nextInt(4) == 0) {
+                    indice.eliminar(id);
+                    enMemoria.eliminar(id);
+                } else {
+                    String nombre = frase(random, 2);
+                    String descripcion = frase(random, 5);
+                    indice.guardar(id, nombre, descripcion);
+                    enMemoria.guardar(id, nombre, descripcion);
+                }
+            }
+        }
+        // Un registro cortado a la mitad, como si el proceso hubiera muerto al escribirlo
+        Files.write(directorio.resolve(IndiceInvertido.DIARIO), new byte[] {'G', 0, 0, 0, 0, 0, 1}, StandardOpenOption.APPEND);
+
+        try (IndiceInvertido reabierto = IndiceInvertido.abrir(directorio, 2.0, 1.0)) {
+            assertEquals(enMemoria.getIds(), reabierto.getIds());
+            for (String consulta : List.of("mejor", "campeones de liga", "triple rebote", "finales equipo partido")) {
+                List<IndiceInvertido.Coincidencia> esperado = enMemoria.buscar(consulta, null, null, 50);
+                List<IndiceInvertido.Coincidencia> encontrado = reabierto.buscar(consulta, null, null, 50);
+                assertEquals(ids(esperado), ids(encontrado), "Consulta: " + consulta);
+                assertEquals(esperado.stream().map(IndiceInvertido.Coincidencia::getPuntuacion).toList(),
+                        encontrado.stream().map(IndiceInvertido.Coincidencia::getPuntuacion).toList());
+            }
+            assertEquals(0, Files.size(directorio.resolve(IndiceInvertido.DIARIO)), "Al abrir se compacta el diario");
+
+            reabierto.eliminar(enMemoria.getIds().iterator().next());
+            assertTrue(Files.size(directorio.resolve(IndiceInvertido.DIARIO)) > 0, "Cada cambio se añade al diario");
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.stem.Proyecto.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Pruebas unitarias de {@link IndicePrefijos}.
+ * Incluye una prueba de rendimiento que simula las peticiones de una caja de búsqueda mientras se teclea;
+ * solo se ejecuta si se pide:
+ * {@code mvn test -Dtest=IndicePrefijosTest -Dnba.benchmark=true [-Dnba.benchmark.jugadores=500000]}
+ */
+class IndicePrefijosTest {
+
+    private static final String[] NOMBRES = {"Lucía", "José", "María", "Íñigo", "Álvaro", "Jesús", "Inés", "Raúl", "Martín", "Sofía"};
+    private static final String[] APELLIDOS = {"García", "Martínez", "Muñoz", "González", "Pérez", "Sánchez", "Gómez", "Jiménez",
+        "Díaz", "Hernández", "Rodríguez", "De la Fuente", "Núñez", "Ibáñez", "Peña"};
+
+    private static List<Long> ids(List<IndicePrefijos.Coincidencia> coincidencias) {
+        return coincidencias.stream().map(IndicePrefijos.Coincidencia::getId).toList();
+    }
+
+    /**
+     * Resultado esperado recorriendo todos los documentos: para cada uno, su mejor (nivel, clave),
+     * y después el orden por nivel, clave e ID.
+     */
+    private static List<Long> buscarRecorriendoTodo(Map<Long, String[]> documentos, String consulta, int limite) {
+        String prefijo = NormalizadorTexto.normalizar(consulta);
+        List<Object[]> encontrados = new ArrayList<>();
+        documentos.forEach((id, campos) -> {
+            Object[] mejor = null;
+            for (String campo : campos) {
+                String texto = NormalizadorTexto.normalizar(campo);
+                for (int desde = 0; desde < texto.length(); desde = texto.indexOf(' ', desde) < 0 ? texto.length() : texto.indexOf(' ', desde) + 1) {
+                    String clave = texto.substring(desde);
+                    int nivel = desde == 0 ? 0 : 1;
+                    if (clave.startsWith(prefijo) && (mejor == null || nivel < (int) mejor[1]
+                            || (nivel == (int) mejor[1] && clave.compareTo((String) mejor[2]) < 0))) {
+                        mejor = new Object[] {id, nivel, clave};
+                    }
+                }
+            }
+            if (mejor != null) {
+                encontrados.add(mejor);
+            }
+        });
+        encontrados.sort(Comparator.<Object[]>comparingInt(e -> (int) e[1])
+                .thenComparing(e -> (String) e[2])
+                .thenComparingLong(e -> (long) e[0]));
+        return encontrados.stream().limit(limite).map(e -> (long) e[0]).toList();
+    }
+
+    @Test
+    @DisplayName("Sugiere por el principio de cualquier palabra, primero las que empiezan un campo")
+    void testPrefijosYNiveles() {
+        IndicePrefijos indice = new IndicePrefijos();
+        indice.guardar(1, "LeBron James", "LeBron James", "James");
+        indice.guardar(2, "Utah Jazz", "Utah Jazz", "UTA", "Salt Lake City");
+        indice.guardar(3, "Jamal Murray", "Jamal Murray", "Murray");
+        indice.guardar(4, "Íñigo Jáuregui", "Íñigo Jáuregui", "Jáuregui");
+
+        List<IndicePrefijos.Coincidencia> resultado = indice.buscar("JA", 10);
+
+        assertEquals(List.of(3L, 1L, 4L, 2L), ids(resultado));
+        assertEquals(List.of(0, 0, 0, 1), resultado.stream().map(IndicePrefijos.Coincidencia::getNivel).toList());
+        assertEquals("Utah Jazz", resultado.get(3).getEtiqueta());
+        assertEquals(List.of(1L), ids(indice.buscar("lebron ja", 10)), "El resto del campo también forma parte de la clave");
+        assertEquals(List.of(2L), ids(indice.buscar("salt lake", 10)));
+        assertEquals(List.of(2L), ids(indice.buscar("uta", 10)));
+        assertEquals(List.of(4L), ids(indice.buscar("inigo jau", 10)));
+        assertEquals(List.of(3L, 1L), ids(indice.buscar("ja", 2)));
+        assertTrue(indice.buscar("ames", 10).isEmpty(), "Solo coincide el principio de las palabras");
+        assertTrue(indice.buscar(" ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cada elemento aparece una vez aunque varias de sus palabras empiecen por la consulta")
+    void testSinRepetidos() {
+        IndicePrefijos indice = new IndicePrefijos();
+        indice.guardar(1, "Marc Martín", "Marc Martín", "Martín");
+        indice.guardar(2, "Ana Mas", "Ana Mas", "Mas");
+
+        assertEquals(List.of(1L, 2L), ids(indice.buscar("ma", 10)));
+        assertEquals("marc martin", indice.buscar("ma", 10).get(0).getClave());
+    }
+
+    @Test
+    @DisplayName("Tras guardar, modificar y borrar muchos elementos da lo mismo que recorrerlos todos")
+    void testActualizacionesIgualQueRecorrerTodo() {
+        IndicePrefijos indice = new IndicePrefijos();
+        Map<Long, String[]> documentos = new TreeMap<>();
+        Random random = new Random(11);
+        List<String> consultas = List.of("g", "ma", "martinez", "de la f", "lucia p", "i", "z", "inigo ib");
+        // Las consultas intercaladas obligan a pasar por las entradas recientes y, de vez en cuando, a compactar
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(2_000);
+            if (random.nextInt(4) == 0) {
+                indice.eliminar(id);
+                documentos.remove(id);
+            } else {
+                String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+                String apellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+                String[] campos = {nombre + " " + apellido, apellido};
+                indice.guardar(id, campos[0], campos);
+                documentos.put(id, campos);
+            }
+            if (random.nextInt(50) == 0) {
+                String consulta = consultas.get(random.nextInt(consultas.size()));
+                assertEquals(buscarRecorriendoTodo(documentos, consulta, 10), ids(indice.buscar(consulta, 10)), "Consulta: " + consulta);
+            }
+        }
+
+        assertEquals(documentos.size(), indice.getTamanio());
+        for (String consulta : consultas) {
+            assertEquals(buscarRecorriendoTodo(documentos, consulta, Integer.MAX_VALUE),
+                    ids(indice.buscar(consulta, Integer.MAX_VALUE)), "Consulta: " + consulta);
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "nba.benchmark", matches = "true")
+    @DisplayName("Rendimiento: autocompletado tecla a tecla sobre medio millón de jugadores")
+    void benchmarkAutocompletado() {
+        int total = Integer.getInteger("nba.benchmark.jugadores", 500_000);
+        IndicePrefijos indice = new IndicePrefijos();
+        Random random = new Random(1);
+        long inicio = System.nanoTime();
+        for (int id = 1; id <= total; id++) {
+            String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+            String apellido = APELLIDOS[random.nextInt(APELLIDOS.length)] + " " + APELLIDOS[random.nextInt(APELLIDOS.length)] + random.nextInt(1000);
+            indice.guardar(id, nombre + " " + apellido, nombre + " " + apellido, apellido);
+        }
+        long guardados = System.nanoTime();
+        // La primera consulta ordena todas las entradas
+        indice.buscar("a", 10);
+        System.out.printf("Indexados %,d jugadores en %.1f s (%.1f s guardando y %.1f s ordenando)%n", total,
+                (System.nanoTime() - inicio) / 1e9, (guardados - inicio) / 1e9, (System.nanoTime() - guardados) / 1e9);
+
+        // Cada nombre completo se teclea letra a letra, y cada letra es una petición
+        List<String> teclas = new ArrayList<>();
+        for (int i = 0; i < 4_000; i++) {
+            String texto = NOMBRES[random.nextInt(NOMBRES.length)] + " " + APELLIDOS[random.nextInt(APELLIDOS.length)] + random.nextInt(1000);
+            for (int fin = 1; fin <= texto.length(); fin++) {
+                teclas.add(texto.substring(0, fin));
+            }
+        }
+        teclas.forEach(texto -> indice.buscar(texto, 10));
+        long[] tiempos = new long[teclas.size()];
+        for (int i = 0; i < teclas.size(); i++) {
+            long antes = System.nanoTime();
+            indice.buscar(teclas.get(i), 10);
+            tiempos[i] = System.nanoTime() - antes;
+        }
+        Arrays.sort(tiempos);
+        System.out.printf("%,d peticiones: p50 %.3f ms, p99 %.3f ms, máximo %.3f ms%n", tiempos.length,
+                tiempos[tiempos.length / 2] / 1e6, tiempos[tiempos.length * 99 / 100] / 1e6, tiempos[tiempos.length - 1] / 1e6);
+    }
+}
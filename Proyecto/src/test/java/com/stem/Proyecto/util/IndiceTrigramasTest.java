@@ -0,0 +1,214 @@
+package com.stem.Proyecto.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Pruebas unitarias de {@link IndiceTrigramas} y {@link NormalizadorTexto}.
+ * Incluye una prueba de rendimiento con un millón de documentos que solo se ejecuta si se pide:
+ * {@code mvn test -Dtest=IndiceTrigramasTest -Dnba.benchmark=true [-Dnba.benchmark.jugadores=1000000]}
+ */
+class IndiceTrigramasTest {
+
+    private static final String[] NOMBRES = {"Lucía", "José", "María", "Íñigo", "Álvaro", "Jesús", "Inés", "Raúl", "Martín", "Sofía"};
+    private static final String[] APELLIDOS = {"García", "Martínez", "Muñoz", "González", "Pérez", "Sánchez", "Gómez", "Jiménez",
+        "Díaz", "Hernández", "Rodríguez", "De la Fuente", "Núñez", "Ibáñez", "Peña"};
+
+    private static List<Long> ids(List<IndiceTrigramas.Coincidencia> coincidencias) {
+        return coincidencias.stream().map(IndiceTrigramas.Coincidencia::getId).toList();
+    }
+
+    /** Resultado esperado calculado recorriendo todos los documentos. */
+    private static List<Long> buscarRecorriendoTodo(Map<Long, String> documentos, String consulta) {
+        String[] palabras = NormalizadorTexto.normalizar(consulta).split(" ");
+        List<Long> encontrados = new ArrayList<>();
+        documentos.forEach((id, texto) -> {
+            String normalizado = " " + NormalizadorTexto.normalizar(texto);
+            for (String palabra : palabras) {
+                boolean aparece = palabra.length() >= 3 ? normalizado.contains(palabra) : normalizado.contains(" " + palabra);
+                if (!aparece) {
+                    return;
+                }
+            }
+            encontrados.add(id);
+        });
+        return encontrados;
+    }
+
+    @Test
+    @DisplayName("La normalización quita tildes y mayúsculas y separa las palabras con un espacio")
+    void testNormalizar() {
+        assertEquals("inigo munoz", NormalizadorTexto.normalizar("  ÍÑIGO   Muñoz "));
+        assertEquals("o neal jr", NormalizadorTexto.normalizar("O'Neal, Jr."));
+        assertEquals("", NormalizadorTexto.normalizar(null));
+        assertEquals("", NormalizadorTexto.normalizar("--"));
+    }
+
+    @Test
+    @DisplayName("Encuentra por nombre o apellido sin distinguir tildes ni mayúsculas")
+    void testBuscaSinTildesEnNombreYApellido() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.guardar(1, "Lucía", "García");
+        indice.guardar(2, "José", "Muñoz");
+        indice.guardar(3, "Lucas", "Garcés");
+
+        assertEquals(List.of(1L), ids(indice.buscar("LUCIA", null, null, 10)));
+        assertEquals(List.of(2L), ids(indice.buscar("munoz", null, null, 10)));
+        assertEquals(List.of(1L), ids(indice.buscar("garcía lucia", null, null, 10)), "Todas las palabras deben aparecer");
+        assertEquals(List.of(1L, 3L), ids(indice.buscar("gar", null, null, 10)));
+        assertTrue(indice.buscar("pérez", null, null, 10).isEmpty());
+        assertTrue(indice.buscar("   ", null, null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Las palabras cortas solo coinciden con el principio de una palabra")
+    void testPalabrasCortasSonPrefijos() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.guardar(1, "Juan", "Pérez");
+        indice.guardar(2, "Raúl", "Ajuria");
+
+        assertEquals(List.of(1L), ids(indice.buscar("ju", null, null, 10)));
+        assertEquals(List.of(1L), ids(indice.buscar("p", null, null, 10)));
+        assertEquals(List.of(2L), ids(indice.buscar("uri", null, null, 10)));
+    }
+
+    @Test
+    @DisplayName("Ordena por palabra completa, después por principio de palabra y después por subcadena")
+    void testOrdenPorPuntuacion() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.guardar(1, "Mariano", "Ruiz");
+        indice.guardar(2, "Rosa", "Santamaría");
+        indice.guardar(3, "María", "López");
+        indice.guardar(4, "Ana", "María");
+
+        List<IndiceTrigramas.Coincidencia> resultado = indice.buscar("maria", null, null, 10);
+
+        assertEquals(List.of(3L, 4L, 1L, 2L), ids(resultado));
+        assertEquals(List.of(3, 3, 2, 1), resultado.stream().map(IndiceTrigramas.Coincidencia::getPuntuacion).toList());
+    }
+
+    @Test
+    @DisplayName("Recorrer las páginas devuelve cada resultado una vez y en orden")
+    void testPaginasSinRepetidos() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        Map<Long, String> documentos = new HashMap<>();
+        Random random = new Random(5);
+        for (long id = 1; id <= 500; id++) {
+            String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+            String apellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+            indice.guardar(id, nombre, apellido);
+            documentos.put(id, nombre + " " + apellido);
+        }
+
+        List<IndiceTrigramas.Coincidencia> todos = new ArrayList<>();
+        List<IndiceTrigramas.Coincidencia> pagina = indice.buscar("ez", null, null, 7);
+        while (!pagina.isEmpty()) {
+            todos.addAll(pagina);
+            IndiceTrigramas.Coincidencia ultima = pagina.get(pagina.size() - 1);
+            pagina = indice.buscar("ez", ultima.getPuntuacion(), ultima.getId(), 7);
+        }
+
+        List<IndiceTrigramas.Coincidencia> ordenados = new ArrayList<>(todos);
+        ordenados.sort(IndiceTrigramas.ORDEN);
+        assertEquals(ids(ordenados), ids(todos));
+        assertEquals(buscarRecorriendoTodo(documentos, "ez").stream().sorted().toList(), ids(todos).stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Tras guardar, modificar y borrar muchos documentos da lo mismo que recorrerlos todos")
+    void testActualizacionesIgualQueRecorrerTodo() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        Map<Long, String> documentos = new HashMap<>();
+        Random random = new Random(17);
+        // Suficientes cambios para que el índice se compacte varias veces
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(1_500);
+            if (random.nextInt(3) == 0) {
+                indice.eliminar(id);
+                documentos.remove(id);
+            } else {
+                String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+                String apellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+                indice.guardar(id, nombre, apellido);
+                documentos.put(id, nombre + " " + apellido);
+            }
+        }
+
+        assertEquals(documentos.size(), indice.getTamanio());
+        for (String consulta : List.of("gonzalez", "nun", "de la", "ines pe", "j", "fuente", "xyz")) {
+            List<Long> encontrados = ids(indice.buscar(consulta, null, null, Integer.MAX_VALUE));
+            assertEquals(buscarRecorriendoTodo(documentos, consulta).stream().sorted().toList(),
+                    encontrados.stream().sorted().toList(), "Consulta: " + consulta);
+            // Una página corta, que puede terminar antes de ver todos los candidatos, empieza igual que la lista completa
+            assertEquals(encontrados.subList(0, Math.min(10, encontrados.size())),
+                    ids(indice.buscar(consulta, null, null, 10)), "Consulta: " + consulta);
+        }
+    }
+
+    @Test
+    @DisplayName("La búsqueda aproximada admite errores según la longitud de la palabra y pone primero las exactas")
+    void testBusquedaAproximada() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.guardar(1, "Marc", "González");
+        indice.guardar(2, "Ana", "Gonzales");
+        indice.guardar(3, "Luis", "Gonzalo");
+        indice.guardar(4, "Inés", "Ruiz");
+        indice.guardar(5, "Inés", "Ruíz Gonzálvez");
+
+        assertEquals(List.of(2L, 1L, 3L, 5L), ids(indice.buscarAproximado("GONZALES", null, null, 10)));
+        assertEquals(List.of(5L), ids(indice.buscarAproximado("ines gonzalez", null, null, 10)), "Todas las palabras deben aparecer");
+        assertEquals(List.of(3L, 4L, 5L), ids(indice.buscarAproximado("ruis", null, null, 10)), "Ruiz y Luis están a una letra");
+        assertTrue(indice.buscarAproximado("rz", null, null, 10).isEmpty(), "Las palabras de 2 letras no admiten errores");
+
+        indice.eliminar(2);
+        indice.guardar(1, "Marc", "Gasol");
+        assertEquals(List.of(3L, 5L), ids(indice.buscarAproximado("gonzales", null, null, 10)));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "nba.benchmark", matches = "true")
+    @DisplayName("Rendimiento: búsqueda sobre un millón de jugadores")
+    void benchmarkBusqueda() {
+        int total = Integer.getInteger("nba.benchmark.jugadores", 1_000_000);
+        IndiceTrigramas indice = new IndiceTrigramas();
+        Random random = new Random(1);
+        long inicio = System.nanoTime();
+        for (int id = 1; id <= total; id++) {
+            indice.guardar(id, NOMBRES[random.nextInt(NOMBRES.length)] + " " + NOMBRES[random.nextInt(NOMBRES.length)],
+                    APELLIDOS[random.nextInt(APELLIDOS.length)] + " " + APELLIDOS[random.nextInt(APELLIDOS.length)] + random.nextInt(1000));
+        }
+        System.out.printf("Indexados %,d jugadores en %.1f s%n", total, (System.nanoTime() - inicio) / 1e9);
+
+        for (String consulta : List.of("munoz123", "ines ibanez45", "garcia", "ez")) {
+            for (int i = 0; i < 20; i++) {
+                indice.buscar(consulta, null, null, 20);
+            }
+            int repeticiones = 200;
+            inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                indice.buscar(consulta, null, null, 20);
+            }
+            System.out.printf("Búsqueda \"%s\": %.3f ms%n", consulta, (System.nanoTime() - inicio) / 1e6 / repeticiones);
+        }
+        for (String consulta : List.of("gonzales", "ines ibanes", "rodrigues")) {
+            for (int i = 0; i < 20; i++) {
+                indice.buscarAproximado(consulta, null, null, 20);
+            }
+            int repeticiones = 50;
+            inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                indice.buscarAproximado(consulta, null, null, 20);
+            }
+            System.out.printf("Búsqueda aproximada \"%s\": %.3f ms%n", consulta, (System.nanoTime() - inicio) / 1e6 / repeticiones);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.stem.Proyecto.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas unitarias de {@link LectorCsv}, {@link EscritorCsv} y {@link MapaAbreviaturas}.
+ * Varias usan ventanas de pocos bytes para que las filas queden partidas entre dos ventanas.
+ */
+class LectorCsvTest {
+
+    @TempDir
+    Path directorio;
+
+    private List<List<String>> leer(String contenido, int tamanioVentana) throws IOException {
+        Path archivo = directorio.resolve("prueba.csv");
+        Files.writeString(archivo, contenido, StandardCharsets.UTF_8);
+        List<List<String>> filas = new ArrayList<>();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            LectorCsv lector = new LectorCsv(canal, tamanioVentana);
+            while (lector.siguienteFila()) {
+                List<String> campos = new ArrayList<>();
+                for (int i = 0; i < lector.numeroCampos(); i++) {
+                    campos.add(lector.texto(i));
+                }
+                filas.add(campos);
+            }
+            assertEquals(Files.size(archivo), lector.getBytesLeidos());
+        }
+        return filas;
+    }
+
+    @Test
+    @DisplayName("Separa los campos, con comillas, comillas escapadas, comas y saltos de línea dentro")
+    void testComillas() throws IOException {
+        String contenido = "a,b,c\n"
+                + "\"con, coma\",\"con \"\"comillas\"\"\",\"con\nsalto\"\r\n"
+                + ",,\n"
+                + "\n"
+                + "última,sin,salto";
+
+        List<List<String>> filas = leer(contenido, 1 << 20);
+
+        assertEquals(List.of(
+                List.of("a", "b", "c"),
+                List.of("con, coma", "con \"comillas\"", "con\nsalto"),
+                List.of("", "", ""),
+                List.of("última", "sin", "salto")), filas);
+    }
+
+    @Test
+    @DisplayName("Lee lo mismo con ventanas pequeñas que cortan las filas por cualquier sitio")
+    void testVentanasPequenias() throws IOException {
+        StringBuilder contenido = new StringBuilder("fecha,local,lugar\r\n");
+        for (int i = 0; i < 200; i++) {
+            contenido.append("2024-11-").append(10 + i % 20).append(",E").append(i % 7)
+                    .append(i % 3 == 0 ? ",\"Pabellón, \"\"" + i + "\"\"\"" : ",Pabellón " + i).append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+        List<List<String>> esperadas = leer(contenido.toString(), 1 << 20);
+        assertEquals(201, esperadas.size());
+        assertEquals("Pabellón, \"0\"", esperadas.get(1).get(2));
+
+        for (int ventana : new int[] {40, 41, 57, 64, 100}) {
+            assertEquals(esperadas, leer(contenido.toString(), ventana), "Ventana de " + ventana + " bytes");
+        }
+    }
+
+    @Test
+    @DisplayName("Interpreta números, fechas y horas desde los bytes, y rechaza los que no son válidos")
+    void testValores() throws IOException {
+        Path archivo = directorio.resolve("valores.csv");
+        Files.writeString(archivo, "-17,2024-02-29,20:30,LAL,\n12x,2024-02-30,25:00,ABCDEFGHIJ,x\n", StandardCharsets.UTF_8);
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            LectorCsv lector = new LectorCsv(canal, 1 << 20);
+
+            assertTrue(lector.siguienteFila());
+            assertEquals(-17, lector.entero(0));
+            assertEquals(LocalDate.of(2024, 2, 29), lector.fecha(1));
+            assertEquals(LocalTime.of(20, 30), lector.hora(2));
+            assertEquals(MapaAbreviaturas.clave("LAL"), lector.clave(3));
+            assertTrue(lector.vacio(4));
+            assertTrue(lector.vacio(9));
+            assertSame(lector.texto(3), lector.texto(3));
+
+            assertTrue(lector.siguienteFila());
+            assertThrows(IllegalArgumentException.class, () -> lector.entero(0));
+            assertThrows(java.time.DateTimeException.class, () -> lector.fecha(1));
+            assertThrows(java.time.DateTimeException.class, () -> lector.hora(2));
+            assertEquals(MapaAbreviaturas.SIN_CLAVE, lector.clave(3));
+            assertFalse(lector.siguienteFila());
+        }
+    }
+
+    @Test
+    @DisplayName("Rechaza las comillas sin cerrar y las filas que no caben en una ventana")
+    void testMalFormado() {
+        assertThrows(IllegalArgumentException.class, () -> leer("a,\"sin cerrar\n", 1 << 20));
+        assertThrows(IllegalArgumentException.class, () -> leer("corta\nuna fila bastante más larga que la ventana\n", 16));
+    }
+
+    @Test
+    @DisplayName("El escritor produce lo que el lector vuelve a leer igual")
+    void testEscritor() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (EscritorCsv escritor = new EscritorCsv(Channels.newChannel(salida), 8)) {
+            escritor.entero(-1234L).fecha(LocalDate.of(987, 1, 2)).hora(LocalTime.of(7, 5)).hora(LocalTime.of(23, 59, 1))
+                    .texto("con \"comillas\", y coma").entero((Integer) null).codificado(EscritorCsv.codificar("LAL")).finFila();
+        }
+        String texto = salida.toString(StandardCharsets.UTF_8);
+        assertEquals("-1234,0987-01-02,07:05,23:59:01,\"con \"\"comillas\"\", y coma\",,LAL\n", texto);
+        assertEquals(List.of(List.of("-1234", "0987-01-02", "07:05", "23:59:01", "con \"comillas\", y coma", "", "LAL")),
+                leer(texto, 1 << 20));
+    }
+
+    @Test
+    @DisplayName("El mapa de abreviaturas encuentra las que se han añadido, también tras crecer")
+    void testMapaAbreviaturas() {
+        MapaAbreviaturas mapa = new MapaAbreviaturas();
+        for (int i = 0; i < 26 * 26; i++) {
+            mapa.put("" + (char) ('A' + i / 26) + (char) ('A' + i % 26) + "X", i);
+        }
+        mapa.put("AAX", 1_000);
+        mapa.put("DEMASIADO LARGA", 1);
+
+        assertEquals(26 * 26, mapa.size());
+        assertEquals(1_000, mapa.get(MapaAbreviaturas.clave("AAX")));
+        assertEquals(27, mapa.get(MapaAbreviaturas.clave("BBX")));
+        assertEquals(MapaAbreviaturas.NO_ENCONTRADO, mapa.get(MapaAbreviaturas.clave("BBY")));
+        assertEquals(MapaAbreviaturas.NO_ENCONTRADO, mapa.get(MapaAbreviaturas.clave("DEMASIADO LARGA")));
+    }
+}
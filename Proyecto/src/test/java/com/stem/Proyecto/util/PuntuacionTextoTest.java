@@ -0,0 +1,24 @@
+package com.stem.Proyecto.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias de {@link PuntuacionTexto}.
+ */
+class PuntuacionTextoTest {
+
+    @Test
+    @DisplayName("Palabra entera, principio de palabra y subcadena valen 3, 2 y 1 puntos de 3 posibles por palabra")
+    void testPuntuacion() {
+        assertEquals(1.0, PuntuacionTexto.puntuar("García", "Lucía García"));
+        assertEquals(2.0 / 3, PuntuacionTexto.puntuar("gar", "Lucía García"));
+        assertEquals(1.0 / 3, PuntuacionTexto.puntuar("arc", "Lucía García"));
+        assertEquals(0.5, PuntuacionTexto.puntuar("lucia perez", "Lucía García"), "Solo aparece una de las dos palabras");
+        assertEquals(1.0, PuntuacionTexto.puntuar("campeones", "Campeón de Liga"), "Mismo término en plural");
+        assertEquals(1.0, PuntuacionTexto.puntuar("2024", "Madrid 2023-2024"));
+        assertEquals(0.0, PuntuacionTexto.puntuar("", "Lucía García"));
+        assertEquals(0.0, PuntuacionTexto.puntuar("lucia", null));
+    }
+}
@@ -0,0 +1,130 @@
+package com.stem.Proyecto.util;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.stem.Proyecto.dto.FilaClasificacion;
+import com.stem.Proyecto.dto.PosicionEnFecha;
+import com.stem.Proyecto.entity.Equipo;
+import com.stem.Proyecto.entity.Partido;
+
+/**
+ * Pruebas unitarias de {@link TablaClasificacion} y de su {@link HistorialClasificacion}.
+ */
+class TablaClasificacionTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2024, 10, 22);
+
+    private List<Equipo> equipos;
+    private List<Partido> partidos;
+
+    @BeforeEach
+    void setUp() {
+        equipos = new ArrayList<>();
+        for (long i = 1; i <= 8; i++) {
+            Equipo equipo = new Equipo("Equipo " + i, "Ciudad", "E" + i, 1950, "Pabellón", "Entrenador");
+            equipo.setId(i);
+            equipos.add(equipo);
+        }
+        // 200 partidos repartidos en 40 días, algunos sin disputar todavía
+        Random random = new Random(11);
+        partidos = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            Equipo local = equipos.get(random.nextInt(equipos.size()));
+            Equipo visitante;
+            do {
+                visitante = equipos.get(random.nextInt(equipos.size()));
+            } while (visitante == local);
+            boolean disputado = random.nextInt(10) > 0;
+            Partido partido = new Partido(INICIO.plusDays(random.nextInt(40)), LocalTime.of(20, 0),
+                    disputado ? 80 + random.nextInt(40) : null, disputado ? 80 + random.nextInt(40) : null,
+                    "2024-2025", "Pabellón", local, visitante);
+            partido.setId(id);
+            partidos.add(partido);
+        }
+    }
+
+    private void assertMismasFilas(List<FilaClasificacion> esperadas, List<FilaClasificacion> obtenidas) {
+        assertEquals(esperadas.size(), obtenidas.size());
+        for (int i = 0; i < esperadas.size(); i++) {
+            assertEquals(esperadas.get(i).getEquipoId(), obtenidas.get(i).getEquipoId(), "Posición " + (i + 1));
+            assertEquals(esperadas.get(i).getPosicion(), obtenidas.get(i).getPosicion());
+            assertEquals(esperadas.get(i).getVictorias(), obtenidas.get(i).getVictorias());
+            assertEquals(esperadas.get(i).getEmpates(), obtenidas.get(i).getEmpates());
+            assertEquals(esperadas.get(i).getPuntosEnContra(), obtenidas.get(i).getPuntosEnContra());
+            assertEquals(esperadas.get(i).getDerrotasLocal(), obtenidas.get(i).getDerrotasLocal());
+            assertEquals(esperadas.get(i).getVictoriasVisitante(), obtenidas.get(i).getVictoriasVisitante());
+        }
+    }
+
+    @Test
+    @DisplayName("Registrar, modificar y retirar partidos deja la misma tabla que construirla desde cero")
+    void testActualizacionIncrementalIgualQueDesdeCero() {
+        TablaClasificacion tabla = TablaClasificacion.desde(partidos.subList(0, 100));
+        for (Partido partido : partidos.subList(100, 200)) {
+            tabla.registrar(TablaClasificacion.Resultado.de(partido));
+        }
+        // Se cambia el resultado de un partido y se retira otro
+        Partido cambiado = partidos.get(3);
+        cambiado.setPuntuacionLocal(150);
+        tabla.registrar(TablaClasificacion.Resultado.de(cambiado));
+        tabla.retirar(partidos.get(7).getId());
+
+        List<Partido> esperados = new ArrayList<>(partidos);
+        esperados.remove(7);
+        assertMismasFilas(TablaClasificacion.desde(esperados).filas(), tabla.filas());
+    }
+
+    @Test
+    @DisplayName("La clasificación a una fecha coincide con la de los partidos jugados hasta ese día")
+    void testClasificacionAlDia() {
+        HistorialClasificacion historial = TablaClasificacion.desde(partidos).historial();
+
+        for (int dia = 0; dia < 40; dia += 7) {
+            LocalDate fecha = INICIO.plusDays(dia);
+            List<Partido> hastaFecha = partidos.stream().filter(p -> !p.getFecha().isAfter(fecha)).toList();
+            assertMismasFilas(TablaClasificacion.desde(hastaFecha).filas(), historial.alDia(fecha));
+        }
+        assertTrue(historial.alDia(INICIO.minusDays(1)).isEmpty(), "Antes del primer partido no hay clasificación");
+        assertMismasFilas(TablaClasificacion.desde(partidos).filas(), historial.alDia(INICIO.plusYears(1)));
+    }
+
+    @Test
+    @DisplayName("La evolución de un equipo coincide con su posición en la clasificación de cada día")
+    void testEvolucionEquipo() {
+        HistorialClasificacion historial = TablaClasificacion.desde(partidos).historial();
+        Long equipoId = equipos.get(2).getId();
+
+        List<PosicionEnFecha> evolucion = historial.evolucion(equipoId);
+        assertTrue(evolucion.size() > 20);
+        for (PosicionEnFecha punto : evolucion) {
+            FilaClasificacion fila = historial.alDia(punto.getFecha()).stream()
+                    .filter(f -> f.getEquipoId().equals(equipoId)).findFirst().orElseThrow();
+            assertEquals(fila.getPosicion(), punto.getPosicion());
+            assertEquals(fila.getVictorias(), punto.getVictorias());
+        }
+        assertTrue(historial.evolucion(999L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("El historial se reutiliza hasta que cambia un partido")
+    void testHistorialSeDescartaAlCambiar() {
+        TablaClasificacion tabla = TablaClasificacion.desde(partidos);
+        HistorialClasificacion historial = tabla.historial();
+        assertSame(historial, tabla.historial());
+
+        tabla.retirar(partidos.get(0).getId());
+        assertNotSame(historial, tabla.historial());
+    }
+}
@@ -0,0 +1,78 @@
+package com.stem.Proyecto.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Pruebas unitarias de {@link VersionesTablas}.
+ */
+class VersionesTablasTest {
+
+    @Test
+    @DisplayName("El ETag solo cambia cuando cambia alguna de las tablas de las que depende")
+    void testEtagPorTablas() {
+        VersionesTablas versiones = new VersionesTablas();
+        String equipos = versiones.etag(VersionesTablas.EQUIPOS);
+        String partidos = versiones.etag(VersionesTablas.PARTIDOS, VersionesTablas.EQUIPOS);
+
+        versiones.cambiado(VersionesTablas.JUGADORES);
+        assertEquals(equipos, versiones.etag(VersionesTablas.EQUIPOS));
+        assertEquals(partidos, versiones.etag(VersionesTablas.PARTIDOS, VersionesTablas.EQUIPOS));
+
+        versiones.cambiado(VersionesTablas.EQUIPOS);
+        assertNotEquals(equipos, versiones.etag(VersionesTablas.EQUIPOS));
+        assertNotEquals(partidos, versiones.etag(VersionesTablas.PARTIDOS, VersionesTablas.EQUIPOS));
+        assertTrue(versiones.etag(VersionesTablas.EQUIPOS).startsWith("\""), "Es un ETag fuerte, entre comillas");
+        assertThrows(IllegalArgumentException.class, () -> versiones.etag("tabla_inexistente"));
+    }
+
+    @Test
+    @DisplayName("Responde 304 al ETag actual y 200, con el ETag nuevo, después de un cambio")
+    void testPeticionCondicional() {
+        VersionesTablas versiones = new VersionesTablas();
+
+        MockHttpServletResponse primera = new MockHttpServletResponse();
+        assertFalse(versiones.sinCambios(new ServletWebRequest(peticion(null), primera), VersionesTablas.LOGROS));
+        String etag = primera.getHeader("ETag");
+        assertEquals(versiones.etag(VersionesTablas.LOGROS), etag);
+        assertEquals("no-cache", primera.getHeader("Cache-Control"));
+
+        MockHttpServletResponse repetida = new MockHttpServletResponse();
+        assertTrue(versiones.sinCambios(new ServletWebRequest(peticion(etag), repetida), VersionesTablas.LOGROS));
+        assertEquals(304, repetida.getStatus());
+
+        versiones.cambiado(VersionesTablas.LOGROS);
+        MockHttpServletResponse trasCambio = new MockHttpServletResponse();
+        assertFalse(versiones.sinCambios(new ServletWebRequest(peticion(etag), trasCambio), VersionesTablas.LOGROS));
+        assertNotEquals(etag, trasCambio.getHeader("ETag"));
+    }
+
+    @Test
+    @DisplayName("La instantánea conserva la versión tomada antes de la consulta aunque la tabla cambie después")
+    void testInstantanea() {
+        VersionesTablas versiones = new VersionesTablas();
+        VersionesTablas.Instantanea antes = versiones.instantanea(VersionesTablas.JUGADORES);
+        versiones.cambiado(VersionesTablas.JUGADORES);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(versiones.sinCambios(new ServletWebRequest(peticion(null), response), antes));
+        assertEquals(antes.getEtag(), response.getHeader("ETag"));
+        assertNotEquals(versiones.etag(VersionesTablas.JUGADORES), response.getHeader("ETag"));
+    }
+
+    private static MockHttpServletRequest peticion(String etag) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/logros");
+        if (etag != null) {
+            request.addHeader("If-None-Match", etag);
+        }
+        return request;
+    }
+}